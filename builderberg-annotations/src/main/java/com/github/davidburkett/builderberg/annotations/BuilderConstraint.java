@@ -27,6 +27,47 @@ public @interface BuilderConstraint {
     double minValue() default 0.0;
     double maxValue() default 0.0;
 
+    /**
+     * Size constraints apply to collections, maps and arrays, and length constraints to Strings and CharSequences.
+     * They're checked in constant time before any scan of the elements, so oversized values are rejected without being scanned.
+     * The minimums also require the value to be non-null, while null values pass the maximums.
+     * @since 1.2.0
+     */
+    int minSize() default 0;
+    int maxSize() default 0;
+    int minLength() default 0;
+    int maxLength() default 0;
+
+    /**
+     * Element constraints apply to each element of a numeric primitive array, or of a collection of boxed numbers (null elements are skipped).
+     * @since 1.2.0
+     */
+    boolean elementsNotNegative() default false;
+    double elementMinValue() default 0.0;
+    double elementMaxValue() default 0.0;
+
+    /**
+     * @return The minimum number of elements for which noNullKeys and noNullValues are checked by a parallel scan,
+     * which runs in the pool of {@link BuilderOptions#validationPool()} and stops at the first violation.
+     * Smaller collections are checked sequentially. If unspecified, collections are always checked sequentially.
+     * @since 1.2.0
+     */
+    int parallelThreshold() default 0;
+
+    /**
+     * @return The allowed values of a String, or of an int, long, short or byte (or their boxed forms), written as strings. Example: {"1", "2", "3"}.
+     * Null values are skipped. The check is a switch for small sets, and a lookup in a generated perfect hash table for larger ones.
+     * @since 1.2.0
+     */
+    String[] oneOf() default {};
+
+    /**
+     * @return A regular expression that the whole value of a String or CharSequence must match (null values are skipped).
+     * The expression is compiled once, and simple expressions such as "[A-Z]{3}" are checked by a generated scan of the characters instead.
+     * @since 1.2.0
+     */
+    String pattern() default "";
+
     @Deprecated
     String customValidation() default "";
 }
@@ -51,6 +51,65 @@ public @interface BuilderOptions {
      */
     boolean generateClone() default false;
 
+    /**
+     * @return {@code true} if a stableHash64 method should be generated for the generated object.
+     * Unlike hashCode, the stable hash is the same across JVMs, so it can be used for sharding and partitioning.
+     */
+    boolean generateStableHash() default false;
+
+    /**
+     * @return {@code true} if diff/writeDelta methods should be generated for the object, and applyPatch/readDelta methods for its builder.
+     * These allow replicating only the fields that changed between two versions of an object.
+     */
+    boolean generateDiff() default false;
+
+    /**
+     * @return {@code true} if builders created from an existing object should return that same object from build() until a setter changes a value,
+     * instead of constructing an equal copy. Note that this changes the identity of the built objects.
+     */
+    boolean reuseUnchangedInstances() default false;
+
+    /**
+     * @return {@code true} if the generated code should call the shared helpers of the builderberg-runtime library,
+     * instead of generating its own copy of them in every class. Requires a dependency on builderberg-runtime.
+     */
+    boolean useRuntime() default false;
+
+    /**
+     * @return {@code true} if booleans, small enums, and integers with a minValue/maxValue constraint should be packed into long fields.
+     * The getters decode the packed values, and equals/hashCode compare the packed words directly.
+     */
+    boolean packFields() default false;
+
+    /**
+     * @return {@code true} if a static PROPERTIES table and a toMap method should be generated for the object, and a set(name, value) method for its builder.
+     * These give generic code access to the fields without reflection. Requires a dependency on builderberg-runtime.
+     */
+    boolean generateMetadata() default false;
+
+    /**
+     * @return {@code true} if build() and validate() should record their counts, constraint violations and optional timing through
+     * com.github.davidburkett.builderberg.runtime.BuilderbergMetrics. Requires a dependency on builderberg-runtime.
+     * @since 1.2.0
+     */
+    boolean recordMetrics() default false;
+
+    /**
+     * @return The character separating the columns of {@link DeserializationType#delimited} rows. Example: '\t' for TSV.
+     */
+    char delimiter() default ',';
+
+    /**
+     * @return The character quoting the columns of {@link DeserializationType#delimited} rows, or '\0' to disable quoting.
+     */
+    char quote() default '"';
+
+    /**
+     * @return An expression for the java.util.concurrent.ForkJoinPool that runs the parallel scans of fields with a
+     * {@link BuilderConstraint#parallelThreshold()}. Example: "com.example.Pools.VALIDATION". If unspecified, the common pool is used.
+     */
+    String validationPool() default "";
+
     /**
      * @return The exception/error type to throw when builder constraints are violated (@see {@link BuilderConstraint}).
      * NOTE: The Throwable must have a constructor that takes in a string as its only parameter.
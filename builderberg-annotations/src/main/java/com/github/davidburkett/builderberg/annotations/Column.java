@@ -0,0 +1,24 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field to a column of a tabular format, like the rows of {@link DeserializationType#delimited} and {@link DeserializationType#jdbc}.
+ * @since 1.2.0
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Column {
+    /**
+     * @return The zero-based index of the column. If unspecified, the field's position among the non-static fields is used.
+     */
+    int index() default -1;
+
+    /**
+     * @return The label of the column in a java.sql.ResultSet. If unspecified, the field's name is used.
+     */
+    String name() default "";
+}
@@ -0,0 +1,20 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * String fields annotated with this are canonicalized through a bounded string pool when the object is built,
+ * so equal values share a single instance. Use it for low-cardinality values, like country codes and status names.
+ * @since 1.2.0
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Dedupe {
+    /**
+     * @return The maximum number of distinct strings kept in the field's pool. Rounded up to a power of two.
+     */
+    int capacity() default 1024;
+}
@@ -0,0 +1,27 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fields annotated with this start with a default value in the builder, instead of the Java default.
+ * Without a value or supplier, collections and maps default to an empty collection: the shared empty singletons of
+ * java.util.Collections when collections are immutable, or else a new collection created by build().
+ * @since 1.2.0
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Default {
+    /**
+     * @return A constant expression that the builder's field is initialized to. Example: "42" or "Status.ACTIVE".
+     */
+    String value() default "";
+
+    /**
+     * @return A static method without parameters, which build() calls only if the field was never set.
+     * Methods of the class itself are referenced by name, and must be annotated with @CustomLogic. Example: "defaultTags" or "Defaults.tags".
+     */
+    String supplier() default "";
+}
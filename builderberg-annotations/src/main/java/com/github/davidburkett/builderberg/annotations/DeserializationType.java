@@ -1,5 +1,10 @@
 package com.github.davidburkett.builderberg.annotations;
 
 public enum DeserializationType {
-    jackson;
+    jackson,
+    gson,
+    delimited,
+    jdbc,
+    lazyJson,
+    javaSerialization;
 }
@@ -0,0 +1,16 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Any fields annotated with this will be ignored by the generated equals and hashCode methods.
+ * Use it for fields that don't define the identity of the object, like payloads and caches, to keep equality checks cheap.
+ * @since 1.2.0
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface EqualityExclude {
+}
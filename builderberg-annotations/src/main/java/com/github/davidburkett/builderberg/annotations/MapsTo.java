@@ -0,0 +1,20 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classes annotated with this get a static mapper method for each of the given Builderberg classes (e.g. toUserDto(user)),
+ * which copies the fields with matching names through the other class's builder.
+ * @since 1.2.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface MapsTo {
+    /**
+     * @return The Builderberg classes to generate mappers to.
+     */
+    Class<?>[] value();
+}
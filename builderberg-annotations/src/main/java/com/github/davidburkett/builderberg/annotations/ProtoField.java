@@ -0,0 +1,19 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field of a class annotated with {@link ProtoMapping} to the message field with a different name.
+ * @since 1.2.0
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ProtoField {
+    /**
+     * @return The name of the field in the .proto file. Example: "user_id".
+     */
+    String value();
+}
@@ -0,0 +1,20 @@
+package com.github.davidburkett.builderberg.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classes annotated with this get a toProto method and a static fromProto method, which map the fields to and from
+ * the given Protobuf message class by name (see {@link ProtoField}), without reflection.
+ * @since 1.2.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ProtoMapping {
+    /**
+     * @return The message class generated by protoc. It must be compiled, so its accessors can be resolved.
+     */
+    Class<?> value();
+}
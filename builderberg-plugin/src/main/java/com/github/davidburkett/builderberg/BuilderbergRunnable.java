@@ -5,13 +5,17 @@ import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException
 import com.github.davidburkett.builderberg.generators.*;
 import com.github.davidburkett.builderberg.generators.builder.BuilderClassGenerator;
 import com.github.davidburkett.builderberg.generators.builder.ParameterGenerator;
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
 import com.github.davidburkett.builderberg.utilities.*;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiUtil;
 import com.siyeh.ig.psiutils.TypeUtils;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Asynchronous handler responsible for making the changes to an existing class to provide it a builder and all supporting functionality.
@@ -26,9 +30,21 @@ public class BuilderbergRunnable implements Runnable {
     private final BuilderClassGenerator builderClassGenerator;
     private final AllArgsConstructorGenerator allArgsConstructorGenerator;
     private final CloneGenerator cloneGenerator;
+    private final StableHashGenerator stableHashGenerator;
+    private final SerializationProxyGenerator serializationProxyGenerator;
+    private final DiffGenerator diffGenerator;
     private final MethodUtility methodUtility;
     private final GetterGenerator getterGenerator;
     private final ParameterGenerator parameterGenerator;
+    private final PackedFieldsGenerator packedFieldsGenerator;
+    private final StringPoolGenerator stringPoolGenerator;
+    private final MetadataGenerator metadataGenerator;
+    private final GsonAdapterGenerator gsonAdapterGenerator;
+    private final DelimitedGenerator delimitedGenerator;
+    private final JdbcMapperGenerator jdbcMapperGenerator;
+    private final ProtoMappingGenerator protoMappingGenerator;
+    private final MapperGenerator mapperGenerator;
+    private final LazyJsonGenerator lazyJsonGenerator;
 
     public BuilderbergRunnable(final Project project, final PsiClass topLevelClass) {
         this.project = project;
@@ -40,9 +56,21 @@ public class BuilderbergRunnable implements Runnable {
         this.builderClassGenerator = new BuilderClassGenerator(psiElementFactory);
         this.allArgsConstructorGenerator = new AllArgsConstructorGenerator(project);
         this.cloneGenerator = new CloneGenerator(project);
+        this.stableHashGenerator = new StableHashGenerator(psiElementFactory);
+        this.serializationProxyGenerator = new SerializationProxyGenerator(project);
+        this.diffGenerator = new DiffGenerator(psiElementFactory);
         this.methodUtility = new MethodUtility(psiElementFactory);
         this.getterGenerator = new GetterGenerator(psiElementFactory);
         this.parameterGenerator = new ParameterGenerator(psiElementFactory);
+        this.packedFieldsGenerator = new PackedFieldsGenerator(psiElementFactory);
+        this.stringPoolGenerator = new StringPoolGenerator(psiElementFactory);
+        this.metadataGenerator = new MetadataGenerator(project, psiElementFactory);
+        this.gsonAdapterGenerator = new GsonAdapterGenerator(project, psiElementFactory);
+        this.delimitedGenerator = new DelimitedGenerator(project, psiElementFactory);
+        this.jdbcMapperGenerator = new JdbcMapperGenerator(project, psiElementFactory);
+        this.protoMappingGenerator = new ProtoMappingGenerator(project, psiElementFactory);
+        this.mapperGenerator = new MapperGenerator(project, psiElementFactory);
+        this.lazyJsonGenerator = new LazyJsonGenerator(project, psiElementFactory);
     }
 
     @Override
@@ -51,36 +79,91 @@ public class BuilderbergRunnable implements Runnable {
             // Clean up existing builder remnants, and make all class fields final
             prepareClassForBuilder(topLevelClass);
 
+            final List<PsiField> dedupeFields = StringPoolGenerator.findDedupeFields(topLevelClass);
+
+            // Decide which fields are packed into long words, and keep them next to each other
+            final PackedFieldLayout packedFieldLayout = PackedFieldLayoutFactory.create(topLevelClass);
+            packedFieldsGenerator.groupPackedFields(topLevelClass, packedFieldLayout);
+
             // Create the inner-builder class
             final PsiClass builderClass = builderClassGenerator.createBuilderClass(topLevelClass);
 
             generateBuilderMethod(builderClass);
             generateBuilderFromExistingObjectMethod(builderClass);
-            generateConstructor(builderClass);
+            generateConstructor(builderClass, packedFieldLayout, dedupeFields);
 
             final boolean jacksonSupport = BuilderOptionUtility.supportJacksonDeserialization(topLevelClass);
             if (jacksonSupport || BuilderOptionUtility.generateAllArgsConstructor(topLevelClass)) {
                 allArgsConstructorGenerator.generateAllArgsConstructor(topLevelClass, jacksonSupport);
             }
 
-            getterGenerator.generateGetters(topLevelClass);
+            getterGenerator.generateGetters(topLevelClass, packedFieldLayout);
 
             if (BuilderOptionUtility.generateToString(topLevelClass)) {
-                toStringGenerator.generateToStringMethod(topLevelClass);
+                toStringGenerator.generateToStringMethod(topLevelClass, packedFieldLayout);
             }
 
-            if (BuilderOptionUtility.generateHashCode(topLevelClass)) {
-                hashCodeGenerator.generateHashCodeMethod(topLevelClass);
+            final boolean generateHashCode = BuilderOptionUtility.generateHashCode(topLevelClass);
+            if (generateHashCode) {
+                hashCodeGenerator.generateHashCodeMethod(topLevelClass, packedFieldLayout);
             }
 
-            if (BuilderOptionUtility.generateEquals(topLevelClass)) {
-                equalsGenerator.generateEqualsMethod(topLevelClass);
+            final boolean generateEquals = BuilderOptionUtility.generateEquals(topLevelClass);
+            if (generateEquals) {
+                equalsGenerator.generateEqualsMethod(topLevelClass, packedFieldLayout);
+            }
+
+            if (generateHashCode || generateEquals) {
+                warnAboutEqualityExcludedFields();
             }
 
             if (BuilderOptionUtility.generateClone(topLevelClass)) {
                 cloneGenerator.generateClone(topLevelClass);
             }
 
+            if (BuilderOptionUtility.generateStableHash(topLevelClass)) {
+                stableHashGenerator.generateStableHashMethod(topLevelClass);
+            }
+
+            if (BuilderOptionUtility.supportJavaSerialization(topLevelClass)) {
+                serializationProxyGenerator.generateSerializationProxy(topLevelClass);
+            }
+
+            if (BuilderOptionUtility.supportGsonDeserialization(topLevelClass)) {
+                gsonAdapterGenerator.generateGsonAdapter(topLevelClass);
+            }
+
+            if (BuilderOptionUtility.supportDelimitedDeserialization(topLevelClass)) {
+                delimitedGenerator.generateDelimitedMethods(topLevelClass, builderClass);
+            }
+
+            if (BuilderOptionUtility.supportJdbcDeserialization(topLevelClass)) {
+                jdbcMapperGenerator.generateJdbcMapper(topLevelClass, builderClass);
+            }
+
+            if (BuilderOptionUtility.supportLazyJsonDeserialization(topLevelClass)) {
+                lazyJsonGenerator.generateLazyJson(topLevelClass);
+            }
+
+            if (AnnotationUtility.hasProtoMappingAnnotation(topLevelClass)) {
+                protoMappingGenerator.generateProtoMapping(topLevelClass);
+            }
+
+            mapperGenerator.generateMappers(topLevelClass);
+
+            if (BuilderOptionUtility.generateDiff(topLevelClass)) {
+                diffGenerator.generateDiffMethods(topLevelClass, builderClass);
+            }
+
+            if (BuilderOptionUtility.generateMetadata(topLevelClass)) {
+                metadataGenerator.generateMetadata(topLevelClass, builderClass);
+            }
+
+            stringPoolGenerator.generateStringPools(topLevelClass, dedupeFields);
+
+            // Replace the packed fields with their words, now that everything reading them has been generated
+            packedFieldsGenerator.packFields(topLevelClass, packedFieldLayout);
+
             topLevelClass.add(builderClass);
 
             // Cleanup and format the generated code
@@ -91,7 +174,32 @@ public class BuilderbergRunnable implements Runnable {
         }
     }
 
+    private void warnAboutEqualityExcludedFields() {
+        final List<PsiField> excludedFields = QualifyingFieldsFinder.findEqualityExcludedFields(topLevelClass);
+        if (!excludedFields.isEmpty()) {
+            final String fieldNames = excludedFields.stream().map(PsiField::getName).collect(Collectors.joining(", "));
+            NotificationUtility.warn(project, String.format(
+                    "The equals and hashCode methods of %s ignore the fields annotated with @EqualityExclude: %s",
+                    topLevelClass.getName(),
+                    fieldNames
+            ));
+        }
+    }
+
     private void prepareClassForBuilder(final PsiClass topLevelClass) {
+        // Restore the declarations of previously-packed fields, before their holder class is deleted
+        packedFieldsGenerator.unpackFields(topLevelClass);
+
+        // Clean up the previously-generated @JsonAdapter annotation
+        GsonAdapterGenerator.removeJsonAdapterAnnotation(topLevelClass);
+
+        // Clean up previously-generated fields
+        for (final PsiField field : topLevelClass.getFields()) {
+            if (AnnotationUtility.hasGeneratedAnnotation(field)) {
+                field.delete();
+            }
+        }
+
         // Clean up previously-generated inner classes
         final PsiClass[] innerClasses = topLevelClass.getAllInnerClasses();
         for (final PsiClass innerClass : innerClasses) {
@@ -135,36 +243,70 @@ public class BuilderbergRunnable implements Runnable {
         topLevelClass.add(builderMethod);
     }
 
-    private void generateConstructor(final PsiClass builderClass) {
+    private void generateConstructor(final PsiClass builderClass, final PackedFieldLayout packedFieldLayout, final List<PsiField> dedupeFields) {
         final PsiMethod constructor = methodUtility.createPrivateConstructor();
         AnnotationUtility.addGeneratedAnnotation(psiElementFactory, constructor);
 
         final PsiType builderType = TypeUtility.getTypeWithGenerics(builderClass, builderClass.getTypeParameters());
         methodUtility.addParameter(constructor, "builder", builderType);
 
-        methodUtility.addStatement(constructor, "builder.validate();");
+        if (BuilderOptionUtility.recordMetrics(topLevelClass)) {
+            // Timing is opt-in per handle, so the default path makes no System.nanoTime() calls
+            final String metrics = "Builder." + ValidationGenerator.METRICS_FIELD;
+            methodUtility.addStatement(constructor, String.format(
+                    "if (%s.isTimingEnabled()) { final long start = System.nanoTime(); builder.validate(); %s.recordValidationNanos(System.nanoTime() - start); } else { builder.validate(); }",
+                    metrics,
+                    metrics
+            ));
+        } else {
+            methodUtility.addStatement(constructor, "builder.validate();");
+        }
 
         final boolean makeCollectionsImmutable = BuilderOptionUtility.makeCollectionsImmutable(topLevelClass);
 
         // Assign values
         final PsiField[] fields = topLevelClass.getFields();
         for (PsiField field : fields) {
-            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
-                generateAssignStatement(constructor, field, makeCollectionsImmutable);
+            if (!field.hasModifierProperty(PsiModifier.STATIC) && !packedFieldLayout.find(field.getName()).isPresent()) {
+                generateAssignStatement(constructor, field, makeCollectionsImmutable, dedupeFields.contains(field));
             }
         }
 
+        // Packed fields are encoded into their words
+        for (int i = 0; i < packedFieldLayout.getWordCount(); i++) {
+            final String wordExpression = packedFieldLayout.generateWordExpression(i, fieldName -> "builder." + fieldName);
+            methodUtility.addStatement(constructor, String.format("this.%s = %s;", PackedFieldLayout.getWordName(i), wordExpression));
+        }
+
         topLevelClass.add(constructor);
     }
 
-    private void generateAssignStatement(final PsiMethod constructor, final PsiField field, final boolean makeCollectionsImmutable) {
+    private void generateAssignStatement(final PsiMethod constructor, final PsiField field, final boolean makeCollectionsImmutable, final boolean dedupe) {
         final String fieldName = field.getName();
         final PsiType fieldType = field.getType();
 
+        if (dedupe) {
+            final String dedupeExpression = StringPoolGenerator.generateDedupeExpression(field, "builder." + fieldName);
+            methodUtility.addStatement(constructor, String.format("this.%s = %s;", fieldName, dedupeExpression));
+            return;
+        }
+
         if (makeCollectionsImmutable) {
-            final Optional<CollectionType> collectionTypeOptional = CollectionTypeFactory.getCollectionType(fieldType);
-            if (collectionTypeOptional.isPresent() && TypeUtility.getNonGenericType(fieldType).equals(collectionTypeOptional.get().getCanonicalName())) {
-                final String unmodifiableMethod = collectionTypeOptional.get().getUnmodifiableMethod();
+            final Optional<CollectionType> collectionTypeOptional = CollectionTypeFactory.getImmutableCollectionType(fieldType);
+            if (collectionTypeOptional.isPresent()) {
+                final CollectionType collectionType = collectionTypeOptional.get();
+                final String unmodifiableMethod = collectionType.getUnmodifiableMethod();
+
+                // Empty defaults keep the shared empty singleton, instead of a wrapper per object.
+                // Sorted types keep the wrapper, for their comparator.
+                if (AnnotationUtility.hasDefaultAnnotation(field)
+                        && EnumSet.of(CollectionType.COLLECTION, CollectionType.LIST, CollectionType.SET, CollectionType.MAP).contains(collectionType)) {
+                    methodUtility.addStatement(constructor, String.format(
+                            "this.%s = builder.%s.isEmpty() ? %s() : %s(builder.%s);",
+                            fieldName, fieldName, collectionType.getEmptyMethod(), unmodifiableMethod, fieldName
+                    ));
+                    return;
+                }
 
                 methodUtility.addStatement(constructor, String.format("this.%s = %s(builder.%s);", fieldName, unmodifiableMethod, fieldName));
                 return;
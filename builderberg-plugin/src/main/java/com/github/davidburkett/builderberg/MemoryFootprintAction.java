@@ -0,0 +1,45 @@
+package com.github.davidburkett.builderberg;
+
+import com.github.davidburkett.builderberg.model.MemoryFootprint;
+import com.github.davidburkett.builderberg.utilities.MemoryFootprintEstimator;
+import com.github.davidburkett.builderberg.utilities.TopLevelClassFinder;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+
+/**
+ * Shows an estimate of the heap used by instances of the selected class, as they will look once a builder is generated.
+ */
+public class MemoryFootprintAction extends AnAction {
+    public MemoryFootprintAction() {
+        super("Builderberg Memory Footprint");
+    }
+
+    @Override
+    public void actionPerformed(final AnActionEvent event) {
+        final Project project = event.getProject();
+        if (project != null) {
+            final PsiClass topLevelClass = TopLevelClassFinder.findTopLevelClass(project, event);
+            if (topLevelClass != null) {
+                final MemoryFootprint memoryFootprint = MemoryFootprintEstimator.estimate(topLevelClass);
+                final MemoryFootprintDialog memoryFootprintDialog =
+                        new MemoryFootprintDialog(project, topLevelClass.getName(), memoryFootprint);
+                memoryFootprintDialog.show();
+            }
+        }
+    }
+
+    /**
+     * Update the context menu option to only display when right-clicking on .java files.
+     */
+    @Override
+    public void update(final AnActionEvent event) {
+        final VirtualFile file = event.getData(CommonDataKeys.VIRTUAL_FILE);
+        final boolean isJavaFile = file != null && file.getName().endsWith(".java");
+        event.getPresentation().setEnabled(isJavaFile);
+        event.getPresentation().setVisible(isJavaFile);
+    }
+}
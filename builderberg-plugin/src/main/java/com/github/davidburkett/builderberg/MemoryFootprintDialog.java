@@ -0,0 +1,107 @@
+package com.github.davidburkett.builderberg;
+
+import com.github.davidburkett.builderberg.model.FieldFootprint;
+import com.github.davidburkett.builderberg.model.MemoryFootprint;
+import com.github.davidburkett.builderberg.model.MemoryFootprint.OopMode;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.components.JBScrollPane;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.ToLongFunction;
+
+public class MemoryFootprintDialog extends DialogWrapper {
+    private static final long[] PROJECTED_INSTANCE_COUNTS = {1_000L, 1_000_000L, 100_000_000L};
+
+    private final JTextArea reportTextArea = new JTextArea();
+
+    public MemoryFootprintDialog(final Project project, final String className, final MemoryFootprint memoryFootprint) {
+        super(project, false);
+
+        reportTextArea.setText(generateReport(className, memoryFootprint));
+        reportTextArea.setEditable(false);
+        reportTextArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, reportTextArea.getFont().getSize()));
+        reportTextArea.setCaretPosition(0);
+        setTitle("Builderberg Memory Footprint");
+        init();
+    }
+
+    @Override
+    protected Action[] createActions() {
+        return new Action[]{getOKAction()};
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+        final JBScrollPane scrollPane = new JBScrollPane(reportTextArea);
+        scrollPane.setPreferredSize(new Dimension(640, 480));
+        return scrollPane;
+    }
+
+    private static String generateReport(final String className, final MemoryFootprint memoryFootprint) {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("Estimated memory footprint of %s%n%n", className));
+
+        report.append(String.format("%-32s %16s %16s%n", "", OopMode.COMPRESSED.getDisplayName(), OopMode.UNCOMPRESSED.getDisplayName()));
+        appendRow(report, "Shallow instance size", memoryFootprint::getShallowSize);
+        appendRow(report, "  of which padding", memoryFootprint::getPaddingWaste);
+        appendRow(report, "Boxed primitive values", memoryFootprint::getBoxedOverhead);
+        appendRow(report, "Unmodifiable wrappers", memoryFootprint::getWrapperOverhead);
+        appendRow(report, "Builder instance size", memoryFootprint::getBuilderShallowSize);
+        report.append(String.format("%n"));
+
+        for (final long instances : PROJECTED_INSTANCE_COUNTS) {
+            appendRow(report, String.format("Projected heap, %,d instances", instances), oopMode -> memoryFootprint.getProjectedHeap(instances, oopMode));
+        }
+        report.append(String.format("(Strings, collections, and other objects referenced by the fields are not included.)%n%n"));
+
+        report.append(String.format("Warnings%n"));
+        final int warningsLength = report.length();
+        for (final FieldFootprint field : memoryFootprint.getInstanceFields()) {
+            if (field.isBoxedPrimitive()) {
+                report.append(String.format("  %s (%s): boxed primitive. Consider the primitive type if null is not a valid value.%n", field.getName(), field.getTypeName()));
+            }
+
+            if (field.getImmutableWrapper().isPresent()) {
+                report.append(String.format("  %s (%s): wrapped with %s on every build.%n", field.getName(), field.getTypeName(), field.getImmutableWrapper().get().getUnmodifiableMethod()));
+            }
+        }
+
+        for (final OopMode oopMode : OopMode.values()) {
+            final long paddingWaste = memoryFootprint.getPaddingWaste(oopMode);
+            if (paddingWaste > 0) {
+                report.append(String.format("  %d bytes of padding per instance (%s).%n", paddingWaste, oopMode.getDisplayName()));
+            }
+        }
+
+        if (report.length() == warningsLength) {
+            report.append(String.format("  None%n"));
+        }
+
+        return report.toString();
+    }
+
+    private static void appendRow(final StringBuilder report, final String label, final ToLongFunction<OopMode> size) {
+        report.append(String.format(
+                "%-32s %16s %16s%n",
+                label,
+                formatBytes(size.applyAsLong(OopMode.COMPRESSED)),
+                formatBytes(size.applyAsLong(OopMode.UNCOMPRESSED))
+        ));
+    }
+
+    private static String formatBytes(final long bytes) {
+        if (bytes >= 1L << 30) {
+            return String.format("%.2f GiB", bytes / (double) (1L << 30));
+        } else if (bytes >= 1L << 20) {
+            return String.format("%.2f MiB", bytes / (double) (1L << 20));
+        } else if (bytes >= 1L << 10) {
+            return String.format("%.2f KiB", bytes / (double) (1L << 10));
+        }
+
+        return bytes + " B";
+    }
+}
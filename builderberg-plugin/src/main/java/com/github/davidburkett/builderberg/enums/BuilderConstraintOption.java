@@ -18,6 +18,16 @@ public enum BuilderConstraintOption {
     POSITIVE_ONLY("positiveOnly", true),
     MIN_VALUE("minValue", false),
     MAX_VALUE("maxValue", false),
+    MIN_SIZE("minSize", true),
+    MAX_SIZE("maxSize", false),
+    MIN_LENGTH("minLength", true),
+    MAX_LENGTH("maxLength", false),
+    ELEMENTS_NOT_NEGATIVE("elementsNotNegative", false),
+    ELEMENT_MIN_VALUE("elementMinValue", false),
+    ELEMENT_MAX_VALUE("elementMaxValue", false),
+    PARALLEL_THRESHOLD("parallelThreshold", false),
+    PATTERN("pattern", false),
+    ONE_OF("oneOf", false),
     CUSTOM("customValidation", false);
 
     private static final Map<String, BuilderConstraintOption> VALUE_MAP = Arrays.stream(values())
@@ -1,21 +1,33 @@
 package com.github.davidburkett.builderberg.enums;
 
 public enum CollectionType {
-    COLLECTION("java.util.Collection", "unmodifiableCollection"),
-    LIST("java.util.List", "unmodifiableList"),
-    SET("java.util.Set", "unmodifiableSet"),
-    SORTED_SET("java.util.SortedSet", "unmodifiableSortedSet"),
-    NAVIGABLE_SET("java.util.NavigableSet", "unmodifiableNavigableSet"),
-    MAP("java.util.Map", "unmodifiableMap"),
-    SORTED_MAP("java.util.SortedMap", "unmodifiableSortedMap"),
-    NAVIGABLE_MAP("java.util.NavigableMap", "unmodifiableNavigableMap");
+    COLLECTION("java.util.Collection", "unmodifiableCollection", 1, "emptyList", "java.util.ArrayList"),
+    LIST("java.util.List", "unmodifiableList", 2, "emptyList", "java.util.ArrayList"),
+    SET("java.util.Set", "unmodifiableSet", 1, "emptySet", "java.util.HashSet"),
+    SORTED_SET("java.util.SortedSet", "unmodifiableSortedSet", 2, "emptySortedSet", "java.util.TreeSet"),
+    NAVIGABLE_SET("java.util.NavigableSet", "unmodifiableNavigableSet", 3, "emptyNavigableSet", "java.util.TreeSet"),
+    MAP("java.util.Map", "unmodifiableMap", 4, "emptyMap", "java.util.HashMap"),
+    SORTED_MAP("java.util.SortedMap", "unmodifiableSortedMap", 5, "emptySortedMap", "java.util.TreeMap"),
+    NAVIGABLE_MAP("java.util.NavigableMap", "unmodifiableNavigableMap", 6, "emptyNavigableMap", "java.util.TreeMap");
 
     private String canonicalName;
     private String unmodifiableMethod;
+    private int wrapperReferenceCount;
+    private String emptyMethod;
+    private String implementation;
 
-    CollectionType(final String canonicalName, final String unmodifiableMethod) {
+    CollectionType(
+            final String canonicalName,
+            final String unmodifiableMethod,
+            final int wrapperReferenceCount,
+            final String emptyMethod,
+            final String implementation
+    ) {
         this.canonicalName = canonicalName;
         this.unmodifiableMethod = unmodifiableMethod;
+        this.wrapperReferenceCount = wrapperReferenceCount;
+        this.emptyMethod = emptyMethod;
+        this.implementation = implementation;
     }
 
     public String getCanonicalName() {
@@ -25,4 +37,25 @@ public enum CollectionType {
     public String getUnmodifiableMethod() {
         return "java.util.Collections." + unmodifiableMethod;
     }
+
+    /**
+     * @return The number of reference fields held by the JDK wrapper returned from {@link #getUnmodifiableMethod()}.
+     */
+    public int getWrapperReferenceCount() {
+        return wrapperReferenceCount;
+    }
+
+    /**
+     * @return The method returning the shared, immutable empty instance of the type.
+     */
+    public String getEmptyMethod() {
+        return "java.util.Collections." + emptyMethod;
+    }
+
+    /**
+     * @return The mutable implementation of the type that empty defaults are created as.
+     */
+    public String getImplementation() {
+        return implementation;
+    }
 }
@@ -1,6 +1,8 @@
 package com.github.davidburkett.builderberg.generators;
 
 import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.MethodSizeUtility;
+import com.github.davidburkett.builderberg.utilities.NotificationUtility;
 import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
@@ -9,18 +11,38 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class AllArgsConstructorGenerator {
     private static final String JSON_CREATOR = "com.fasterxml.jackson.annotation.JsonCreator";
     private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
 
+    private final Project project;
     private final PsiElementFactory psiElementFactory;
 
     public AllArgsConstructorGenerator(final Project project) {
+        this.project = project;
         this.psiElementFactory = PsiElementFactory.SERVICE.getInstance(project);
     }
 
     public void generateAllArgsConstructor(final PsiClass topLevelClass, final boolean jacksonSupport) {
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+
+        // A constructor with more parameter slots than the JVM allows would not compile, so it's skipped instead
+        final List<PsiType> parameterTypes = fields.stream().map(PsiField::getType).collect(Collectors.toList());
+        final int parameterSlots = MethodSizeUtility.getParameterSlots(parameterTypes, false);
+        if (parameterSlots > MethodSizeUtility.MAX_PARAMETER_SLOTS) {
+            NotificationUtility.warn(project, String.format(
+                    "The all-args constructor of %s was not generated, because its %d fields need %d parameter slots and the JVM allows at most %d.%s",
+                    topLevelClass.getName(),
+                    fields.size(),
+                    parameterSlots,
+                    MethodSizeUtility.MAX_PARAMETER_SLOTS,
+                    jacksonSupport ? " Jackson deserialization requires a custom deserializer or a @JsonPOJOBuilder on the builder." : ""
+            ));
+            return;
+        }
+
         final PsiMethod constructor = psiElementFactory.createConstructor();
         AnnotationUtility.addGeneratedAnnotation(psiElementFactory, constructor);
 
@@ -28,8 +50,6 @@ public class AllArgsConstructorGenerator {
             constructor.getModifierList().addAnnotation(JSON_CREATOR);
         }
 
-        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
-
         addParameters(constructor, fields, jacksonSupport);
         generateStatement(constructor, fields);
 
@@ -1,6 +1,7 @@
 package com.github.davidburkett.builderberg.generators;
 
 import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.ClassFactory;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
 import com.github.davidburkett.builderberg.utilities.TypeUtility;
 import com.google.common.collect.ImmutableList;
@@ -11,16 +12,18 @@ public class CloneGenerator {
     private final Project project;
     private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
+    private final ClassFactory classFactory;
 
     public CloneGenerator(final Project project) {
         this.project = project;
         this.psiElementFactory = PsiElementFactory.SERVICE.getInstance(project);
         this.methodUtility = new MethodUtility(psiElementFactory);
+        this.classFactory = new ClassFactory(psiElementFactory);
     }
 
     public void generateClone(final PsiClass topLevelClass) {
         // Add implements Cloneable
-        addImplementsCloneable(topLevelClass);
+        classFactory.addImplements(topLevelClass, "java.lang.Cloneable");
 
         // Create clone method
         final PsiMethod cloneMethod = methodUtility.createPublicMethod("clone", TypeUtility.getJavaLangObject(project));
@@ -42,22 +45,4 @@ public class CloneGenerator {
 
         topLevelClass.add(cloneMethod);
     }
-
-    private void addImplementsCloneable(final PsiClass topLevelClass) {
-        final PsiClassType[] implementsClassTypes = topLevelClass.getImplementsList().getReferencedTypes();
-
-        boolean alreadyImplemented = false;
-        for (final PsiClassType implementsClassType : implementsClassTypes) {
-            if (implementsClassType.getClassName().equalsIgnoreCase("Cloneable")) {
-                alreadyImplemented = true;
-                break;
-            }
-        }
-
-        if (!alreadyImplemented) {
-            final PsiClassType type = (PsiClassType)psiElementFactory.createTypeFromText("java.lang.Cloneable", topLevelClass);
-            final PsiJavaCodeReferenceElement referenceElement = psiElementFactory.createReferenceElementByType(type);
-            topLevelClass.getImplementsList().add(referenceElement);
-        }
-    }
 }
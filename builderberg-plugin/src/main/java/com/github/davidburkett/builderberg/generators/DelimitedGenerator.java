@@ -0,0 +1,289 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.siyeh.ig.psiutils.TypeUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a static parse method, which reads a delimited-text (CSV/TSV) row straight from a character range into a reusable builder,
+ * and a writeDelimited method, which writes the fields as a row.
+ * Primitives are parsed without allocating substrings, so rows can be ingested with almost no garbage.
+ * Columns are numbered by field order, or by the index of a @Column annotation.
+ */
+public class DelimitedGenerator {
+    private static final String COLUMN = "@Column";
+    private static final String RUNTIME_DELIMITED_TEXT = "com.github.davidburkett.builderberg.runtime.DelimitedText";
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public DelimitedGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    /**
+     * Generates the parse and writeDelimited methods for the given {@link PsiClass topLevelClass}.
+     * Classes with type parameters, or with fields that aren't primitives, boxed primitives, Strings or enums, are skipped with a warning.
+     * @param topLevelClass The class to generate the methods for.
+     * @param builderClass The builder of the class.
+     * @throws InvalidConstraintException If two fields have the same column index.
+     */
+    public void generateDelimitedMethods(final PsiClass topLevelClass, final PsiClass builderClass) throws InvalidConstraintException {
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        final List<PsiField> unsupportedFields = fields.stream()
+                .filter(field -> !isSupported(field.getType()))
+                .collect(Collectors.toList());
+        if (topLevelClass.hasTypeParameters() || !unsupportedFields.isEmpty()) {
+            NotificationUtility.warn(project, String.format(
+                    "The delimited-text methods of %s were not generated, because %s",
+                    topLevelClass.getName(),
+                    topLevelClass.hasTypeParameters()
+                            ? "it has type parameters."
+                            : "these fields can't be written to a single column: " + unsupportedFields.stream().map(PsiField::getName).collect(Collectors.joining(", "))
+            ));
+            return;
+        }
+
+        final SortedMap<Integer, PsiField> columns = getColumns(fields);
+        final boolean useRuntime = BuilderOptionUtility.useRuntime(topLevelClass);
+        final String delimiter = BuilderOptionUtility.delimiter(topLevelClass);
+        final String quote = BuilderOptionUtility.quote(topLevelClass);
+
+        generateParseMethod(topLevelClass, builderClass, columns, useRuntime, delimiter, quote);
+        generateParseLineMethod(topLevelClass, builderClass);
+        generateWriteDelimitedMethod(topLevelClass, columns, useRuntime, delimiter, quote);
+
+        if (useRuntime) {
+            return;
+        }
+
+        for (final String helper : DelimitedHelpers.HELPERS) {
+            final PsiMethod helperMethod = psiElementFactory.createMethodFromText(helper, topLevelClass);
+            AnnotationUtility.addGeneratedAnnotation(psiElementFactory, helperMethod);
+            topLevelClass.add(helperMethod);
+        }
+    }
+
+    private SortedMap<Integer, PsiField> getColumns(final List<PsiField> fields) throws InvalidConstraintException {
+        final SortedMap<Integer, PsiField> columns = new TreeMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            final PsiField field = fields.get(i);
+            final int index = AnnotationUtility.getColumnIndex(field).orElse(i);
+            if (index < 0 || columns.containsKey(index)) {
+                throw new InvalidConstraintException(field, COLUMN);
+            }
+
+            columns.put(index, field);
+        }
+
+        return columns;
+    }
+
+    private void generateParseMethod(
+            final PsiClass topLevelClass,
+            final PsiClass builderClass,
+            final SortedMap<Integer, PsiField> columns,
+            final boolean useRuntime,
+            final String delimiter,
+            final String quote
+    ) {
+        final PsiType builderType = TypeUtils.getType(builderClass);
+        final PsiMethod parseMethod = methodUtility.createPublicStaticMethod("parse", builderType);
+        methodUtility.addParameter(parseMethod, "line", psiElementFactory.createTypeFromText("java.lang.CharSequence", topLevelClass));
+        methodUtility.addParameter(parseMethod, "start", PsiType.INT);
+        methodUtility.addParameter(parseMethod, "end", PsiType.INT);
+        methodUtility.addParameter(parseMethod, "reusable", builderType);
+        methodUtility.addJavadoc(parseMethod, ImmutableList.of(
+                "Parses a delimited-text row into the given builder, without allocating for primitive columns.",
+                "Empty columns are null, and missing columns are empty. Columns past the last field are ignored.",
+                "@param line The text containing the row.",
+                "@param start The index of the first character of the row.",
+                "@param end The index after the last character of the row.",
+                "@param reusable The builder to set the fields of. Every field is set, so it can be reused for each row.",
+                "@return The given builder.",
+                "@throws IllegalArgumentException If a column can't be parsed as its field's type."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, parseMethod);
+
+        methodUtility.addStatement(parseMethod, "int position = start;");
+        methodUtility.addStatement(parseMethod, "int columnEnd;");
+        final String fieldEnd = getHelperName("FieldEnd", useRuntime);
+        for (int column = 0; column <= columns.lastKey(); column++) {
+            methodUtility.addStatement(parseMethod, String.format("columnEnd = %s(line, position, end, %s, %s);", fieldEnd, delimiter, quote));
+
+            final PsiField field = columns.get(column);
+            if (field != null) {
+                final String value = generateParseExpression(field.getType(), useRuntime, quote);
+                methodUtility.addStatement(parseMethod, String.format("reusable.%s(%s);", MethodNameUtility.getSetterName(field), value));
+            }
+
+            if (column != columns.lastKey()) {
+                methodUtility.addStatement(parseMethod, "position = columnEnd + 1;");
+            }
+        }
+        methodUtility.addReturnStatement(parseMethod, "reusable");
+
+        topLevelClass.add(parseMethod);
+    }
+
+    private void generateParseLineMethod(final PsiClass topLevelClass, final PsiClass builderClass) {
+        final PsiMethod parseMethod = methodUtility.createPublicStaticMethod("parse", TypeUtils.getType(topLevelClass));
+        methodUtility.addParameter(parseMethod, "line", psiElementFactory.createTypeFromText("java.lang.CharSequence", topLevelClass));
+        methodUtility.addJavadoc(parseMethod, ImmutableList.of(
+                "Parses a delimited-text row. Use parse(line, start, end, reusable) to reuse a builder for many rows.",
+                "@param line The row.",
+                "@return The parsed object."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, parseMethod);
+
+        methodUtility.addReturnStatement(parseMethod, "parse(line, 0, line.length(), builder()).build()");
+
+        topLevelClass.add(parseMethod);
+    }
+
+    private String generateParseExpression(final PsiType type, final boolean useRuntime, final String quote) {
+        final String range = String.format("line, position, columnEnd, %s", quote);
+        final PsiPrimitiveType primitiveType = type instanceof PsiPrimitiveType ? (PsiPrimitiveType) type : PsiPrimitiveType.getUnboxedType(type);
+        if (primitiveType == null) {
+            if (TypeUtility.isEnum(type)) {
+                return String.format("%s(%s.class, %s)", getHelperName("ParseEnum", useRuntime), type.getCanonicalText(), range);
+            }
+
+            return String.format("%s(%s)", getHelperName("ParseString", useRuntime), range);
+        }
+
+        final String value = generatePrimitiveParseExpression(primitiveType, useRuntime, range);
+        if (primitiveType == type) {
+            return value;
+        }
+
+        // Empty columns are null for boxed primitives
+        return String.format("columnEnd == position ? null : %s.valueOf(%s)", primitiveType.getBoxedTypeName(), value);
+    }
+
+    private String generatePrimitiveParseExpression(final PsiPrimitiveType type, final boolean useRuntime, final String range) {
+        if (type == PsiType.BOOLEAN) {
+            return String.format("%s(%s)", getHelperName("ParseBoolean", useRuntime), range);
+        } else if (type == PsiType.CHAR) {
+            return String.format("%s(%s)", getHelperName("ParseChar", useRuntime), range);
+        } else if (type == PsiType.DOUBLE) {
+            return String.format("%s(%s)", getHelperName("ParseDouble", useRuntime), range);
+        } else if (type == PsiType.FLOAT) {
+            return String.format("(float) %s(%s)", getHelperName("ParseDouble", useRuntime), range);
+        } else if (type == PsiType.LONG) {
+            return String.format("%s(%s, Long.MIN_VALUE, Long.MAX_VALUE)", getHelperName("ParseLong", useRuntime), range);
+        }
+
+        final String boxedType = type.getBoxedTypeName();
+        return String.format(
+                "(%s) %s(%s, %s.MIN_VALUE, %s.MAX_VALUE)",
+                type.getCanonicalText(),
+                getHelperName("ParseLong", useRuntime),
+                range,
+                boxedType,
+                boxedType
+        );
+    }
+
+    private void generateWriteDelimitedMethod(
+            final PsiClass topLevelClass,
+            final SortedMap<Integer, PsiField> columns,
+            final boolean useRuntime,
+            final String delimiter,
+            final String quote
+    ) {
+        final PsiMethod writeMethod = methodUtility.createPublicMethod("writeDelimited", PsiType.VOID);
+        methodUtility.addParameter(writeMethod, "out", psiElementFactory.createTypeFromText("java.lang.Appendable", topLevelClass));
+        methodUtility.addThrows(writeMethod, "java.io.IOException");
+        methodUtility.addJavadoc(writeMethod, ImmutableList.of(
+                "Writes the fields as a delimited-text row, without a line separator, in the format read by parse.",
+                "Nulls are written as empty columns. Numbers are written without allocating when the output is a StringBuilder.",
+                "@param out The output to append the row to."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, writeMethod);
+
+        for (int column = 0; column <= columns.lastKey(); column++) {
+            if (column != 0) {
+                methodUtility.addStatement(writeMethod, String.format("out.append(%s);", delimiter));
+            }
+
+            final PsiField field = columns.get(column);
+            if (field != null) {
+                final String value = MethodNameUtility.getGetterName(field) + "()";
+                methodUtility.addStatement(writeMethod, generateWriteStatement(field.getType(), value, useRuntime, delimiter, quote));
+            }
+        }
+
+        topLevelClass.add(writeMethod);
+    }
+
+    private String generateWriteStatement(final PsiType type, final String value, final boolean useRuntime, final String delimiter, final String quote) {
+        final PsiPrimitiveType primitiveType = type instanceof PsiPrimitiveType ? (PsiPrimitiveType) type : PsiPrimitiveType.getUnboxedType(type);
+        if (primitiveType == null) {
+            final String text = TypeUtility.isEnum(type) ? String.format("%s != null ? %s.name() : null", value, value) : value;
+            return String.format("%s(out, %s, %s, %s);", getHelperName("WriteString", useRuntime), text, delimiter, quote);
+        }
+
+        final String statement = generatePrimitiveWriteStatement(primitiveType, value, useRuntime, delimiter, quote);
+        if (primitiveType == type) {
+            return statement;
+        }
+
+        return String.format("if (%s != null) { %s }", value, statement);
+    }
+
+    private String generatePrimitiveWriteStatement(
+            final PsiPrimitiveType type,
+            final String value,
+            final boolean useRuntime,
+            final String delimiter,
+            final String quote
+    ) {
+        if (type == PsiType.BOOLEAN) {
+            return String.format("out.append(%s ? \"true\" : \"false\");", value);
+        } else if (type == PsiType.CHAR) {
+            return String.format("%s(out, String.valueOf(%s), %s, %s);", getHelperName("WriteString", useRuntime), value, delimiter, quote);
+        } else if (type == PsiType.DOUBLE) {
+            return String.format("%s(out, %s);", getHelperName("WriteDouble", useRuntime), value);
+        } else if (type == PsiType.FLOAT) {
+            return String.format("%s(out, %s);", getHelperName("WriteFloat", useRuntime), value);
+        }
+
+        return String.format("%s(out, %s);", getHelperName("WriteLong", useRuntime), value);
+    }
+
+    private static boolean isSupported(final PsiType type) {
+        return type instanceof PsiPrimitiveType
+                || PsiPrimitiveType.getUnboxedType(type) != null
+                || TypeUtility.isOfType(type, CommonClassNames.JAVA_LANG_STRING)
+                || TypeUtility.isEnum(type);
+    }
+
+    /**
+     * @param helper The capitalized helper name. Example: "ParseLong".
+     * @return The private helper "delimitedParseLong", or the runtime equivalent "DelimitedText.parseLong".
+     */
+    private static String getHelperName(final String helper, final boolean useRuntime) {
+        if (useRuntime) {
+            return RUNTIME_DELIMITED_TEXT + "." + StringUtils.uncapitalize(helper);
+        }
+
+        return "delimited" + helper;
+    }
+}
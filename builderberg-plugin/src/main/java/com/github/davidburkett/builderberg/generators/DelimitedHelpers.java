@@ -0,0 +1,219 @@
+package com.github.davidburkett.builderberg.generators;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The text of the private helper methods that the delimited-text parse and writeDelimited methods call, unless the class uses builderberg-runtime.
+ * Each helper behaves like the method of com.github.davidburkett.builderberg.runtime.DelimitedText with the same name, as DelimitedHelpersTest checks.
+ */
+final class DelimitedHelpers {
+    private static final String IS_QUOTED_HELPER =
+            "private static boolean delimitedIsQuoted(final CharSequence line, final int start, final int end, final char quote) {" +
+            "    return quote != 0 && end - start >= 2 && line.charAt(start) == quote && line.charAt(end - 1) == quote;" +
+            "}";
+
+    private static final String FIELD_END_HELPER =
+            "private static int delimitedFieldEnd(final CharSequence line, final int start, final int end, final char delimiter, final char quote) {" +
+            "    boolean quoted = false;" +
+            "    for (int i = start; i < end; i++) {" +
+            "        final char c = line.charAt(i);" +
+            "        if (quote != 0 && c == quote) {" +
+            "            quoted = !quoted;" +
+            "        } else if (c == delimiter && !quoted) {" +
+            "            return i;" +
+            "        }" +
+            "    }" +
+            "    return start > end ? start : end;" +
+            "}";
+
+    private static final String PARSE_LONG_HELPER =
+            "private static long delimitedParseLong(final CharSequence line, int start, int end, final char quote, final long min, final long max) {" +
+            "    if (delimitedIsQuoted(line, start, end, quote)) {" +
+            "        start++;" +
+            "        end--;" +
+            "    }" +
+            "    final boolean negative = start < end && line.charAt(start) == '-';" +
+            "    int i = start < end && (negative || line.charAt(start) == '+') ? start + 1 : start;" +
+            "    if (i == end) {" +
+            "        throw new NumberFormatException(\"For input string: \\\"\" + line.subSequence(start, end) + \"\\\"\");" +
+            "    }" +
+            "    final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;" +
+            "    long result = 0;" +
+            "    for (; i < end; i++) {" +
+            "        final int digit = line.charAt(i) - '0';" +
+            "        if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {" +
+            "            throw new NumberFormatException(\"For input string: \\\"\" + line.subSequence(start, end) + \"\\\"\");" +
+            "        }" +
+            "        result = result * 10 - digit;" +
+            "    }" +
+            "    final long value = negative ? result : -result;" +
+            "    if (value < min || value > max) {" +
+            "        throw new NumberFormatException(\"For input string: \\\"\" + line.subSequence(start, end) + \"\\\"\");" +
+            "    }" +
+            "    return value;" +
+            "}";
+
+    private static final String PARSE_DOUBLE_HELPER =
+            "private static double delimitedParseDouble(final CharSequence line, int start, int end, final char quote) {" +
+            "    if (delimitedIsQuoted(line, start, end, quote)) {" +
+            "        start++;" +
+            "        end--;" +
+            "    }" +
+            "    final boolean negative = start < end && line.charAt(start) == '-';" +
+            "    int i = start < end && (negative || line.charAt(start) == '+') ? start + 1 : start;" +
+            "    long mantissa = 0;" +
+            "    int digits = 0;" +
+            "    int fractionDigits = -1;" +
+            "    for (; i < end; i++) {" +
+            "        final char c = line.charAt(i);" +
+            "        if (c >= '0' && c <= '9') {" +
+            "            mantissa = mantissa * 10 + (c - '0');" +
+            "            digits++;" +
+            "            if (fractionDigits >= 0) {" +
+            "                fractionDigits++;" +
+            "            }" +
+            "        } else if (c == '.' && fractionDigits < 0) {" +
+            "            fractionDigits = 0;" +
+            "        } else {" +
+            "            break;" +
+            "        }" +
+            "    }" +
+            "    if (i == end && digits > 0 && digits <= 15) {" +
+            "        double scale = 1.0;" +
+            "        for (int k = 0; k < fractionDigits; k++) {" +
+            "            scale *= 10.0;" +
+            "        }" +
+            "        final double value = mantissa / scale;" +
+            "        return negative ? -value : value;" +
+            "    }" +
+            "    return Double.parseDouble(line.subSequence(start, end).toString());" +
+            "}";
+
+    private static final String PARSE_BOOLEAN_HELPER =
+            "private static boolean delimitedParseBoolean(final CharSequence line, int start, int end, final char quote) {" +
+            "    if (delimitedIsQuoted(line, start, end, quote)) {" +
+            "        start++;" +
+            "        end--;" +
+            "    }" +
+            "    final String expected = end - start == 4 ? \"true\" : \"false\";" +
+            "    boolean matches = end - start == expected.length();" +
+            "    for (int i = 0; matches && i < expected.length(); i++) {" +
+            "        matches = Character.toLowerCase(line.charAt(start + i)) == expected.charAt(i);" +
+            "    }" +
+            "    if (!matches) {" +
+            "        throw new IllegalArgumentException(\"Expected true or false: \\\"\" + line.subSequence(start, end) + \"\\\"\");" +
+            "    }" +
+            "    return expected.length() == 4;" +
+            "}";
+
+    private static final String PARSE_CHAR_HELPER =
+            "private static char delimitedParseChar(final CharSequence line, int start, int end, final char quote) {" +
+            "    if (delimitedIsQuoted(line, start, end, quote)) {" +
+            "        start++;" +
+            "        end--;" +
+            "    }" +
+            "    if (end - start != 1) {" +
+            "        throw new IllegalArgumentException(\"Expected a single character: \\\"\" + line.subSequence(start, end) + \"\\\"\");" +
+            "    }" +
+            "    return line.charAt(start);" +
+            "}";
+
+    private static final String PARSE_STRING_HELPER =
+            "private static String delimitedParseString(final CharSequence line, int start, int end, final char quote) {" +
+            "    if (!delimitedIsQuoted(line, start, end, quote)) {" +
+            "        return start >= end ? null : line.subSequence(start, end).toString();" +
+            "    }" +
+            "    start++;" +
+            "    end--;" +
+            "    StringBuilder unescaped = null;" +
+            "    int copied = start;" +
+            "    for (int i = start; i < end; i++) {" +
+            "        if (line.charAt(i) == quote && i + 1 < end && line.charAt(i + 1) == quote) {" +
+            "            if (unescaped == null) {" +
+            "                unescaped = new StringBuilder(end - start);" +
+            "            }" +
+            "            unescaped.append(line, copied, i + 1);" +
+            "            copied = ++i + 1;" +
+            "        }" +
+            "    }" +
+            "    if (unescaped == null) {" +
+            "        return line.subSequence(start, end).toString();" +
+            "    }" +
+            "    return unescaped.append(line, copied, end).toString();" +
+            "}";
+
+    private static final String PARSE_ENUM_HELPER =
+            "private static <E extends Enum<E>> E delimitedParseEnum(final Class<E> type, final CharSequence line, final int start, final int end, final char quote) {" +
+            "    final String name = delimitedParseString(line, start, end, quote);" +
+            "    return name == null ? null : Enum.valueOf(type, name);" +
+            "}";
+
+    private static final String WRITE_LONG_HELPER = writeNumberHelper("Long", "long");
+    private static final String WRITE_DOUBLE_HELPER = writeNumberHelper("Double", "double");
+    private static final String WRITE_FLOAT_HELPER = writeNumberHelper("Float", "float");
+
+    private static final String WRITE_STRING_HELPER =
+            "private static void delimitedWriteString(final Appendable out, final CharSequence value, final char delimiter, final char quote) throws java.io.IOException {" +
+            "    if (value == null) {" +
+            "        return;" +
+            "    }" +
+            "    boolean needsQuotes = value.length() == 0;" +
+            "    for (int i = 0; i < value.length() && !needsQuotes; i++) {" +
+            "        final char c = value.charAt(i);" +
+            "        needsQuotes = c == delimiter || c == '\\n' || c == '\\r' || (quote != 0 && c == quote);" +
+            "    }" +
+            "    if (!needsQuotes) {" +
+            "        out.append(value);" +
+            "        return;" +
+            "    } else if (quote == 0) {" +
+            "        if (value.length() == 0) {" +
+            "            return;" +
+            "        }" +
+            "        throw new IllegalArgumentException(\"Value can't be written without quotes: \\\"\" + value + \"\\\"\");" +
+            "    }" +
+            "    out.append(quote);" +
+            "    int copied = 0;" +
+            "    for (int i = 0; i < value.length(); i++) {" +
+            "        if (value.charAt(i) == quote) {" +
+            "            out.append(value, copied, i + 1).append(quote);" +
+            "            copied = i + 1;" +
+            "        }" +
+            "    }" +
+            "    out.append(value, copied, value.length()).append(quote);" +
+            "}";
+
+    static final List<String> HELPERS = Collections.unmodifiableList(Arrays.asList(
+            IS_QUOTED_HELPER,
+            FIELD_END_HELPER,
+            PARSE_LONG_HELPER,
+            PARSE_DOUBLE_HELPER,
+            PARSE_BOOLEAN_HELPER,
+            PARSE_CHAR_HELPER,
+            PARSE_STRING_HELPER,
+            PARSE_ENUM_HELPER,
+            WRITE_LONG_HELPER,
+            WRITE_DOUBLE_HELPER,
+            WRITE_FLOAT_HELPER,
+            WRITE_STRING_HELPER
+    ));
+
+    private DelimitedHelpers() {
+    }
+
+    private static String writeNumberHelper(final String boxedType, final String primitiveType) {
+        return String.format(
+                "private static void delimitedWrite%s(final Appendable out, final %s value) throws java.io.IOException {" +
+                "    if (out instanceof StringBuilder) {" +
+                "        ((StringBuilder) out).append(value);" +
+                "    } else {" +
+                "        out.append(%s.toString(value));" +
+                "    }" +
+                "}",
+                boxedType,
+                primitiveType,
+                boxedType
+        );
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.psi.*;
+import com.siyeh.ig.psiutils.TypeUtils;
+
+import java.util.List;
+
+/**
+ * Generates diff/patch methods for replicating changes between two versions of an object.
+ * Field i of the {@link QualifyingFieldsFinder qualifying fields} is represented by bit i of a {@link java.util.BitSet},
+ * and a delta is encoded as that bitmask (as a fixed number of longs) followed by the values of the changed fields only.
+ */
+public class DiffGenerator {
+    private static final String BIT_SET = "java.util.BitSet";
+
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public DiffGenerator(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    /**
+     * Generates diff and writeDelta on the {@link PsiClass topLevelClass}, and applyPatch and readDelta on its builder.
+     * @param topLevelClass The {@link PsiClass} to generate diff/patch support for.
+     * @param builderClass The builder {@link PsiClass} of the topLevelClass.
+     */
+    public void generateDiffMethods(final PsiClass topLevelClass, final PsiClass builderClass) {
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+
+        generateDiffMethod(topLevelClass, fields);
+        generateWriteDeltaMethod(topLevelClass, fields);
+        generateApplyPatchMethod(topLevelClass, builderClass, fields);
+        generateReadDeltaMethod(topLevelClass, builderClass, fields);
+    }
+
+    private void generateDiffMethod(final PsiClass topLevelClass, final List<PsiField> fields) {
+        final PsiMethod diffMethod = methodUtility.createPublicMethod("diff", psiElementFactory.createTypeFromText(BIT_SET, topLevelClass));
+        methodUtility.addParameter(diffMethod, "other", TypeUtils.getType(topLevelClass));
+        methodUtility.addJavadoc(diffMethod, ImmutableList.of(
+                "Bit i of the result is set when the i-th field differs between this object and the other one.",
+                "@param other The object to compare against. When null, all fields are considered changed.",
+                "@return The changed fields."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, diffMethod);
+
+        methodUtility.addStatement(diffMethod, String.format("final %s changedFields = new %s(%d);", BIT_SET, BIT_SET, fields.size()));
+        methodUtility.addIfStatement(diffMethod, "other == null", String.format("changedFields.set(0, %d); return changedFields;", fields.size()));
+
+        for (int i = 0; i < fields.size(); i++) {
+            final String getter = MethodNameUtility.getGetterName(fields.get(i)) + "()";
+            final String comparison = generateInequality(fields.get(i).getType(), getter, "other." + getter);
+            methodUtility.addIfStatement(diffMethod, comparison, String.format("changedFields.set(%d);", i));
+        }
+
+        methodUtility.addReturnStatement(diffMethod, "changedFields");
+
+        topLevelClass.add(diffMethod);
+    }
+
+    private String generateInequality(final PsiType type, final String value, final String otherValue) {
+        if (PsiType.FLOAT.equals(type)) {
+            return String.format("Float.compare(%s, %s) != 0", value, otherValue);
+        } else if (PsiType.DOUBLE.equals(type)) {
+            return String.format("Double.compare(%s, %s) != 0", value, otherValue);
+        } else if (type instanceof PsiPrimitiveType) {
+            return String.format("%s != %s", value, otherValue);
+        } else if (type instanceof PsiArrayType) {
+            return String.format("!java.util.Arrays.equals(%s, %s)", value, otherValue);
+        }
+
+        return String.format("!java.util.Objects.equals(%s, %s)", value, otherValue);
+    }
+
+    private void generateWriteDeltaMethod(final PsiClass topLevelClass, final List<PsiField> fields) {
+        final PsiMethod writeDeltaMethod = methodUtility.createPublicMethod("writeDelta", PsiType.VOID);
+        methodUtility.addParameter(writeDeltaMethod, "previous", TypeUtils.getType(topLevelClass));
+        methodUtility.addParameter(writeDeltaMethod, "out", psiElementFactory.createTypeFromText("java.io.ObjectOutput", topLevelClass));
+        methodUtility.addThrows(writeDeltaMethod, "java.io.IOException");
+        methodUtility.addJavadoc(writeDeltaMethod, ImmutableList.of(
+                "Writes the fields that changed since the previous version, to be applied with {@link Builder#readDelta}.",
+                "@param previous The version the receiver already has. When null, all fields are written.",
+                "@param out The output to write the delta to."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, writeDeltaMethod);
+
+        final int wordCount = getWordCount(fields);
+        methodUtility.addStatement(writeDeltaMethod, String.format("final %s changedFields = diff(previous);", BIT_SET));
+        methodUtility.addStatement(writeDeltaMethod, "final long[] words = changedFields.toLongArray();");
+        methodUtility.addStatement(writeDeltaMethod, String.format("for (int i = 0; i < %d; i++) { out.writeLong(i < words.length ? words[i] : 0L); }", wordCount));
+
+        for (int i = 0; i < fields.size(); i++) {
+            final PsiField field = fields.get(i);
+            final String writeStatement = SerializationUtility.generateWriteStatement(field, "out", MethodNameUtility.getGetterName(field) + "()");
+            methodUtility.addIfStatement(writeDeltaMethod, String.format("changedFields.get(%d)", i), writeStatement);
+        }
+
+        topLevelClass.add(writeDeltaMethod);
+    }
+
+    private void generateApplyPatchMethod(final PsiClass topLevelClass, final PsiClass builderClass, final List<PsiField> fields) {
+        final PsiMethod applyPatchMethod = methodUtility.createPublicMethod("applyPatch", TypeUtils.getType(builderClass));
+        methodUtility.addParameter(applyPatchMethod, "source", TypeUtils.getType(topLevelClass));
+        methodUtility.addParameter(applyPatchMethod, "changedFields", psiElementFactory.createTypeFromText(BIT_SET, builderClass));
+        methodUtility.addJavadoc(applyPatchMethod, ImmutableList.of(
+                "Copies the changed fields from the source through the setters, which validate them. build() then validates the whole object.",
+                "@param source The object to copy the changed fields from.",
+                "@param changedFields The fields to copy, as returned by diff.",
+                "@return This builder."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, applyPatchMethod);
+
+        for (int i = 0; i < fields.size(); i++) {
+            final PsiField field = fields.get(i);
+            final String setterStatement = String.format("%s(source.%s());", MethodNameUtility.getSetterName(field), MethodNameUtility.getGetterName(field));
+            methodUtility.addIfStatement(applyPatchMethod, String.format("changedFields.get(%d)", i), setterStatement);
+        }
+
+        methodUtility.addReturnStatement(applyPatchMethod, "this");
+
+        builderClass.add(applyPatchMethod);
+    }
+
+    private void generateReadDeltaMethod(final PsiClass topLevelClass, final PsiClass builderClass, final List<PsiField> fields) {
+        final PsiMethod readDeltaMethod = methodUtility.createPublicMethod("readDelta", TypeUtils.getType(builderClass));
+        methodUtility.addParameter(readDeltaMethod, "in", psiElementFactory.createTypeFromText("java.io.ObjectInput", builderClass));
+        methodUtility.addThrows(readDeltaMethod, "java.io.IOException");
+        methodUtility.addThrows(readDeltaMethod, "java.lang.ClassNotFoundException");
+        methodUtility.addJavadoc(readDeltaMethod, ImmutableList.of(
+                "Reads a delta written by writeDelta, setting the fields it contains through the setters. build() then validates the whole object.",
+                "@param in The input to read the delta from.",
+                "@return This builder."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, readDeltaMethod);
+        if (topLevelClass.hasTypeParameters()) {
+            readDeltaMethod.getModifierList().addAnnotation("SuppressWarnings(\"unchecked\")");
+        }
+
+        final int wordCount = getWordCount(fields);
+        methodUtility.addStatement(readDeltaMethod, String.format("final long[] words = new long[%d];", wordCount));
+        methodUtility.addStatement(readDeltaMethod, String.format("for (int i = 0; i < %d; i++) { words[i] = in.readLong(); }", wordCount));
+        methodUtility.addStatement(readDeltaMethod, String.format("final %s changedFields = %s.valueOf(words);", BIT_SET, BIT_SET));
+
+        for (int i = 0; i < fields.size(); i++) {
+            final PsiField field = fields.get(i);
+            final String setterStatement = String.format("%s(%s);", MethodNameUtility.getSetterName(field), SerializationUtility.generateReadExpression(field, "in"));
+            methodUtility.addIfStatement(readDeltaMethod, String.format("changedFields.get(%d)", i), setterStatement);
+        }
+
+        methodUtility.addReturnStatement(readDeltaMethod, "this");
+
+        builderClass.add(readDeltaMethod);
+    }
+
+    private static int getWordCount(final List<PsiField> fields) {
+        return Math.max(1, (fields.size() + 63) / 64);
+    }
+}
@@ -1,29 +1,42 @@
 package com.github.davidburkett.builderberg.generators;
 
+import com.github.davidburkett.builderberg.model.PackedField;
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
 import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.MethodSizeUtility;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
 import com.github.davidburkett.builderberg.utilities.TypeUtility;
 import com.google.common.collect.ImmutableList;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.siyeh.ig.psiutils.TypeUtils;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 public class EqualsGenerator {
     private final Project project;
     private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
+    private final MethodSizeUtility methodSizeUtility;
 
     public EqualsGenerator(final Project project, final PsiElementFactory psiElementFactory) {
         this.project = project;
         this.psiElementFactory = psiElementFactory;
         this.methodUtility = new MethodUtility(psiElementFactory);
+        this.methodSizeUtility = new MethodSizeUtility(psiElementFactory);
     }
 
     /**
      * Generates an equals method for the given {@link PsiClass topLevelClass} and adds it to that class.
      * @param topLevelClass The {@link PsiClass} to generate an equals method for.
+     * @param packedFieldLayout The layout of the fields that are packed into long words, which are compared as a whole.
      */
-    public void generateEqualsMethod(final PsiClass topLevelClass) {
+    public void generateEqualsMethod(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout) {
         // Create equals method
         final PsiMethod equalsMethod = methodUtility.createPublicMethod("equals", PsiType.BOOLEAN);
 
@@ -50,10 +63,25 @@ public class EqualsGenerator {
         methodUtility.addStatement(equalsMethod, String.format("final %s obj = (%s) o;", typeName, typeName));
 
         // Add comparison for each field
-        for (final PsiField field : topLevelClass.getFields()) {
-            generateFieldComparison(equalsMethod, field);
+        final int firstComparisonStatement = equalsMethod.getBody().getStatements().length;
+        final Set<Integer> comparedWords = new HashSet<>();
+        for (final PsiField field : QualifyingFieldsFinder.findEqualityFields(topLevelClass)) {
+            final Optional<PackedField> packedField = packedFieldLayout.find(field.getName());
+            if (!packedField.isPresent()) {
+                generateFieldComparison(equalsMethod, field);
+            } else if (comparedWords.add(packedField.get().getWordIndex())) {
+                final String wordName = packedField.get().getWordName();
+                methodUtility.addIfStatement(equalsMethod, String.format("%s != obj.%s", wordName, wordName), "return false;");
+            }
         }
 
+        // Move the comparisons into helper methods when there are too many to be JIT-compiled
+        final PsiStatement[] statements = equalsMethod.getBody().getStatements();
+        final List<PsiStatement> comparisonStatements = Arrays.asList(statements).subList(firstComparisonStatement, statements.length);
+        final PsiMethod equalsTemplate = methodUtility.createPrivateMethod("equalsChunk", PsiType.BOOLEAN);
+        methodUtility.addParameter(equalsTemplate, "obj", TypeUtils.getType(topLevelClass));
+        methodSizeUtility.splitIfHuge(topLevelClass, equalsMethod, comparisonStatements, equalsTemplate, "if (!%s(obj)) { return false; }", "return true;");
+
         // Add return true statement
         methodUtility.addReturnStatement(equalsMethod, "true");
 
@@ -1,5 +1,6 @@
 package com.github.davidburkett.builderberg.generators;
 
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
 import com.github.davidburkett.builderberg.utilities.*;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElementFactory;
@@ -19,24 +20,29 @@ public class GetterGenerator {
         this.methodUtility = new MethodUtility(psiElementFactory);
     }
 
-    public void generateGetters(final PsiClass topLevelClass) {
+    public void generateGetters(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout) {
         final List<PsiField> fields = Arrays.asList(topLevelClass.getFields());
         for (PsiField field : fields) {
+            // Packed fields are decoded from the word they're stored in
+            final String value = packedFieldLayout.find(field.getName())
+                    .map(packedField -> packedField.generateDecodeExpression(packedField.getWordName()))
+                    .orElse(field.getName());
+
             final String getterMethodName = MethodNameUtility.getGetterName(field);
-            generateGetter(topLevelClass, field, getterMethodName);
+            generateGetter(topLevelClass, field, getterMethodName, value);
 
             if (TypeUtility.isPrimitiveBoolean(field.getType())) {
                 final String isMethodName = MethodNameUtility.getIsMethodName(field);
-                generateGetter(topLevelClass, field, isMethodName);
+                generateGetter(topLevelClass, field, isMethodName, value);
             }
         }
     }
 
-    private void generateGetter(final PsiClass topLevelClass, final PsiField field, final String getterMethodName) {
+    private void generateGetter(final PsiClass topLevelClass, final PsiField field, final String getterMethodName, final String value) {
         final PsiMethod getter = methodUtility.createPublicMethod(getterMethodName, field.getType());
         generateCommentForGetterMethod(getter, field);
 
-        methodUtility.addReturnStatement(getter, field.getName());
+        methodUtility.addReturnStatement(getter, value);
         AnnotationUtility.addGeneratedAnnotation(psiElementFactory, getter);
 
         topLevelClass.add(getter);
@@ -0,0 +1,327 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
+import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndValue;
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Generates a Gson TypeAdapter that streams JSON tokens into the builder, so constraints are enforced,
+ * and writes the fields straight to the JsonWriter, without Gson's reflective field access.
+ * The adapter is registered through a TypeAdapterFactory referenced by a @JsonAdapter annotation on the class.
+ * Lists and sets with a maxSize constraint are read element by element, so an oversized array is rejected before it's fully read.
+ */
+public class GsonAdapterGenerator {
+    private static final String ADAPTER_CLASS = "GsonTypeAdapter";
+    private static final String FACTORY_CLASS = "GsonTypeAdapterFactory";
+    private static final String JSON_ADAPTER = "com.google.gson.annotations.JsonAdapter";
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+    private static final String GSON = "com.google.gson.Gson";
+    private static final String JSON_READER = "com.google.gson.stream.JsonReader";
+    private static final String JSON_WRITER = "com.google.gson.stream.JsonWriter";
+    private static final String JSON_TOKEN = "com.google.gson.stream.JsonToken";
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+    private final ClassFactory classFactory;
+
+    public GsonAdapterGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+        this.classFactory = new ClassFactory(psiElementFactory);
+    }
+
+    public void generateGsonAdapter(final PsiClass topLevelClass) {
+        // The factory would have to resolve the type arguments from the TypeToken, so generic classes keep Gson's default adapter
+        if (topLevelClass.hasTypeParameters()) {
+            NotificationUtility.warn(project, String.format(
+                    "The Gson TypeAdapter of %s was not generated, because it has type parameters.",
+                    topLevelClass.getName()
+            ));
+            return;
+        }
+
+        final String className = topLevelClass.getName();
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+
+        final PsiClass adapterClass = classFactory.createClass(
+                ADAPTER_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PRIVATE, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        classFactory.addExtends(adapterClass, String.format("com.google.gson.TypeAdapter<%s>", className));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, adapterClass);
+
+        generateAdapterFields(adapterClass, fields);
+        generateAdapterConstructor(adapterClass, fields);
+        generateWriteMethod(topLevelClass, adapterClass, fields);
+        generateReadMethod(topLevelClass, adapterClass, fields);
+        topLevelClass.add(adapterClass);
+
+        generateFactoryClass(topLevelClass);
+        addJsonAdapterAnnotation(topLevelClass);
+    }
+
+    /**
+     * Fields that can't be read or written with a single JsonReader/JsonWriter call delegate to the adapter Gson provides for their type.
+     */
+    private void generateAdapterFields(final PsiClass adapterClass, final List<PsiField> fields) {
+        for (final PsiField field : fields) {
+            if (isDelegated(field)) {
+                final PsiType adaptedType = getMaxSize(field).isPresent() ? TypeUtility.getGenericValueType(field.getType()) : field.getType();
+                final String adapterField = String.format("private final com.google.gson.TypeAdapter<%s> %s;", adaptedType.getCanonicalText(), getAdapterName(field));
+                adapterClass.add(psiElementFactory.createFieldFromText(adapterField, adapterClass));
+            }
+        }
+    }
+
+    private void generateAdapterConstructor(final PsiClass adapterClass, final List<PsiField> fields) {
+        final PsiMethod constructor = methodUtility.createPrivateConstructor();
+        methodUtility.addParameter(constructor, "gson", psiElementFactory.createTypeFromText(GSON, adapterClass));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, constructor);
+
+        for (final PsiField field : fields) {
+            if (isDelegated(field)) {
+                // Collections read incrementally only need the adapter of their elements
+                final PsiType adaptedType = getMaxSize(field).isPresent() ? TypeUtility.getGenericValueType(field.getType()) : field.getType();
+                final String typeText = adaptedType.getCanonicalText();
+                // Parameterized types need a TypeToken to keep their type arguments
+                final String typeToken = adaptedType instanceof PsiClassType && ((PsiClassType) adaptedType).hasParameters()
+                        ? String.format("new com.google.gson.reflect.TypeToken<%s>() {}", typeText)
+                        : typeText + ".class";
+                methodUtility.addStatement(constructor, String.format("this.%s = gson.getAdapter(%s);", getAdapterName(field), typeToken));
+            }
+        }
+
+        adapterClass.add(constructor);
+    }
+
+    private void generateWriteMethod(final PsiClass topLevelClass, final PsiClass adapterClass, final List<PsiField> fields) {
+        final PsiMethod writeMethod = methodUtility.createPublicMethod("write", PsiType.VOID);
+        methodUtility.addParameter(writeMethod, "out", psiElementFactory.createTypeFromText(JSON_WRITER, adapterClass));
+        methodUtility.addParameter(writeMethod, "value", psiElementFactory.createTypeFromText(topLevelClass.getName(), adapterClass));
+        methodUtility.addThrows(writeMethod, "java.io.IOException");
+        AnnotationUtility.addOverrideAnnotation(writeMethod);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, writeMethod);
+
+        methodUtility.addIfStatement(writeMethod, "value == null", "out.nullValue(); return;");
+        methodUtility.addStatement(writeMethod, "out.beginObject();");
+        for (final PsiField field : fields) {
+            final String getter = String.format("value.%s()", MethodNameUtility.getGetterName(field));
+            methodUtility.addStatement(writeMethod, String.format("out.name(%s);", getJsonName(field)));
+            methodUtility.addStatement(writeMethod, generateWriteStatement(field, getter));
+        }
+        methodUtility.addStatement(writeMethod, "out.endObject();");
+
+        adapterClass.add(writeMethod);
+    }
+
+    private String generateWriteStatement(final PsiField field, final String value) {
+        if (isDelegated(field)) {
+            return String.format("%s.write(out, %s);", getAdapterName(field), value);
+        } else if (field.getType() == PsiType.CHAR) {
+            return String.format("out.value(String.valueOf(%s));", value);
+        }
+
+        // JsonWriter writes null Strings as null, and has overloads for every other primitive (through widening)
+        return String.format("out.value(%s);", value);
+    }
+
+    private void generateReadMethod(final PsiClass topLevelClass, final PsiClass adapterClass, final List<PsiField> fields) {
+        final String className = topLevelClass.getName();
+        final PsiMethod readMethod = methodUtility.createPublicMethod("read", psiElementFactory.createTypeFromText(className, adapterClass));
+        methodUtility.addParameter(readMethod, "in", psiElementFactory.createTypeFromText(JSON_READER, adapterClass));
+        methodUtility.addThrows(readMethod, "java.io.IOException");
+        AnnotationUtility.addOverrideAnnotation(readMethod);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, readMethod);
+
+        methodUtility.addIfStatement(readMethod, String.format("in.peek() == %s.NULL", JSON_TOKEN), "in.nextNull(); return null;");
+        methodUtility.addStatement(readMethod, String.format("final %s.Builder builder = %s.builder();", className, className));
+        methodUtility.addStatement(readMethod, "in.beginObject();");
+
+        final StringBuilder switchText = new StringBuilder("switch (in.nextName()) {");
+        for (final PsiField field : fields) {
+            switchText.append(String.format("case %s: %s break;", getJsonName(field), generateReadStatement(topLevelClass, field)));
+        }
+        switchText.append("default: in.skipValue(); break;");
+        switchText.append("}");
+        methodUtility.addStatement(readMethod, String.format("while (in.hasNext()) { %s }", switchText));
+
+        methodUtility.addStatement(readMethod, "in.endObject();");
+        methodUtility.addReturnStatement(readMethod, "builder.build()");
+
+        adapterClass.add(readMethod);
+    }
+
+    private String generateReadStatement(final PsiClass topLevelClass, final PsiField field) {
+        final String setter = "builder." + MethodNameUtility.getSetterName(field);
+        final PsiType type = field.getType();
+        final OptionalInt maxSize = getMaxSize(field);
+        if (maxSize.isPresent()) {
+            return generateBoundedReadStatement(topLevelClass, field, setter, maxSize.getAsInt());
+        } else if (isDelegated(field)) {
+            return String.format("%s(%s.read(in));", setter, getAdapterName(field));
+        } else if (type == PsiType.BOOLEAN) {
+            return String.format("%s(in.nextBoolean());", setter);
+        } else if (type == PsiType.INT || type == PsiType.LONG || type == PsiType.DOUBLE) {
+            return String.format("%s(in.next%s());", setter, StringUtils.capitalize(type.getCanonicalText()));
+        } else if (type == PsiType.BYTE || type == PsiType.SHORT) {
+            return String.format("%s((%s) in.nextInt());", setter, type.getCanonicalText());
+        } else if (type == PsiType.FLOAT) {
+            return String.format("%s((float) in.nextDouble());", setter);
+        } else if (type == PsiType.CHAR) {
+            // An empty or longer string would otherwise throw an IndexOutOfBoundsException, or be truncated silently
+            final String valueName = field.getName() + "Value";
+            return String.format(
+                    "{ final String %s = in.nextString();" +
+                    "if (%s.length() != 1) { throw new com.google.gson.JsonSyntaxException(\"%s -> Expected a single character: \\\"\" + %s + \"\\\"\"); }" +
+                    "%s(%s.charAt(0)); }",
+                    valueName,
+                    valueName, field.getName(), valueName,
+                    setter, valueName
+            );
+        }
+
+        // Strings
+        return String.format(
+                "if (in.peek() == %s.NULL) { in.nextNull(); %s(null); } else { %s(in.nextString()); }",
+                JSON_TOKEN,
+                setter,
+                setter
+        );
+    }
+
+    /**
+     * Reads the elements of a JSON array one at a time, and throws as soon as there are more than maxSize of them,
+     * instead of buffering the whole array before the builder checks its size.
+     */
+    private String generateBoundedReadStatement(final PsiClass topLevelClass, final PsiField field, final String setter, final int maxSize) {
+        final PsiType elementType = TypeUtility.getGenericValueType(field.getType());
+        final String valuesName = field.getName() + "Values";
+        final String collectionClass = TypeUtility.isSet(field.getType()) ? "java.util.LinkedHashSet" : "java.util.ArrayList";
+        return String.format(
+                "if (in.peek() == %s.NULL) { in.nextNull(); %s(null); } else {" +
+                "final %s %s = new %s<>();" +
+                "in.beginArray();" +
+                "while (in.hasNext()) {" +
+                "if (%s.size() == %d) { throw new %s(\"%s -> Constraint not met: maxSize: %d\"); }" +
+                "%s.add(%s.read(in));" +
+                "}" +
+                "in.endArray();" +
+                "%s(%s); }",
+                JSON_TOKEN, setter,
+                field.getType().getCanonicalText(), valuesName, collectionClass,
+                valuesName, maxSize, BuilderOptionUtility.exceptionType(topLevelClass).getCanonicalText(), field.getName(), maxSize,
+                valuesName, getAdapterName(field),
+                setter, valuesName
+        );
+    }
+
+    private void generateFactoryClass(final PsiClass topLevelClass) {
+        final PsiClass factoryClass = classFactory.createClass(
+                FACTORY_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PUBLIC, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        classFactory.addImplements(factoryClass, "com.google.gson.TypeAdapterFactory");
+        final PsiComment comment = psiElementFactory.createCommentFromText(String.format(
+                "/**\n * Creates the TypeAdapter of {@link %s}. Registered by the @JsonAdapter annotation of the class,\n" +
+                " * and can also be registered with GsonBuilder.registerTypeAdapterFactory.\n */",
+                topLevelClass.getName()
+        ), factoryClass);
+        JavadocUtil.setComment(factoryClass, comment);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, factoryClass);
+
+        final PsiMethod createMethod = psiElementFactory.createMethodFromText(String.format(
+                "@Override " +
+                "@SuppressWarnings(\"unchecked\") " +
+                "public <T> com.google.gson.TypeAdapter<T> create(final %s gson, final com.google.gson.reflect.TypeToken<T> type) {" +
+                "    if (type.getRawType() != %s.class) {" +
+                "        return null;" +
+                "    }" +
+                "    return (com.google.gson.TypeAdapter<T>) new %s(gson);" +
+                "}",
+                GSON,
+                topLevelClass.getName(),
+                ADAPTER_CLASS
+        ), factoryClass);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, createMethod);
+        factoryClass.add(createMethod);
+
+        topLevelClass.add(factoryClass);
+    }
+
+    /**
+     * Removes the @JsonAdapter annotation added by a previous generation, in case Gson is no longer supported.
+     * @param topLevelClass The class to remove the annotation from.
+     */
+    public static void removeJsonAdapterAnnotation(final PsiClass topLevelClass) {
+        final PsiModifierList modifierList = topLevelClass.getModifierList();
+        final PsiAnnotation jsonAdapter = modifierList != null ? modifierList.findAnnotation(JSON_ADAPTER) : null;
+        if (jsonAdapter != null && jsonAdapter.getText().contains(FACTORY_CLASS)) {
+            jsonAdapter.delete();
+        }
+    }
+
+    private void addJsonAdapterAnnotation(final PsiClass topLevelClass) {
+        final PsiModifierList modifierList = topLevelClass.getModifierList();
+        if (modifierList != null && modifierList.findAnnotation(JSON_ADAPTER) == null) {
+            modifierList.addAnnotation(String.format("%s(%s.%s.class)", JSON_ADAPTER, topLevelClass.getName(), FACTORY_CLASS));
+        }
+    }
+
+    private static boolean isDelegated(final PsiField field) {
+        final PsiType type = field.getType();
+        return !(type instanceof PsiPrimitiveType) && !TypeUtility.isOfType(type, CommonClassNames.JAVA_LANG_STRING);
+    }
+
+    /**
+     * @return The maxSize constraint of a field whose type is List, Set or Collection, which are the collections read incrementally.
+     */
+    private static OptionalInt getMaxSize(final PsiField field) {
+        if (!(field.getType() instanceof PsiClassType)) {
+            return OptionalInt.empty();
+        }
+
+        final String typeName = ((PsiClassType) field.getType()).rawType().getCanonicalText();
+        if (!typeName.equals(CommonClassNames.JAVA_UTIL_LIST) && !typeName.equals(CommonClassNames.JAVA_UTIL_SET) && !typeName.equals(CommonClassNames.JAVA_UTIL_COLLECTION)) {
+            return OptionalInt.empty();
+        }
+
+        for (final BuilderConstraintOptionAndValue constraint : ValidationUtility.getBuilderConstraintsForField(field)) {
+            if (constraint.getOption() == BuilderConstraintOption.MAX_SIZE && (int) constraint.getValue() >= 0) {
+                return OptionalInt.of((int) constraint.getValue());
+            }
+        }
+
+        return OptionalInt.empty();
+    }
+
+    private static String getAdapterName(final PsiField field) {
+        return field.getName() + "Adapter";
+    }
+
+    /**
+     * @return The string literal of the JSON property name, from @SerializedName if present.
+     */
+    private static String getJsonName(final PsiField field) {
+        final PsiModifierList modifierList = field.getModifierList();
+        final PsiAnnotation serializedName = modifierList != null ? modifierList.findAnnotation(SERIALIZED_NAME) : null;
+        if (serializedName != null) {
+            final PsiAnnotationMemberValue value = serializedName.findAttributeValue("value");
+            if (value != null) {
+                return value.getText();
+            }
+        }
+
+        return "\"" + field.getName() + "\"";
+    }
+}
@@ -1,27 +1,39 @@
 package com.github.davidburkett.builderberg.generators;
 
+import com.github.davidburkett.builderberg.model.PackedField;
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
 import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.MethodSizeUtility;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
+import com.github.davidburkett.builderberg.utilities.TypeUtility;
 import com.google.common.collect.ImmutableList;
 import com.intellij.psi.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public class HashCodeGenerator {
     private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
+    private final MethodSizeUtility methodSizeUtility;
 
     public HashCodeGenerator(final PsiElementFactory psiElementFactory) {
         this.psiElementFactory = psiElementFactory;
         this.methodUtility = new MethodUtility(psiElementFactory);
+        this.methodSizeUtility = new MethodSizeUtility(psiElementFactory);
     }
 
     /**
      * Implements a hashCode method using the hash function described by Josh Bloch in "Effective Java".
      * @param topLevelClass The class to generate the hashCode method for.
+     * @param packedFieldLayout The layout of the fields that are packed into long words, which are hashed as a whole.
      */
-    public void generateHashCodeMethod(final PsiClass topLevelClass) {
+    public void generateHashCodeMethod(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout) {
         // Create hashCode method
         final PsiMethod hashCodeMethod = methodUtility.createPublicMethod("hashCode", PsiType.INT);
 
@@ -35,25 +47,78 @@ public class HashCodeGenerator {
         AnnotationUtility.addOverrideAnnotation(hashCodeMethod);
 
         // Add return statement
-        methodUtility.addReturnStatement(hashCodeMethod, getHashCodeArguments(topLevelClass));
+        methodUtility.addReturnStatement(hashCodeMethod, getHashCodeArguments(topLevelClass, packedFieldLayout));
+
+        // Objects.hash can't be split, so classes too wide for it to be JIT-compiled accumulate the same hash explicitly
+        if (MethodSizeUtility.estimateBytecodeSize(hashCodeMethod) > MethodSizeUtility.HUGE_METHOD_LIMIT) {
+            hashCodeMethod.getBody().getStatements()[0].delete();
+            generateAccumulatedHashCode(topLevelClass, packedFieldLayout, hashCodeMethod);
+        }
 
         topLevelClass.add(hashCodeMethod);
     }
 
-    private String getHashCodeArguments(final PsiClass topLevelClass) {
-        final PsiField[] fields = topLevelClass.getFields();
-        final String hashCodeParams = Arrays.stream(fields).map(field -> {
-            final PsiType type = field.getType();
-            final String fieldName = field.getName();
-            final PsiType[] superTypes = type.getSuperTypes();
-            final boolean isEnum = superTypes.length > 0 && superTypes[0].getCanonicalText().startsWith("java.lang.Enum");
-            if (isEnum) {
-                return String.format("(%s != null ? %s.name().hashCode() : 0)", fieldName, fieldName);
-            }
+    /**
+     * Computes the same value as {@link java.util.Objects#hash(Object...)}, one field per statement, and splits the statements into helper methods.
+     */
+    private void generateAccumulatedHashCode(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout, final PsiMethod hashCodeMethod) {
+        methodUtility.addStatement(hashCodeMethod, "int result = 1;");
+        for (final String elementHashCode : getElementHashCodes(topLevelClass, packedFieldLayout, true)) {
+            methodUtility.addStatement(hashCodeMethod, String.format("result = 31 * result + %s;", elementHashCode));
+        }
+
+        final PsiStatement[] statements = hashCodeMethod.getBody().getStatements();
+        final List<PsiStatement> accumulateStatements = Arrays.asList(statements).subList(1, statements.length);
+        final PsiMethod hashCodeTemplate = methodUtility.createPrivateMethod("hashCodeChunk", PsiType.INT);
+        hashCodeTemplate.getParameterList().add(psiElementFactory.createParameter("result", PsiType.INT));
+        methodSizeUtility.splitIfHuge(topLevelClass, hashCodeMethod, accumulateStatements, hashCodeTemplate, "result = %s(result);", "return result;");
+
+        methodUtility.addReturnStatement(hashCodeMethod, "result");
+    }
+
+    private String getElementHashCode(final PsiField field) {
+        final PsiType type = field.getType();
+        final String fieldName = "this." + field.getName();
+        if (type instanceof PsiPrimitiveType) {
+            // Same as the hashCode of the boxed value
+            return String.format("%s.hashCode(%s)", ((PsiPrimitiveType) type).getBoxedTypeName(), fieldName);
+        } else if (TypeUtility.isEnum(type)) {
+            return String.format("(%s != null ? %s.name().hashCode() : 0)", fieldName, fieldName);
+        }
 
-            return fieldName;
-        }).collect(Collectors.joining(","));
+        return String.format("java.util.Objects.hashCode(%s)", fieldName);
+    }
+
+    private String getHashCodeArguments(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout) {
+        final String hashCodeParams = String.join(",", getElementHashCodes(topLevelClass, packedFieldLayout, false));
 
         return String.format("java.util.Objects.hash(%s)", hashCodeParams);
     }
+
+    /**
+     * @param accumulated True for the terms of the explicit accumulation, false for the arguments of {@link java.util.Objects#hash(Object...)}.
+     * @return One element per equality field, except that each packed word replaces all of the fields packed into it.
+     */
+    private List<String> getElementHashCodes(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout, final boolean accumulated) {
+        final List<String> elementHashCodes = new ArrayList<>();
+        final Set<Integer> hashedWords = new HashSet<>();
+        for (final PsiField field : QualifyingFieldsFinder.findEqualityFields(topLevelClass)) {
+            final Optional<PackedField> packedField = packedFieldLayout.find(field.getName());
+            if (packedField.isPresent()) {
+                if (hashedWords.add(packedField.get().getWordIndex())) {
+                    final String wordName = packedField.get().getWordName();
+                    elementHashCodes.add(accumulated ? String.format("Long.hashCode(this.%s)", wordName) : wordName);
+                }
+            } else if (accumulated) {
+                elementHashCodes.add(getElementHashCode(field));
+            } else if (TypeUtility.isEnum(field.getType())) {
+                final String fieldName = field.getName();
+                elementHashCodes.add(String.format("(%s != null ? %s.name().hashCode() : 0)", fieldName, fieldName));
+            } else {
+                elementHashCodes.add(field.getName());
+            }
+        }
+
+        return elementHashCodes;
+    }
 }
@@ -0,0 +1,266 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.siyeh.ig.psiutils.TypeUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a RowMapper class, which fills the builder from the current row of a java.sql.ResultSet, and a static fromResultSet method.
+ * Column indexes are resolved once per ResultSet rather than per row, and primitives are read with the primitive getters,
+ * so rows are mapped without reflection, boxing, or column name lookups.
+ */
+public class JdbcMapperGenerator {
+    private static final String MAPPER_CLASS = "RowMapper";
+    private static final String RESULT_SET = "java.sql.ResultSet";
+    private static final String SQL_EXCEPTION = "java.sql.SQLException";
+
+    // Reference types read with a dedicated getter. Other supported types are read with getObject(column, type).
+    private static final Map<String, String> GETTERS_BY_TYPE = ImmutableMap.<String, String>builder()
+            .put(CommonClassNames.JAVA_LANG_STRING, "getString")
+            .put("java.math.BigDecimal", "getBigDecimal")
+            .put("java.sql.Date", "getDate")
+            .put("java.sql.Time", "getTime")
+            .put("java.sql.Timestamp", "getTimestamp")
+            .build();
+
+    // Types supported by getObject(column, type) since JDBC 4.2
+    private static final List<String> OBJECT_TYPES = ImmutableList.of(
+            "java.time.LocalDate",
+            "java.time.LocalTime",
+            "java.time.LocalDateTime",
+            "java.time.OffsetDateTime",
+            "java.time.OffsetTime",
+            "java.util.UUID"
+    );
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+    private final ClassFactory classFactory;
+
+    public JdbcMapperGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+        this.classFactory = new ClassFactory(psiElementFactory);
+    }
+
+    /**
+     * Generates the RowMapper class and fromResultSet method for the given {@link PsiClass topLevelClass}.
+     * Classes with type parameters, or with fields that can't be read from a single column, are skipped with a warning.
+     * @param topLevelClass The class to generate the mapper for.
+     * @param builderClass The builder of the class.
+     */
+    public void generateJdbcMapper(final PsiClass topLevelClass, final PsiClass builderClass) {
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+        final List<PsiField> unsupportedFields = fields.stream()
+                .filter(field -> !isSupported(field.getType()))
+                .collect(Collectors.toList());
+        if (topLevelClass.hasTypeParameters() || !unsupportedFields.isEmpty()) {
+            NotificationUtility.warn(project, String.format(
+                    "The JDBC RowMapper of %s was not generated, because %s",
+                    topLevelClass.getName(),
+                    topLevelClass.hasTypeParameters()
+                            ? "it has type parameters."
+                            : "these fields can't be read from a single column: " + unsupportedFields.stream().map(PsiField::getName).collect(Collectors.joining(", "))
+            ));
+            return;
+        }
+
+        final PsiClass mapperClass = classFactory.createClass(
+                MAPPER_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PUBLIC, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        final PsiComment comment = psiElementFactory.createCommentFromText(String.format(
+                "/**\n * Maps the rows of a ResultSet to {@link %s}, through its builder so constraints are enforced.\n" +
+                " * The column indexes are resolved once, when the mapper is created, so create one mapper per ResultSet.\n */",
+                topLevelClass.getName()
+        ), mapperClass);
+        JavadocUtil.setComment(mapperClass, comment);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, mapperClass);
+
+        mapperClass.add(psiElementFactory.createFieldFromText(String.format("private final %s resultSet;", RESULT_SET), mapperClass));
+        for (final PsiField field : fields) {
+            mapperClass.add(psiElementFactory.createFieldFromText(String.format("private final int %s;", getColumnFieldName(field)), mapperClass));
+        }
+
+        generateConstructor(mapperClass, fields);
+        generateMapRowMethod(topLevelClass, builderClass, mapperClass, fields);
+        generateMapRowConvenienceMethod(topLevelClass, mapperClass);
+        generateMapAllMethod(topLevelClass, mapperClass);
+        topLevelClass.add(mapperClass);
+
+        generateFromResultSetMethod(topLevelClass);
+    }
+
+    private void generateConstructor(final PsiClass mapperClass, final List<PsiField> fields) {
+        final PsiMethod constructor = psiElementFactory.createConstructor();
+        methodUtility.addParameter(constructor, "resultSet", psiElementFactory.createTypeFromText(RESULT_SET, mapperClass));
+        methodUtility.addThrows(constructor, SQL_EXCEPTION);
+        methodUtility.addJavadoc(constructor, ImmutableList.of(
+                "@param resultSet The ResultSet to map the rows of.",
+                "@throws java.sql.SQLException If the ResultSet is missing a column."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, constructor);
+
+        methodUtility.addStatement(constructor, "this.resultSet = resultSet;");
+        for (final PsiField field : fields) {
+            methodUtility.addStatement(constructor, String.format("this.%s = resultSet.findColumn(%s);", getColumnFieldName(field), getColumnName(field)));
+        }
+
+        mapperClass.add(constructor);
+    }
+
+    private void generateMapRowMethod(final PsiClass topLevelClass, final PsiClass builderClass, final PsiClass mapperClass, final List<PsiField> fields) {
+        final PsiType builderType = psiElementFactory.createTypeFromText(topLevelClass.getName() + "." + builderClass.getName(), mapperClass);
+        final PsiMethod mapRowMethod = methodUtility.createPublicMethod("mapRow", builderType);
+        methodUtility.addParameter(mapRowMethod, "reusable", builderType);
+        methodUtility.addThrows(mapRowMethod, SQL_EXCEPTION);
+        methodUtility.addJavadoc(mapRowMethod, ImmutableList.of(
+                "Sets every field of the builder from the current row. SQL NULLs are null for reference fields, and 0 or false for primitive fields.",
+                "@param reusable The builder to fill. Every field is set, so it can be reused for each row.",
+                "@return The given builder."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, mapRowMethod);
+
+        for (final PsiField field : fields) {
+            final String setter = "reusable." + MethodNameUtility.getSetterName(field);
+            methodUtility.addStatement(mapRowMethod, generateReadStatement(field, setter));
+        }
+        methodUtility.addReturnStatement(mapRowMethod, "reusable");
+
+        mapperClass.add(mapRowMethod);
+    }
+
+    private String generateReadStatement(final PsiField field, final String setter) {
+        final PsiType type = field.getType();
+        final String column = getColumnFieldName(field);
+        if (type instanceof PsiPrimitiveType) {
+            return String.format("%s(resultSet.%s(%s));", setter, getPrimitiveGetter((PsiPrimitiveType) type), column);
+        }
+
+        final PsiPrimitiveType unboxedType = PsiPrimitiveType.getUnboxedType(type);
+        if (unboxedType != null) {
+            // Primitive getters return 0 or false for SQL NULL, so wasNull tells them apart without boxing every value
+            final String valueName = field.getName() + "Value";
+            return String.format(
+                    "{ final %s %s = resultSet.%s(%s); %s(resultSet.wasNull() ? null : %s); }",
+                    unboxedType.getCanonicalText(),
+                    valueName,
+                    getPrimitiveGetter(unboxedType),
+                    column,
+                    setter,
+                    valueName
+            );
+        } else if (TypeUtility.isEnum(type)) {
+            final String nameName = field.getName() + "Name";
+            return String.format(
+                    "{ final String %s = resultSet.getString(%s); %s(%s == null ? null : %s.valueOf(%s)); }",
+                    nameName,
+                    column,
+                    setter,
+                    nameName,
+                    type.getCanonicalText(),
+                    nameName
+            );
+        } else if (type instanceof PsiArrayType && ((PsiArrayType) type).getComponentType() == PsiType.BYTE) {
+            return String.format("%s(resultSet.getBytes(%s));", setter, column);
+        }
+
+        final String typeName = type.getCanonicalText();
+        final String getter = GETTERS_BY_TYPE.get(typeName);
+        if (getter != null) {
+            return String.format("%s(resultSet.%s(%s));", setter, getter, column);
+        }
+
+        return String.format("%s(resultSet.getObject(%s, %s.class));", setter, column, typeName);
+    }
+
+    private void generateMapRowConvenienceMethod(final PsiClass topLevelClass, final PsiClass mapperClass) {
+        final PsiMethod mapRowMethod = methodUtility.createPublicMethod("mapRow", TypeUtils.getType(topLevelClass));
+        methodUtility.addThrows(mapRowMethod, SQL_EXCEPTION);
+        methodUtility.addJavadoc(mapRowMethod, ImmutableList.of(
+                "@return The object of the current row."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, mapRowMethod);
+
+        methodUtility.addReturnStatement(mapRowMethod, "mapRow(builder()).build()");
+
+        mapperClass.add(mapRowMethod);
+    }
+
+    private void generateMapAllMethod(final PsiClass topLevelClass, final PsiClass mapperClass) {
+        final String className = topLevelClass.getName();
+        final PsiType listType = psiElementFactory.createTypeFromText(String.format("java.util.List<%s>", className), mapperClass);
+        final PsiMethod mapAllMethod = methodUtility.createPublicMethod("mapAll", listType);
+        methodUtility.addThrows(mapAllMethod, SQL_EXCEPTION);
+        methodUtility.addJavadoc(mapAllMethod, ImmutableList.of(
+                "Maps the remaining rows, reusing a single builder.",
+                "@return The objects of the remaining rows, in order."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, mapAllMethod);
+
+        methodUtility.addStatement(mapAllMethod, String.format("final java.util.List<%s> rows = new java.util.ArrayList<>();", className));
+        methodUtility.addStatement(mapAllMethod, String.format("final %s.Builder builder = builder();", className));
+        methodUtility.addStatement(mapAllMethod, "while (resultSet.next()) { rows.add(mapRow(builder).build()); }");
+        methodUtility.addReturnStatement(mapAllMethod, "rows");
+
+        mapperClass.add(mapAllMethod);
+    }
+
+    private void generateFromResultSetMethod(final PsiClass topLevelClass) {
+        final PsiMethod fromResultSetMethod = methodUtility.createPublicStaticMethod("fromResultSet", TypeUtils.getType(topLevelClass));
+        methodUtility.addParameter(fromResultSetMethod, "resultSet", psiElementFactory.createTypeFromText(RESULT_SET, topLevelClass));
+        methodUtility.addThrows(fromResultSetMethod, SQL_EXCEPTION);
+        methodUtility.addJavadoc(fromResultSetMethod, ImmutableList.of(
+                "Maps the current row. To map many rows, create a " + MAPPER_CLASS + " once and reuse it, so the columns are only resolved once.",
+                "@param resultSet The ResultSet positioned at the row to map.",
+                "@return The object of the current row."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, fromResultSetMethod);
+
+        methodUtility.addReturnStatement(fromResultSetMethod, String.format("new %s(resultSet).mapRow()", MAPPER_CLASS));
+
+        topLevelClass.add(fromResultSetMethod);
+    }
+
+    private static boolean isSupported(final PsiType type) {
+        if (type instanceof PsiPrimitiveType) {
+            return type != PsiType.CHAR;
+        }
+
+        final PsiPrimitiveType unboxedType = PsiPrimitiveType.getUnboxedType(type);
+        if (unboxedType != null) {
+            return unboxedType != PsiType.CHAR;
+        } else if (type instanceof PsiArrayType) {
+            return ((PsiArrayType) type).getComponentType() == PsiType.BYTE;
+        }
+
+        final String typeName = type.getCanonicalText();
+        return TypeUtility.isEnum(type) || GETTERS_BY_TYPE.containsKey(typeName) || OBJECT_TYPES.contains(typeName);
+    }
+
+    private static String getPrimitiveGetter(final PsiPrimitiveType type) {
+        return "get" + StringUtils.capitalize(type.getCanonicalText());
+    }
+
+    private static String getColumnFieldName(final PsiField field) {
+        return field.getName() + "Column";
+    }
+
+    /**
+     * @return The string literal of the column label, from @Column(name) if present.
+     */
+    private static String getColumnName(final PsiField field) {
+        return AnnotationUtility.getColumnName(field).orElse("\"" + field.getName() + "\"");
+    }
+}
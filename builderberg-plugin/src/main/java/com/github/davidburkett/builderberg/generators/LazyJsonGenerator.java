@@ -0,0 +1,296 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.siyeh.ig.psiutils.TypeUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a LazyJson class: a view of a JSON object that keeps the original bytes and an index of the fields' positions,
+ * built in one pass by com.github.davidburkett.builderberg.runtime.JsonIndex. Each getter parses and validates its field
+ * on first access and caches the result, so the parsing cost scales with the fields actually read.
+ */
+public class LazyJsonGenerator {
+    private static final String LAZY_CLASS = "LazyJson";
+    private static final String JSON_INDEX = "com.github.davidburkett.builderberg.runtime.JsonIndex";
+    private static final String OBJECT_MAPPER = "com.fasterxml.jackson.databind.ObjectMapper";
+    private static final String TYPE_REFERENCE = "com.fasterxml.jackson.core.type.TypeReference";
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+    private final ClassFactory classFactory;
+    private final ValidationGenerator validationGenerator;
+
+    public LazyJsonGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+        this.classFactory = new ClassFactory(psiElementFactory);
+        this.validationGenerator = new ValidationGenerator(psiElementFactory);
+    }
+
+    /**
+     * Generates the LazyJson class for the given {@link PsiClass topLevelClass}. Classes with type parameters are skipped with a warning.
+     * @param topLevelClass The class to generate the lazy view of.
+     * @throws InvalidConstraintException If a constraint of a field is invalid.
+     */
+    public void generateLazyJson(final PsiClass topLevelClass) throws InvalidConstraintException {
+        if (topLevelClass.hasTypeParameters()) {
+            NotificationUtility.warn(project, String.format(
+                    "The LazyJson view of %s was not generated, because it has type parameters.",
+                    topLevelClass.getName()
+            ));
+            return;
+        }
+
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+        final PsiClass lazyClass = classFactory.createClass(
+                LAZY_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PUBLIC, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        final PsiComment comment = psiElementFactory.createCommentFromText(String.format(
+                "/**\n * A view of a JSON {@link %s}, which keeps the original bytes and parses each field the first time it's read.\n" +
+                " * Each field is validated when it's parsed, except for customValidation, which may read other fields.\n" +
+                " * Use validate() to check every field and run the custom validation, or materialize() to build the object.\n" +
+                " * The bytes must not be modified while the view is in use. Views cache the parsed fields without synchronization, so confine each view to one thread.\n */",
+                topLevelClass.getName()
+        ), lazyClass);
+        JavadocUtil.setComment(lazyClass, comment);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, lazyClass);
+
+        final String names = fields.stream().map(LazyJsonGenerator::getJsonName).collect(Collectors.joining(", "));
+        addField(lazyClass, String.format("private static final %s.Schema SCHEMA = %s.schema(%s);", JSON_INDEX, JSON_INDEX, names));
+
+        final boolean usesJackson = fields.stream().anyMatch(field -> !getParseExpression(field, 0).isPresent());
+        if (usesJackson) {
+            addField(lazyClass, String.format("private static final %s OBJECT_MAPPER = new %s();", OBJECT_MAPPER, OBJECT_MAPPER));
+        }
+
+        addField(lazyClass, String.format("private final %s jsonIndex;", JSON_INDEX));
+        for (int i = 0; i < fields.size(); i++) {
+            final PsiField field = fields.get(i);
+            if (!getParseExpression(field, i).isPresent()) {
+                addField(lazyClass, String.format(
+                        "private static final %s<%s> %s = new %s<%s>() {};",
+                        TYPE_REFERENCE,
+                        field.getType().getCanonicalText(),
+                        getTypeReferenceName(field),
+                        TYPE_REFERENCE,
+                        field.getType().getCanonicalText()
+                ));
+            }
+
+            addField(lazyClass, String.format("private boolean %sParsed;", field.getName()));
+            addField(lazyClass, String.format("private %s %s;", field.getType().getCanonicalText(), field.getName()));
+        }
+
+        final PsiMethod constructor = methodUtility.createPrivateConstructor();
+        methodUtility.addParameter(constructor, "jsonIndex", psiElementFactory.createTypeFromText(JSON_INDEX, lazyClass));
+        methodUtility.addStatement(constructor, "this.jsonIndex = jsonIndex;");
+        lazyClass.add(constructor);
+
+        generateFactoryMethods(lazyClass);
+        for (int i = 0; i < fields.size(); i++) {
+            generateGetter(topLevelClass, lazyClass, fields.get(i), i);
+        }
+
+        if (usesJackson) {
+            generateReadValueMethod(lazyClass);
+        }
+
+        generateValidateMethod(lazyClass, fields);
+        generateMaterializeMethod(topLevelClass, lazyClass, fields);
+
+        final PsiMethod toBytesMethod = methodUtility.createPublicMethod("toBytes", psiElementFactory.createTypeFromText("byte[]", lazyClass));
+        methodUtility.addJavadoc(toBytesMethod, ImmutableList.of(
+                "@return The original bytes, for passing the object on without serializing it again. Not copied unless the view covers part of an array."
+        ));
+        methodUtility.addReturnStatement(toBytesMethod, "jsonIndex.toBytes()");
+        lazyClass.add(toBytesMethod);
+
+        validationGenerator.generateConstraintViolationMethod(topLevelClass, lazyClass);
+        topLevelClass.add(lazyClass);
+    }
+
+    private void generateFactoryMethods(final PsiClass lazyClass) {
+        final PsiType lazyType = TypeUtils.getType(lazyClass);
+        final PsiType bytesType = psiElementFactory.createTypeFromText("byte[]", lazyClass);
+
+        final PsiMethod ofBytes = methodUtility.createPublicStaticMethod("of", lazyType);
+        methodUtility.addParameter(ofBytes, "bytes", bytesType);
+        methodUtility.addJavadoc(ofBytes, ImmutableList.of(
+                "Indexes the fields of a UTF-8 JSON object, without parsing them.",
+                "@param bytes The JSON object. It's retained, not copied.",
+                "@return A view of the object.",
+                "@throws IllegalArgumentException If the bytes aren't a JSON object."
+        ));
+        methodUtility.addReturnStatement(ofBytes, "new LazyJson(SCHEMA.index(bytes))");
+        lazyClass.add(ofBytes);
+
+        final PsiMethod ofRange = methodUtility.createPublicStaticMethod("of", lazyType);
+        methodUtility.addParameter(ofRange, "bytes", bytesType);
+        methodUtility.addParameter(ofRange, "offset", PsiType.INT);
+        methodUtility.addParameter(ofRange, "length", PsiType.INT);
+        methodUtility.addJavadoc(ofRange, ImmutableList.of(
+                "Indexes the fields of a UTF-8 JSON object in part of an array, without parsing them.",
+                "@param bytes The array containing the JSON object. It's retained, not copied.",
+                "@param offset The start of the object.",
+                "@param length The length of the object.",
+                "@return A view of the object.",
+                "@throws IllegalArgumentException If the range isn't a JSON object."
+        ));
+        methodUtility.addReturnStatement(ofRange, "new LazyJson(SCHEMA.index(bytes, offset, length))");
+        lazyClass.add(ofRange);
+
+        final PsiMethod ofBuffer = methodUtility.createPublicStaticMethod("of", lazyType);
+        methodUtility.addParameter(ofBuffer, "buffer", psiElementFactory.createTypeFromText("java.nio.ByteBuffer", lazyClass));
+        methodUtility.addJavadoc(ofBuffer, ImmutableList.of(
+                "Indexes the fields of the UTF-8 JSON object in the remaining bytes of the buffer, without parsing them or changing the buffer's position.",
+                "@param buffer The buffer containing the JSON object. Heap buffers are retained, and direct buffers are copied.",
+                "@return A view of the object.",
+                "@throws IllegalArgumentException If the remaining bytes aren't a JSON object."
+        ));
+        methodUtility.addReturnStatement(ofBuffer, "new LazyJson(SCHEMA.index(buffer))");
+        lazyClass.add(ofBuffer);
+    }
+
+    private void generateGetter(final PsiClass topLevelClass, final PsiClass lazyClass, final PsiField field, final int index) throws InvalidConstraintException {
+        final String fieldName = field.getName();
+        final String parseMethodName = "parse" + MethodNameUtility.getGetterName(field).substring("get".length());
+
+        final PsiMethod getter = methodUtility.createPublicMethod(MethodNameUtility.getGetterName(field), field.getType());
+        methodUtility.addJavadoc(getter, ImmutableList.of(
+                "Parses and validates the field the first time it's read.",
+                String.format("@return The value of %s. Absent or null fields are null for objects, and 0 or false for primitives.", fieldName)
+        ));
+        methodUtility.addIfStatement(getter, String.format("!%sParsed", fieldName), String.format(
+                "%s = %s(); %sParsed = true;",
+                fieldName,
+                parseMethodName,
+                fieldName
+        ));
+        methodUtility.addReturnStatement(getter, fieldName);
+        lazyClass.add(getter);
+
+        // The validation statements refer to the value by the field's name
+        final PsiMethod parseMethod = methodUtility.createPrivateMethod(parseMethodName, field.getType());
+        final String parseExpression = getParseExpression(field, index)
+                .orElse(String.format("jsonIndex.isPresent(%d) ? readValue(%d, %s) : null", index, index, getTypeReferenceName(field)));
+        methodUtility.addStatement(parseMethod, String.format("final %s %s = %s;", field.getType().getCanonicalText(), fieldName, parseExpression));
+        // Only the parsed field is a local, so customValidation, which may read the other fields, is left to validate() and materialize()
+        validationGenerator.generateValidationForField(topLevelClass, parseMethod, field, false);
+        methodUtility.addReturnStatement(parseMethod, fieldName);
+        lazyClass.add(parseMethod);
+    }
+
+    private void generateReadValueMethod(final PsiClass lazyClass) {
+        final PsiMethod readValueMethod = psiElementFactory.createMethodFromText(String.format(
+                "private <T> T readValue(final int field, final %s<T> type) {" +
+                "    try {" +
+                "        return OBJECT_MAPPER.readValue(jsonIndex.getBytes(), jsonIndex.getStart(field), jsonIndex.getEnd(field) - jsonIndex.getStart(field), type);" +
+                "    } catch (java.io.IOException e) {" +
+                "        throw new java.io.UncheckedIOException(e);" +
+                "    }" +
+                "}",
+                TYPE_REFERENCE
+        ), lazyClass);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, readValueMethod);
+        lazyClass.add(readValueMethod);
+    }
+
+    private void generateValidateMethod(final PsiClass lazyClass, final List<PsiField> fields) {
+        final PsiMethod validateMethod = methodUtility.createPublicMethod("validate", TypeUtils.getType(lazyClass));
+        methodUtility.addJavadoc(validateMethod, ImmutableList.of(
+                "Parses and validates every field that hasn't been read yet, then runs the fields' customValidation.",
+                "@return This view."
+        ));
+        for (final PsiField field : fields) {
+            methodUtility.addStatement(validateMethod, String.format("%s();", MethodNameUtility.getGetterName(field)));
+        }
+
+        // Every field has been parsed, so the cross-field custom validation reads their values
+        for (final PsiField field : fields) {
+            validationGenerator.generateCustomValidationForField(validateMethod, field);
+        }
+
+        methodUtility.addReturnStatement(validateMethod, "this");
+        lazyClass.add(validateMethod);
+    }
+
+    private void generateMaterializeMethod(final PsiClass topLevelClass, final PsiClass lazyClass, final List<PsiField> fields) {
+        final PsiMethod materializeMethod = methodUtility.createPublicMethod("materialize", TypeUtils.getType(topLevelClass));
+        methodUtility.addJavadoc(materializeMethod, ImmutableList.of(
+                "Parses every field, and builds the object through its builder so every constraint is enforced.",
+                String.format("@return A new {@link %s} with the fields of the view.", topLevelClass.getName())
+        ));
+
+        final StringBuilder build = new StringBuilder("builder()");
+        for (final PsiField field : fields) {
+            build.append(String.format(".%s(%s())", MethodNameUtility.getSetterName(field), MethodNameUtility.getGetterName(field)));
+        }
+
+        methodUtility.addReturnStatement(materializeMethod, build.append(".build()").toString());
+        lazyClass.add(materializeMethod);
+    }
+
+    /**
+     * @return The expression parsing the field from the index, if JsonIndex can parse its type. Other types are read with Jackson.
+     */
+    private static Optional<String> getParseExpression(final PsiField field, final int index) {
+        final PsiType type = field.getType();
+        final PsiType unboxedType = TypeUtility.unboxIfPossible(type);
+        final String primitiveExpression;
+        if (unboxedType == PsiType.LONG) {
+            primitiveExpression = String.format("jsonIndex.getLong(%d, Long.MIN_VALUE, Long.MAX_VALUE)", index);
+        } else if (unboxedType == PsiType.INT) {
+            primitiveExpression = String.format("(int) jsonIndex.getLong(%d, Integer.MIN_VALUE, Integer.MAX_VALUE)", index);
+        } else if (unboxedType == PsiType.SHORT) {
+            primitiveExpression = String.format("(short) jsonIndex.getLong(%d, Short.MIN_VALUE, Short.MAX_VALUE)", index);
+        } else if (unboxedType == PsiType.BYTE) {
+            primitiveExpression = String.format("(byte) jsonIndex.getLong(%d, Byte.MIN_VALUE, Byte.MAX_VALUE)", index);
+        } else if (unboxedType == PsiType.DOUBLE) {
+            primitiveExpression = String.format("jsonIndex.getDouble(%d)", index);
+        } else if (unboxedType == PsiType.FLOAT) {
+            primitiveExpression = String.format("(float) jsonIndex.getDouble(%d)", index);
+        } else if (unboxedType == PsiType.BOOLEAN) {
+            primitiveExpression = String.format("jsonIndex.getBoolean(%d)", index);
+        } else if (unboxedType == PsiType.CHAR) {
+            primitiveExpression = String.format("jsonIndex.getChar(%d)", index);
+        } else if (type.equalsToText(CommonClassNames.JAVA_LANG_STRING)) {
+            return Optional.of(String.format("jsonIndex.getString(%d)", index));
+        } else if (TypeUtility.isEnum(type)) {
+            return Optional.of(String.format("jsonIndex.isPresent(%d) ? %s.valueOf(jsonIndex.getString(%d)) : null", index, type.getCanonicalText(), index));
+        } else {
+            return Optional.empty();
+        }
+
+        if (type instanceof PsiPrimitiveType) {
+            return Optional.of(primitiveExpression);
+        }
+
+        // Boxed primitives are null when the field is absent or null
+        return Optional.of(String.format("jsonIndex.isPresent(%d) ? %s : null", index, primitiveExpression));
+    }
+
+    private static String getJsonName(final PsiField field) {
+        return AnnotationUtility.getJsonPropertyAnnotation(field)
+                .map(annotation -> annotation.findAttributeValue("value").getText())
+                .orElse("\"" + field.getName() + "\"");
+    }
+
+    private static String getTypeReferenceName(final PsiField field) {
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_TYPE";
+    }
+
+    private void addField(final PsiClass lazyClass, final String fieldText) {
+        lazyClass.add(psiElementFactory.createFieldFromText(fieldText, lazyClass));
+    }
+}
@@ -0,0 +1,262 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.enums.CollectionType;
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates a static mapper method for each class of the @MapsTo annotation, which copies the fields with matching names
+ * from a source object into the other class's builder. Immutable values are shared, arrays and dates are copied, and collections
+ * are copied into presized collections of the target's type, so the mapper is straight-line code without reflection.
+ * Fields of other mutable types aren't mapped, since sharing them would alias the source and the mapped object.
+ */
+public class MapperGenerator {
+    private static final Set<String> IMMUTABLE_TYPES = ImmutableSet.of(
+            "java.lang.String",
+            "java.math.BigDecimal",
+            "java.math.BigInteger",
+            "java.util.UUID",
+            "java.util.Locale",
+            "java.util.Currency",
+            "java.net.URI",
+            "java.time.Instant",
+            "java.time.LocalDate",
+            "java.time.LocalTime",
+            "java.time.LocalDateTime",
+            "java.time.OffsetDateTime",
+            "java.time.ZonedDateTime",
+            "java.time.Duration",
+            "java.time.Period",
+            "java.time.ZoneId"
+    );
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public MapperGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    public void generateMappers(final PsiClass topLevelClass) {
+        for (final PsiClass targetClass : AnnotationUtility.getMapsToClasses(topLevelClass)) {
+            if (targetClass == null || topLevelClass.hasTypeParameters() || targetClass.hasTypeParameters()) {
+                NotificationUtility.warn(project, String.format(
+                        "A mapper of %s was not generated, because %s",
+                        topLevelClass.getName(),
+                        targetClass == null
+                                ? "a class of its @MapsTo annotation can't be resolved."
+                                : "mappers between classes with type parameters aren't supported."
+                ));
+                continue;
+            }
+
+            generateMapper(topLevelClass, targetClass);
+        }
+    }
+
+    private void generateMapper(final PsiClass topLevelClass, final PsiClass targetClass) {
+        final String targetName = targetClass.getQualifiedName();
+        final PsiType targetType = psiElementFactory.createTypeFromText(targetName, topLevelClass);
+        final PsiMethod mapperMethod = methodUtility.createPublicStaticMethod(getMapperName(targetClass), targetType);
+        methodUtility.addParameter(mapperMethod, "source", psiElementFactory.createTypeFromText(topLevelClass.getName(), topLevelClass));
+        methodUtility.addJavadoc(mapperMethod, ImmutableList.of(
+                String.format("Maps the object to a new {@link %s}, through its builder.", targetName),
+                "Fields are matched by name. Immutable values are shared, and arrays, dates and collections are copied.",
+                "@param source The object to map.",
+                "@return The mapped object, or null if the source is null."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, mapperMethod);
+        methodUtility.addIfStatement(mapperMethod, "source == null", "return null;");
+        methodUtility.addStatement(mapperMethod, String.format("final %s.Builder builder = %s.builder();", targetName, targetName));
+
+        final Map<String, PsiField> sourceFields = new LinkedHashMap<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(topLevelClass)) {
+            sourceFields.put(field.getName(), field);
+        }
+
+        final boolean shareCollections = BuilderOptionUtility.makeCollectionsImmutable(topLevelClass);
+        final List<String> unmappedFields = new ArrayList<>();
+        for (final PsiField targetField : PackedFieldsGenerator.findDeclaredFields(targetClass)) {
+            final PsiField sourceField = sourceFields.remove(targetField.getName());
+            if (sourceField == null || !mapField(mapperMethod, sourceField, targetField, shareCollections)) {
+                unmappedFields.add(targetField.getName());
+            }
+        }
+
+        unmappedFields.addAll(sourceFields.keySet());
+        methodUtility.addReturnStatement(mapperMethod, "builder.build()");
+        topLevelClass.add(mapperMethod);
+
+        if (!unmappedFields.isEmpty()) {
+            NotificationUtility.warn(project, String.format(
+                    "These fields aren't mapped from %s to %s, because only one of them has the field or the types aren't compatible or can't be copied: %s",
+                    topLevelClass.getName(),
+                    targetClass.getName(),
+                    String.join(", ", unmappedFields)
+            ));
+        }
+    }
+
+    /**
+     * @param targetClass The class mapped to.
+     * @return The name of the mapper method. Example: "toUserDto".
+     */
+    public static String getMapperName(final PsiClass targetClass) {
+        return "to" + targetClass.getName();
+    }
+
+    private boolean mapField(final PsiMethod mapperMethod, final PsiField sourceField, final PsiField targetField, final boolean shareCollections) {
+        final PsiType sourceType = sourceField.getType();
+        final PsiType targetType = targetField.getType();
+        final String getter = String.format("source.%s()", MethodNameUtility.getGetterName(sourceField));
+        final String setter = "builder." + MethodNameUtility.getSetterName(targetField);
+        final String name = targetField.getName();
+
+        if (TypeUtility.isMap(sourceType) && TypeUtility.isMap(targetType)) {
+            final PsiType keyType = TypeUtility.getGenericKeyType(targetType);
+            final PsiType sourceValueType = TypeUtility.getGenericValueType(sourceType);
+            final PsiType targetValueType = TypeUtility.getGenericValueType(targetType);
+            final Optional<String> value = convert(sourceValueType, targetValueType, "entry.getValue()");
+            final Optional<CollectionType> mapType = CollectionTypeFactory.getImmutableCollectionType(targetType);
+            if (!keyType.equals(TypeUtility.getGenericKeyType(sourceType)) || !isImmutable(keyType) || !value.isPresent() || !mapType.isPresent()) {
+                return false;
+            }
+
+            final String copy;
+            if (shareCollections && sourceType.equals(targetType) && value.get().equals("entry.getValue()")) {
+                copy = String.format("%s(%s);", setter, getter);
+            } else if (value.get().equals("entry.getValue()")) {
+                copy = String.format("%s(new %s<>(%s));", setter, mapType.get().getImplementation(), getter);
+            } else {
+                copy = String.format(
+                        "final %s %sValues = %s;" +
+                        "for (final java.util.Map.Entry<%s, %s> entry : %s.entrySet()) { %sValues.put(entry.getKey(), %s); }" +
+                        "%s(%sValues);",
+                        targetType.getCanonicalText(), name, generatePresizedCollection(mapType.get(), getter),
+                        keyType.getCanonicalText(), sourceValueType.getCanonicalText(), getter, name, value.get(),
+                        setter, name
+                );
+            }
+
+            methodUtility.addIfStatement(mapperMethod, getter + " != null", copy);
+            return true;
+        } else if (TypeUtility.isCollection(sourceType) && TypeUtility.isCollection(targetType)) {
+            final PsiType sourceElementType = TypeUtility.getGenericValueType(sourceType);
+            final Optional<String> element = convert(sourceElementType, TypeUtility.getGenericValueType(targetType), "element");
+            if (!element.isPresent()) {
+                return false;
+            }
+
+            final Optional<CollectionType> collectionType = CollectionTypeFactory.getImmutableCollectionType(targetType);
+            if (!collectionType.isPresent()) {
+                return false;
+            }
+
+            final String copy;
+            if (shareCollections && sourceType.equals(targetType) && element.get().equals("element")) {
+                copy = String.format("%s(%s);", setter, getter);
+            } else if (element.get().equals("element")) {
+                // The copy constructors size the new collection from the source
+                copy = String.format("%s(new %s<>(%s));", setter, collectionType.get().getImplementation(), getter);
+            } else {
+                copy = String.format(
+                        "final %s %sValues = %s;" +
+                        "for (final %s element : %s) { %sValues.add(%s); }" +
+                        "%s(%sValues);",
+                        targetType.getCanonicalText(), name, generatePresizedCollection(collectionType.get(), getter),
+                        sourceElementType.getCanonicalText(), getter, name, element.get(),
+                        setter, name
+                );
+            }
+
+            methodUtility.addIfStatement(mapperMethod, getter + " != null", copy);
+            return true;
+        } else if (TypeUtility.isCollection(sourceType) || TypeUtility.isMap(sourceType) || TypeUtility.isCollection(targetType) || TypeUtility.isMap(targetType)) {
+            return false;
+        }
+
+        final Optional<String> value = convert(sourceType, targetType, getter);
+        if (!value.isPresent()) {
+            return false;
+        }
+
+        final String statement = String.format("%s(%s);", setter, value.get());
+        if (!(sourceType instanceof PsiPrimitiveType) && targetType instanceof PsiPrimitiveType) {
+            // A null box leaves the builder's default
+            methodUtility.addIfStatement(mapperMethod, getter + " != null", statement);
+        } else {
+            methodUtility.addStatement(mapperMethod, statement);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return An expression creating an empty collection or map of the type, presized for the source when its implementation supports it.
+     */
+    private static String generatePresizedCollection(final CollectionType collectionType, final String source) {
+        final String implementation = collectionType.getImplementation();
+        if (implementation.equals("java.util.HashSet") || implementation.equals("java.util.HashMap")) {
+            return String.format("new %s<>((int) (%s.size() / 0.75f) + 1)", implementation, source);
+        } else if (implementation.equals("java.util.ArrayList")) {
+            return String.format("new %s<>(%s.size())", implementation, source);
+        }
+
+        // Sorted implementations grow as a tree, without a capacity
+        return String.format("new %s<>()", implementation);
+    }
+
+    /**
+     * @return True if values of the type can't be modified, so the source and the mapped object can share them.
+     */
+    private static boolean isImmutable(final PsiType type) {
+        return type instanceof PsiPrimitiveType
+                || TypeUtility.isBoxedPrimitive(type)
+                || IMMUTABLE_TYPES.contains(type.getCanonicalText())
+                || TypeUtility.isEnum(type)
+                || TypeUtility.isBuilderbergClass(type);
+    }
+
+    /**
+     * @return An expression of the target type, converted from the value, if the types are compatible.
+     * Mutable values are copied, so the source and the mapped object never share them.
+     */
+    private static Optional<String> convert(final PsiType sourceType, final PsiType targetType, final String value) {
+        if (sourceType.equals(targetType) && !isImmutable(sourceType)) {
+            if (sourceType instanceof PsiArrayType && isImmutable(((PsiArrayType) sourceType).getComponentType())) {
+                return Optional.of(String.format("%s == null ? null : %s.clone()", value, value));
+            } else if (sourceType.getCanonicalText().equals("java.util.Date")) {
+                return Optional.of(String.format("%s == null ? null : new java.util.Date(%s.getTime())", value, value));
+            }
+
+            // Other mutable types can't be copied without knowing their semantics
+            return Optional.empty();
+        } else if (sourceType.equals(targetType) || TypeUtility.unboxIfPossible(sourceType).equals(TypeUtility.unboxIfPossible(targetType))) {
+            return Optional.of(value);
+        } else if (TypeUtility.isEnum(sourceType) && TypeUtility.isEnum(targetType)) {
+            return Optional.of(String.format("%s == null ? null : %s.valueOf(%s.name())", value, targetType.getCanonicalText(), value));
+        } else if (sourceType instanceof PsiClassType && targetType instanceof PsiClassType) {
+            // Nested classes with their own mapper to the target's type
+            final PsiClass sourceClass = ((PsiClassType) sourceType).resolve();
+            final PsiClass targetClass = ((PsiClassType) targetType).resolve();
+            if (sourceClass != null && targetClass != null && AnnotationUtility.getMapsToClasses(sourceClass).contains(targetClass)) {
+                return Optional.of(String.format("%s.%s(%s)", sourceClass.getQualifiedName(), getMapperName(targetClass), value));
+            }
+        }
+
+        return Optional.empty();
+    }
+}
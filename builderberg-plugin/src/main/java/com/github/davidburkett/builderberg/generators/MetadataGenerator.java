@@ -0,0 +1,182 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndValue;
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.MethodNameUtility;
+import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.github.davidburkett.builderberg.utilities.NotificationUtility;
+import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
+import com.github.davidburkett.builderberg.utilities.TypeUtility;
+import com.github.davidburkett.builderberg.utilities.ValidationUtility;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.siyeh.ig.psiutils.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generates reflection-free access to the fields of a class: a static PROPERTIES table of
+ * {@code com.github.davidburkett.builderberg.runtime.Property}, a toMap method, and a Builder.set(name, value) method.
+ */
+public class MetadataGenerator {
+    private static final String PROPERTY_CLASS = "com.github.davidburkett.builderberg.runtime.Property";
+    private static final String PROPERTIES_FIELD = "PROPERTIES";
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public MetadataGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    /**
+     * Generates the PROPERTIES table and toMap method for the given {@link PsiClass topLevelClass}, and the set method for its builder.
+     * @param topLevelClass The class to generate the metadata for.
+     * @param builderClass The builder of the class.
+     */
+    public void generateMetadata(final PsiClass topLevelClass, final PsiClass builderClass) {
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+        generateToMapMethod(topLevelClass, fields);
+        generateSetMethod(builderClass, fields);
+        generatePropertiesTable(topLevelClass, fields);
+    }
+
+    /**
+     * Generates the static PROPERTIES table, listing the name, erased type, constraints, getter and setter of each field.
+     * Static fields can't refer to type parameters, so generic classes only get the toMap and set methods.
+     */
+    private void generatePropertiesTable(final PsiClass topLevelClass, final List<PsiField> fields) {
+        if (topLevelClass.hasTypeParameters()) {
+            NotificationUtility.warn(project, String.format(
+                    "The PROPERTIES table of %s was not generated, because it has type parameters. Use toMap() and Builder.set(name, value) instead.",
+                    topLevelClass.getName()
+            ));
+            return;
+        }
+
+        final String className = topLevelClass.getName();
+        final String propertyType = String.format("%s<%s, %s.Builder>", PROPERTY_CLASS, className, className);
+        final String properties = fields.stream()
+                .map(field -> generatePropertyExpression(className, field))
+                .collect(Collectors.joining(","));
+
+        final PsiField propertiesField = psiElementFactory.createFieldFromText(String.format(
+                "/** The fields of this class, in declaration order, for generic access without reflection. */" +
+                "public static final java.util.List<%s> %s = java.util.Collections.unmodifiableList(java.util.Arrays.asList(%s));",
+                propertyType,
+                PROPERTIES_FIELD,
+                properties
+        ), topLevelClass);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, propertiesField);
+        // The setter lambdas cast the values to the fields' generic types, like Builder.set
+        if (fields.stream().anyMatch(field -> isUncheckedCast(field.getType()))) {
+            propertiesField.getModifierList().addAnnotation("SuppressWarnings(\"unchecked\")");
+        }
+
+        final PsiField[] existingFields = topLevelClass.getFields();
+        if (existingFields.length > 0) {
+            topLevelClass.addBefore(propertiesField, existingFields[0]);
+        } else {
+            topLevelClass.add(propertiesField);
+        }
+    }
+
+    private String generatePropertyExpression(final String className, final PsiField field) {
+        final PsiType type = field.getType();
+        final String typeLiteral = TypeConversionUtil.erasure(type).getCanonicalText() + ".class";
+
+        final List<String> constraints = new ArrayList<>();
+        final List<BuilderConstraintOptionAndValue> builderConstraints = ValidationUtility.getBuilderConstraintsForField(field);
+        for (final BuilderConstraintOptionAndValue builderConstraint : builderConstraints) {
+            // Boolean constraints that are turned off aren't constraints
+            if (!Boolean.FALSE.equals(builderConstraint.getValue())) {
+                constraints.add(toStringLiteral(builderConstraint.getOption().getValue()));
+                constraints.add(toStringLiteral(String.valueOf(builderConstraint.getValue())));
+            }
+        }
+
+        return String.format(
+                "new %s<>(\"%s\", %s, %s.constraints(%s), %s::%s, (builder, value) -> builder.%s(%s value))",
+                PROPERTY_CLASS,
+                field.getName(),
+                typeLiteral,
+                PROPERTY_CLASS,
+                String.join(", ", constraints),
+                className,
+                MethodNameUtility.getGetterName(field),
+                MethodNameUtility.getSetterName(field),
+                generateCast(type)
+        );
+    }
+
+    private void generateToMapMethod(final PsiClass topLevelClass, final List<PsiField> fields) {
+        final PsiType mapType = psiElementFactory.createTypeFromText("java.util.Map<String, Object>", topLevelClass);
+        final PsiMethod toMapMethod = methodUtility.createPublicMethod("toMap", mapType);
+        methodUtility.addJavadoc(toMapMethod, ImmutableList.of(
+                "@return A new map of the field names to their values (boxed if primitive), in declaration order."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, toMapMethod);
+
+        // Sized so that the map never resizes, with the default load factor of 0.75
+        final int initialCapacity = (int) Math.ceil(fields.size() / 0.75);
+        methodUtility.addStatement(toMapMethod, String.format("final java.util.Map<String, Object> map = new java.util.LinkedHashMap<>(%d);", initialCapacity));
+        for (final PsiField field : fields) {
+            methodUtility.addStatement(toMapMethod, String.format("map.put(\"%s\", %s());", field.getName(), MethodNameUtility.getGetterName(field)));
+        }
+        methodUtility.addReturnStatement(toMapMethod, "map");
+
+        topLevelClass.add(toMapMethod);
+    }
+
+    private void generateSetMethod(final PsiClass builderClass, final List<PsiField> fields) {
+        final PsiMethod setMethod = methodUtility.createPublicMethod("set", TypeUtils.getType(builderClass));
+        methodUtility.addParameter(setMethod, "name", TypeUtils.getStringType(builderClass));
+        methodUtility.addParameter(setMethod, "value", TypeUtility.getJavaLangObject(project));
+        methodUtility.addJavadoc(setMethod, ImmutableList.of(
+                "Sets a field by name, through its setter.",
+                "@param name The name of the field.",
+                "@param value The value of the field, boxed if it's primitive.",
+                "@return This builder.",
+                "@throws IllegalArgumentException If there is no field with the given name.",
+                "@throws ClassCastException If the value isn't of the field's type."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, setMethod);
+        if (fields.stream().anyMatch(field -> isUncheckedCast(field.getType()))) {
+            setMethod.getModifierList().addAnnotation("SuppressWarnings(\"unchecked\")");
+        }
+
+        final StringBuilder switchText = new StringBuilder("switch (name) {");
+        for (final PsiField field : fields) {
+            switchText.append(String.format("case \"%s\": return %s(%s value);", field.getName(), MethodNameUtility.getSetterName(field), generateCast(field.getType())));
+        }
+        switchText.append("default: throw new IllegalArgumentException(\"Unknown field: \" + name);");
+        switchText.append("}");
+        methodUtility.addStatement(setMethod, switchText.toString());
+
+        builderClass.add(setMethod);
+    }
+
+    private static String generateCast(final PsiType type) {
+        if (type instanceof PsiPrimitiveType) {
+            return String.format("(%s)", ((PsiPrimitiveType) type).getBoxedTypeName());
+        }
+
+        return String.format("(%s)", type.getCanonicalText());
+    }
+
+    private static boolean isUncheckedCast(final PsiType type) {
+        return !(type instanceof PsiPrimitiveType) && !TypeConversionUtil.erasure(type).equals(type);
+    }
+
+    private static String toStringLiteral(final String value) {
+        return "\"" + StringUtil.escapeStringCharacters(value) + "\"";
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.model.PackedField;
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.ClassFactory;
+import com.github.davidburkett.builderberg.utilities.JavadocUtil;
+import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
+import com.google.common.collect.ImmutableList;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replaces the fields of a {@link PackedFieldLayout} with generated long words.
+ * The declarations of the packed fields (with their annotations and javadoc) are kept in a nested holder class,
+ * and restored before the builder is generated again, so the rest of the generation works with the declared fields.
+ */
+public class PackedFieldsGenerator {
+    private static final String HOLDER_CLASS = "PackedFields";
+
+    private final PsiElementFactory psiElementFactory;
+    private final ClassFactory classFactory;
+
+    public PackedFieldsGenerator(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
+        this.classFactory = new ClassFactory(psiElementFactory);
+    }
+
+    /**
+     * Restores the declarations of the fields packed by a previous generation, in place of the generated words.
+     * @param topLevelClass The class to restore the fields of.
+     */
+    public void unpackFields(final PsiClass topLevelClass) {
+        final PsiClass holderClass = topLevelClass.findInnerClassByName(HOLDER_CLASS, false);
+        if (holderClass != null) {
+            final PsiField firstWord = topLevelClass.findFieldByName(PackedFieldLayout.getWordName(0), false);
+            for (final PsiField field : holderClass.getFields()) {
+                if (firstWord != null) {
+                    topLevelClass.addBefore(field, firstWord);
+                } else {
+                    topLevelClass.add(field);
+                }
+            }
+
+            holderClass.delete();
+        }
+    }
+
+    /**
+     * Finds the declared fields of a class that may have been generated already,
+     * with the declarations of its packed fields in place of the words they're stored in.
+     * @param psiClass The class to find the fields of.
+     * @return The fields, in declaration order.
+     */
+    public static List<PsiField> findDeclaredFields(final PsiClass psiClass) {
+        final PsiClass holderClass = psiClass.findInnerClassByName(HOLDER_CLASS, false);
+        final List<PsiField> fields = new ArrayList<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(psiClass)) {
+            if (holderClass != null && field.getName().equals(PackedFieldLayout.getWordName(0))) {
+                fields.addAll(Arrays.asList(holderClass.getFields()));
+            } else if (!AnnotationUtility.hasGeneratedAnnotation(field)) {
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Moves the packed fields next to the first one, which is where {@link #unpackFields(PsiClass)} restores them.
+     * This keeps the field order (used by serialization, diff and stableHash64) the same across generations.
+     * @param topLevelClass The class containing the fields.
+     * @param layout The layout of the packed fields.
+     */
+    public void groupPackedFields(final PsiClass topLevelClass, final PackedFieldLayout layout) {
+        PsiElement previousField = null;
+        for (final PackedField packedField : layout.getFields()) {
+            final PsiField field = topLevelClass.findFieldByName(packedField.getName(), false);
+            if (previousField == null) {
+                previousField = field;
+            } else {
+                previousField = topLevelClass.addAfter(field, previousField);
+                field.delete();
+            }
+        }
+    }
+
+    /**
+     * Replaces the packed fields with the words (and enum lookup tables) they're stored in,
+     * and moves their declarations into the holder class.
+     * @param topLevelClass The class containing the fields.
+     * @param layout The layout of the packed fields.
+     */
+    public void packFields(final PsiClass topLevelClass, final PackedFieldLayout layout) {
+        if (layout.isEmpty()) {
+            return;
+        }
+
+        final PsiField firstPackedField = topLevelClass.findFieldByName(layout.getFields().get(0).getName(), false);
+        for (int i = 0; i < layout.getWordCount(); i++) {
+            final String wordText = String.format("private final long %s;", PackedFieldLayout.getWordName(i));
+            addGeneratedField(topLevelClass, wordText, firstPackedField);
+        }
+
+        for (final PackedField packedField : layout.getFields()) {
+            if (packedField.getKind() == PackedField.Kind.ENUM) {
+                final PsiField field = topLevelClass.findFieldByName(packedField.getName(), false);
+                final String valuesText = String.format(
+                        "private static final %s[] %s = %s;",
+                        field.getType().getCanonicalText(),
+                        packedField.getEnumValuesName(),
+                        packedField.generateEnumValuesInitializer()
+                );
+                addGeneratedField(topLevelClass, valuesText, firstPackedField);
+            }
+        }
+
+        final PsiClass holderClass = classFactory.createClass(
+                HOLDER_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PRIVATE, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        final PsiComment comment = psiElementFactory.createCommentFromText(
+                "/**\n * Declarations of the fields packed into the " + PackedFieldLayout.getWordName(0) + " words." +
+                "\n * Edit them here: they're restored before the builder is regenerated.\n */",
+                holderClass
+        );
+        JavadocUtil.setComment(holderClass, comment);
+
+        for (final PackedField packedField : layout.getFields()) {
+            final PsiField field = topLevelClass.findFieldByName(packedField.getName(), false);
+            final PsiField declaration = (PsiField) holderClass.add(field);
+            PsiUtil.setModifierProperty(declaration, PsiModifier.FINAL, false);
+            field.delete();
+        }
+
+        topLevelClass.add(holderClass);
+    }
+
+    private void addGeneratedField(final PsiClass topLevelClass, final String fieldText, final PsiElement anchor) {
+        final PsiField field = psiElementFactory.createFieldFromText(fieldText, topLevelClass);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, field);
+        topLevelClass.addBefore(field, anchor);
+    }
+}
@@ -0,0 +1,382 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.enums.CollectionType;
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+import com.siyeh.ig.psiutils.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generates toProto and fromProto methods for classes annotated with @ProtoMapping, which map the fields to and from
+ * a Protobuf message class with plain accessor calls. The message class must be resolvable, because its accessors
+ * (singular, repeated, or map, and whether the field has presence) determine the generated code.
+ * Messages are read into the builder, so constraints are enforced on the way in.
+ */
+public class ProtoMappingGenerator {
+    private static final String FROM_PROTO_ENUM_METHOD = "fromProtoEnum";
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public ProtoMappingGenerator(final Project project, final PsiElementFactory psiElementFactory) {
+        this.project = project;
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    public void generateProtoMapping(final PsiClass topLevelClass) {
+        final Optional<PsiClass> protoClassOptional = AnnotationUtility.getProtoMappingClass(topLevelClass);
+        if (!protoClassOptional.isPresent() || topLevelClass.hasTypeParameters()) {
+            NotificationUtility.warn(project, String.format(
+                    "The Protobuf mapping of %s was not generated, because %s",
+                    topLevelClass.getName(),
+                    topLevelClass.hasTypeParameters()
+                            ? "it has type parameters."
+                            : "the message class of its @ProtoMapping annotation can't be resolved. Compile the .proto files first."
+            ));
+            return;
+        }
+
+        final PsiClass protoClass = protoClassOptional.get();
+        final String protoType = protoClass.getQualifiedName();
+        final PsiMethod toProtoMethod = methodUtility.createPublicMethod("toProto", psiElementFactory.createTypeFromText(protoType, topLevelClass));
+        methodUtility.addJavadoc(toProtoMethod, ImmutableList.of(
+                "@return A new message with the fields of this object. Null fields are left unset."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, toProtoMethod);
+        methodUtility.addStatement(toProtoMethod, String.format("final %s.Builder proto = %s.newBuilder();", protoType, protoType));
+
+        final PsiMethod fromProtoMethod = methodUtility.createPublicStaticMethod("fromProto", TypeUtils.getType(topLevelClass));
+        methodUtility.addParameter(fromProtoMethod, "proto", psiElementFactory.createTypeFromText(protoType, topLevelClass));
+        methodUtility.addJavadoc(fromProtoMethod, ImmutableList.of(
+                "Builds an object from the fields of the message, through the builder so constraints are enforced.",
+                "Unset message fields, and fields without presence that have their default value, are left unset on the builder.",
+                "Enum constants without a constant of the same name, such as UNRECOGNIZED, are rejected like constraint violations.",
+                "@param proto The message to map.",
+                "@return The mapped object."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, fromProtoMethod);
+        methodUtility.addStatement(fromProtoMethod, String.format("final %s.Builder builder = builder();", topLevelClass.getName()));
+
+        final List<String> unmappedFields = new ArrayList<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(topLevelClass)) {
+            final String accessorName = getAccessorName(AnnotationUtility.getProtoFieldName(field).orElse(field.getName()));
+            final boolean mapped = mapField(protoClass, field, accessorName, toProtoMethod, fromProtoMethod);
+            if (!mapped) {
+                unmappedFields.add(field.getName());
+            }
+        }
+
+        methodUtility.addReturnStatement(toProtoMethod, "proto.build()");
+        methodUtility.addReturnStatement(fromProtoMethod, "builder.build()");
+        topLevelClass.add(toProtoMethod);
+        topLevelClass.add(fromProtoMethod);
+
+        if (fromProtoMethod.getText().contains(FROM_PROTO_ENUM_METHOD + "(")) {
+            generateFromProtoEnumMethod(topLevelClass);
+        }
+
+        if (!unmappedFields.isEmpty()) {
+            NotificationUtility.warn(project, String.format(
+                    "These fields of %s aren't mapped to %s, because it has no field with the same name (see @ProtoField) or a compatible type (collections must be declared as List, Set, Map or another collection interface): %s",
+                    topLevelClass.getName(),
+                    protoClass.getName(),
+                    String.join(", ", unmappedFields)
+            ));
+        }
+    }
+
+    private boolean mapField(
+            final PsiClass protoClass,
+            final PsiField field,
+            final String accessorName,
+            final PsiMethod toProtoMethod,
+            final PsiMethod fromProtoMethod
+    ) {
+        final PsiType type = field.getType();
+        final String getter = MethodNameUtility.getGetterName(field) + "()";
+        final String setter = "builder." + MethodNameUtility.getSetterName(field);
+        final String name = field.getName();
+
+        // Only the collection interfaces are mapped, so messages are read into the implementation the field expects
+        final Optional<CollectionType> collectionType = CollectionTypeFactory.getImmutableCollectionType(type);
+        if ((TypeUtility.isCollection(type) || TypeUtility.isMap(type)) && !collectionType.isPresent()) {
+            return false;
+        }
+
+        if (TypeUtility.isMap(type)) {
+            final Optional<PsiMethod> orThrowMethod = findMethod(protoClass, "get" + accessorName + "OrThrow", 1);
+            if (!orThrowMethod.isPresent() || orThrowMethod.get().getReturnType() == null) {
+                return false;
+            }
+
+            final PsiType protoKeyType = orThrowMethod.get().getParameterList().getParameters()[0].getType();
+            final PsiType protoValueType = orThrowMethod.get().getReturnType();
+            final PsiType keyType = TypeUtility.getGenericKeyType(type);
+            final PsiType valueType = TypeUtility.getGenericValueType(type);
+            final Optional<String> valueToProto = convertToProto(valueType, protoValueType, "entry.getValue()");
+            final Optional<String> valueFromProto = convertFromProto(valueType, protoValueType, "entry.getValue()", name);
+            if (!isDirectlyAssignable(keyType, protoKeyType) || !valueToProto.isPresent() || !valueFromProto.isPresent()) {
+                return false;
+            }
+
+            final String entryType = String.format("java.util.Map.Entry<%s, %s>", keyType.getCanonicalText(), valueType.getCanonicalText());
+            methodUtility.addIfStatement(toProtoMethod, getter + " != null", String.format(
+                    "for (final %s entry : %s.entrySet()) { proto.put%s(entry.getKey(), %s); }",
+                    entryType,
+                    getter,
+                    accessorName,
+                    valueToProto.get()
+            ));
+
+            // Presized so the map never resizes while it's filled
+            final String protoMap = String.format("proto.get%sMap()", accessorName);
+            final String protoEntryType = String.format("java.util.Map.Entry<%s, %s>", keyType.getCanonicalText(), getBoxedTypeText(protoValueType));
+            methodUtility.addStatement(fromProtoMethod, String.format(
+                    "final %s %sValues = %s;",
+                    type.getCanonicalText(),
+                    name,
+                    generatePresizedCollection(collectionType.get(), protoMap + ".size()")
+            ));
+            methodUtility.addStatement(fromProtoMethod, String.format(
+                    "for (final %s entry : %s.entrySet()) { %sValues.put(entry.getKey(), %s); }",
+                    protoEntryType,
+                    protoMap,
+                    name,
+                    valueFromProto.get()
+            ));
+            methodUtility.addStatement(fromProtoMethod, String.format("%s(%sValues);", setter, name));
+            return true;
+        } else if (collectionType.isPresent()) {
+            final Optional<PsiType> protoElementType = getReturnType(protoClass, "get" + accessorName, PsiType.INT);
+            if (!protoElementType.isPresent() || !getReturnType(protoClass, "get" + accessorName + "List").isPresent()) {
+                return false;
+            }
+
+            final PsiType elementType = TypeUtility.getGenericValueType(type);
+            final Optional<String> elementToProto = convertToProto(elementType, protoElementType.get(), "element");
+            final Optional<String> elementFromProto = convertFromProto(elementType, protoElementType.get(), String.format("proto.get%s(i)", accessorName), name);
+            if (!elementToProto.isPresent() || !elementFromProto.isPresent()) {
+                return false;
+            }
+
+            if (elementToProto.get().equals("element")) {
+                methodUtility.addIfStatement(toProtoMethod, getter + " != null", String.format("proto.addAll%s(%s);", accessorName, getter));
+            } else {
+                methodUtility.addIfStatement(toProtoMethod, getter + " != null", String.format(
+                        "for (final %s element : %s) { proto.add%s(%s); }",
+                        elementType.getCanonicalText(),
+                        getter,
+                        accessorName,
+                        elementToProto.get()
+                ));
+            }
+
+            // Presized from the repeated field's count, so the collection never grows while it's filled
+            final String count = String.format("proto.get%sCount()", accessorName);
+            final String collection = generatePresizedCollection(collectionType.get(), name + "Count");
+            methodUtility.addStatement(fromProtoMethod, String.format("final int %sCount = %s;", name, count));
+            methodUtility.addStatement(fromProtoMethod, String.format("final %s %sValues = %s;", type.getCanonicalText(), name, collection));
+            methodUtility.addStatement(fromProtoMethod, String.format(
+                    "for (int i = 0; i < %sCount; i++) { %sValues.add(%s); }",
+                    name,
+                    name,
+                    elementFromProto.get()
+            ));
+            methodUtility.addStatement(fromProtoMethod, String.format("%s(%sValues);", setter, name));
+            return true;
+        }
+
+        final Optional<PsiType> protoType = getReturnType(protoClass, "get" + accessorName);
+        if (!protoType.isPresent()) {
+            return false;
+        }
+
+        final Optional<String> toProto = convertToProto(type, protoType.get(), getter);
+        final Optional<String> fromProto = convertFromProto(type, protoType.get(), String.format("proto.get%s()", accessorName), name);
+        if (!toProto.isPresent() || !fromProto.isPresent()) {
+            return false;
+        }
+
+        final String setStatement = String.format("proto.set%s(%s);", accessorName, toProto.get());
+        if (type instanceof PsiPrimitiveType) {
+            methodUtility.addStatement(toProtoMethod, setStatement);
+        } else {
+            // Messages can't hold nulls
+            methodUtility.addIfStatement(toProtoMethod, getter + " != null", setStatement);
+        }
+
+        final String fromStatement = String.format("%s(%s);", setter, fromProto.get());
+        final Optional<String> isSet = getReturnType(protoClass, "has" + accessorName).isPresent()
+                ? Optional.of(String.format("proto.has%s()", accessorName))
+                : generateIsNotDefault(protoClass, protoType.get(), accessorName);
+        if (isSet.isPresent()) {
+            methodUtility.addIfStatement(fromProtoMethod, isSet.get(), fromStatement);
+        } else {
+            methodUtility.addStatement(fromProtoMethod, fromStatement);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return An expression of the proto type, converted from the value, if the types are compatible.
+     */
+    private Optional<String> convertToProto(final PsiType type, final PsiType protoType, final String value) {
+        if (isDirectlyAssignable(type, protoType)) {
+            return Optional.of(value);
+        } else if (TypeUtility.isEnum(type) && TypeUtility.isEnum(protoType)) {
+            return Optional.of(String.format("%s.valueOf(%s.name())", protoType.getCanonicalText(), value));
+        } else if (hasProtoMapping(type)) {
+            return Optional.of(String.format("%s.toProto()", value));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return An expression of the field's type, converted from the proto value, if the types are compatible.
+     */
+    private Optional<String> convertFromProto(final PsiType type, final PsiType protoType, final String protoValue, final String fieldName) {
+        if (isDirectlyAssignable(type, protoType)) {
+            return Optional.of(protoValue);
+        } else if (TypeUtility.isEnum(type) && TypeUtility.isEnum(protoType)) {
+            // UNRECOGNIZED, and constants the class's enum doesn't have, throw the class's exceptionType
+            return Optional.of(String.format("%s(%s.class, %s, \"%s\")", FROM_PROTO_ENUM_METHOD, type.getCanonicalText(), protoValue, fieldName));
+        } else if (hasProtoMapping(type)) {
+            return Optional.of(String.format("%s.fromProto(%s)", ((PsiClassType) type).rawType().getCanonicalText(), protoValue));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Fields without presence (proto3 scalars and enums) can't tell an unset value from their default,
+     * so defaults are left unset rather than pushed into the builder, where they would trip constraints such as notBlank.
+     * @return The condition that the message's field doesn't have its default value, if the type has a known default.
+     */
+    private static Optional<String> generateIsNotDefault(final PsiClass protoClass, final PsiType protoType, final String accessorName) {
+        final String value = String.format("proto.get%s()", accessorName);
+        if (protoType.equals(PsiType.BOOLEAN)) {
+            return Optional.of(value);
+        } else if (protoType instanceof PsiPrimitiveType) {
+            return Optional.of(value + " != 0");
+        } else if (TypeUtility.isOfType(protoType, CommonClassNames.JAVA_LANG_STRING) || TypeUtility.isOfType(protoType, "com.google.protobuf.ByteString")) {
+            return Optional.of(String.format("!%s.isEmpty()", value));
+        } else if (TypeUtility.isEnum(protoType)) {
+            // The default is the constant numbered 0, and comparing the raw number also works for UNRECOGNIZED values
+            return Optional.of(getReturnType(protoClass, "get" + accessorName + "Value").isPresent()
+                    ? String.format("proto.get%sValue() != 0", accessorName)
+                    : value + ".getNumber() != 0");
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Generates the method mapping a message's enum constant to the class's enum constant with the same name.
+     */
+    private void generateFromProtoEnumMethod(final PsiClass topLevelClass) {
+        final String exceptionType = BuilderOptionUtility.exceptionType(topLevelClass).getCanonicalText();
+        final PsiMethod method = psiElementFactory.createMethodFromText(String.format(
+                "private static <E extends Enum<E>> E %s(final Class<E> type, final Enum<?> protoValue, final String field) {" +
+                "try { return Enum.valueOf(type, protoValue.name()); }" +
+                "catch (IllegalArgumentException e) { throw new %s(field + \" -> No constant of \" + type.getSimpleName() + \" matches \" + protoValue.name()); }" +
+                "}",
+                FROM_PROTO_ENUM_METHOD,
+                exceptionType
+        ), topLevelClass);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, method);
+        topLevelClass.add(method);
+    }
+
+    /**
+     * @return An expression creating an empty collection or map of the type, presized for the given size when its implementation supports it.
+     */
+    private static String generatePresizedCollection(final CollectionType collectionType, final String size) {
+        final String implementation = collectionType.getImplementation();
+        if (implementation.equals("java.util.HashSet") || implementation.equals("java.util.HashMap")) {
+            return String.format("new %s<>((int) (%s / 0.75f) + 1)", implementation, size);
+        } else if (implementation.equals("java.util.ArrayList")) {
+            return String.format("new %s<>(%s)", implementation, size);
+        }
+
+        // Sorted implementations grow as a tree, without a capacity
+        return String.format("new %s<>()", implementation);
+    }
+
+    private static boolean isDirectlyAssignable(final PsiType type, final PsiType protoType) {
+        return TypeUtility.unboxIfPossible(type).equals(TypeUtility.unboxIfPossible(protoType));
+    }
+
+    private static boolean hasProtoMapping(final PsiType type) {
+        if (type instanceof PsiClassType) {
+            final PsiClass psiClass = ((PsiClassType) type).resolve();
+            return psiClass != null && AnnotationUtility.hasProtoMappingAnnotation(psiClass);
+        }
+
+        return false;
+    }
+
+    private static String getBoxedTypeText(final PsiType type) {
+        return type instanceof PsiPrimitiveType ? ((PsiPrimitiveType) type).getBoxedTypeName() : type.getCanonicalText();
+    }
+
+    /**
+     * @return The return type of the message class's method with the given parameters, if it has one.
+     */
+    private static Optional<PsiType> getReturnType(final PsiClass protoClass, final String methodName, final PsiType... parameterTypes) {
+        for (final PsiMethod method : protoClass.findMethodsByName(methodName, true)) {
+            final PsiParameter[] parameters = method.getParameterList().getParameters();
+            if (parameters.length != parameterTypes.length) {
+                continue;
+            }
+
+            boolean matches = true;
+            for (int i = 0; i < parameters.length; i++) {
+                matches &= parameterTypes[i].equals(parameters[i].getType());
+            }
+
+            if (matches) {
+                return Optional.ofNullable(method.getReturnType());
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<PsiMethod> findMethod(final PsiClass protoClass, final String methodName, final int parameterCount) {
+        return Arrays.stream(protoClass.findMethodsByName(methodName, true))
+                .filter(method -> method.getParameterList().getParametersCount() == parameterCount)
+                .findFirst();
+    }
+
+    /**
+     * @param protoFieldName The name of the field in the .proto file. Example: "user_id".
+     * @return The name used in the accessors that protoc generates for the field. Example: "UserId".
+     */
+    private static String getAccessorName(final String protoFieldName) {
+        final StringBuilder accessorName = new StringBuilder(protoFieldName.length());
+        boolean capitalizeNext = true;
+        for (final char c : protoFieldName.toCharArray()) {
+            if (c == '_') {
+                capitalizeNext = true;
+            } else if (capitalizeNext) {
+                accessorName.append(Character.toUpperCase(c));
+                capitalizeNext = Character.isDigit(c);
+            } else {
+                accessorName.append(c);
+                capitalizeNext = Character.isDigit(c);
+            }
+        }
+
+        return accessorName.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.*;
+
+import java.util.List;
+
+/**
+ * Generates a serialization proxy (see Item 90 of "Effective Java") to support java.io serialization.
+ * The proxy writes the fields in a fixed order without reflection, and rebuilds the object through its builder so constraints are enforced.
+ */
+public class SerializationProxyGenerator {
+    private static final String PROXY_CLASS = "SerializationProxy";
+
+    private final Project project;
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+    private final ClassFactory classFactory;
+
+    public SerializationProxyGenerator(final Project project) {
+        this.project = project;
+        this.psiElementFactory = PsiElementFactory.SERVICE.getInstance(project);
+        this.methodUtility = new MethodUtility(psiElementFactory);
+        this.classFactory = new ClassFactory(psiElementFactory);
+    }
+
+    public void generateSerializationProxy(final PsiClass topLevelClass) {
+        classFactory.addImplements(topLevelClass, "java.io.Serializable");
+
+        generateWriteReplaceMethod(topLevelClass);
+        generateReadObjectMethod(topLevelClass);
+
+        final PsiClass proxyClass = classFactory.createClass(
+                PROXY_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PRIVATE, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        classFactory.addImplements(proxyClass, "java.io.Externalizable");
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, proxyClass);
+
+        final String className = topLevelClass.getName();
+        proxyClass.add(psiElementFactory.createFieldFromText("private static final long serialVersionUID = 1L;", proxyClass));
+        proxyClass.add(psiElementFactory.createFieldFromText(String.format("private %s value;", className), proxyClass));
+
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+        generateConstructors(proxyClass, className);
+        generateWriteExternalMethod(proxyClass, fields);
+        generateReadExternalMethod(topLevelClass, proxyClass, fields);
+        generateReadResolveMethod(proxyClass);
+
+        topLevelClass.add(proxyClass);
+    }
+
+    private void generateWriteReplaceMethod(final PsiClass topLevelClass) {
+        final PsiMethod writeReplaceMethod = methodUtility.createPrivateMethod("writeReplace", TypeUtility.getJavaLangObject(project));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, writeReplaceMethod);
+
+        methodUtility.addReturnStatement(writeReplaceMethod, "new " + PROXY_CLASS + "(this)");
+
+        topLevelClass.add(writeReplaceMethod);
+    }
+
+    private void generateReadObjectMethod(final PsiClass topLevelClass) {
+        final PsiMethod readObjectMethod = methodUtility.createPrivateMethod("readObject", PsiType.VOID);
+        methodUtility.addParameter(readObjectMethod, "stream", psiElementFactory.createTypeFromText("java.io.ObjectInputStream", topLevelClass));
+        methodUtility.addThrows(readObjectMethod, "java.io.InvalidObjectException");
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, readObjectMethod);
+
+        methodUtility.addStatement(readObjectMethod, "throw new java.io.InvalidObjectException(\"" + PROXY_CLASS + " required\");");
+
+        topLevelClass.add(readObjectMethod);
+    }
+
+    private void generateConstructors(final PsiClass proxyClass, final String className) {
+        // Externalizable requires a public no-args constructor
+        final PsiMethod noArgsConstructor = psiElementFactory.createConstructor();
+        proxyClass.add(noArgsConstructor);
+
+        final PsiMethod constructor = methodUtility.createPrivateConstructor();
+        methodUtility.addParameter(constructor, "value", psiElementFactory.createTypeFromText(className, proxyClass));
+        methodUtility.addStatement(constructor, "this.value = value;");
+        proxyClass.add(constructor);
+    }
+
+    private void generateWriteExternalMethod(final PsiClass proxyClass, final List<PsiField> fields) {
+        final PsiMethod writeExternalMethod = methodUtility.createPublicMethod("writeExternal", PsiType.VOID);
+        methodUtility.addParameter(writeExternalMethod, "out", psiElementFactory.createTypeFromText("java.io.ObjectOutput", proxyClass));
+        methodUtility.addThrows(writeExternalMethod, "java.io.IOException");
+        AnnotationUtility.addOverrideAnnotation(writeExternalMethod);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, writeExternalMethod);
+
+        for (final PsiField field : fields) {
+            final String getter = String.format("value.%s()", MethodNameUtility.getGetterName(field));
+            methodUtility.addStatement(writeExternalMethod, SerializationUtility.generateWriteStatement(field, "out", getter));
+        }
+
+        proxyClass.add(writeExternalMethod);
+    }
+
+    private void generateReadExternalMethod(final PsiClass topLevelClass, final PsiClass proxyClass, final List<PsiField> fields) {
+        final PsiMethod readExternalMethod = methodUtility.createPublicMethod("readExternal", PsiType.VOID);
+        methodUtility.addParameter(readExternalMethod, "in", psiElementFactory.createTypeFromText("java.io.ObjectInput", proxyClass));
+        methodUtility.addThrows(readExternalMethod, "java.io.IOException");
+        methodUtility.addThrows(readExternalMethod, "java.lang.ClassNotFoundException");
+        AnnotationUtility.addOverrideAnnotation(readExternalMethod);
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, readExternalMethod);
+        if (topLevelClass.hasTypeParameters()) {
+            readExternalMethod.getModifierList().addAnnotation("SuppressWarnings(\"unchecked\")");
+        }
+
+        methodUtility.addStatement(readExternalMethod, String.format("final %s.Builder builder = %s.builder();", topLevelClass.getName(), topLevelClass.getName()));
+        for (final PsiField field : fields) {
+            final String setter = MethodNameUtility.getSetterName(field);
+            methodUtility.addStatement(readExternalMethod, String.format("builder.%s(%s);", setter, SerializationUtility.generateReadExpression(field, "in")));
+        }
+        methodUtility.addStatement(readExternalMethod, "this.value = builder.build();");
+
+        proxyClass.add(readExternalMethod);
+    }
+
+    private void generateReadResolveMethod(final PsiClass proxyClass) {
+        final PsiMethod readResolveMethod = methodUtility.createPrivateMethod("readResolve", TypeUtility.getJavaLangObject(project));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, readResolveMethod);
+        methodUtility.addReturnStatement(readResolveMethod, "value");
+
+        proxyClass.add(readResolveMethod);
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.github.davidburkett.builderberg.utilities.*;
+import com.google.common.collect.ImmutableList;
+import com.intellij.psi.*;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+
+/**
+ * Generates a stableHash64 method, for sharding and partitioning objects across JVMs.
+ *
+ * Every field is reduced to one or more 64-bit lanes, which are combined with the xxHash64 round and avalanche functions:
+ * primitives by value (floating point values by their canonical bits), strings as packed UTF-8 bytes followed by their byte count,
+ * enums by name, lists and arrays by their elements in iteration order followed by their size,
+ * sets and maps by the sum of their element or entry hashes followed by their size, and nested objects by their own stableHash64.
+ * Nulls are hashed as a fixed marker lane. Fields of any other type have no stable encoding, and are rejected.
+ * This encoding is part of the contract of the generated method, and must never change.
+ */
+public class StableHashGenerator {
+    private static final String GENERATE_STABLE_HASH = "generateStableHash";
+    private static final String RUNTIME_STABLE_HASH = "com.github.davidburkett.builderberg.runtime.StableHash";
+
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public StableHashGenerator(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    /**
+     * Generates the stableHash64 method, and the private helper methods it uses, for the given {@link PsiClass topLevelClass}.
+     * When the class uses builderberg-runtime, the shared StableHash helpers are called instead, which produce the same hash.
+     * @param topLevelClass The class to generate the stableHash64 method for.
+     * @throws InvalidConstraintException If a field, or an element of a field, has no stable encoding.
+     */
+    public void generateStableHashMethod(final PsiClass topLevelClass) throws InvalidConstraintException {
+        final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
+        for (final PsiField field : fields) {
+            if (!hasStableEncoding(field.getType())) {
+                throw new InvalidConstraintException(field, GENERATE_STABLE_HASH);
+            }
+        }
+
+        final PsiMethod stableHashMethod = methodUtility.createPublicMethod("stableHash64", PsiType.LONG);
+
+        methodUtility.addJavadoc(stableHashMethod, ImmutableList.of(
+                "Computes a 64-bit hash of the fields of this object that is stable across JVMs and Builderberg versions.",
+                "Unlike {@link #hashCode()}, it can be used to partition and deduplicate objects across processes.",
+                "Sets and maps are hashed independently of their iteration order.",
+                "@return The 64-bit hash."
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, stableHashMethod);
+
+        final boolean useRuntime = BuilderOptionUtility.useRuntime(topLevelClass);
+
+        methodUtility.addStatement(stableHashMethod, "long hash = " + StableHashHelpers.SEED + ";");
+        for (final PsiField field : fields) {
+            methodUtility.addStatement(stableHashMethod, "hash = " + generateHashExpression(field, useRuntime) + ";");
+        }
+        methodUtility.addReturnStatement(stableHashMethod, String.format("%s(hash, %d)", getHelperName("Finish", useRuntime), fields.size()));
+
+        topLevelClass.add(stableHashMethod);
+
+        if (useRuntime) {
+            return;
+        }
+
+        for (final String helper : StableHashHelpers.HELPERS) {
+            final PsiMethod helperMethod = psiElementFactory.createMethodFromText(helper, topLevelClass);
+            AnnotationUtility.addGeneratedAnnotation(psiElementFactory, helperMethod);
+            topLevelClass.add(helperMethod);
+        }
+    }
+
+    private String generateHashExpression(final PsiField field, final boolean useRuntime) {
+        final PsiType type = field.getType();
+        final String value = MethodNameUtility.getGetterName(field) + "()";
+        final String lane = getHelperName("Lane", useRuntime);
+        final String string = getHelperName("String", useRuntime);
+
+        if (TypeUtility.isPrimitiveBoolean(type)) {
+            return String.format("%s(hash, %s ? 1L : 0L)", lane, value);
+        } else if (type == PsiType.FLOAT) {
+            return String.format("%s(hash, Float.floatToIntBits(%s))", lane, value);
+        } else if (type == PsiType.DOUBLE) {
+            return String.format("%s(hash, Double.doubleToLongBits(%s))", lane, value);
+        } else if (type instanceof PsiPrimitiveType) {
+            return String.format("%s(hash, %s)", lane, value);
+        } else if (TypeUtility.isOfType(type, CommonClassNames.JAVA_LANG_STRING)) {
+            return String.format("%s(hash, %s)", string, value);
+        } else if (TypeUtility.isEnum(type)) {
+            return String.format("%s(hash, %s != null ? %s.name() : null)", string, value, value);
+        } else if (TypeUtility.declaresMethod(type, "stableHash64")) {
+            return String.format("%s(hash, %s != null ? %s.stableHash64() : %s)", lane, value, value, StableHashHelpers.NULL_LANE);
+        }
+
+        return String.format("%s(hash, %s)", getHelperName("Object", useRuntime), value);
+    }
+
+    /**
+     * Determines if values of the given {@link PsiType} have a stable encoding: primitives, boxed primitives, strings, enums,
+     * classes declaring stableHash64, and arrays, collections and maps whose elements have a stable encoding.
+     * @param type The non-null {@link PsiType}.
+     * @return True if the type can be hashed by stableHash64. Otherwise, false.
+     */
+    private static boolean hasStableEncoding(final PsiType type) {
+        if (type instanceof PsiPrimitiveType || TypeUtility.isBoxedPrimitive(type)
+                || TypeUtility.isOfType(type, CommonClassNames.JAVA_LANG_STRING)
+                || TypeUtility.isEnum(type)
+                || TypeUtility.declaresMethod(type, "stableHash64")) {
+            return true;
+        } else if (type instanceof PsiArrayType) {
+            return hasStableEncoding(((PsiArrayType) type).getComponentType());
+        } else if (type instanceof PsiClassType && (TypeUtility.isCollection(type) || TypeUtility.isMap(type))) {
+            final PsiType[] parameters = ((PsiClassType) type).getParameters();
+            if (parameters.length == 0) {
+                return false;
+            }
+
+            for (final PsiType parameter : parameters) {
+                final PsiType elementType = parameter instanceof PsiWildcardType ? ((PsiWildcardType) parameter).getExtendsBound() : parameter;
+                if (!hasStableEncoding(elementType)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param helper The capitalized helper name. Example: "Lane".
+     * @return The private helper "stableHashLane", or the runtime equivalent "StableHash.lane".
+     */
+    private static String getHelperName(final String helper, final boolean useRuntime) {
+        if (useRuntime) {
+            return RUNTIME_STABLE_HASH + "." + StringUtils.uncapitalize(helper);
+        }
+
+        return "stableHash" + helper;
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.davidburkett.builderberg.generators;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The text of the private helper methods that stableHash64 calls in classes that don't use builderberg-runtime.
+ * They must hash exactly like com.github.davidburkett.builderberg.runtime.StableHash, which StableHashHelpersTest verifies.
+ */
+final class StableHashHelpers {
+    static final String SEED = "0x27D4EB2F165667C5L";
+    static final String NULL_LANE = "0x9E3779B97F4A7C15L";
+
+    private static final String LANE_HELPER =
+            "private static long stableHashLane(long hash, final long lane) {" +
+            "    hash ^= Long.rotateLeft(lane * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B185EBCA87L;" +
+            "    return Long.rotateLeft(hash, 27) * 0x9E3779B185EBCA87L + 0x85EBCA77C2B2AE63L;" +
+            "}";
+
+    private static final String FINISH_HELPER =
+            "private static long stableHashFinish(long hash, final long fieldCount) {" +
+            "    hash = stableHashLane(hash, fieldCount);" +
+            "    hash ^= hash >>> 33;" +
+            "    hash *= 0xC2B2AE3D27D4EB4FL;" +
+            "    hash ^= hash >>> 29;" +
+            "    hash *= 0x165667B19E3779F9L;" +
+            "    return hash ^ (hash >>> 32);" +
+            "}";
+
+    private static final String STRING_HELPER =
+            "private static long stableHashString(long hash, final CharSequence value) {" +
+            "    if (value == null) {" +
+            "        return stableHashLane(hash, " + NULL_LANE + ");" +
+            "    }" +
+            "    long lane = 0L;" +
+            "    int shift = 0;" +
+            "    long byteCount = 0L;" +
+            "    final int length = value.length();" +
+            "    for (int i = 0; i < length; i++) {" +
+            "        int codePoint = value.charAt(i);" +
+            "        if (Character.isHighSurrogate((char) codePoint) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {" +
+            "            codePoint = Character.toCodePoint((char) codePoint, value.charAt(++i));" +
+            "        }" +
+            "        final int encoded;" +
+            "        final int encodedLength;" +
+            "        if (codePoint < 0x80) {" +
+            "            encoded = codePoint;" +
+            "            encodedLength = 1;" +
+            "        } else if (codePoint < 0x800) {" +
+            "            encoded = (0xC0 | (codePoint >>> 6)) | ((0x80 | (codePoint & 0x3F)) << 8);" +
+            "            encodedLength = 2;" +
+            "        } else if (codePoint < 0x10000) {" +
+            "            encoded = (0xE0 | (codePoint >>> 12)) | ((0x80 | ((codePoint >>> 6) & 0x3F)) << 8) | ((0x80 | (codePoint & 0x3F)) << 16);" +
+            "            encodedLength = 3;" +
+            "        } else {" +
+            "            encoded = (0xF0 | (codePoint >>> 18)) | ((0x80 | ((codePoint >>> 12) & 0x3F)) << 8) | ((0x80 | ((codePoint >>> 6) & 0x3F)) << 16) | ((0x80 | (codePoint & 0x3F)) << 24);" +
+            "            encodedLength = 4;" +
+            "        }" +
+            "        for (int b = 0; b < encodedLength; b++) {" +
+            "            lane |= ((encoded >>> (b * 8)) & 0xFFL) << shift;" +
+            "            shift += 8;" +
+            "            if (shift == 64) {" +
+            "                hash = stableHashLane(hash, lane);" +
+            "                lane = 0L;" +
+            "                shift = 0;" +
+            "            }" +
+            "        }" +
+            "        byteCount += encodedLength;" +
+            "    }" +
+            "    if (shift != 0) {" +
+            "        hash = stableHashLane(hash, lane);" +
+            "    }" +
+            "    return stableHashLane(hash, byteCount);" +
+            "}";
+
+    private static final String OBJECT_HELPER =
+            "private static long stableHashObject(long hash, final Object value) {" +
+            "    if (value == null) {" +
+            "        return stableHashLane(hash, " + NULL_LANE + ");" +
+            "    } else if (value instanceof CharSequence) {" +
+            "        return stableHashString(hash, (CharSequence) value);" +
+            "    } else if (value instanceof Enum) {" +
+            "        return stableHashString(hash, ((Enum<?>) value).name());" +
+            "    } else if (value instanceof Boolean) {" +
+            "        return stableHashLane(hash, ((Boolean) value) ? 1L : 0L);" +
+            "    } else if (value instanceof Character) {" +
+            "        return stableHashLane(hash, (Character) value);" +
+            "    } else if (value instanceof Float) {" +
+            "        return stableHashLane(hash, Float.floatToIntBits((Float) value));" +
+            "    } else if (value instanceof Double) {" +
+            "        return stableHashLane(hash, Double.doubleToLongBits((Double) value));" +
+            "    } else if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {" +
+            "        return stableHashLane(hash, ((Number) value).longValue());" +
+            "    } else if (value instanceof java.util.Map) {" +
+            "        final java.util.Map<?, ?> map = (java.util.Map<?, ?>) value;" +
+            "        long entries = 0L;" +
+            "        for (final java.util.Map.Entry<?, ?> entry : map.entrySet()) {" +
+            "            entries += stableHashFinish(stableHashObject(stableHashObject(" + SEED + ", entry.getKey()), entry.getValue()), 2);" +
+            "        }" +
+            "        return stableHashLane(stableHashLane(hash, entries), map.size());" +
+            "    } else if (value instanceof java.util.Set) {" +
+            "        final java.util.Set<?> set = (java.util.Set<?>) value;" +
+            "        long elements = 0L;" +
+            "        for (final Object element : set) {" +
+            "            elements += stableHashFinish(stableHashObject(" + SEED + ", element), 1);" +
+            "        }" +
+            "        return stableHashLane(stableHashLane(hash, elements), set.size());" +
+            "    } else if (value instanceof java.util.List && value instanceof java.util.RandomAccess) {" +
+            "        final java.util.List<?> list = (java.util.List<?>) value;" +
+            "        final int size = list.size();" +
+            "        for (int i = 0; i < size; i++) {" +
+            "            hash = stableHashObject(hash, list.get(i));" +
+            "        }" +
+            "        return stableHashLane(hash, size);" +
+            "    } else if (value instanceof Iterable) {" +
+            "        long size = 0L;" +
+            "        for (final Object element : (Iterable<?>) value) {" +
+            "            hash = stableHashObject(hash, element);" +
+            "            size++;" +
+            "        }" +
+            "        return stableHashLane(hash, size);" +
+            "    } else if (value instanceof Object[]) {" +
+            "        final Object[] array = (Object[]) value;" +
+            "        for (final Object element : array) {" +
+            "            hash = stableHashObject(hash, element);" +
+            "        }" +
+            "        return stableHashLane(hash, array.length);" +
+            primitiveArrayBranch("boolean", "element ? 1L : 0L") +
+            primitiveArrayBranch("byte", "element") +
+            primitiveArrayBranch("short", "element") +
+            primitiveArrayBranch("char", "element") +
+            primitiveArrayBranch("int", "element") +
+            primitiveArrayBranch("long", "element") +
+            primitiveArrayBranch("float", "Float.floatToIntBits(element)") +
+            primitiveArrayBranch("double", "Double.doubleToLongBits(element)") +
+            "    }" +
+            "    final java.lang.reflect.Method stableHash64;" +
+            "    try {" +
+            "        stableHash64 = value.getClass().getMethod(\"stableHash64\");" +
+            "    } catch (NoSuchMethodException e) {" +
+            "        throw new IllegalArgumentException(\"No stable hash encoding for \" + value.getClass().getName());" +
+            "    }" +
+            "    if (stableHash64.getReturnType() != long.class) {" +
+            "        throw new IllegalArgumentException(\"No stable hash encoding for \" + value.getClass().getName());" +
+            "    }" +
+            "    try {" +
+            "        stableHash64.setAccessible(true);" +
+            "        return stableHashLane(hash, (Long) stableHash64.invoke(value));" +
+            "    } catch (IllegalAccessException e) {" +
+            "        throw new IllegalStateException(e);" +
+            "    } catch (java.lang.reflect.InvocationTargetException e) {" +
+            "        throw new IllegalStateException(e.getCause());" +
+            "    }" +
+            "}";
+
+    static final List<String> HELPERS = Collections.unmodifiableList(Arrays.asList(LANE_HELPER, FINISH_HELPER, STRING_HELPER, OBJECT_HELPER));
+
+    private StableHashHelpers() {
+    }
+
+    private static String primitiveArrayBranch(final String componentType, final String laneExpression) {
+        return String.format(
+                "    } else if (value instanceof %s[]) {" +
+                "        final %s[] array = (%s[]) value;" +
+                "        for (final %s element : array) {" +
+                "            hash = stableHashLane(hash, %s);" +
+                "        }" +
+                "        return stableHashLane(hash, array.length);",
+                componentType, componentType, componentType, componentType, laneExpression
+        );
+    }
+}
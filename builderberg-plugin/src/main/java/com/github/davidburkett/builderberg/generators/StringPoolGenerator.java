@@ -0,0 +1,121 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.BuilderOptionUtility;
+import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
+import com.github.davidburkett.builderberg.utilities.TypeUtility;
+import com.google.common.collect.ImmutableList;
+import com.intellij.psi.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the string pools that the fields annotated with @Dedupe are canonicalized through when the object is built.
+ */
+public class StringPoolGenerator {
+    private static final String DEDUPE = "@Dedupe";
+    private static final String POOL_CLASS = "StringPool";
+    private static final String RUNTIME_POOL_CLASS = "com.github.davidburkett.builderberg.runtime.StringPool";
+    private static final String DEDUPE_METHOD = "dedupe";
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    public StringPoolGenerator(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    /**
+     * @param topLevelClass The class to find the fields of.
+     * @return The qualifying fields annotated with @Dedupe.
+     * @throws InvalidConstraintException If a field annotated with @Dedupe isn't a String, or its capacity isn't a positive constant.
+     */
+    public static List<PsiField> findDedupeFields(final PsiClass topLevelClass) throws InvalidConstraintException {
+        final List<PsiField> dedupeFields = new ArrayList<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(topLevelClass)) {
+            if (AnnotationUtility.getDedupeAnnotation(field).isPresent()) {
+                if (!TypeUtility.isOfType(field.getType(), CommonClassNames.JAVA_LANG_STRING) || getCapacity(field) <= 0) {
+                    throw new InvalidConstraintException(field, DEDUPE);
+                }
+
+                dedupeFields.add(field);
+            }
+        }
+
+        return dedupeFields;
+    }
+
+    /**
+     * @param field A field annotated with @Dedupe.
+     * @param value An expression of the field's value. Example: "builder.countryCode".
+     * @return An expression of the canonical instance of the value.
+     */
+    public static String generateDedupeExpression(final PsiField field, final String value) {
+        return String.format("%s.%s(%s)", getPoolFieldName(field), DEDUPE_METHOD, value);
+    }
+
+    /**
+     * Generates a static pool for each of the given fields, and a public static accessor exposing its statistics.
+     * Unless the class uses builderberg-runtime, the pool class itself is generated as a nested class.
+     * @param topLevelClass The class containing the fields.
+     * @param dedupeFields The fields annotated with @Dedupe.
+     */
+    public void generateStringPools(final PsiClass topLevelClass, final List<PsiField> dedupeFields) {
+        if (dedupeFields.isEmpty()) {
+            return;
+        }
+
+        final boolean useRuntime = BuilderOptionUtility.useRuntime(topLevelClass);
+        final String poolClass = useRuntime ? RUNTIME_POOL_CLASS : POOL_CLASS;
+
+        final PsiElement anchor = dedupeFields.get(0);
+        for (final PsiField field : dedupeFields) {
+            final String poolFieldText = String.format("private static final %s %s = new %s(%d);", poolClass, getPoolFieldName(field), poolClass, getCapacity(field));
+            final PsiField poolField = psiElementFactory.createFieldFromText(poolFieldText, topLevelClass);
+            AnnotationUtility.addGeneratedAnnotation(psiElementFactory, poolField);
+            topLevelClass.addBefore(poolField, anchor);
+
+            generatePoolAccessor(topLevelClass, field, poolClass);
+        }
+
+        if (!useRuntime) {
+            final PsiClass poolClassElement = psiElementFactory.createClassFromText(StringPoolHelpers.POOL_CLASS_TEXT, topLevelClass).getInnerClasses()[0];
+            AnnotationUtility.addGeneratedAnnotation(psiElementFactory, poolClassElement);
+            topLevelClass.add(poolClassElement);
+        }
+    }
+
+    private void generatePoolAccessor(final PsiClass topLevelClass, final PsiField field, final String poolClass) {
+        final PsiType poolType = psiElementFactory.createTypeFromText(poolClass, topLevelClass);
+        final PsiMethod accessor = methodUtility.createPublicStaticMethod(field.getName() + POOL_CLASS, poolType);
+        methodUtility.addJavadoc(accessor, ImmutableList.of(
+                String.format("@return The pool that {@link #%s} values are deduplicated through, for its hit and miss statistics.", field.getName())
+        ));
+        AnnotationUtility.addGeneratedAnnotation(psiElementFactory, accessor);
+
+        methodUtility.addReturnStatement(accessor, getPoolFieldName(field));
+
+        topLevelClass.add(accessor);
+    }
+
+    private static String getPoolFieldName(final PsiField field) {
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_POOL";
+    }
+
+    private static int getCapacity(final PsiField field) {
+        final PsiAnnotationMemberValue capacity = AnnotationUtility.getDedupeAnnotation(field).get().findDeclaredAttributeValue("capacity");
+        if (capacity == null) {
+            return DEFAULT_CAPACITY;
+        }
+
+        // Constant references (e.g. capacity = POOL_SIZE) and expressions are evaluated like literals
+        final PsiConstantEvaluationHelper evaluationHelper = JavaPsiFacade.getInstance(field.getProject()).getConstantEvaluationHelper();
+        final Object value = evaluationHelper.computeConstantExpression(capacity);
+        return value instanceof Integer ? (Integer) value : -1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.davidburkett.builderberg.generators;
+
+/**
+ * The text of the StringPool class nested in classes with @Dedupe fields that don't use builderberg-runtime.
+ * It must pool like com.github.davidburkett.builderberg.runtime.StringPool. StringPoolHelpersTest compiles it and compares the two.
+ */
+final class StringPoolHelpers {
+    static final String POOL_CLASS_TEXT =
+            "/**" +
+            " * A bounded, lock-free pool of canonical strings. Each string maps to a single slot, and a miss replaces whatever the slot held." +
+            " */" +
+            "public static final class StringPool {" +
+            "    private final java.util.concurrent.atomic.AtomicReferenceArray<String> slots;" +
+            "    private final int mask;" +
+            "    private final java.util.concurrent.atomic.LongAdder hits = new java.util.concurrent.atomic.LongAdder();" +
+            "    private final java.util.concurrent.atomic.LongAdder misses = new java.util.concurrent.atomic.LongAdder();" +
+            "" +
+            "    private StringPool(final int capacity) {" +
+            "        final int size = capacity >= 1 << 30 ? 1 << 30 : Integer.highestOneBit((capacity << 1) - 1);" +
+            "        this.slots = new java.util.concurrent.atomic.AtomicReferenceArray<>(size);" +
+            "        this.mask = size - 1;" +
+            "    }" +
+            "" +
+            "    private String dedupe(final String value) {" +
+            "        if (value == null) {" +
+            "            return null;" +
+            "        }" +
+            "        final int hash = value.hashCode();" +
+            "        final int index = (hash ^ (hash >>> 16)) & mask;" +
+            "        final String pooled = slots.get(index);" +
+            "        if (pooled != null && pooled.equals(value)) {" +
+            "            hits.increment();" +
+            "            return pooled;" +
+            "        }" +
+            "        slots.lazySet(index, value);" +
+            "        misses.increment();" +
+            "        return value;" +
+            "    }" +
+            "" +
+            "    public long getHits() {" +
+            "        return hits.sum();" +
+            "    }" +
+            "" +
+            "    public long getMisses() {" +
+            "        return misses.sum();" +
+            "    }" +
+            "" +
+            "    public int getCapacity() {" +
+            "        return slots.length();" +
+            "    }" +
+            "" +
+            "    public int size() {" +
+            "        int size = 0;" +
+            "        for (int i = 0; i < slots.length(); i++) {" +
+            "            if (slots.get(i) != null) {" +
+            "                size++;" +
+            "            }" +
+            "        }" +
+            "        return size;" +
+            "    }" +
+            "}";
+
+    private StringPoolHelpers() {
+    }
+}
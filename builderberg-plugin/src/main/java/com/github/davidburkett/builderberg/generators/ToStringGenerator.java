@@ -1,21 +1,29 @@
 package com.github.davidburkett.builderberg.generators;
 
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
 import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.MethodNameUtility;
+import com.github.davidburkett.builderberg.utilities.MethodSizeUtility;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
 import com.google.common.collect.ImmutableList;
 import com.intellij.psi.*;
 import com.siyeh.ig.psiutils.TypeUtils;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class ToStringGenerator {
     private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
+    private final MethodSizeUtility methodSizeUtility;
 
     public ToStringGenerator(final PsiElementFactory psiElementFactory) {
         this.psiElementFactory = psiElementFactory;
         this.methodUtility = new MethodUtility(psiElementFactory);
+        this.methodSizeUtility = new MethodSizeUtility(psiElementFactory);
     }
 
-    public void generateToStringMethod(final PsiClass topLevelClass) {
+    public void generateToStringMethod(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout) {
         // Create toString method
         final PsiMethod toStringMethod = methodUtility.createPublicMethod("toString", TypeUtils.getStringType(topLevelClass));
 
@@ -29,12 +37,38 @@ public class ToStringGenerator {
         AnnotationUtility.addOverrideAnnotation(toStringMethod);
 
         // Add return statement
-        addReturnStatement(topLevelClass, toStringMethod);
+        addReturnStatement(topLevelClass, packedFieldLayout, toStringMethod);
+
+        // A single concatenation can't be split, so classes too wide for it to be JIT-compiled append to a StringBuilder instead
+        if (MethodSizeUtility.estimateBytecodeSize(toStringMethod) > MethodSizeUtility.HUGE_METHOD_LIMIT) {
+            toStringMethod.getBody().getStatements()[0].delete();
+            generateStringBuilderStatements(topLevelClass, packedFieldLayout, toStringMethod);
+        }
 
         topLevelClass.add(toStringMethod);
     }
 
-    private void addReturnStatement(final PsiClass topLevelClass, final PsiMethod toStringMethod) {
+    private void generateStringBuilderStatements(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout, final PsiMethod toStringMethod) {
+        methodUtility.addStatement(toStringMethod, "final StringBuilder stringBuilder = new StringBuilder(\"{\");");
+        final PsiField[] fields = topLevelClass.getFields();
+        for (int i = 0; i < fields.length; i++) {
+            final String separator = i != 0 ? "," : "";
+            final String fieldName = fields[i].getName();
+            final String fieldValue = getFieldValue(fields[i], getFieldReference(fields[i], packedFieldLayout, "this." + fieldName));
+            methodUtility.addStatement(toStringMethod, String.format("stringBuilder.append(\"%s'%s': '\").append(%s).append('\\'');", separator, fieldName, fieldValue));
+        }
+
+        final PsiStatement[] statements = toStringMethod.getBody().getStatements();
+        final List<PsiStatement> appendStatements = Arrays.asList(statements).subList(1, statements.length);
+        final PsiMethod toStringTemplate = methodUtility.createPrivateMethod("toStringChunk", PsiType.VOID);
+        methodUtility.addParameter(toStringTemplate, "stringBuilder", TypeUtils.getType("java.lang.StringBuilder", topLevelClass));
+        methodSizeUtility.splitIfHuge(topLevelClass, toStringMethod, appendStatements, toStringTemplate, "%s(stringBuilder);", null);
+
+        methodUtility.addStatement(toStringMethod, "stringBuilder.append('}');");
+        methodUtility.addReturnStatement(toStringMethod, "stringBuilder.toString()");
+    }
+
+    private void addReturnStatement(final PsiClass topLevelClass, final PackedFieldLayout packedFieldLayout, final PsiMethod toStringMethod) {
         // Generate string value
         final StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("\"{");
@@ -45,21 +79,34 @@ public class ToStringGenerator {
             }
 
             final PsiField field = fields[i];
-            stringBuilder.append(createStringForField(field));
+            stringBuilder.append(createStringForField(field, packedFieldLayout));
         }
         stringBuilder.append("}\"");
 
         methodUtility.addReturnStatement(toStringMethod, stringBuilder.toString());
     }
 
-    private String createStringForField(final PsiField field) {
+    private String createStringForField(final PsiField field, final PackedFieldLayout packedFieldLayout) {
         final String fieldName = field.getName();
-        String fieldValue = field.getName();
+        final String fieldValue = getFieldValue(field, getFieldReference(field, packedFieldLayout, fieldName));
 
+        return String.format("'%s': '\" + %s + \"'", fieldName, fieldValue);
+    }
+
+    private String getFieldReference(final PsiField field, final PackedFieldLayout packedFieldLayout, final String fieldReference) {
+        // Packed fields are only readable through their getters
+        if (packedFieldLayout.find(field.getName()).isPresent()) {
+            return MethodNameUtility.getGetterName(field) + "()";
+        }
+
+        return fieldReference;
+    }
+
+    private String getFieldValue(final PsiField field, final String fieldReference) {
         if (field.getType() instanceof PsiArrayType) {
-            fieldValue = String.format("java.util.Arrays.toString(%s)", fieldName);
+            return String.format("java.util.Arrays.toString(%s)", fieldReference);
         }
 
-        return String.format("'%s': '\" + %s + \"'", fieldName, fieldValue);
+        return fieldReference;
     }
 }
@@ -3,15 +3,31 @@ package com.github.davidburkett.builderberg.generators;
 import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
 import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndValue;
+import com.github.davidburkett.builderberg.model.PerfectHashTable;
+import com.github.davidburkett.builderberg.model.SimplePattern;
 import com.github.davidburkett.builderberg.utilities.BuilderOptionUtility;
+import com.github.davidburkett.builderberg.utilities.ClassFactory;
+import com.github.davidburkett.builderberg.utilities.JavadocUtil;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
 import com.github.davidburkett.builderberg.utilities.TypeUtility;
 import com.github.davidburkett.builderberg.utilities.ValidationUtility;
+import com.google.common.collect.ImmutableList;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
+import com.intellij.psi.util.PsiUtil;
 import com.siyeh.ig.psiutils.TypeUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Generates field validation logic to handle BuilderConstraints.
@@ -19,12 +35,44 @@ import java.util.List;
  * @author David Burkett
  */
 public class ValidationGenerator {
+    private static final String CONSTRAINT_VIOLATION_METHOD = "constraintViolation";
+    private static final String RUNTIME_CHECKS = "com.github.davidburkett.builderberg.runtime.Checks";
+    private static final String CONSTANTS_CLASS = "ValidationConstants";
+
+    /**
+     * The builder's static field holding the class's com.github.davidburkett.builderberg.runtime.BuilderbergMetrics.ClassMetrics.
+     */
+    public static final String METRICS_FIELD = "METRICS";
+    private static final String METRICS_HANDLE = "Builder." + METRICS_FIELD;
+
+    // Larger sets are looked up in a perfect hash table rather than a switch
+    private static final int ONE_OF_SWITCH_LIMIT = 8;
+    private static final Set<BuilderConstraintOption> ELEMENT_CONSTRAINTS = EnumSet.of(
+            BuilderConstraintOption.ELEMENTS_NOT_NEGATIVE,
+            BuilderConstraintOption.ELEMENT_MIN_VALUE,
+            BuilderConstraintOption.ELEMENT_MAX_VALUE
+    );
+    private static final Set<BuilderConstraintOption> BOUND_CONSTRAINTS = EnumSet.of(
+            BuilderConstraintOption.MIN_SIZE,
+            BuilderConstraintOption.MAX_SIZE,
+            BuilderConstraintOption.MIN_LENGTH,
+            BuilderConstraintOption.MAX_LENGTH
+    );
+
     private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
+    private final ClassFactory classFactory;
+
+    /**
+     * The constraint names registered with the metrics handle of the class being validated, or null if it doesn't record metrics.
+     * Set by {@link #generateValidationForField}, so that each assertion can pass the index of its constraint.
+     */
+    private List<String> metricsConstraints;
 
     public ValidationGenerator(final PsiElementFactory psiElementFactory) {
         this.psiElementFactory = psiElementFactory;
         this.methodUtility = new MethodUtility(psiElementFactory);
+        this.classFactory = new ClassFactory(psiElementFactory);
     }
 
     /**
@@ -38,66 +86,162 @@ public class ValidationGenerator {
             final PsiClass topLevelClass,
             final PsiMethod method,
             final PsiField field
+    ) throws InvalidConstraintException {
+        generateValidationForField(topLevelClass, method, field, true);
+    }
+
+    /**
+     * Generates validation logic for the BuilderConstraints the field is annotated with, optionally leaving out its customValidation.
+     * Custom validation may refer to the other fields, so it should be left out where they aren't all available.
+     *
+     * @param includeCustomValidation True to include the customValidation of the field.
+     */
+    public void generateValidationForField(
+            final PsiClass topLevelClass,
+            final PsiMethod method,
+            final PsiField field,
+            final boolean includeCustomValidation
     ) throws InvalidConstraintException {
         final List<PsiStatement> validationStatements = new ArrayList<>();
+        metricsConstraints = BuilderOptionUtility.recordMetrics(topLevelClass) ? getConstraintNames(topLevelClass) : null;
 
-        final PsiType exceptionType = BuilderOptionUtility.exceptionType(topLevelClass);
+        final boolean useRuntime = BuilderOptionUtility.useRuntime(topLevelClass);
         final List<BuilderConstraintOptionAndValue> builderConstraintOptionAndValues =
                 ValidationUtility.getBuilderConstraintsForField(field);
+        final int parallelThreshold = ValidationUtility.getParallelThreshold(field);
+        final String validationPool = BuilderOptionUtility.validationPool(topLevelClass);
+
+        // The constant-time bounds are checked right after notNull, so oversized values are rejected before their elements are scanned
+        final List<BuilderConstraintOptionAndValue> orderedConstraints = new ArrayList<>(builderConstraintOptionAndValues);
+        orderedConstraints.sort(Comparator.comparing(c -> c.getOption() != BuilderConstraintOption.NOT_NULL && !BOUND_CONSTRAINTS.contains(c.getOption())));
+
+        final List<BuilderConstraintOptionAndValue> elementConstraints = new ArrayList<>();
+        for (final BuilderConstraintOptionAndValue builderConstraintOptionAndValue : orderedConstraints) {
+            if (!includeCustomValidation && builderConstraintOptionAndValue.getOption() == BuilderConstraintOption.CUSTOM) {
+                continue;
+            }
+
+            // Element constraints share a single scan of the elements, generated below
+            if (ELEMENT_CONSTRAINTS.contains(builderConstraintOptionAndValue.getOption())) {
+                elementConstraints.add(builderConstraintOptionAndValue);
+                continue;
+            }
 
-        for (final BuilderConstraintOptionAndValue builderConstraintOptionAndValue : builderConstraintOptionAndValues) {
             final PsiStatement validationStatement = generateValidationStatement(
+                    topLevelClass,
                     method,
                     field,
                     builderConstraintOptionAndValue,
-                    exceptionType
+                    useRuntime,
+                    parallelThreshold,
+                    validationPool
             );
             validationStatements.add(validationStatement);
         }
 
+        if (!elementConstraints.isEmpty()) {
+            validationStatements.add(generateElementRangeStatement(method, field, elementConstraints));
+        }
+
         methodUtility.addStatements(method, validationStatements);
     }
 
+    /**
+     * Generates only the customValidation of the field, and adds it to the given method, where every field must be available.
+     */
+    public void generateCustomValidationForField(final PsiMethod method, final PsiField field) {
+        for (final BuilderConstraintOptionAndValue builderConstraintOptionAndValue : ValidationUtility.getBuilderConstraintsForField(field)) {
+            if (builderConstraintOptionAndValue.getOption() == BuilderConstraintOption.CUSTOM) {
+                method.getBody().add(generateCustomValidationStatement(method, builderConstraintOptionAndValue.getValue().toString()));
+            }
+        }
+    }
+
+    /**
+     * Generates the static method that creates the exception thrown when a constraint is violated, and adds it to the builder class.
+     * Keeping the exception and message construction out of the validation statements keeps the setters small enough to be inlined by the JIT.
+     *
+     * @param topLevelClass The {@link PsiClass} whose BuilderOptions define the exception type.
+     * @param builderClass  The builder {@link PsiClass} containing the validation statements.
+     */
+    public void generateConstraintViolationMethod(final PsiClass topLevelClass, final PsiClass builderClass) {
+        final PsiType exceptionType = BuilderOptionUtility.exceptionType(topLevelClass);
+        final PsiMethod method = methodUtility.createPrivateMethod(CONSTRAINT_VIOLATION_METHOD, exceptionType);
+        PsiUtil.setModifierProperty(method, PsiModifier.STATIC, true);
+
+        if (BuilderOptionUtility.recordMetrics(topLevelClass)) {
+            methodUtility.addParameter(method, "constraint", PsiType.INT);
+            methodUtility.addStatement(method, String.format("%s.recordConstraintViolation(constraint);", METRICS_HANDLE));
+        }
+
+        methodUtility.addParameter(method, "message", TypeUtils.getStringType(builderClass));
+
+        methodUtility.addReturnStatement(method, String.format("new %s(message)", exceptionType.getCanonicalText()));
+
+        builderClass.add(method);
+    }
+
     private PsiStatement generateValidationStatement(
+            final PsiClass topLevelClass,
             final PsiMethod method,
             final PsiField field,
             final BuilderConstraintOptionAndValue builderConstraintOptionAndValue,
-            final PsiType exceptionType
+            final boolean useRuntime,
+            final int parallelThreshold,
+            final String validationPool
     ) throws InvalidConstraintException {
         final BuilderConstraintOption builderConstraintOption = builderConstraintOptionAndValue.getOption();
 
         switch (builderConstraintOption) {
             case NOT_NULL:
-                return generateNotNullStatement(method, field, exceptionType);
+                return generateNotNullStatement(method, field);
             case NOT_EMPTY:
-                return generateNotEmptyStatement(method, field, exceptionType);
+                return generateNotEmptyStatement(method, field);
             case NOT_BLANK:
-                return generateNotBlankStatement(method, field, exceptionType);
+                return generateNotBlankStatement(method, field, useRuntime);
             case NO_NULL_KEYS:
-                return generateNoNullKeysStatement(method, field, exceptionType);
+                return generateNoNullKeysStatement(method, field, useRuntime, parallelThreshold, validationPool);
             case NO_NULL_VALUES:
-                return generateNoNullValuesStatement(method, field, exceptionType);
+                return generateNoNullValuesStatement(method, field, useRuntime, parallelThreshold, validationPool);
             case NOT_NEGATIVE:
-                return generateNotNegativeStatement(method, field, exceptionType);
+                return generateNotNegativeStatement(method, field);
             case NOT_POSITIVE:
-                return generateNotPositiveStatement(method, field, exceptionType);
+                return generateNotPositiveStatement(method, field);
             case NEGATIVE_ONLY:
-                return generateNegativeOnlyStatement(method, field, exceptionType);
+                return generateNegativeOnlyStatement(method, field);
             case POSITIVE_ONLY:
-                return generatePositiveOnlyStatement(method, field, exceptionType);
+                return generatePositiveOnlyStatement(method, field);
             case MIN_VALUE:
                 return generateMinValueStatement(
                         method,
                         field,
-                        (double) builderConstraintOptionAndValue.getValue(),
-                        exceptionType
+                        (double) builderConstraintOptionAndValue.getValue()
                 );
             case MAX_VALUE:
                 return generateMaxValueStatement(
                         method,
                         field,
-                        (double) builderConstraintOptionAndValue.getValue(),
-                        exceptionType
+                        (double) builderConstraintOptionAndValue.getValue()
+                );
+            case MIN_SIZE:
+            case MAX_SIZE:
+                return generateSizeStatement(method, field, builderConstraintOption, (int) builderConstraintOptionAndValue.getValue());
+            case MIN_LENGTH:
+            case MAX_LENGTH:
+                return generateLengthStatement(method, field, builderConstraintOption, (int) builderConstraintOptionAndValue.getValue());
+            case ONE_OF:
+                return generateOneOfStatement(
+                        topLevelClass,
+                        method,
+                        field,
+                        (List<String>) builderConstraintOptionAndValue.getValue()
+                );
+            case PATTERN:
+                return generatePatternStatement(
+                        topLevelClass,
+                        method,
+                        field,
+                        builderConstraintOptionAndValue.getValue().toString()
                 );
             case CUSTOM:
                 return generateCustomValidationStatement(
@@ -111,32 +255,30 @@ public class ValidationGenerator {
 
     private PsiStatement generateNotNullStatement(
             final PsiMethod method,
-            final PsiField field,
-            final PsiType exceptionType
+            final PsiField field
     ) throws InvalidConstraintException {
         if (field.getType() instanceof PsiPrimitiveType) {
             throw new InvalidConstraintException(field, "notNull");
         }
 
         final String criteria = String.format("%s == null", field.getName());
-        final String assertStatement = generateAssertion(criteria, exceptionType, "notNull", field.getName());
+        final String assertStatement = generateAssertion(criteria, "notNull", field.getName());
         return psiElementFactory.createStatementFromText(assertStatement, method);
     }
 
     private PsiStatement generateNotEmptyStatement(
             final PsiMethod method,
-            final PsiField field,
-            final PsiType exceptionType
+            final PsiField field
     ) throws InvalidConstraintException {
         final PsiType type = field.getType();
         final String fieldName = field.getName();
         if (TypeUtility.isString(type, method) || TypeUtility.isCollection(type)) {
             final String criteria = String.format("%s.isEmpty()", fieldName);
-            final String assertStatement = generateAssertion(criteria, exceptionType, "notEmpty", field.getName());
+            final String assertStatement = generateAssertion(criteria, "notEmpty", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         } else if (type instanceof PsiArrayType) {
             final String criteria = String.format("%s.length == 0", fieldName);
-            final String assertStatement = generateAssertion(criteria, exceptionType, "notEmpty", field.getName());
+            final String assertStatement = generateAssertion(criteria, "notEmpty", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
@@ -146,12 +288,14 @@ public class ValidationGenerator {
     private PsiStatement generateNotBlankStatement(
             final PsiMethod method,
             final PsiField field,
-            final PsiType exceptionType
+            final boolean useRuntime
     ) throws InvalidConstraintException {
         final PsiType type = field.getType();
         if (type.equals(TypeUtils.getStringType(method))) {
-            final String criteria = field.getName() + ".trim().isEmpty()";
-            final String assertStatement = generateAssertion(criteria, exceptionType, "notBlank", field.getName());
+            final String criteria = useRuntime
+                    ? String.format("%s.isBlank(%s)", RUNTIME_CHECKS, field.getName())
+                    : field.getName() + ".trim().isEmpty()";
+            final String assertStatement = generateAssertion(criteria, "notBlank", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
@@ -161,11 +305,23 @@ public class ValidationGenerator {
     private PsiStatement generateNoNullKeysStatement(
             final PsiMethod method,
             final PsiField field,
-            final PsiType exceptionType
+            final boolean useRuntime,
+            final int parallelThreshold,
+            final String validationPool
     ) throws InvalidConstraintException {
         final PsiType fieldType = field.getType();
 
         if (TypeUtility.isMap(fieldType)) {
+            if (useRuntime) {
+                final String criteria = String.format(
+                        "%s.containsNullKey(%s%s)",
+                        RUNTIME_CHECKS,
+                        field.getName(),
+                        getParallelArguments(parallelThreshold, validationPool)
+                );
+                return psiElementFactory.createStatementFromText(generateAssertion(criteria, "noNullKeys", field.getName()), method);
+            }
+
             final PsiType keyType = TypeUtility.getGenericKeyType(fieldType);
 
             final String forLoop = String.format(
@@ -174,8 +330,17 @@ public class ValidationGenerator {
                     field.getName()
             );
             final String criteria = "key == null";
-            final String assertStatement = generateAssertion(criteria, exceptionType, "noNullKeys", field.getName());
-            return psiElementFactory.createStatementFromText(forLoop + "{" + assertStatement + "}", method);
+            final String assertStatement = generateAssertion(criteria, "noNullKeys", field.getName());
+            return generateElementScan(
+                    method,
+                    field.getName(),
+                    field.getName() + ".size()",
+                    forLoop + "{" + assertStatement + "}",
+                    field.getName() + ".keySet().parallelStream()",
+                    "noNullKeys",
+                    parallelThreshold,
+                    validationPool
+            );
         }
 
         throw new InvalidConstraintException(field, "noNullKeys");
@@ -184,7 +349,9 @@ public class ValidationGenerator {
     private PsiStatement generateNoNullValuesStatement(
             final PsiMethod method,
             final PsiField field,
-            final PsiType exceptionType
+            final boolean useRuntime,
+            final int parallelThreshold,
+            final String validationPool
     ) throws InvalidConstraintException {
         final PsiType fieldType = field.getType();
         final PsiType valueType = TypeUtility.getGenericValueType(fieldType);
@@ -192,16 +359,50 @@ public class ValidationGenerator {
         final String fieldName = field.getName();
         final String valueTypeName = valueType.getCanonicalText();
 
+        if (useRuntime && (TypeUtility.isMap(fieldType) || TypeUtility.isCollection(fieldType) || fieldType instanceof PsiArrayType)) {
+            final String scanMethod = TypeUtility.isMap(fieldType) ? "containsNullValue" : "containsNull";
+            final String criteria = String.format(
+                    "%s.%s(%s%s)",
+                    RUNTIME_CHECKS,
+                    scanMethod,
+                    fieldName,
+                    getParallelArguments(parallelThreshold, validationPool)
+            );
+            return psiElementFactory.createStatementFromText(generateAssertion(criteria, "noNullValues", fieldName), method);
+        }
+
         if (TypeUtility.isMap(fieldType)) {
             final String forLoop = String.format("for (final %s value : %s.values())", valueTypeName, fieldName);
             final String criteria = "value == null";
-            final String assertStatement = generateAssertion(criteria, exceptionType, "noNullValues", field.getName());
-            return psiElementFactory.createStatementFromText(forLoop + "{" + assertStatement + "}", method);
+            final String assertStatement = generateAssertion(criteria, "noNullValues", field.getName());
+            return generateElementScan(
+                    method,
+                    fieldName,
+                    fieldName + ".size()",
+                    forLoop + "{" + assertStatement + "}",
+                    fieldName + ".values().parallelStream()",
+                    "noNullValues",
+                    parallelThreshold,
+                    validationPool
+            );
         } else if (TypeUtility.isCollection(fieldType) || fieldType instanceof PsiArrayType) {
             final String forLoop = String.format("for (final %s value : %s)", valueTypeName, fieldName);
             final String criteria = "value == null";
-            final String assertStatement = generateAssertion(criteria, exceptionType, "noNullValues", field.getName());
-            return psiElementFactory.createStatementFromText(forLoop + "{" + assertStatement + "}", method);
+            final String assertStatement = generateAssertion(criteria, "noNullValues", field.getName());
+            final boolean isArray = fieldType instanceof PsiArrayType;
+            final String parallelStream = isArray
+                    ? String.format("java.util.Arrays.stream(%s).parallel()", fieldName)
+                    : fieldName + ".parallelStream()";
+            return generateElementScan(
+                    method,
+                    fieldName,
+                    fieldName + (isArray ? ".length" : ".size()"),
+                    forLoop + "{" + assertStatement + "}",
+                    parallelStream,
+                    "noNullValues",
+                    parallelThreshold,
+                    validationPool
+            );
         }
 
         throw new InvalidConstraintException(field, "noNullValues");
@@ -209,12 +410,11 @@ public class ValidationGenerator {
 
     private PsiStatement generateNotNegativeStatement(
             final PsiMethod method,
-            final PsiField field,
-            final PsiType exceptionType
+            final PsiField field
     ) throws InvalidConstraintException {
         if (TypeUtility.isNumeric(field.getType())) {
             final String criteria = String.format("%s < 0", field.getName());
-            final String assertStatement = generateAssertion(criteria, exceptionType, "notNegative", field.getName());
+            final String assertStatement = generateAssertion(criteria, "notNegative", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
@@ -223,12 +423,11 @@ public class ValidationGenerator {
 
     private PsiStatement generateNotPositiveStatement(
             final PsiMethod method,
-            final PsiField field,
-            final PsiType exceptionType
+            final PsiField field
     ) throws InvalidConstraintException {
         if (TypeUtility.isNumeric(field.getType())) {
             final String criteria = String.format("%s > 0", field.getName());
-            final String assertStatement = generateAssertion(criteria, exceptionType, "notPositive", field.getName());
+            final String assertStatement = generateAssertion(criteria, "notPositive", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
@@ -237,12 +436,11 @@ public class ValidationGenerator {
 
     private PsiStatement generateNegativeOnlyStatement(
             final PsiMethod method,
-            final PsiField field,
-            final PsiType exceptionType
+            final PsiField field
     ) throws InvalidConstraintException {
         if (TypeUtility.isNumeric(field.getType())) {
             final String criteria = String.format("%s >= 0", field.getName());
-            final String assertStatement = generateAssertion(criteria, exceptionType, "negativeOnly", field.getName());
+            final String assertStatement = generateAssertion(criteria, "negativeOnly", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
@@ -251,12 +449,11 @@ public class ValidationGenerator {
 
     private PsiStatement generatePositiveOnlyStatement(
             final PsiMethod method,
-            final PsiField field,
-            final PsiType exceptionType
+            final PsiField field
     ) throws InvalidConstraintException {
         if (TypeUtility.isNumeric(field.getType())) {
             final String criteria = String.format("%s <= 0", field.getName());
-            final String assertStatement = generateAssertion(criteria, exceptionType, "positiveOnly", field.getName());
+            final String assertStatement = generateAssertion(criteria, "positiveOnly", field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
@@ -266,14 +463,12 @@ public class ValidationGenerator {
     private PsiStatement generateMinValueStatement(
             final PsiMethod method,
             final PsiField field,
-            final double minValue,
-            final PsiType exceptionType
+            final double minValue
     ) throws InvalidConstraintException {
         if (TypeUtility.isNumeric(field.getType())) {
             final String criteria = String.format("%s < %f", field.getName(), minValue);
             final String assertStatement = generateAssertion(
                     criteria,
-                    exceptionType,
                     "minValue: " + minValue,
                     field.getName()
             );
@@ -286,18 +481,410 @@ public class ValidationGenerator {
     private PsiStatement generateMaxValueStatement(
             final PsiMethod method,
             final PsiField field,
-            final double maxValue,
-            final PsiType exceptionType
+            final double maxValue
     ) throws InvalidConstraintException {
         if (TypeUtility.isNumeric(field.getType())) {
             final String criteria = String.format("%s > %f", field.getName(), maxValue);
-            final String assertStatement = generateAssertion(criteria, exceptionType, "maxValue: " + maxValue, field.getName());
+            final String assertStatement = generateAssertion(criteria, "maxValue: " + maxValue, field.getName());
             return psiElementFactory.createStatementFromText(assertStatement, method);
         }
 
         throw new InvalidConstraintException(field, "maxValue");
     }
 
+    private PsiStatement generateSizeStatement(
+            final PsiMethod method,
+            final PsiField field,
+            final BuilderConstraintOption builderConstraintOption,
+            final int size
+    ) throws InvalidConstraintException {
+        final PsiType type = field.getType();
+        final String fieldName = field.getName();
+        if (size >= 0 && (TypeUtility.isCollection(type) || TypeUtility.isMap(type) || type instanceof PsiArrayType)) {
+            final String sizeExpression = fieldName + (type instanceof PsiArrayType ? ".length" : ".size()");
+            return generateBoundStatement(method, fieldName, sizeExpression, builderConstraintOption, size);
+        }
+
+        throw new InvalidConstraintException(field, builderConstraintOption.getValue());
+    }
+
+    private PsiStatement generateLengthStatement(
+            final PsiMethod method,
+            final PsiField field,
+            final BuilderConstraintOption builderConstraintOption,
+            final int length
+    ) throws InvalidConstraintException {
+        final PsiType type = field.getType();
+        final String fieldName = field.getName();
+        if (length >= 0 && (TypeUtility.isString(type, method) || TypeUtility.isOfType(type, "java.lang.CharSequence"))) {
+            return generateBoundStatement(method, fieldName, fieldName + ".length()", builderConstraintOption, length);
+        }
+
+        throw new InvalidConstraintException(field, builderConstraintOption.getValue());
+    }
+
+    private PsiStatement generateBoundStatement(
+            final PsiMethod method,
+            final String fieldName,
+            final String sizeExpression,
+            final BuilderConstraintOption builderConstraintOption,
+            final int bound
+    ) {
+        // The minimums require notNull, which is checked first
+        final String criteria = builderConstraintOption == BuilderConstraintOption.MIN_SIZE || builderConstraintOption == BuilderConstraintOption.MIN_LENGTH
+                ? String.format("%s < %d", sizeExpression, bound)
+                : String.format("%s != null && %s > %d", fieldName, sizeExpression, bound);
+        final String assertStatement = generateAssertion(criteria, builderConstraintOption.getValue() + ": " + bound, fieldName);
+        return psiElementFactory.createStatementFromText(assertStatement, method);
+    }
+
+    /**
+     * Generates a single scan of the elements of a numeric array or collection for all of its element constraints.
+     * The scan only reduces the elements to their minimum and/or maximum, and the bounds are checked after the loop,
+     * so the loop over a primitive array has no branches and can be vectorized by the JIT. A NaN element is rejected after the loop.
+     */
+    private PsiStatement generateElementRangeStatement(
+            final PsiMethod method,
+            final PsiField field,
+            final List<BuilderConstraintOptionAndValue> elementConstraints
+    ) throws InvalidConstraintException {
+        final PsiType fieldType = field.getType();
+        final String fieldName = field.getName();
+        final boolean isArray = fieldType instanceof PsiArrayType;
+        final PsiType elementType = TypeUtility.getGenericValueType(fieldType);
+        if ((!isArray && !TypeUtility.isCollection(fieldType)) || (isArray && !(elementType instanceof PsiPrimitiveType)) || !TypeUtility.isNumeric(elementType)) {
+            throw new InvalidConstraintException(field, elementConstraints.get(0).getOption().getValue());
+        }
+
+        final PsiType unboxedType = TypeUtility.unboxIfPossible(elementType);
+        final String accumulatorType;
+        final String boxedAccumulatorType;
+        if (unboxedType == PsiType.LONG || unboxedType == PsiType.FLOAT || unboxedType == PsiType.DOUBLE) {
+            accumulatorType = unboxedType.getCanonicalText();
+            boxedAccumulatorType = ((PsiPrimitiveType) unboxedType).getBoxedTypeName();
+        } else {
+            // byte, short and char elements are compared as ints
+            accumulatorType = "int";
+            boxedAccumulatorType = CommonClassNames.JAVA_LANG_INTEGER;
+        }
+
+        final boolean floatingPoint = unboxedType == PsiType.FLOAT || unboxedType == PsiType.DOUBLE;
+        final String minName = fieldName + "Min";
+        final String maxName = fieldName + "Max";
+        final boolean needsMax = elementConstraints.stream().anyMatch(c -> c.getOption() == BuilderConstraintOption.ELEMENT_MAX_VALUE);
+        final boolean needsMin = elementConstraints.stream().anyMatch(c -> c.getOption() != BuilderConstraintOption.ELEMENT_MAX_VALUE);
+
+        final StringBuilder scan = new StringBuilder();
+        final StringBuilder reduction = new StringBuilder();
+        if (needsMin) {
+            scan.append(String.format("%s %s = %s.%s;", accumulatorType, minName, boxedAccumulatorType, floatingPoint ? "POSITIVE_INFINITY" : "MAX_VALUE"));
+            reduction.append(String.format("%s = Math.min(%s, value);", minName, minName));
+        }
+
+        if (needsMax) {
+            scan.append(String.format("%s %s = %s.%s;", accumulatorType, maxName, boxedAccumulatorType, floatingPoint ? "NEGATIVE_INFINITY" : "MIN_VALUE"));
+            reduction.append(String.format("%s = Math.max(%s, value);", maxName, maxName));
+        }
+
+        // Null elements are left to noNullValues
+        final String loopBody = isArray ? reduction.toString() : String.format("if (value != null) { %s }", reduction);
+        scan.append(String.format("for (final %s value : %s) { %s }", elementType.getCanonicalText(), fieldName, loopBody));
+
+        // Math.min and Math.max return NaN once any element is NaN, so a NaN element would otherwise pass every bound
+        if (floatingPoint) {
+            final String nanConstraint = elementConstraints.get(0).getOption().getValue() + ": NaN element";
+            scan.append(generateAssertion(String.format("%s.isNaN(%s)", boxedAccumulatorType, needsMin ? minName : maxName), nanConstraint, fieldName));
+        }
+
+        for (final BuilderConstraintOptionAndValue elementConstraint : elementConstraints) {
+            switch (elementConstraint.getOption()) {
+                case ELEMENTS_NOT_NEGATIVE:
+                    scan.append(generateAssertion(String.format("%s < 0", minName), "elementsNotNegative", fieldName));
+                    break;
+                case ELEMENT_MIN_VALUE:
+                    final double minValue = (double) elementConstraint.getValue();
+                    scan.append(generateAssertion(String.format("%s < %f", minName, minValue), "elementMinValue: " + minValue, fieldName));
+                    break;
+                case ELEMENT_MAX_VALUE:
+                    final double maxValue = (double) elementConstraint.getValue();
+                    scan.append(generateAssertion(String.format("%s > %f", maxName, maxValue), "elementMaxValue: " + maxValue, fieldName));
+                    break;
+            }
+        }
+
+        final String notEmpty = isArray ? fieldName + ".length > 0" : "!" + fieldName + ".isEmpty()";
+        final String statement = String.format("if (%s != null && %s) { %s }", fieldName, notEmpty, scan);
+        return psiElementFactory.createStatementFromText(statement, method);
+    }
+
+    /**
+     * Generates the check that the whole value matches the regex. The regex is compiled when the builder is generated,
+     * so an invalid regex is reported like any other invalid constraint. Simple regexes are checked by a generated scan of the
+     * characters, and others by a Pattern constant compiled once per class. Each check creates its own Matcher, which isn't thread-safe.
+     */
+    private PsiStatement generatePatternStatement(
+            final PsiClass topLevelClass,
+            final PsiMethod method,
+            final PsiField field,
+            final String regex
+    ) throws InvalidConstraintException {
+        final PsiType type = field.getType();
+        if (!TypeUtility.isString(type, method) && !TypeUtility.isOfType(type, "java.lang.CharSequence")) {
+            throw new InvalidConstraintException(field, "pattern");
+        }
+
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new InvalidConstraintException(field, "pattern");
+        }
+
+        final String fieldName = field.getName();
+        final PsiClass constantsClass = getConstantsClass(topLevelClass);
+        final Optional<SimplePattern> simplePattern = SimplePattern.parse(regex);
+        final String matches;
+        if (simplePattern.isPresent()) {
+            final String methodName = "matches" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+            if (constantsClass.findMethodsByName(methodName, false).length == 0) {
+                constantsClass.add(psiElementFactory.createMethodFromText(simplePattern.get().generateMatchesMethod(methodName), constantsClass));
+            }
+
+            matches = String.format("%s.%s(%s)", CONSTANTS_CLASS, methodName, fieldName);
+        } else {
+            final String constantName = getConstantName(field, "_PATTERN");
+            if (constantsClass.findFieldByName(constantName, false) == null) {
+                constantsClass.add(psiElementFactory.createFieldFromText(String.format(
+                        "static final java.util.regex.Pattern %s = java.util.regex.Pattern.compile(\"%s\");",
+                        constantName,
+                        StringUtil.escapeStringCharacters(regex)
+                ), constantsClass));
+            }
+
+            matches = String.format("%s.%s.matcher(%s).matches()", CONSTANTS_CLASS, constantName, fieldName);
+        }
+
+        final String criteria = String.format("%s != null && !%s", fieldName, matches);
+        final String assertStatement = generateAssertion(criteria, "pattern", fieldName);
+        return psiElementFactory.createStatementFromText(assertStatement, method);
+    }
+
+    /**
+     * Generates the check that the value is one of the allowed values, through a static method of the constants class.
+     * Small sets of strings and sets of ints are compiled to a switch, which javac compiles to a tableswitch when the ints are dense.
+     * Larger sets, and sets of longs, are looked up in a perfect hash table, with a single comparison instead of hashing into a Set.
+     */
+    private PsiStatement generateOneOfStatement(
+            final PsiClass topLevelClass,
+            final PsiMethod method,
+            final PsiField field,
+            final List<String> allowedValues
+    ) throws InvalidConstraintException {
+        final PsiType type = field.getType();
+        final PsiType unboxedType = TypeUtility.unboxIfPossible(type);
+        final boolean isString = TypeUtility.isString(type, method);
+        final boolean isLong = unboxedType == PsiType.LONG;
+        if (allowedValues.isEmpty() || allowedValues.contains(null)
+                || (!isString && !isLong && unboxedType != PsiType.INT && unboxedType != PsiType.SHORT && unboxedType != PsiType.BYTE)) {
+            throw new InvalidConstraintException(field, "oneOf");
+        }
+
+        final String methodName = "is" + field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1) + "Allowed";
+        final PsiClass constantsClass = getConstantsClass(topLevelClass);
+        if (constantsClass.findMethodsByName(methodName, false).length == 0) {
+            final String methodText = isString
+                    ? generateStringLookup(topLevelClass, field, methodName, new LinkedHashSet<>(allowedValues))
+                    : generateIntegralLookup(topLevelClass, field, methodName, parseAllowedValues(field, unboxedType, allowedValues), isLong);
+            constantsClass.add(psiElementFactory.createMethodFromText(methodText, constantsClass));
+        }
+
+        final String lookup = String.format("!%s.%s(%s)", CONSTANTS_CLASS, methodName, field.getName());
+        final String criteria = type instanceof PsiPrimitiveType ? lookup : String.format("%s != null && %s", field.getName(), lookup);
+        final String assertStatement = generateAssertion(criteria, "oneOf", field.getName());
+        return psiElementFactory.createStatementFromText(assertStatement, method);
+    }
+
+    private String generateStringLookup(
+            final PsiClass topLevelClass,
+            final PsiField field,
+            final String methodName,
+            final Set<String> allowedValues
+    ) {
+        final long[] hashes = allowedValues.stream().mapToLong(String::hashCode).toArray();
+        final Optional<PerfectHashTable> table = allowedValues.size() > ONE_OF_SWITCH_LIMIT
+                ? PerfectHashTable.build(hashes, false)
+                : Optional.empty();
+
+        // Sets whose strings share hash codes fall back to the switch, which compares them by equals
+        if (!table.isPresent()) {
+            final StringBuilder cases = new StringBuilder();
+            for (final String allowedValue : allowedValues) {
+                cases.append(String.format("case \"%s\":", StringUtil.escapeStringCharacters(allowedValue)));
+            }
+
+            return String.format(
+                    "static boolean %s(final String value) { switch (value) { %s return true; default: return false; } }",
+                    methodName,
+                    cases
+            );
+        }
+
+        final List<String> keys = new ArrayList<>(allowedValues);
+        final List<String> slots = new ArrayList<>();
+        for (int slot = 0; slot < table.get().size(); slot++) {
+            final int keyIndex = table.get().getKeyIndex(slot);
+            slots.add(keyIndex < 0 ? "null" : "\"" + StringUtil.escapeStringCharacters(keys.get(keyIndex)) + "\"");
+        }
+
+        final String valuesName = addLookupTable(topLevelClass, field, "String", slots, table.get());
+        return String.format(
+                "static boolean %s(final String value) { final int hash = value.hashCode(); return value.equals(%s[%s]); }",
+                methodName,
+                valuesName,
+                table.get().generateSlotExpression("hash", getConstantName(field, "_DISPLACEMENTS"))
+        );
+    }
+
+    private String generateIntegralLookup(
+            final PsiClass topLevelClass,
+            final PsiField field,
+            final String methodName,
+            final long[] allowedValues,
+            final boolean isLong
+    ) {
+        final String valueType = isLong ? "long" : "int";
+        final String suffix = isLong ? "L" : "";
+        // Dense ints are compiled to a tableswitch, which is a bounds check and a jump
+        final long range = Arrays.stream(allowedValues).max().getAsLong() - Arrays.stream(allowedValues).min().getAsLong();
+        final boolean isDense = range < allowedValues.length * 2L;
+        final Optional<PerfectHashTable> table = isLong || (allowedValues.length > ONE_OF_SWITCH_LIMIT && !isDense)
+                ? PerfectHashTable.build(allowedValues, isLong)
+                : Optional.empty();
+
+        // A switch can't take a long, so small sets of longs are compared one by one
+        if (isLong && (allowedValues.length <= 4 || !table.isPresent())) {
+            final List<String> comparisons = new ArrayList<>();
+            for (final long allowedValue : allowedValues) {
+                comparisons.add(String.format("value == %dL", allowedValue));
+            }
+
+            return String.format("static boolean %s(final long value) { return %s; }", methodName, String.join(" || ", comparisons));
+        } else if (!table.isPresent()) {
+            final StringBuilder cases = new StringBuilder();
+            for (final long allowedValue : allowedValues) {
+                cases.append(String.format("case %d:", allowedValue));
+            }
+
+            return String.format(
+                    "static boolean %s(final int value) { switch (value) { %s return true; default: return false; } }",
+                    methodName,
+                    cases
+            );
+        }
+
+        // An empty slot holds the first value, which can't match there since the value has its own slot
+        final List<String> slots = new ArrayList<>();
+        for (int slot = 0; slot < table.get().size(); slot++) {
+            final int keyIndex = table.get().getKeyIndex(slot);
+            slots.add(Long.toString(allowedValues[Math.max(keyIndex, 0)]) + suffix);
+        }
+
+        final String valuesName = addLookupTable(topLevelClass, field, valueType, slots, table.get());
+        return String.format(
+                "static boolean %s(final %s value) { return value == %s[%s]; }",
+                methodName,
+                valueType,
+                valuesName,
+                table.get().generateSlotExpression("value", getConstantName(field, "_DISPLACEMENTS"))
+        );
+    }
+
+    /**
+     * Adds the slots and displacements of a perfect hash table to the constants class.
+     * @return The name of the array of slots.
+     */
+    private String addLookupTable(
+            final PsiClass topLevelClass,
+            final PsiField field,
+            final String elementType,
+            final List<String> slots,
+            final PerfectHashTable table
+    ) {
+        final PsiClass constantsClass = getConstantsClass(topLevelClass);
+        final String valuesName = getConstantName(field, "_VALUES");
+        constantsClass.add(psiElementFactory.createFieldFromText(String.format(
+                "private static final %s[] %s = {%s};",
+                elementType,
+                valuesName,
+                String.join(", ", slots)
+        ), constantsClass));
+
+        final StringBuilder displacements = new StringBuilder();
+        for (final int displacement : table.getDisplacements()) {
+            displacements.append(displacements.length() == 0 ? "" : ", ").append(displacement);
+        }
+
+        constantsClass.add(psiElementFactory.createFieldFromText(String.format(
+                "private static final int[] %s = {%s};",
+                getConstantName(field, "_DISPLACEMENTS"),
+                displacements
+        ), constantsClass));
+
+        return valuesName;
+    }
+
+    /**
+     * @return The distinct allowed values, parsed as integers of the field's type.
+     * @throws InvalidConstraintException If a value isn't an integer, or is out of the range of the type.
+     */
+    private static long[] parseAllowedValues(final PsiField field, final PsiType unboxedType, final List<String> allowedValues)
+            throws InvalidConstraintException {
+        final long min = unboxedType == PsiType.LONG ? Long.MIN_VALUE : unboxedType == PsiType.INT ? Integer.MIN_VALUE : unboxedType == PsiType.SHORT ? Short.MIN_VALUE : Byte.MIN_VALUE;
+        final long max = unboxedType == PsiType.LONG ? Long.MAX_VALUE : unboxedType == PsiType.INT ? Integer.MAX_VALUE : unboxedType == PsiType.SHORT ? Short.MAX_VALUE : Byte.MAX_VALUE;
+        final Set<Long> values = new LinkedHashSet<>();
+        for (final String allowedValue : allowedValues) {
+            try {
+                final long value = Long.parseLong(allowedValue.replace("_", "").trim());
+                if (value < min || value > max) {
+                    throw new InvalidConstraintException(field, "oneOf");
+                }
+
+                values.add(value);
+            } catch (NumberFormatException e) {
+                throw new InvalidConstraintException(field, "oneOf");
+            }
+        }
+
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String getConstantName(final PsiField field, final String suffix) {
+        return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + suffix;
+    }
+
+    /**
+     * @return The nested class holding the compiled patterns, scanners and lookup tables of the constraints, which is added to the class on first use.
+     * They're kept out of the class itself, whose static fields would otherwise be treated as its own fields by the other generators.
+     */
+    private PsiClass getConstantsClass(final PsiClass topLevelClass) {
+        final PsiClass existingClass = topLevelClass.findInnerClassByName(CONSTANTS_CLASS, false);
+        if (existingClass != null) {
+            return existingClass;
+        }
+
+        final PsiClass constantsClass = classFactory.createClass(
+                CONSTANTS_CLASS,
+                PsiTypeParameter.EMPTY_ARRAY,
+                ImmutableList.of(PsiModifier.PRIVATE, PsiModifier.STATIC, PsiModifier.FINAL)
+        );
+        final PsiComment comment = psiElementFactory.createCommentFromText(
+                "/**\n * The patterns and allowed values of the fields' constraints, compiled once.\n */",
+                constantsClass
+        );
+        JavadocUtil.setComment(constantsClass, comment);
+
+        return (PsiClass) topLevelClass.add(constantsClass);
+    }
+
     private PsiStatement generateCustomValidationStatement(
             final PsiMethod method,
             final String validationText
@@ -305,16 +892,84 @@ public class ValidationGenerator {
         return psiElementFactory.createStatementFromText(validationText, method);
     }
 
+    /**
+     * Generates the scan of the elements for a null element. Collections with at least parallelThreshold elements are
+     * scanned by a parallel stream in the validation pool, which stops at the first null, and smaller ones by the sequential loop.
+     *
+     * @param size The expression for the number of elements.
+     * @param sequentialScan The loop scanning the elements on the calling thread.
+     * @param parallelStream The expression for the parallel stream of the elements.
+     * @param parallelThreshold The minimum size scanned in parallel, or 0 to always scan sequentially.
+     * @param validationPool The expression for the ForkJoinPool running the parallel scan.
+     */
+    private PsiStatement generateElementScan(
+            final PsiMethod method,
+            final String fieldName,
+            final String size,
+            final String sequentialScan,
+            final String parallelStream,
+            final String constraint,
+            final int parallelThreshold,
+            final String validationPool
+    ) {
+        if (parallelThreshold <= 0) {
+            return psiElementFactory.createStatementFromText(sequentialScan, method);
+        }
+
+        // Parallel streams run in the pool of the task that starts them
+        final String parallelCriteria = String.format(
+                "%s.submit(() -> %s.anyMatch(java.util.Objects::isNull)).join()",
+                validationPool,
+                parallelStream
+        );
+        final String scan = String.format(
+                "if (%s >= %d) { %s } else { %s }",
+                size,
+                parallelThreshold,
+                generateAssertion(parallelCriteria, constraint, fieldName),
+                sequentialScan
+        );
+        return psiElementFactory.createStatementFromText(scan, method);
+    }
+
+    private static String getParallelArguments(final int parallelThreshold, final String validationPool) {
+        return parallelThreshold > 0 ? String.format(", %d, %s", parallelThreshold, validationPool) : "";
+    }
+
+    /**
+     * @param topLevelClass The class recording metrics.
+     * @return The names of the class's constraints, as "field.constraint", whose indexes identify them to its metrics handle.
+     */
+    public static List<String> getConstraintNames(final PsiClass topLevelClass) {
+        final Set<String> constraintNames = new LinkedHashSet<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(topLevelClass)) {
+            for (final BuilderConstraintOptionAndValue constraint : ValidationUtility.getBuilderConstraintsForField(field)) {
+                // Custom validation throws its own exceptions, and parallelThreshold only tunes the other constraints
+                if (constraint.getOption() != BuilderConstraintOption.CUSTOM && constraint.getOption() != BuilderConstraintOption.PARALLEL_THRESHOLD) {
+                    constraintNames.add(field.getName() + "." + constraint.getOption().getValue());
+                }
+            }
+        }
+
+        return new ArrayList<>(constraintNames);
+    }
+
     private String generateAssertion(
             final String criteria,
-            final PsiType exceptionType,
             final String constraint,
             final String fieldName
     ) {
+        // The metrics handle identifies the constraint by its index, without the value appended to some constraints
+        final String metricsArgument = metricsConstraints != null
+                ? metricsConstraints.indexOf(fieldName + "." + constraint.split(":")[0]) + ", "
+                : "";
+
+        // The exception is created by a separate cold method, so only the criteria remains in the hot path
         return String.format(
-                "if (%s) { throw new %s(\"%s -> Constraint not met: %s\"); }",
+                "if (%s) { throw %s(%s\"%s -> Constraint not met: %s\"); }",
                 criteria,
-                exceptionType.getCanonicalText(),
+                CONSTRAINT_VIOLATION_METHOD,
+                metricsArgument,
                 fieldName,
                 constraint
         );
@@ -60,10 +60,37 @@ public final class ValidationJavadocGenerator {
                 return Optional.of(String.format("%s be >= %s.", prefix, builderConstraintOptionAndValue.getValue()));
             case MAX_VALUE:
                 return Optional.of(String.format("%s be <= %s.", prefix, builderConstraintOptionAndValue.getValue()));
+            case MIN_SIZE:
+                return Optional.of(String.format("%s contain at least %s elements.", prefix, builderConstraintOptionAndValue.getValue()));
+            case MAX_SIZE:
+                return Optional.of(String.format("%s contain at most %s elements.", prefix, builderConstraintOptionAndValue.getValue()));
+            case MIN_LENGTH:
+                return Optional.of(String.format("%s be at least %s characters long.", prefix, builderConstraintOptionAndValue.getValue()));
+            case MAX_LENGTH:
+                return Optional.of(String.format("%s be at most %s characters long.", prefix, builderConstraintOptionAndValue.getValue()));
+            case ELEMENTS_NOT_NEGATIVE:
+                return Optional.of(String.format("%s not contain negative elements.", prefix));
+            case ELEMENT_MIN_VALUE:
+                return Optional.of(String.format("%s only contain elements >= %s.", prefix, builderConstraintOptionAndValue.getValue()));
+            case ELEMENT_MAX_VALUE:
+                return Optional.of(String.format("%s only contain elements <= %s.", prefix, builderConstraintOptionAndValue.getValue()));
+            case ONE_OF:
+                final List<String> allowedValues = (List<String>) builderConstraintOptionAndValue.getValue();
+                return Optional.of(String.format("%s be one of: %s.", prefix, escapeCommentEnd(String.join(", ", allowedValues))));
+            case PATTERN:
+                final String regex = escapeCommentEnd(builderConstraintOptionAndValue.getValue().toString());
+                return Optional.of(String.format("%s match the pattern \"%s\".", prefix, regex));
             case CUSTOM:
                 return Optional.of("Contains custom validation.");
         }
 
         return Optional.empty();
     }
+
+    /**
+     * @return The text quoted as-is, except where it would end the comment.
+     */
+    private static String escapeCommentEnd(final String text) {
+        return text.replace("*/", "*&#47;");
+    }
 }
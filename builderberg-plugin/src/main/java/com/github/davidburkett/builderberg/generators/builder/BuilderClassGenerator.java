@@ -2,7 +2,9 @@ package com.github.davidburkett.builderberg.generators.builder;
 
 import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
 import com.github.davidburkett.builderberg.generators.ValidationGenerator;
+import com.github.davidburkett.builderberg.utilities.BuilderOptionUtility;
 import com.github.davidburkett.builderberg.utilities.ClassFactory;
+import com.github.davidburkett.builderberg.utilities.MethodSizeUtility;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
 import com.github.davidburkett.builderberg.utilities.QualifyingFieldsFinder;
 import com.github.davidburkett.builderberg.utilities.TypeUtility;
@@ -11,25 +13,38 @@ import com.intellij.psi.*;
 import com.intellij.psi.util.PsiUtil;
 import com.siyeh.ig.psiutils.TypeUtils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class BuilderClassGenerator {
     private static final String BUILDER_CLASS = "Builder";
 
+    /**
+     * The object the builder was created from, until a setter changes a value. build() returns it instead of an identical copy,
+     * so rebuilding a nested object without changes keeps the existing instance.
+     */
+    static final String SHARED_BASELINE_FIELD = "sharedBaseline";
+    private static final String RUNTIME_METRICS = "com.github.davidburkett.builderberg.runtime.BuilderbergMetrics";
+
     private final ClassFactory classFactory;
     private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
+    private final MethodSizeUtility methodSizeUtility;
     private final ValidationGenerator validationGenerator;
     private final SetterGenerator setterGenerator;
     private final ParameterGenerator parameterGenerator;
+    private final DefaultValueGenerator defaultValueGenerator;
 
     public BuilderClassGenerator(final PsiElementFactory psiElementFactory) {
         this.classFactory = new ClassFactory(psiElementFactory);
         this.psiElementFactory = psiElementFactory;
         this.methodUtility = new MethodUtility(psiElementFactory);
+        this.methodSizeUtility = new MethodSizeUtility(psiElementFactory);
         this.validationGenerator = new ValidationGenerator(psiElementFactory);
         this.setterGenerator = new SetterGenerator(psiElementFactory);
         parameterGenerator = new ParameterGenerator(psiElementFactory);
+        this.defaultValueGenerator = new DefaultValueGenerator(psiElementFactory);
     }
 
     /**
@@ -43,23 +58,51 @@ public class BuilderClassGenerator {
 
         final List<PsiField> fields = QualifyingFieldsFinder.findQualifyingFields(topLevelClass);
 
-        generateFields(builderClass, fields);
+        generateFields(topLevelClass, builderClass, fields);
+        final Map<String, String> lazyDefaults = defaultValueGenerator.generateDefaults(topLevelClass, builderClass, fields);
         generateConstructor(builderClass);
-        generateConstructorWithBaseline(topLevelClass, builderClass, fields);
+        generateConstructorWithBaseline(topLevelClass, builderClass, fields, lazyDefaults);
         generateCreateMethod(builderClass);
         generateCreateMethodWithBaseline(topLevelClass, builderClass);
-        setterGenerator.generateSetters(topLevelClass, builderClass, fields);
-        generateBuildMethod(topLevelClass, builderClass);
+        setterGenerator.generateSetters(topLevelClass, builderClass, fields, lazyDefaults.keySet());
+        generateBuildMethod(topLevelClass, builderClass, lazyDefaults);
         generateValidateMethod(topLevelClass, builderClass, fields);
+        validationGenerator.generateConstraintViolationMethod(topLevelClass, builderClass);
 
         return builderClass;
     }
 
-    private void generateFields(final PsiClass builderClass, final List<PsiField> fields) {
+    private void generateFields(final PsiClass topLevelClass, final PsiClass builderClass, final List<PsiField> fields) {
         for (final PsiField field : fields) {
             final PsiField builderField = psiElementFactory.createField(field.getName(), field.getType());
             builderClass.add(builderField);
         }
+
+        if (BuilderOptionUtility.reuseUnchangedInstances(topLevelClass)) {
+            final PsiType topLevelType = TypeUtility.getTypeWithGenerics(topLevelClass, topLevelClass.getTypeParameters());
+            builderClass.add(psiElementFactory.createField(SHARED_BASELINE_FIELD, topLevelType));
+        }
+
+        if (BuilderOptionUtility.recordMetrics(topLevelClass)) {
+            generateMetricsField(topLevelClass, builderClass);
+        }
+    }
+
+    /**
+     * Registers the class and its constraints with the BuilderbergMetrics provider once, when the builder is initialized.
+     * Without a provider, the handle is a no-op the JIT inlines away.
+     */
+    private void generateMetricsField(final PsiClass topLevelClass, final PsiClass builderClass) {
+        final StringBuilder arguments = new StringBuilder(topLevelClass.getName() + ".class");
+        for (final String constraintName : ValidationGenerator.getConstraintNames(topLevelClass)) {
+            arguments.append(", \"").append(constraintName).append('"');
+        }
+
+        final PsiField metricsField = psiElementFactory.createFieldFromText(
+                String.format("private static final %s.ClassMetrics %s = %s.forClass(%s);", RUNTIME_METRICS, ValidationGenerator.METRICS_FIELD, RUNTIME_METRICS, arguments),
+                builderClass
+        );
+        builderClass.add(metricsField);
     }
 
     private void generateCreateMethod(final PsiClass builderClass) {
@@ -87,10 +130,20 @@ public class BuilderClassGenerator {
         builderClass.add(createMethod);
     }
 
-    private void generateBuildMethod(final PsiClass topLevelClass, final PsiClass builderClass) {
+    private void generateBuildMethod(final PsiClass topLevelClass, final PsiClass builderClass, final Map<String, String> lazyDefaults) {
         final PsiType topLevelType = TypeUtility.getTypeWithGenerics(topLevelClass, topLevelClass.getTypeParameters());
         final PsiMethod buildMethod = methodUtility.createPublicMethod("build", topLevelType);
 
+        if (BuilderOptionUtility.recordMetrics(topLevelClass)) {
+            methodUtility.addStatement(buildMethod, ValidationGenerator.METRICS_FIELD + ".recordBuild();");
+        }
+
+        if (BuilderOptionUtility.reuseUnchangedInstances(topLevelClass)) {
+            methodUtility.addIfStatement(buildMethod, SHARED_BASELINE_FIELD + " != null", "return " + SHARED_BASELINE_FIELD + ";");
+        }
+
+        defaultValueGenerator.generateLazyDefaultStatements(buildMethod, lazyDefaults);
+
         final String className = topLevelClass.getName();
         final String generics = topLevelClass.hasTypeParameters() ? "<>" : "";
         methodUtility.addStatement(buildMethod, "return new " + className + generics + "(this);");
@@ -105,13 +158,31 @@ public class BuilderClassGenerator {
         builderClass.add(constructor);
     }
 
-    private void generateConstructorWithBaseline(final PsiClass topLevelClass, final PsiClass builderClass, final List<PsiField> fields) {
+    private void generateConstructorWithBaseline(
+            final PsiClass topLevelClass,
+            final PsiClass builderClass,
+            final List<PsiField> fields,
+            final Map<String, String> lazyDefaults
+    ) {
         final PsiMethod constructor = psiElementFactory.createConstructor();
         final PsiParameter parameter = parameterGenerator.buildParameter(topLevelClass);
         constructor.getParameterList().add(parameter);
 
         generateConstructorWithBaselineBody(constructor, parameter.getName(), fields);
 
+        // The copied values replace the lazy defaults
+        for (final String fieldName : lazyDefaults.keySet()) {
+            methodUtility.addStatement(constructor, String.format("this.%s = true;", DefaultValueGenerator.getSetFlagName(fieldName)));
+        }
+        if (BuilderOptionUtility.reuseUnchangedInstances(topLevelClass)) {
+            methodUtility.addStatement(constructor, String.format("this.%s = %s;", SHARED_BASELINE_FIELD, parameter.getName()));
+        }
+
+        final PsiMethod copyBaselineTemplate = methodUtility.createPrivateMethod("copyBaselineChunk", PsiType.VOID);
+        methodUtility.addParameter(copyBaselineTemplate, parameter.getName(), parameter.getType());
+        final List<PsiStatement> statements = Arrays.asList(constructor.getBody().getStatements());
+        methodSizeUtility.splitIfHuge(builderClass, constructor, statements, copyBaselineTemplate, "%s(" + parameter.getName() + ");", null);
+
         builderClass.add(constructor);
     }
 
@@ -131,6 +202,10 @@ public class BuilderClassGenerator {
             validationGenerator.generateValidationForField(topLevelClass, validateMethod, field);
         }
 
+        final List<PsiStatement> validationStatements = Arrays.asList(validateMethod.getBody().getStatements());
+        final PsiMethod validateTemplate = methodUtility.createPrivateMethod("validateChunk", PsiType.VOID);
+        methodSizeUtility.splitIfHuge(builderClass, validateMethod, validationStatements, validateTemplate, "%s();", null);
+
         builderClass.add(validateMethod);
     }
 }
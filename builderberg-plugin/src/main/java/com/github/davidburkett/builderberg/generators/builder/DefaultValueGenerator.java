@@ -0,0 +1,112 @@
+package com.github.davidburkett.builderberg.generators.builder;
+
+import com.github.davidburkett.builderberg.enums.CollectionType;
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.github.davidburkett.builderberg.utilities.BuilderOptionUtility;
+import com.github.davidburkett.builderberg.utilities.CollectionTypeFactory;
+import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.intellij.psi.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Generates the defaults of the builder's fields annotated with @Default.
+ * Constant defaults and shared empty collections initialize the builder's fields, so they cost nothing per object.
+ * Supplier defaults, and new empty collections, are created by build() only if the field was never set, which is tracked by a flag.
+ */
+class DefaultValueGenerator {
+    private static final String DEFAULT = "@Default";
+
+    private final PsiElementFactory psiElementFactory;
+    private final MethodUtility methodUtility;
+
+    DefaultValueGenerator(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
+        this.methodUtility = new MethodUtility(psiElementFactory);
+    }
+
+    /**
+     * Initializes the builder's fields with constant defaults, and adds the flags of the fields with lazy defaults.
+     * @return The expression of each lazy default, by field name.
+     * @throws InvalidConstraintException If a @Default has both a value and a supplier, references a missing supplier,
+     * or has neither for a field that isn't a collection or map interface.
+     */
+    Map<String, String> generateDefaults(final PsiClass topLevelClass, final PsiClass builderClass, final List<PsiField> fields) throws InvalidConstraintException {
+        final Map<String, String> lazyDefaults = new LinkedHashMap<>();
+        final boolean makeCollectionsImmutable = BuilderOptionUtility.makeCollectionsImmutable(topLevelClass);
+
+        for (final PsiField field : fields) {
+            if (!AnnotationUtility.hasDefaultAnnotation(field)) {
+                continue;
+            }
+
+            final Optional<String> value = AnnotationUtility.getDefaultAttribute(field, "value");
+            final Optional<String> supplier = AnnotationUtility.getDefaultAttribute(field, "supplier");
+            final Optional<CollectionType> collectionType = CollectionTypeFactory.getImmutableCollectionType(field.getType());
+            final String initializer;
+            final String lazyDefault;
+            if (value.isPresent() && !supplier.isPresent()) {
+                initializer = value.get();
+                lazyDefault = null;
+            } else if (supplier.isPresent() && !value.isPresent()) {
+                initializer = null;
+                lazyDefault = generateSupplierCall(topLevelClass, field, supplier.get());
+            } else if (!value.isPresent() && collectionType.isPresent()) {
+                // Immutable collections share the empty singleton, and mutable ones each need their own
+                initializer = makeCollectionsImmutable ? collectionType.get().getEmptyMethod() + "()" : null;
+                lazyDefault = makeCollectionsImmutable ? null : String.format("new %s<>()", collectionType.get().getImplementation());
+            } else {
+                throw new InvalidConstraintException(field, DEFAULT);
+            }
+
+            final PsiField builderField = builderClass.findFieldByName(field.getName(), false);
+            if (initializer != null) {
+                builderField.setInitializer(psiElementFactory.createExpressionFromText(initializer, builderField));
+            } else {
+                builderClass.addAfter(psiElementFactory.createField(getSetFlagName(field.getName()), PsiType.BOOLEAN), builderField);
+                lazyDefaults.put(field.getName(), lazyDefault);
+            }
+        }
+
+        return lazyDefaults;
+    }
+
+    /**
+     * Adds the statements creating the lazy defaults of the fields that were never set.
+     */
+    void generateLazyDefaultStatements(final PsiMethod buildMethod, final Map<String, String> lazyDefaults) {
+        for (final Map.Entry<String, String> lazyDefault : lazyDefaults.entrySet()) {
+            methodUtility.addIfStatement(
+                    buildMethod,
+                    "!" + getSetFlagName(lazyDefault.getKey()),
+                    String.format("this.%s = %s;", lazyDefault.getKey(), lazyDefault.getValue())
+            );
+        }
+    }
+
+    /**
+     * @param fieldName The name of a field with a lazy default.
+     * @return The name of the builder's flag recording whether the field was set.
+     */
+    static String getSetFlagName(final String fieldName) {
+        return fieldName + "Set";
+    }
+
+    private static String generateSupplierCall(final PsiClass topLevelClass, final PsiField field, final String supplier) throws InvalidConstraintException {
+        if (supplier.contains(".")) {
+            return supplier + "()";
+        }
+
+        for (final PsiMethod method : topLevelClass.findMethodsByName(supplier, false)) {
+            if (method.hasModifierProperty(PsiModifier.STATIC) && method.getParameterList().getParametersCount() == 0) {
+                return String.format("%s.%s()", topLevelClass.getName(), supplier);
+            }
+        }
+
+        throw new InvalidConstraintException(field, DEFAULT);
+    }
+}
@@ -3,26 +3,42 @@ package com.github.davidburkett.builderberg.generators.builder;
 import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
 import com.github.davidburkett.builderberg.generators.ValidationGenerator;
 import com.github.davidburkett.builderberg.generators.ValidationJavadocGenerator;
+import com.github.davidburkett.builderberg.utilities.BuilderOptionUtility;
 import com.github.davidburkett.builderberg.utilities.JavadocUtil;
 import com.github.davidburkett.builderberg.utilities.MethodNameUtility;
 import com.github.davidburkett.builderberg.utilities.MethodUtility;
+import com.github.davidburkett.builderberg.utilities.TypeUtility;
+import com.google.common.collect.ImmutableList;
 import com.intellij.psi.*;
 import com.siyeh.ig.psiutils.TypeUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class SetterGenerator {
+    private final PsiElementFactory psiElementFactory;
     private final MethodUtility methodUtility;
     private final ValidationGenerator validationGenerator;
 
     public SetterGenerator(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
         this.methodUtility = new MethodUtility(psiElementFactory);
         this.validationGenerator = new ValidationGenerator(psiElementFactory);
     }
 
-    public void generateSetters(final PsiClass topLevelClass, final PsiClass builderClass, final List<PsiField> fields) throws InvalidConstraintException {
+    /**
+     * @param lazyDefaultFields The names of the fields whose lazy default is replaced once their setter is called.
+     */
+    public void generateSetters(
+            final PsiClass topLevelClass,
+            final PsiClass builderClass,
+            final List<PsiField> fields,
+            final Set<String> lazyDefaultFields
+    ) throws InvalidConstraintException {
         final PsiType builderType = TypeUtils.getType(builderClass);
+        final boolean reuseUnchangedInstances = BuilderOptionUtility.reuseUnchangedInstances(topLevelClass);
 
         for (final PsiField field : fields) {
             final String fieldName = field.getName();
@@ -41,16 +57,78 @@ public class SetterGenerator {
             // Validate input
             validationGenerator.generateValidationForField(topLevelClass, withMethod, field);
 
+            // Stop sharing the baseline once a value changes
+            if (reuseUnchangedInstances) {
+                final String sharedBaselineReset = String.format("this.%s = null;", BuilderClassGenerator.SHARED_BASELINE_FIELD);
+                if (isImmutableValue(field.getType(), builderClass)) {
+                    methodUtility.addIfStatement(withMethod, String.format("%s != this.%s", fieldName, fieldName), sharedBaselineReset);
+                } else {
+                    // The same collection or array may have been modified in place, so any call is a change
+                    methodUtility.addStatement(withMethod, sharedBaselineReset);
+                }
+            }
+
             // Assign value
             methodUtility.addStatement(withMethod, String.format("this.%s = %s;", fieldName, fieldName));
+            if (lazyDefaultFields.contains(fieldName)) {
+                methodUtility.addStatement(withMethod, String.format("this.%s = true;", DefaultValueGenerator.getSetFlagName(fieldName)));
+            }
 
             // Return builder to allow method chaining
             methodUtility.addReturnStatement(withMethod, "this");
 
             builderClass.add(withMethod);
+
+            if (TypeUtility.isBuilderbergClass(field.getType())) {
+                generateNestedUpdateMethod(builderClass, field);
+            }
         }
     }
 
+    /**
+     * Generates an update method that mutates the nested Builderberg object through its own builder.
+     * When the mutation changes nothing and the nested class reuses unchanged instances, the existing instance is kept as is.
+     * It isn't an overload of the setter, so that passing null to the setter remains unambiguous.
+     */
+    private void generateNestedUpdateMethod(final PsiClass builderClass, final PsiField field) {
+        final String fieldName = field.getName();
+        final PsiClassType fieldType = (PsiClassType) field.getType();
+        final String nestedBuilderType = TypeUtility.getBuilderTypeText(fieldType);
+        final String nestedClassName = fieldType.rawType().getCanonicalText();
+
+        final String setterName = MethodNameUtility.getSetterName(field);
+        final String updateName = "update" + StringUtils.capitalize(fieldName);
+        final PsiMethod updateMethod = methodUtility.createPublicMethod(updateName, TypeUtils.getType(builderClass));
+        final PsiType mutatorType = psiElementFactory.createTypeFromText(String.format("java.util.function.Consumer<%s>", nestedBuilderType), builderClass);
+        methodUtility.addParameter(updateMethod, "mutator", mutatorType);
+
+        methodUtility.addJavadoc(updateMethod, ImmutableList.of(
+                String.format("Rebuilds the current %s through its own builder.", fieldName),
+                String.format("@param mutator Modifies a builder of the current %s, which is then built and set.", fieldName),
+                "@return This builder."
+        ));
+
+        methodUtility.addStatement(updateMethod, String.format(
+                "final %s builder = this.%s != null ? %s.builder(this.%s) : %s.builder();",
+                nestedBuilderType, fieldName, nestedClassName, fieldName, nestedClassName
+        ));
+        methodUtility.addStatement(updateMethod, "mutator.accept(builder);");
+        methodUtility.addReturnStatement(updateMethod, String.format("%s(builder.build())", setterName));
+
+        builderClass.add(updateMethod);
+    }
+
+    /**
+     * @return True if values of the type can't change after they're set, so an unchanged reference means an unchanged value.
+     */
+    private static boolean isImmutableValue(final PsiType type, final PsiElement context) {
+        return type instanceof PsiPrimitiveType
+                || TypeUtility.isBoxedPrimitive(type)
+                || TypeUtility.isString(type, context)
+                || TypeUtility.isEnum(type)
+                || TypeUtility.isBuilderbergClass(type);
+    }
+
     private PsiType getParameterType(final PsiField field) {
         final PsiType parameterType = field.getType();
         if (parameterType instanceof PsiArrayType) {
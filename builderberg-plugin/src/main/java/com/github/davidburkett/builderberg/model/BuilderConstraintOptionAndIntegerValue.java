@@ -0,0 +1,24 @@
+package com.github.davidburkett.builderberg.model;
+
+import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
+
+public class BuilderConstraintOptionAndIntegerValue implements BuilderConstraintOptionAndValue<Integer> {
+
+    private final BuilderConstraintOption option;
+    private final int value;
+
+    public BuilderConstraintOptionAndIntegerValue(final BuilderConstraintOption option, final int value) {
+        this.option = option;
+        this.value = value;
+    }
+
+    @Override
+    public BuilderConstraintOption getOption() {
+        return option;
+    }
+
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.davidburkett.builderberg.model;
+
+import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
+
+import java.util.List;
+
+public class BuilderConstraintOptionAndStringListValue implements BuilderConstraintOptionAndValue<List<String>> {
+
+    private final BuilderConstraintOption option;
+    private final List<String> value;
+
+    public BuilderConstraintOptionAndStringListValue(final BuilderConstraintOption option, final List<String> value) {
+        this.option = option;
+        this.value = value;
+    }
+
+    @Override
+    public BuilderConstraintOption getOption() {
+        return option;
+    }
+
+    @Override
+    public List<String> getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.davidburkett.builderberg.model;
+
+import com.github.davidburkett.builderberg.enums.CollectionType;
+
+import java.util.Optional;
+
+/**
+ * The memory-relevant shape of a single field: its own slot in the object, plus any objects it always drags along.
+ */
+public class FieldFootprint {
+    private final String name;
+    private final String typeName;
+    private final int primitiveSize;
+    private final int boxedPrimitiveSize;
+    private final CollectionType immutableWrapper;
+
+    /**
+     * @param name The name of the field.
+     * @param typeName The presentable name of the field's type.
+     * @param primitiveSize The size in bytes of the primitive value stored in the field, or 0 if the field holds a reference.
+     * @param boxedPrimitiveSize The size in bytes of the boxed primitive value, or 0 if the field's type is not a boxed primitive.
+     * @param immutableWrapper The {@link CollectionType} used to wrap the field's value, or null if it isn't wrapped.
+     */
+    public FieldFootprint(
+            final String name,
+            final String typeName,
+            final int primitiveSize,
+            final int boxedPrimitiveSize,
+            final CollectionType immutableWrapper
+    ) {
+        this.name = name;
+        this.typeName = typeName;
+        this.primitiveSize = primitiveSize;
+        this.boxedPrimitiveSize = boxedPrimitiveSize;
+        this.immutableWrapper = immutableWrapper;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public boolean isReference() {
+        return primitiveSize == 0;
+    }
+
+    public boolean isBoxedPrimitive() {
+        return boxedPrimitiveSize != 0;
+    }
+
+    public Optional<CollectionType> getImmutableWrapper() {
+        return Optional.ofNullable(immutableWrapper);
+    }
+
+    /**
+     * @param referenceSize The size in bytes of an object reference.
+     * @return The number of bytes the field occupies within its declaring object.
+     */
+    public int getSlotSize(final int referenceSize) {
+        return isReference() ? referenceSize : primitiveSize;
+    }
+
+    /**
+     * Byte and Boolean values are always served from the JDK's box caches, so they never cost an extra object.
+     * @param headerSize The size in bytes of an object header.
+     * @return The size in bytes of the box allocated for the field's value, or 0 if none is allocated.
+     */
+    public long getBoxedObjectSize(final int headerSize) {
+        if (boxedPrimitiveSize <= 1) {
+            return 0;
+        }
+
+        return MemoryFootprint.align(headerSize + boxedPrimitiveSize);
+    }
+
+    /**
+     * @param headerSize The size in bytes of an object header.
+     * @param referenceSize The size in bytes of an object reference.
+     * @return The size in bytes of the Collections.unmodifiable* wrapper allocated for the field, or 0 if it isn't wrapped.
+     */
+    public long getWrapperObjectSize(final int headerSize, final int referenceSize) {
+        if (immutableWrapper == null) {
+            return 0;
+        }
+
+        return MemoryFootprint.align(headerSize + immutableWrapper.getWrapperReferenceCount() * referenceSize);
+    }
+}
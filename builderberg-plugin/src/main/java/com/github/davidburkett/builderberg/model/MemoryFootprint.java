@@ -0,0 +1,127 @@
+package com.github.davidburkett.builderberg.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estimates HotSpot heap usage of a generated class from the footprints of its fields.
+ * Assumes the default 8-byte object alignment, and that HotSpot lays fields out largest-first,
+ * so the only gaps are the one after a 12-byte header (if no field is small enough to fill it) and the trailing alignment.
+ */
+public class MemoryFootprint {
+    public static final int OBJECT_ALIGNMENT = 8;
+
+    private final List<FieldFootprint> instanceFields;
+    private final List<FieldFootprint> builderFields;
+
+    public MemoryFootprint(final List<FieldFootprint> instanceFields, final List<FieldFootprint> builderFields) {
+        this.instanceFields = Collections.unmodifiableList(instanceFields);
+        this.builderFields = Collections.unmodifiableList(builderFields);
+    }
+
+    public List<FieldFootprint> getInstanceFields() {
+        return instanceFields;
+    }
+
+    public List<FieldFootprint> getBuilderFields() {
+        return builderFields;
+    }
+
+    /**
+     * @return The shallow size in bytes of one instance of the class.
+     */
+    public long getShallowSize(final OopMode oopMode) {
+        return getShallowSize(instanceFields, oopMode);
+    }
+
+    /**
+     * @return The number of bytes in one instance of the class that are lost to alignment.
+     */
+    public long getPaddingWaste(final OopMode oopMode) {
+        return getShallowSize(oopMode) - getUnpaddedSize(instanceFields, oopMode);
+    }
+
+    /**
+     * @return The shallow size in bytes of one instance of the inner builder.
+     */
+    public long getBuilderShallowSize(final OopMode oopMode) {
+        return getShallowSize(builderFields, oopMode);
+    }
+
+    /**
+     * @return The bytes of boxes for the boxed primitive fields of one instance, assuming none of the values are cached.
+     */
+    public long getBoxedOverhead(final OopMode oopMode) {
+        return instanceFields.stream()
+                .mapToLong(field -> field.getBoxedObjectSize(oopMode.getHeaderSize()))
+                .sum();
+    }
+
+    /**
+     * @return The bytes of Collections.unmodifiable* wrappers allocated for one instance.
+     */
+    public long getWrapperOverhead(final OopMode oopMode) {
+        return instanceFields.stream()
+                .mapToLong(field -> field.getWrapperObjectSize(oopMode.getHeaderSize(), oopMode.getReferenceSize()))
+                .sum();
+    }
+
+    /**
+     * Objects referenced by the fields (strings, collections, nested objects) are not included.
+     * @return The projected bytes for the given number of instances, including boxes and collection wrappers.
+     */
+    public long getProjectedHeap(final long instances, final OopMode oopMode) {
+        final long perInstance = getShallowSize(oopMode) + getBoxedOverhead(oopMode) + getWrapperOverhead(oopMode);
+        return perInstance * instances;
+    }
+
+    public static long align(final long size) {
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    private static long getShallowSize(final List<FieldFootprint> fields, final OopMode oopMode) {
+        return align(getUnpaddedSize(fields, oopMode) + getHeaderGap(fields, oopMode));
+    }
+
+    private static long getUnpaddedSize(final List<FieldFootprint> fields, final OopMode oopMode) {
+        final int referenceSize = oopMode.getReferenceSize();
+        return oopMode.getHeaderSize() + fields.stream().mapToLong(field -> field.getSlotSize(referenceSize)).sum();
+    }
+
+    private static long getHeaderGap(final List<FieldFootprint> fields, final OopMode oopMode) {
+        final int gap = oopMode.getHeaderSize() % OBJECT_ALIGNMENT;
+        if (gap == 0 || fields.isEmpty()) {
+            return 0;
+        }
+
+        final boolean gapFillable = fields.stream().anyMatch(field -> field.getSlotSize(oopMode.getReferenceSize()) <= gap);
+        return gapFillable ? 0 : gap;
+    }
+
+    public enum OopMode {
+        COMPRESSED("Compressed oops", 12, 4),
+        UNCOMPRESSED("Uncompressed oops", 16, 8);
+
+        private final String displayName;
+        private final int headerSize;
+        private final int referenceSize;
+
+        OopMode(final String displayName, final int headerSize, final int referenceSize) {
+            this.displayName = displayName;
+            this.headerSize = headerSize;
+            this.referenceSize = referenceSize;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public int getHeaderSize() {
+            return headerSize;
+        }
+
+        public int getReferenceSize() {
+            return referenceSize;
+        }
+    }
+}
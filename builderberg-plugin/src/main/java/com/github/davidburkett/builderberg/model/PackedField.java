@@ -0,0 +1,160 @@
+package com.github.davidburkett.builderberg.model;
+
+/**
+ * A field stored in a range of bits of a long word, rather than in its own field.
+ * Booleans take one bit, enums take enough bits for their ordinals plus a null value,
+ * and integers with a declared minValue/maxValue take enough bits for their range, stored as an offset from the minimum.
+ */
+public class PackedField {
+    public enum Kind {
+        BOOLEAN,
+        ENUM,
+        INTEGER
+    }
+
+    private final String name;
+    private final Kind kind;
+    private final String typeName;
+    private final int bits;
+    private final long minValue;
+    private final int unpackedSize;
+    private final int wordIndex;
+    private final int shift;
+
+    private PackedField(
+            final String name,
+            final Kind kind,
+            final String typeName,
+            final int bits,
+            final long minValue,
+            final int unpackedSize,
+            final int wordIndex,
+            final int shift
+    ) {
+        this.name = name;
+        this.kind = kind;
+        this.typeName = typeName;
+        this.bits = bits;
+        this.minValue = minValue;
+        this.unpackedSize = unpackedSize;
+        this.wordIndex = wordIndex;
+        this.shift = shift;
+    }
+
+    public static PackedField ofBoolean(final String name) {
+        return new PackedField(name, Kind.BOOLEAN, "boolean", 1, 0, 1, 0, 0);
+    }
+
+    /**
+     * Null is stored as constantCount, so decoding is a lookup in the enum's values padded with a trailing null.
+     * @param unpackedSize The size in bytes of an enum reference.
+     */
+    public static PackedField ofEnum(final String name, final String typeName, final int constantCount, final int unpackedSize) {
+        return new PackedField(name, Kind.ENUM, typeName, getBitsFor(constantCount), 0, unpackedSize, 0, 0);
+    }
+
+    /**
+     * @param typeName The primitive type of the field. Example: "int".
+     * @param unpackedSize The size in bytes of the primitive type.
+     */
+    public static PackedField ofInteger(final String name, final String typeName, final long minValue, final long maxValue, final int unpackedSize) {
+        return new PackedField(name, Kind.INTEGER, typeName, getBitsFor(maxValue - minValue), minValue, unpackedSize, 0, 0);
+    }
+
+    /**
+     * @return The number of bits needed to store every value from 0 to maxValue (inclusive), treating maxValue as unsigned.
+     */
+    public static int getBitsFor(final long maxValue) {
+        return Math.max(1, Long.SIZE - Long.numberOfLeadingZeros(maxValue));
+    }
+
+    PackedField at(final int wordIndex, final int shift) {
+        return new PackedField(name, kind, typeName, bits, minValue, unpackedSize, wordIndex, shift);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public int getUnpackedSize() {
+        return unpackedSize;
+    }
+
+    public int getWordIndex() {
+        return wordIndex;
+    }
+
+    public int getShift() {
+        return shift;
+    }
+
+    public String getWordName() {
+        return PackedFieldLayout.getWordName(wordIndex);
+    }
+
+    /**
+     * @return The name of the static array used to decode an enum field. Example: "STATUS_VALUES" for the field "status".
+     */
+    public String getEnumValuesName() {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_VALUES";
+    }
+
+    /**
+     * @return The initializer of the static array used to decode an enum field.
+     */
+    public String generateEnumValuesInitializer() {
+        return String.format("java.util.Arrays.copyOf(%s.values(), %s.values().length + 1)", typeName, typeName);
+    }
+
+    /**
+     * @param value An expression of the field's type.
+     * @return A long expression with the value in this field's bits, and zeros everywhere else.
+     */
+    public String generateEncodeExpression(final String value) {
+        final String encoded;
+        switch (kind) {
+            case BOOLEAN:
+                encoded = String.format("(%s ? 1L : 0L)", value);
+                break;
+            case ENUM:
+                encoded = String.format("((%s != null ? %s.ordinal() : %s.length - 1) & 0x%XL)", value, value, getEnumValuesName(), getMask());
+                break;
+            default:
+                encoded = String.format("(((long) %s - %dL) & 0x%XL)", value, minValue, getMask());
+                break;
+        }
+
+        return shift == 0 ? encoded : String.format("(%s << %d)", encoded, shift);
+    }
+
+    /**
+     * @param word An expression of the long word containing this field.
+     * @return An expression of the field's type, decoded from the word.
+     */
+    public String generateDecodeExpression(final String word) {
+        final String bitsValue = shift == 0
+                ? String.format("(%s & 0x%XL)", word, getMask())
+                : String.format("((%s >>> %d) & 0x%XL)", word, shift, getMask());
+
+        switch (kind) {
+            case BOOLEAN:
+                return String.format("%s != 0L", bitsValue);
+            case ENUM:
+                return String.format("%s[(int) %s]", getEnumValuesName(), bitsValue);
+            default:
+                return String.format("(%s) (%s + %dL)", typeName, bitsValue, minValue);
+        }
+    }
+
+    private long getMask() {
+        return bits == Long.SIZE ? -1L : (1L << bits) - 1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.davidburkett.builderberg.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns {@link PackedField packed fields} to bits of long words, in declaration order, placing each field in the first word with room for it.
+ * Fields never span two words, so each one can be decoded with a single shift and mask.
+ */
+public class PackedFieldLayout {
+    private static final String WORD_PREFIX = "packed";
+
+    private final List<PackedField> fields;
+    private final int wordCount;
+
+    private PackedFieldLayout(final List<PackedField> fields, final int wordCount) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.wordCount = wordCount;
+    }
+
+    public static PackedFieldLayout empty() {
+        return new PackedFieldLayout(Collections.emptyList(), 0);
+    }
+
+    /**
+     * @param candidates The fields that are eligible for packing, in declaration order.
+     * @return The layout of the candidates, or an empty layout if the words wouldn't be smaller than the unpacked fields.
+     */
+    public static PackedFieldLayout pack(final List<PackedField> candidates) {
+        final List<PackedField> fields = new ArrayList<>();
+        final List<Integer> usedBits = new ArrayList<>();
+        int unpackedSize = 0;
+
+        for (final PackedField candidate : candidates) {
+            int wordIndex = 0;
+            while (wordIndex < usedBits.size() && usedBits.get(wordIndex) + candidate.getBits() > Long.SIZE) {
+                wordIndex++;
+            }
+
+            if (wordIndex == usedBits.size()) {
+                usedBits.add(0);
+            }
+
+            fields.add(candidate.at(wordIndex, usedBits.get(wordIndex)));
+            usedBits.set(wordIndex, usedBits.get(wordIndex) + candidate.getBits());
+            unpackedSize += candidate.getUnpackedSize();
+        }
+
+        if (usedBits.size() * Long.BYTES >= unpackedSize) {
+            return empty();
+        }
+
+        return new PackedFieldLayout(fields, usedBits.size());
+    }
+
+    public static String getWordName(final int wordIndex) {
+        return WORD_PREFIX + wordIndex;
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    public List<PackedField> getFields() {
+        return fields;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public Optional<PackedField> find(final String fieldName) {
+        return fields.stream()
+                .filter(field -> field.getName().equals(fieldName))
+                .findFirst();
+    }
+
+    /**
+     * @param wordIndex The index of the word.
+     * @param valueOfField Maps a field name to an expression of the field's value. Example: "status" to "builder.status".
+     * @return A long expression combining the encoded values of every field in the word.
+     */
+    public String generateWordExpression(final int wordIndex, final Function<String, String> valueOfField) {
+        return fields.stream()
+                .filter(field -> field.getWordIndex() == wordIndex)
+                .map(field -> field.generateEncodeExpression(valueOfField.apply(field.getName())))
+                .collect(Collectors.joining(" | "));
+    }
+}
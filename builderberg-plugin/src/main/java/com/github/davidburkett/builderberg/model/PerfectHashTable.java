@@ -0,0 +1,200 @@
+package com.github.davidburkett.builderberg.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * A collision-free table for a fixed set of keys, found when the code is generated (hash and displace).
+ * The top bits of the hash times one multiplier select a bucket, and the top bits of the hash times another multiplier,
+ * XORed with the bucket's displacement, are the slot. So a lookup is two multiplications, two array reads and one comparison.
+ * 32-bit hashes (String.hashCode(), or int values) use int arithmetic, and 64-bit hashes (long values) use long arithmetic.
+ */
+public class PerfectHashTable {
+    private static final int MAX_ATTEMPTS = 64;
+
+    private final boolean wide;
+    private final int bucketBits;
+    private final int slotBits;
+    private final long bucketMultiplier;
+    private final long slotMultiplier;
+    private final int[] displacements;
+    private final int[] slots;
+
+    private PerfectHashTable(
+            final boolean wide,
+            final int bucketBits,
+            final int slotBits,
+            final long bucketMultiplier,
+            final long slotMultiplier
+    ) {
+        this.wide = wide;
+        this.bucketBits = bucketBits;
+        this.slotBits = slotBits;
+        this.bucketMultiplier = bucketMultiplier;
+        this.slotMultiplier = slotMultiplier;
+        this.displacements = new int[1 << bucketBits];
+        this.slots = new int[1 << slotBits];
+    }
+
+    /**
+     * @param hashes The distinct hashes of the keys.
+     * @param wide True if the hashes are 64-bit, or false if they're 32-bit.
+     * @return The table, or empty if the hashes aren't distinct or no collision-free table was found.
+     */
+    public static Optional<PerfectHashTable> build(final long[] hashes, final boolean wide) {
+        if (hashes.length == 0 || Arrays.stream(hashes).distinct().count() != hashes.length) {
+            return Optional.empty();
+        }
+
+        // About 2 keys per bucket, and a table at most half full
+        final int keyBits = 32 - Integer.numberOfLeadingZeros(hashes.length - 1);
+        final int bucketBits = Math.max(1, keyBits - 1);
+        final int slotBits = Math.min(30, keyBits + 1);
+
+        // Seeded, so that regenerating the same class generates the same table
+        final Random random = new Random(hashes.length);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            final PerfectHashTable table = new PerfectHashTable(
+                    wide,
+                    bucketBits,
+                    slotBits,
+                    wide ? random.nextLong() | 1 : random.nextInt() | 1,
+                    wide ? random.nextLong() | 1 : random.nextInt() | 1
+            );
+            if (table.fill(hashes)) {
+                return Optional.of(table);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean fill(final long[] hashes) {
+        final List<List<Integer>> buckets = new ArrayList<>();
+        for (int i = 0; i < displacements.length; i++) {
+            buckets.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < hashes.length; i++) {
+            buckets.get(getBucket(hashes[i])).add(i);
+        }
+
+        // The largest buckets are placed first, while the table is emptiest
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+        Arrays.fill(slots, -1);
+        for (final int bucket : order) {
+            final List<Integer> keys = buckets.get(bucket);
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            boolean placed = false;
+            for (int displacement = 0; displacement < slots.length && !placed; displacement++) {
+                placed = place(hashes, keys, displacement);
+                if (placed) {
+                    displacements[bucket] = displacement;
+                }
+            }
+
+            if (!placed) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean place(final long[] hashes, final List<Integer> keys, final int displacement) {
+        for (int i = 0; i < keys.size(); i++) {
+            final int slot = getUndisplacedSlot(hashes[keys.get(i)]) ^ displacement;
+            if (slots[slot] >= 0) {
+                for (int j = 0; j < i; j++) {
+                    slots[getUndisplacedSlot(hashes[keys.get(j)]) ^ displacement] = -1;
+                }
+
+                return false;
+            }
+
+            slots[slot] = keys.get(i);
+        }
+
+        return true;
+    }
+
+    private int getBucket(final long hash) {
+        return multiplyHigh(hash, bucketMultiplier, bucketBits);
+    }
+
+    private int getUndisplacedSlot(final long hash) {
+        return multiplyHigh(hash, slotMultiplier, slotBits);
+    }
+
+    private int multiplyHigh(final long hash, final long multiplier, final int bits) {
+        if (wide) {
+            return (int) ((hash * multiplier) >>> (64 - bits));
+        }
+
+        return ((int) hash * (int) multiplier) >>> (32 - bits);
+    }
+
+    /**
+     * @param hash The hash of a key, or of any other value.
+     * @return The only slot the value can be in. Equivalent to the expression of {@link #generateSlotExpression(String, String)}.
+     */
+    public int getSlot(final long hash) {
+        return getUndisplacedSlot(hash) ^ displacements[getBucket(hash)];
+    }
+
+    /**
+     * @return The number of slots, which is a power of two.
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * @param slot The slot.
+     * @return The index of the key in the slot, or -1 if the slot is empty.
+     */
+    public int getKeyIndex(final int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * @return The displacement of each bucket, which the generated code reads from an int array.
+     */
+    public int[] getDisplacements() {
+        return displacements.clone();
+    }
+
+    /**
+     * @param hash The name of an int variable holding the hash (or a long variable for 64-bit hashes).
+     * @param displacements The name of the int array holding {@link #getDisplacements()}.
+     * @return An int expression of the slot of the hash.
+     */
+    public String generateSlotExpression(final String hash, final String displacements) {
+        return String.format(
+                "%s ^ %s[%s]",
+                generateMultiplyHigh(hash, slotMultiplier, slotBits),
+                displacements,
+                generateMultiplyHigh(hash, bucketMultiplier, bucketBits)
+        );
+    }
+
+    private String generateMultiplyHigh(final String hash, final long multiplier, final int bits) {
+        if (wide) {
+            return String.format("(int) ((%s * %dL) >>> %d)", hash, multiplier, 64 - bits);
+        }
+
+        return String.format("((%s * %d) >>> %d)", hash, (int) multiplier, 32 - bits);
+    }
+}
@@ -0,0 +1,348 @@
+package com.github.davidburkett.builderberg.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A regular expression simple enough to be matched by a generated scan of its characters instead of a java.util.regex.Matcher.
+ * Simple patterns are sequences of literals, escapes (\d, \w, \s, or an escaped symbol) and character classes without negation,
+ * optionally between ^ and $. Each may repeat a fixed number of times ({n}), and only the last may repeat a variable number
+ * of times (?, *, +, {n,m}, {n,}), so a single pass without backtracking matches exactly what the regex would.
+ */
+public class SimplePattern {
+    private static final int UNBOUNDED = -1;
+
+    // Larger repetitions are left to Pattern, rather than generating unbounded lengths
+    private static final int MAX_REPETITIONS = 1024;
+
+    /**
+     * Characters matched by one position of the pattern, as inclusive ranges.
+     */
+    private static class Atom {
+        private final List<char[]> ranges;
+        private final int min;
+        private final int max;
+
+        private Atom(final List<char[]> ranges, final int min, final int max) {
+            this.ranges = ranges;
+            this.min = min;
+            this.max = max;
+        }
+
+        private boolean matches(final char c) {
+            for (final char[] range : ranges) {
+                if (c >= range[0] && c <= range[1]) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private String generateCondition(final String variable) {
+            final List<String> conditions = new ArrayList<>();
+            for (final char[] range : ranges) {
+                if (range[0] == range[1]) {
+                    conditions.add(String.format("%s == %s", variable, toLiteral(range[0])));
+                } else {
+                    conditions.add(String.format("(%s >= %s && %s <= %s)", variable, toLiteral(range[0]), variable, toLiteral(range[1])));
+                }
+            }
+
+            return String.join(" || ", conditions);
+        }
+    }
+
+    private final List<Atom> atoms;
+
+    private SimplePattern(final List<Atom> atoms) {
+        this.atoms = atoms;
+    }
+
+    /**
+     * @param regex A valid regular expression.
+     * @return The simple pattern, if the regular expression is simple enough to be matched without a Matcher.
+     */
+    public static Optional<SimplePattern> parse(final String regex) {
+        String body = regex;
+        if (body.startsWith("^")) {
+            body = body.substring(1);
+        }
+
+        if (body.endsWith("$") && !body.endsWith("\\$")) {
+            body = body.substring(0, body.length() - 1);
+        }
+
+        final List<Atom> atoms = new ArrayList<>();
+        int i = 0;
+        while (i < body.length()) {
+            // Only the last atom may repeat a variable number of times
+            if (!atoms.isEmpty() && atoms.get(atoms.size() - 1).min != atoms.get(atoms.size() - 1).max) {
+                return Optional.empty();
+            }
+
+            final List<char[]> ranges = new ArrayList<>();
+            final char c = body.charAt(i);
+            if (c == '[') {
+                i = parseClass(body, i + 1, ranges);
+            } else if (c == '\\') {
+                i = parseEscape(body, i + 1, ranges);
+            } else if ("^$.|?*+()]{}".indexOf(c) < 0 && !Character.isSurrogate(c)) {
+                ranges.add(new char[] {c, c});
+                i++;
+            } else {
+                i = -1;
+            }
+
+            if (i < 0) {
+                return Optional.empty();
+            }
+
+            final int[] quantifier = new int[] {1, 1};
+            i = parseQuantifier(body, i, quantifier);
+            if (i < 0) {
+                return Optional.empty();
+            }
+
+            atoms.add(new Atom(ranges, quantifier[0], quantifier[1]));
+        }
+
+        return Optional.of(new SimplePattern(atoms));
+    }
+
+    /**
+     * @return The index after the class, or -1 if the class isn't simple.
+     */
+    private static int parseClass(final String body, int i, final List<char[]> ranges) {
+        // Negated classes would match the halves of surrogate pairs, which the regex matches as a whole
+        if (i < body.length() && body.charAt(i) == '^') {
+            return -1;
+        }
+
+        boolean first = true;
+        while (i < body.length()) {
+            final char c = body.charAt(i);
+            if (c == ']' && !first) {
+                return ranges.isEmpty() ? -1 : i + 1;
+            } else if (c == '[' || c == '&' || Character.isSurrogate(c)) {
+                return -1;
+            }
+
+            first = false;
+            if (c == '\\') {
+                final int rangeCount = ranges.size();
+                i = parseEscape(body, i + 1, ranges);
+                if (i < 0) {
+                    return -1;
+                }
+
+                // Ranges between escapes (e.g. [\d-x]) aren't supported
+                if (i < body.length() && body.charAt(i) == '-' && i + 1 < body.length() && body.charAt(i + 1) != ']'
+                        && ranges.size() - rangeCount == 1) {
+                    return -1;
+                }
+
+                continue;
+            }
+
+            if (i + 2 < body.length() && body.charAt(i + 1) == '-' && body.charAt(i + 2) != ']') {
+                final char end = body.charAt(i + 2);
+                if (end == '\\' || end == '[' || end < c || Character.isSurrogate(end) || (c < Character.MIN_SURROGATE && end > Character.MAX_SURROGATE)) {
+                    return -1;
+                }
+
+                ranges.add(new char[] {c, end});
+                i += 3;
+            } else {
+                ranges.add(new char[] {c, c});
+                i++;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The index after the escape, or -1 if the escape isn't simple.
+     */
+    private static int parseEscape(final String body, final int i, final List<char[]> ranges) {
+        if (i >= body.length()) {
+            return -1;
+        }
+
+        final char c = body.charAt(i);
+        switch (c) {
+            case 'd':
+                ranges.add(new char[] {'0', '9'});
+                break;
+            case 'w':
+                Collections.addAll(ranges, new char[] {'a', 'z'}, new char[] {'A', 'Z'}, new char[] {'_', '_'}, new char[] {'0', '9'});
+                break;
+            case 's':
+                Collections.addAll(ranges, new char[] {' ', ' '}, new char[] {'\t', '\r'});
+                break;
+            case 't':
+                ranges.add(new char[] {'\t', '\t'});
+                break;
+            case 'n':
+                ranges.add(new char[] {'\n', '\n'});
+                break;
+            default:
+                // Escaped letters and digits have special meanings (\b, \p, back references...)
+                if (Character.isLetterOrDigit(c) || c > 0x7F) {
+                    return -1;
+                }
+
+                ranges.add(new char[] {c, c});
+        }
+
+        return i + 1;
+    }
+
+    /**
+     * @param quantifier Set to the minimum and maximum repetitions, where the maximum is {@link #UNBOUNDED} for * and +.
+     * @return The index after the quantifier, or -1 if the quantifier isn't simple.
+     */
+    private static int parseQuantifier(final String body, int i, final int[] quantifier) {
+        if (i >= body.length()) {
+            return i;
+        }
+
+        final char c = body.charAt(i);
+        if (c == '?') {
+            quantifier[0] = 0;
+            quantifier[1] = 1;
+            i++;
+        } else if (c == '*') {
+            quantifier[0] = 0;
+            quantifier[1] = UNBOUNDED;
+            i++;
+        } else if (c == '+') {
+            quantifier[0] = 1;
+            quantifier[1] = UNBOUNDED;
+            i++;
+        } else if (c == '{') {
+            final int end = body.indexOf('}', i);
+            if (end < 0) {
+                return -1;
+            }
+
+            final String[] bounds = body.substring(i + 1, end).split(",", -1);
+            try {
+                quantifier[0] = Integer.parseInt(bounds[0]);
+                quantifier[1] = bounds.length == 1 ? quantifier[0] : bounds[1].isEmpty() ? UNBOUNDED : Integer.parseInt(bounds[1]);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+
+            if (bounds.length > 2 || quantifier[0] < 0 || quantifier[0] > MAX_REPETITIONS || quantifier[1] > MAX_REPETITIONS
+                    || (quantifier[1] != UNBOUNDED && quantifier[1] < quantifier[0])) {
+                return -1;
+            }
+
+            i = end + 1;
+        } else {
+            return i;
+        }
+
+        // Lazy and possessive quantifiers, and quantified quantifiers, aren't supported
+        if (i < body.length() && "?+*{".indexOf(body.charAt(i)) >= 0) {
+            return -1;
+        }
+
+        return i;
+    }
+
+    /**
+     * Matches the value the same way the generated scan does. Equivalent to {@code Pattern.matches(regex, value)}.
+     */
+    public boolean matches(final CharSequence value) {
+        final int length = value.length();
+        if (length < getMinLength() || (getMaxLength() != UNBOUNDED && length > getMaxLength())) {
+            return false;
+        }
+
+        int i = 0;
+        for (final Atom atom : atoms) {
+            final int end = atom.min == atom.max ? i + atom.min : length;
+            for (; i < end; i++) {
+                if (!atom.matches(value.charAt(i))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Generates a static method equivalent to {@link #matches(CharSequence)}, which matches a CharSequence without allocating.
+     * @param methodName The name of the method.
+     * @return The text of the method.
+     */
+    public String generateMatchesMethod(final String methodName) {
+        final StringBuilder method = new StringBuilder();
+        method.append(String.format("static boolean %s(final CharSequence value) {", methodName));
+        method.append("final int length = value.length();");
+        if (getMaxLength() == UNBOUNDED) {
+            method.append(String.format("if (length < %d) { return false; }", getMinLength()));
+        } else if (getMinLength() == getMaxLength()) {
+            method.append(String.format("if (length != %d) { return false; }", getMinLength()));
+        } else {
+            method.append(String.format("if (length < %d || length > %d) { return false; }", getMinLength(), getMaxLength()));
+        }
+
+        int position = 0;
+        for (final Atom atom : atoms) {
+            final boolean last = atom.min != atom.max;
+            if (!last && atom.min == 1) {
+                method.append(String.format("{ final char c = value.charAt(%d); if (!(%s)) { return false; } }", position, atom.generateCondition("c")));
+            } else if (atom.min > 0 || last) {
+                method.append(String.format(
+                        "for (int i = %d; i < %s; i++) { final char c = value.charAt(i); if (!(%s)) { return false; } }",
+                        position,
+                        last ? "length" : Integer.toString(position + atom.min),
+                        atom.generateCondition("c")
+                ));
+            }
+
+            position += atom.min;
+        }
+
+        method.append("return true;}");
+        return method.toString();
+    }
+
+    private int getMinLength() {
+        int minLength = 0;
+        for (final Atom atom : atoms) {
+            minLength += atom.min;
+        }
+
+        return minLength;
+    }
+
+    private int getMaxLength() {
+        int maxLength = 0;
+        for (final Atom atom : atoms) {
+            if (atom.max == UNBOUNDED) {
+                return UNBOUNDED;
+            }
+
+            maxLength += atom.max;
+        }
+
+        return maxLength;
+    }
+
+    private static String toLiteral(final char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return "'" + c + "'";
+        }
+
+        // Other characters are compared by code, which needs no escaping
+        return Integer.toString(c);
+    }
+}
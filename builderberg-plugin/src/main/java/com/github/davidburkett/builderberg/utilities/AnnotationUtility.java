@@ -10,6 +10,13 @@ import java.util.Optional;
 
 public class AnnotationUtility {
     private static final String CUSTOM_LOGIC = "com.github.davidburkett.builderberg.annotations.CustomLogic";
+    private static final String EQUALITY_EXCLUDE = "com.github.davidburkett.builderberg.annotations.EqualityExclude";
+    private static final String DEDUPE = "com.github.davidburkett.builderberg.annotations.Dedupe";
+    private static final String DEFAULT = "com.github.davidburkett.builderberg.annotations.Default";
+    private static final String COLUMN = "com.github.davidburkett.builderberg.annotations.Column";
+    private static final String PROTO_MAPPING = "com.github.davidburkett.builderberg.annotations.ProtoMapping";
+    private static final String MAPS_TO = "com.github.davidburkett.builderberg.annotations.MapsTo";
+    private static final String PROTO_FIELD = "com.github.davidburkett.builderberg.annotations.ProtoField";
     private static final String BUILDER_CONSTRAINT = "com.github.davidburkett.builderberg.annotations.BuilderConstraint";
     private static final String BUILDER_OPTIONS = "com.github.davidburkett.builderberg.annotations.BuilderOptions";
     private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
@@ -32,6 +39,11 @@ public class AnnotationUtility {
         return customLogicAnnotation.isPresent();
     }
 
+    public static boolean hasEqualityExcludeAnnotation(final PsiField field) {
+        return Arrays.stream(field.getAnnotations())
+                .anyMatch(a -> EQUALITY_EXCLUDE.equals(a.getQualifiedName()));
+    }
+
     public static List<PsiAnnotation> getBuilderConstraintAnnotations(final PsiField field) {
         final List<PsiAnnotation> builderConstaintAnnotations = new ArrayList<>();
 
@@ -59,6 +71,142 @@ public class AnnotationUtility {
                 .findFirst();
     }
 
+    public static Optional<PsiAnnotation> getDedupeAnnotation(final PsiField field) {
+        final PsiAnnotation[] annotations = field.getAnnotations();
+        return Arrays.stream(annotations)
+                .filter(a -> DEDUPE.equals(a.getQualifiedName()))
+                .findFirst();
+    }
+
+    public static boolean hasDefaultAnnotation(final PsiField field) {
+        final PsiModifierList modifierList = field.getModifierList();
+        return modifierList != null && modifierList.findAnnotation(DEFAULT) != null;
+    }
+
+    /**
+     * @param attribute The attribute of the @Default annotation: "value" or "supplier".
+     * @return The attribute's value, if the field has a @Default annotation with a non-empty value of the attribute.
+     */
+    public static Optional<String> getDefaultAttribute(final PsiField field, final String attribute) {
+        final PsiModifierList modifierList = field.getModifierList();
+        final PsiAnnotation defaultAnnotation = modifierList != null ? modifierList.findAnnotation(DEFAULT) : null;
+        if (defaultAnnotation == null) {
+            return Optional.empty();
+        }
+
+        final PsiAnnotationMemberValue value = defaultAnnotation.findDeclaredAttributeValue(attribute);
+        if (value instanceof PsiLiteralExpression && ((PsiLiteralExpression) value).getValue() instanceof String) {
+            return Optional.of(((String) ((PsiLiteralExpression) value).getValue()).trim()).filter(text -> !text.isEmpty());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return The index of the field's @Column annotation, if it has one with an index.
+     */
+    public static Optional<Integer> getColumnIndex(final PsiField field) {
+        final PsiModifierList modifierList = field.getModifierList();
+        final PsiAnnotation column = modifierList != null ? modifierList.findAnnotation(COLUMN) : null;
+        if (column == null) {
+            return Optional.empty();
+        }
+
+        final PsiAnnotationMemberValue index = column.findDeclaredAttributeValue("index");
+        if (index == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Integer.parseInt(index.getText().trim()));
+        } catch (NumberFormatException e) {
+            return Optional.of(-1);
+        }
+    }
+
+    /**
+     * @return The string literal of the name of the field's @Column annotation, if it has one with a name.
+     */
+    public static Optional<String> getColumnName(final PsiField field) {
+        final PsiModifierList modifierList = field.getModifierList();
+        final PsiAnnotation column = modifierList != null ? modifierList.findAnnotation(COLUMN) : null;
+        if (column == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(column.findDeclaredAttributeValue("name")).map(PsiAnnotationMemberValue::getText);
+    }
+
+    /**
+     * @return The message class of the class's @ProtoMapping annotation, if it has one that can be resolved.
+     */
+    public static Optional<PsiClass> getProtoMappingClass(final PsiClass psiClass) {
+        final PsiModifierList modifierList = psiClass.getModifierList();
+        final PsiAnnotation protoMapping = modifierList != null ? modifierList.findAnnotation(PROTO_MAPPING) : null;
+        if (protoMapping == null) {
+            return Optional.empty();
+        }
+
+        final PsiAnnotationMemberValue value = protoMapping.findDeclaredAttributeValue("value");
+        if (!(value instanceof PsiClassObjectAccessExpression)) {
+            return Optional.empty();
+        }
+
+        final PsiType type = ((PsiClassObjectAccessExpression) value).getOperand().getType();
+        return type instanceof PsiClassType ? Optional.ofNullable(((PsiClassType) type).resolve()) : Optional.empty();
+    }
+
+    public static boolean hasProtoMappingAnnotation(final PsiClass psiClass) {
+        final PsiModifierList modifierList = psiClass.getModifierList();
+        return modifierList != null && modifierList.findAnnotation(PROTO_MAPPING) != null;
+    }
+
+    /**
+     * @return The classes of the class's @MapsTo annotation. Classes that can't be resolved are null.
+     */
+    public static List<PsiClass> getMapsToClasses(final PsiClass psiClass) {
+        final List<PsiClass> classes = new ArrayList<>();
+        final PsiModifierList modifierList = psiClass.getModifierList();
+        final PsiAnnotation mapsTo = modifierList != null ? modifierList.findAnnotation(MAPS_TO) : null;
+        if (mapsTo == null) {
+            return classes;
+        }
+
+        final PsiAnnotationMemberValue value = mapsTo.findDeclaredAttributeValue("value");
+        final PsiAnnotationMemberValue[] values = value instanceof PsiArrayInitializerMemberValue
+                ? ((PsiArrayInitializerMemberValue) value).getInitializers()
+                : new PsiAnnotationMemberValue[] { value };
+        for (final PsiAnnotationMemberValue classValue : values) {
+            PsiClass mappedClass = null;
+            if (classValue instanceof PsiClassObjectAccessExpression) {
+                final PsiType type = ((PsiClassObjectAccessExpression) classValue).getOperand().getType();
+                mappedClass = type instanceof PsiClassType ? ((PsiClassType) type).resolve() : null;
+            }
+
+            classes.add(mappedClass);
+        }
+
+        return classes;
+    }
+
+    /**
+     * @return The message field name of the field's @ProtoField annotation, if it has one.
+     */
+    public static Optional<String> getProtoFieldName(final PsiField field) {
+        final PsiModifierList modifierList = field.getModifierList();
+        final PsiAnnotation protoField = modifierList != null ? modifierList.findAnnotation(PROTO_FIELD) : null;
+        if (protoField == null) {
+            return Optional.empty();
+        }
+
+        final PsiAnnotationMemberValue value = protoField.findDeclaredAttributeValue("value");
+        if (value instanceof PsiLiteralExpression && ((PsiLiteralExpression) value).getValue() instanceof String) {
+            return Optional.of((String) ((PsiLiteralExpression) value).getValue());
+        }
+
+        return Optional.empty();
+    }
+
     public static void addGeneratedAnnotation(final PsiElementFactory psiElementFactory, final PsiModifierListOwner element) {
         final PsiExpression value = psiElementFactory.createExpressionFromText("\"" + GENERATOR_NAME + "\"", TypeUtils.getStringType(element).resolve());
         final PsiExpression version = psiElementFactory.createExpressionFromText("\"" + VersionUtility.getBuilderbergVersion() + "\"", TypeUtils.getStringType(element).resolve());
@@ -68,6 +216,24 @@ public class AnnotationUtility {
 
     }
 
+    /**
+     * @return True if the element has a javax.annotation.Generated annotation added by {@link #addGeneratedAnnotation}.
+     */
+    public static boolean hasGeneratedAnnotation(final PsiModifierListOwner element) {
+        final PsiModifierList modifierList = element.getModifierList();
+        if (modifierList == null) {
+            return false;
+        }
+
+        final PsiAnnotation generated = modifierList.findAnnotation(JAVAX_GENERATED);
+        if (generated == null) {
+            return false;
+        }
+
+        final PsiAnnotationMemberValue value = generated.findDeclaredAttributeValue("value");
+        return value != null && value.getText().contains(GENERATOR_NAME);
+    }
+
     public static void addOverrideAnnotation(final PsiMethod method) {
         method.getModifierList().addAnnotation("Override");
     }
@@ -3,10 +3,20 @@ package com.github.davidburkett.builderberg.utilities;
 import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndBooleanValue;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndDoubleValue;
+import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndIntegerValue;
+import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndStringListValue;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndStringValue;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndValue;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiConstantEvaluationHelper;
+import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.PsiNameValuePair;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 public final class BuilderConstraintOptionAndValueFactory {
@@ -15,6 +25,11 @@ public final class BuilderConstraintOptionAndValueFactory {
     }
 
     public static Optional<BuilderConstraintOptionAndValue> get(final PsiNameValuePair attribute) {
+        // An array of values has no literal value
+        if (BuilderConstraintOption.ONE_OF.getValue().equals(attribute.getName())) {
+            return Optional.of(new BuilderConstraintOptionAndStringListValue(BuilderConstraintOption.ONE_OF, getStringValues(attribute)));
+        }
+
         if (attribute.getLiteralValue() == null) {
             return Optional.empty();
         }
@@ -31,6 +46,7 @@ public final class BuilderConstraintOptionAndValueFactory {
             case NOT_POSITIVE:
             case NEGATIVE_ONLY:
             case POSITIVE_ONLY:
+            case ELEMENTS_NOT_NEGATIVE:
                 return Optional.of(
                         new BuilderConstraintOptionAndBooleanValue(
                                 builderConstraintOption,
@@ -42,6 +58,8 @@ public final class BuilderConstraintOptionAndValueFactory {
                 );
             case MIN_VALUE:
             case MAX_VALUE:
+            case ELEMENT_MIN_VALUE:
+            case ELEMENT_MAX_VALUE:
                 return Optional.of(
                         new BuilderConstraintOptionAndDoubleValue(
                                 builderConstraintOption,
@@ -52,6 +70,37 @@ public final class BuilderConstraintOptionAndValueFactory {
                                 )
                         )
                 );
+            case MIN_SIZE:
+            case MAX_SIZE:
+            case MIN_LENGTH:
+            case MAX_LENGTH:
+                return Optional.of(
+                        new BuilderConstraintOptionAndIntegerValue(
+                                builderConstraintOption,
+                                Integer.parseInt(
+                                        Optional.ofNullable(attribute.getLiteralValue())
+                                                .orElse("0")
+                                                .replace("_", "")
+                                                .trim()
+                                )
+                        )
+                );
+            case PARALLEL_THRESHOLD:
+                // Changes how other constraints are checked, rather than being a constraint itself
+                return Optional.empty();
+            case PATTERN:
+                // The evaluated literal, since the regex's backslashes are escaped in the source
+                final PsiAnnotationMemberValue value = attribute.getValue();
+                if (value instanceof PsiLiteralExpression && ((PsiLiteralExpression) value).getValue() instanceof String) {
+                    return Optional.of(
+                            new BuilderConstraintOptionAndStringValue(
+                                    builderConstraintOption,
+                                    (String) ((PsiLiteralExpression) value).getValue()
+                            )
+                    );
+                }
+
+                return Optional.empty();
             case CUSTOM:
                 return Optional.of(
                         new BuilderConstraintOptionAndStringValue(
@@ -63,4 +112,23 @@ public final class BuilderConstraintOptionAndValueFactory {
 
         return Optional.empty();
     }
+
+    /**
+     * @return The values of the array attribute, or null for values that aren't constant strings.
+     */
+    private static List<String> getStringValues(final PsiNameValuePair attribute) {
+        final PsiAnnotationMemberValue value = attribute.getValue();
+        final PsiAnnotationMemberValue[] values = value instanceof PsiArrayInitializerMemberValue
+                ? ((PsiArrayInitializerMemberValue) value).getInitializers()
+                : new PsiAnnotationMemberValue[] {value};
+
+        final PsiConstantEvaluationHelper evaluationHelper = JavaPsiFacade.getInstance(attribute.getProject()).getConstantEvaluationHelper();
+        final List<String> strings = new ArrayList<>();
+        for (final PsiAnnotationMemberValue element : values) {
+            final Object constant = element != null ? evaluationHelper.computeConstantExpression(element) : null;
+            strings.add(constant instanceof String ? (String) constant : null);
+        }
+
+        return Collections.unmodifiableList(strings);
+    }
 }
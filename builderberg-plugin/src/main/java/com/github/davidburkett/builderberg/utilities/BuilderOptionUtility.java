@@ -3,18 +3,31 @@ package com.github.davidburkett.builderberg.utilities;
 import com.intellij.psi.*;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 public class BuilderOptionUtility {
     public static boolean supportJacksonDeserialization(final PsiClass topLevelClass) {
-        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "deserializable");
-        if (value != null) {
-            final String text = value.getText();
-            if (text != null && text.contains("jackson")) {
-                return true;
-            }
-        }
+        return supportDeserializationType(topLevelClass, "jackson");
+    }
 
-        return false;
+    public static boolean supportGsonDeserialization(final PsiClass topLevelClass) {
+        return supportDeserializationType(topLevelClass, "gson");
+    }
+
+    public static boolean supportDelimitedDeserialization(final PsiClass topLevelClass) {
+        return supportDeserializationType(topLevelClass, "delimited");
+    }
+
+    public static boolean supportJdbcDeserialization(final PsiClass topLevelClass) {
+        return supportDeserializationType(topLevelClass, "jdbc");
+    }
+
+    public static boolean supportLazyJsonDeserialization(final PsiClass topLevelClass) {
+        return supportDeserializationType(topLevelClass, "lazyJson");
+    }
+
+    public static boolean supportJavaSerialization(final PsiClass topLevelClass) {
+        return supportDeserializationType(topLevelClass, "javaSerialization");
     }
 
     public static String minimumPluginVersion(final PsiClass topLevelClass) {
@@ -89,6 +102,134 @@ public class BuilderOptionUtility {
         return false;
     }
 
+    public static boolean generateStableHash(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "generateStableHash");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static boolean generateDiff(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "generateDiff");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static boolean reuseUnchangedInstances(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "reuseUnchangedInstances");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static boolean recordMetrics(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "recordMetrics");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static boolean useRuntime(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "useRuntime");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static boolean generateMetadata(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "generateMetadata");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The char literal separating delimited-text columns. Example: "','".
+     */
+    public static String delimiter(final PsiClass topLevelClass) {
+        return getCharacterOption(topLevelClass, "delimiter", "','");
+    }
+
+    /**
+     * @return The char literal quoting delimited-text columns, or "'\\0'" if quoting is disabled.
+     */
+    public static String quote(final PsiClass topLevelClass) {
+        return getCharacterOption(topLevelClass, "quote", "'\"'");
+    }
+
+    private static String getCharacterOption(final PsiClass topLevelClass, final String attributeName, final String defaultLiteral) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, attributeName);
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.startsWith("'")) {
+                return text;
+            }
+        }
+
+        return defaultLiteral;
+    }
+
+    /**
+     * @return The expression for the ForkJoinPool running parallel constraint scans. Example: "java.util.concurrent.ForkJoinPool.commonPool()".
+     */
+    public static String validationPool(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "validationPool");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null) {
+                final String expression = text.trim().replaceAll("^\"|\"$", "");
+                if (!expression.isEmpty()) {
+                    return expression;
+                }
+            }
+        }
+
+        return "java.util.concurrent.ForkJoinPool.commonPool()";
+    }
+
+    public static boolean packFields(final PsiClass topLevelClass) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "packFields");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && text.equals("true")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     public static PsiType exceptionType(final PsiClass topLevelClass) {
         final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "exceptionType");
         if (value != null) {
@@ -115,6 +256,18 @@ public class BuilderOptionUtility {
         return false;
     }
 
+    private static boolean supportDeserializationType(final PsiClass topLevelClass, final String deserializationType) {
+        final PsiAnnotationMemberValue value = getBuilderOption(topLevelClass, "deserializable");
+        if (value != null) {
+            final String text = value.getText();
+            if (text != null && Pattern.compile("\\b" + deserializationType + "\\b").matcher(text).find()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private static PsiAnnotationMemberValue getBuilderOption(final PsiClass topLevelClass, final String attributeName) {
         final Optional<PsiAnnotation> psiAnnotationOptional = AnnotationUtility.getBuilderOptionsAnnotation(topLevelClass);
 
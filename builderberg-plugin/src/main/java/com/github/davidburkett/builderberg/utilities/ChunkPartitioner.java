@@ -0,0 +1,41 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits the statements of a huge generated method into consecutive chunks, each moved into its own helper method.
+ * Kept free of PSI so the split points can be tested without a project.
+ */
+public class ChunkPartitioner {
+    /**
+     * @param items The items to split, in order.
+     * @param sizeFunction The estimated size of an item.
+     * @param chunkLimit The maximum total size of a chunk. An item larger than the limit gets a chunk of its own.
+     * @return The consecutive, non-empty chunks of the items, in order.
+     */
+    public static <T> List<List<T>> partition(final List<T> items, final ToIntFunction<T> sizeFunction, final int chunkLimit) {
+        final List<List<T>> chunks = new ArrayList<>();
+
+        List<T> chunk = new ArrayList<>();
+        int chunkSize = 0;
+        for (final T item : items) {
+            final int itemSize = sizeFunction.applyAsInt(item);
+            if (!chunk.isEmpty() && chunkSize + itemSize > chunkLimit) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                chunkSize = 0;
+            }
+
+            chunk.add(item);
+            chunkSize += itemSize;
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        return chunks;
+    }
+}
@@ -1,7 +1,9 @@
 package com.github.davidburkett.builderberg.utilities;
 
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
 import com.intellij.psi.PsiTypeParameter;
 import com.intellij.psi.util.PsiUtil;
 
@@ -29,4 +31,34 @@ public class ClassFactory {
 
         return createdClass;
     }
+
+    /**
+     * Adds the given interface to the implements list of the {@link PsiClass}, unless it's already implemented.
+     * @param psiClass The non-null class to modify.
+     * @param interfaceName The canonical name of the interface. Example: "java.lang.Cloneable".
+     */
+    public void addImplements(final PsiClass psiClass, final String interfaceName) {
+        final String simpleName = interfaceName.substring(interfaceName.lastIndexOf('.') + 1);
+        final PsiClassType[] implementsClassTypes = psiClass.getImplementsList().getReferencedTypes();
+        for (final PsiClassType implementsClassType : implementsClassTypes) {
+            if (implementsClassType.getClassName().equalsIgnoreCase(simpleName)) {
+                return;
+            }
+        }
+
+        final PsiClassType type = (PsiClassType)psiElementFactory.createTypeFromText(interfaceName, psiClass);
+        final PsiJavaCodeReferenceElement referenceElement = psiElementFactory.createReferenceElementByType(type);
+        psiClass.getImplementsList().add(referenceElement);
+    }
+
+    /**
+     * Sets the superclass of the {@link PsiClass}, which must not already extend another class.
+     * @param psiClass The non-null class to modify.
+     * @param superClassName The canonical name of the superclass, with any type arguments. Example: "com.google.gson.TypeAdapter<Foo>".
+     */
+    public void addExtends(final PsiClass psiClass, final String superClassName) {
+        final PsiClassType type = (PsiClassType)psiElementFactory.createTypeFromText(superClassName, psiClass);
+        final PsiJavaCodeReferenceElement referenceElement = psiElementFactory.createReferenceElementByType(type);
+        psiClass.getExtendsList().add(referenceElement);
+    }
 }
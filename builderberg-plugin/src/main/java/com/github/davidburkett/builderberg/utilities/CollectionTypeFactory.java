@@ -32,4 +32,15 @@ public class CollectionTypeFactory {
 
         return Optional.empty();
     }
+
+    /**
+     * Determines the {@link CollectionType} used to make the given field type immutable.
+     * Only the collection interfaces themselves are supported. Derived classes and specific implementations are not.
+     * @param type The non-null {@link PsiType} of the field.
+     * @return The {@link CollectionType}, or empty if the type can't be made immutable.
+     */
+    public static Optional<CollectionType> getImmutableCollectionType(final PsiType type) {
+        return getCollectionType(type)
+                .filter(collectionType -> TypeUtility.getNonGenericType(type).equals(collectionType.getCanonicalName()));
+    }
 }
@@ -0,0 +1,52 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import com.github.davidburkett.builderberg.enums.CollectionType;
+import com.github.davidburkett.builderberg.model.FieldFootprint;
+import com.github.davidburkett.builderberg.model.MemoryFootprint;
+import com.intellij.psi.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a {@link MemoryFootprint} for a class from the same {@link PsiField}s the generators walk.
+ */
+public class MemoryFootprintEstimator {
+    public static MemoryFootprint estimate(final PsiClass topLevelClass) {
+        final boolean makeCollectionsImmutable = BuilderOptionUtility.makeCollectionsImmutable(topLevelClass);
+
+        final List<FieldFootprint> instanceFields = new ArrayList<>();
+        for (final PsiField field : topLevelClass.getFields()) {
+            if (!field.hasModifierProperty(PsiModifier.STATIC)) {
+                instanceFields.add(createFieldFootprint(field, makeCollectionsImmutable));
+            }
+        }
+
+        final List<FieldFootprint> builderFields = new ArrayList<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(topLevelClass)) {
+            builderFields.add(createFieldFootprint(field, false));
+        }
+
+        return new MemoryFootprint(instanceFields, builderFields);
+    }
+
+    private static FieldFootprint createFieldFootprint(final PsiField field, final boolean makeCollectionsImmutable) {
+        final PsiType type = field.getType();
+
+        final CollectionType immutableWrapper = makeCollectionsImmutable
+                ? CollectionTypeFactory.getImmutableCollectionType(type).orElse(null)
+                : null;
+
+        final int boxedPrimitiveSize = TypeUtility.isBoxedPrimitive(type)
+                ? TypeUtility.getPrimitiveSize(TypeUtility.unboxIfPossible(type))
+                : 0;
+
+        return new FieldFootprint(
+                field.getName(),
+                type.getPresentableText(),
+                TypeUtility.getPrimitiveSize(type),
+                boxedPrimitiveSize,
+                immutableWrapper
+        );
+    }
+}
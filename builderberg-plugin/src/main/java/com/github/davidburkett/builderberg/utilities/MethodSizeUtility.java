@@ -0,0 +1,139 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import com.intellij.psi.*;
+
+import java.util.List;
+
+/**
+ * Keeps generated methods below HotSpot's HugeMethodLimit (8000 bytes of bytecode), above which methods are never JIT-compiled.
+ * Sizes are estimated from the PSI tree, since the generated code is never compiled by the plugin.
+ */
+public class MethodSizeUtility {
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    /**
+     * The JVM limits a method to 255 parameter slots, including {@code this} for instance methods.
+     */
+    public static final int MAX_PARAMETER_SLOTS = 255;
+
+    // Leaves headroom for the error of the estimate, and keeps each chunk small enough to be compiled quickly.
+    private static final int CHUNK_LIMIT = HUGE_METHOD_LIMIT / 4;
+
+    private final PsiElementFactory psiElementFactory;
+
+    public MethodSizeUtility(final PsiElementFactory psiElementFactory) {
+        this.psiElementFactory = psiElementFactory;
+    }
+
+    /**
+     * @param element The generated {@link PsiElement}, typically a method or statement.
+     * @return A rough estimate of the number of bytecode bytes javac emits for the element.
+     */
+    public static int estimateBytecodeSize(final PsiElement element) {
+        final int[] size = {0};
+        element.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitReferenceExpression(final PsiReferenceExpression expression) {
+                // load + getfield/getstatic
+                size[0] += 4;
+                super.visitReferenceExpression(expression);
+            }
+
+            @Override
+            public void visitMethodCallExpression(final PsiMethodCallExpression expression) {
+                // invoke, on top of the method reference counted above
+                size[0] += 3;
+                super.visitMethodCallExpression(expression);
+            }
+
+            @Override
+            public void visitNewExpression(final PsiNewExpression expression) {
+                // new + dup + invokespecial
+                size[0] += 7;
+                super.visitNewExpression(expression);
+            }
+
+            @Override
+            public void visitLiteralExpression(final PsiLiteralExpression expression) {
+                size[0] += 3;
+                super.visitLiteralExpression(expression);
+            }
+
+            @Override
+            public void visitPolyadicExpression(final PsiPolyadicExpression expression) {
+                // compare and branch, or a StringBuilder.append per operand for string concatenation
+                size[0] += 4 * expression.getOperands().length;
+                super.visitPolyadicExpression(expression);
+            }
+
+            @Override
+            public void visitStatement(final PsiStatement statement) {
+                // store, branch, return or throw
+                size[0] += 3;
+                super.visitStatement(statement);
+            }
+        });
+
+        return size[0];
+    }
+
+    /**
+     * @param types The parameter types of a method.
+     * @param isStatic Whether the method is static (instance methods and constructors reserve a slot for {@code this}).
+     * @return The number of parameter slots the method requires. long and double take two slots.
+     */
+    public static int getParameterSlots(final List<PsiType> types, final boolean isStatic) {
+        int slots = isStatic ? 0 : 1;
+        for (final PsiType type : types) {
+            slots += (PsiType.LONG.equals(type) || PsiType.DOUBLE.equals(type)) ? 2 : 1;
+        }
+
+        return slots;
+    }
+
+    /**
+     * When the given method exceeds {@link #HUGE_METHOD_LIMIT}, moves the given statements of its body into private helper methods,
+     * and replaces each moved chunk of statements with a call to its helper. Otherwise, the method is left untouched.
+     * @param containingClass The {@link PsiClass} the helper methods are added to.
+     * @param method The method to split. Its body must contain all of the statements.
+     * @param statements The consecutive statements of the method body that can be moved.
+     * @param helperTemplate An empty method to copy for each helper. The helpers are named after it, suffixed with their index.
+     * @param callFormat The statement calling a helper, where %s is the helper name. Example: "if (!%s(obj)) { return false; }".
+     * @param helperReturnStatement The statement ending each helper, or null when the helpers return void.
+     * @return {@code true} if the method was split.
+     */
+    public boolean splitIfHuge(final PsiClass containingClass,
+                               final PsiMethod method,
+                               final List<PsiStatement> statements,
+                               final PsiMethod helperTemplate,
+                               final String callFormat,
+                               final String helperReturnStatement) {
+        if (estimateBytecodeSize(method) <= HUGE_METHOD_LIMIT) {
+            return false;
+        }
+
+        final List<List<PsiStatement>> chunks = ChunkPartitioner.partition(statements, MethodSizeUtility::estimateBytecodeSize, CHUNK_LIMIT);
+        for (int i = 0; i < chunks.size(); i++) {
+            final List<PsiStatement> chunk = chunks.get(i);
+            final String helperName = helperTemplate.getName() + i;
+
+            final PsiMethod helper = (PsiMethod) helperTemplate.copy();
+            helper.setName(helperName);
+            for (final PsiStatement statement : chunk) {
+                helper.getBody().add(statement);
+            }
+            if (helperReturnStatement != null) {
+                helper.getBody().add(psiElementFactory.createStatementFromText(helperReturnStatement, helper));
+            }
+            containingClass.add(helper);
+
+            final PsiStatement callStatement = psiElementFactory.createStatementFromText(String.format(callFormat, helperName), method);
+            method.getBody().addBefore(callStatement, chunk.get(0));
+            for (final PsiStatement statement : chunk) {
+                statement.delete();
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.project.Project;
+
+/**
+ * Reports non-fatal problems found while generating code, without interrupting the generation like the alert dialogs do.
+ */
+public final class NotificationUtility {
+    private static final String GROUP_ID = "Builderberg";
+
+    private NotificationUtility() {
+    }
+
+    public static void warn(final Project project, final String message) {
+        Notifications.Bus.notify(new Notification(GROUP_ID, "Builderberg Warning", message, NotificationType.WARNING), project);
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
+import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndValue;
+import com.github.davidburkett.builderberg.model.MemoryFootprint.OopMode;
+import com.github.davidburkett.builderberg.model.PackedField;
+import com.github.davidburkett.builderberg.model.PackedFieldLayout;
+import com.intellij.psi.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Determines which fields of a class with {@code @BuilderOptions(packFields = true)} are packed, and where.
+ */
+public final class PackedFieldLayoutFactory {
+    // Enums with more constants than fit in a byte are left unpacked.
+    private static final int MAX_ENUM_BITS = Byte.SIZE;
+
+    private PackedFieldLayoutFactory() {
+    }
+
+    public static PackedFieldLayout create(final PsiClass topLevelClass) {
+        if (!BuilderOptionUtility.packFields(topLevelClass)) {
+            return PackedFieldLayout.empty();
+        }
+
+        final List<PackedField> candidates = new ArrayList<>();
+        for (final PsiField field : QualifyingFieldsFinder.findQualifyingFields(topLevelClass)) {
+            // Equality compares whole words, so every packed field must take part in it
+            if (!AnnotationUtility.hasEqualityExcludeAnnotation(field)) {
+                getCandidate(field).ifPresent(candidates::add);
+            }
+        }
+
+        return PackedFieldLayout.pack(candidates);
+    }
+
+    private static Optional<PackedField> getCandidate(final PsiField field) {
+        final PsiType type = field.getType();
+        if (TypeUtility.isPrimitiveBoolean(type)) {
+            return Optional.of(PackedField.ofBoolean(field.getName()));
+        } else if (TypeUtility.isEnum(type)) {
+            return getEnumCandidate(field);
+        } else if (type == PsiType.BYTE || type == PsiType.SHORT || type == PsiType.INT || type == PsiType.LONG) {
+            return getIntegerCandidate(field);
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<PackedField> getEnumCandidate(final PsiField field) {
+        final PsiClass enumClass = ((PsiClassType) field.getType()).resolve();
+        if (enumClass == null) {
+            return Optional.empty();
+        }
+
+        final int constantCount = (int) Arrays.stream(enumClass.getFields())
+                .filter(enumField -> enumField instanceof PsiEnumConstant)
+                .count();
+        if (PackedField.getBitsFor(constantCount) > MAX_ENUM_BITS) {
+            return Optional.empty();
+        }
+
+        final String typeName = field.getType().getCanonicalText();
+        return Optional.of(PackedField.ofEnum(field.getName(), typeName, constantCount, OopMode.COMPRESSED.getReferenceSize()));
+    }
+
+    private static Optional<PackedField> getIntegerCandidate(final PsiField field) {
+        Double minValue = null;
+        Double maxValue = null;
+        for (final BuilderConstraintOptionAndValue constraint : ValidationUtility.getBuilderConstraintsForField(field)) {
+            if (constraint.getOption() == BuilderConstraintOption.MIN_VALUE) {
+                minValue = (Double) constraint.getValue();
+            } else if (constraint.getOption() == BuilderConstraintOption.MAX_VALUE) {
+                maxValue = (Double) constraint.getValue();
+            }
+        }
+
+        if (minValue == null || maxValue == null || minValue > maxValue) {
+            return Optional.empty();
+        }
+
+        final long min = (long) Math.ceil(minValue);
+        final long max = (long) Math.floor(maxValue);
+        final int size = TypeUtility.getPrimitiveSize(field.getType());
+        if (max < min || PackedField.getBitsFor(max - min) >= size * Byte.SIZE) {
+            return Optional.empty();
+        }
+
+        return Optional.of(PackedField.ofInteger(field.getName(), field.getType().getCanonicalText(), min, max, size));
+    }
+}
@@ -7,6 +7,7 @@ import com.intellij.psi.PsiModifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class QualifyingFieldsFinder {
 
@@ -33,4 +34,24 @@ public class QualifyingFieldsFinder {
 
         return qualifyingFields;
     }
+
+    /**
+     * @param topLevelClass The class to find the fields of.
+     * @return The fields compared by the generated equals and hashCode methods, which are all fields not annotated with EqualityExclude.
+     */
+    public static List<PsiField> findEqualityFields(final PsiClass topLevelClass) {
+        return Arrays.stream(topLevelClass.getFields())
+                .filter(field -> !AnnotationUtility.hasEqualityExcludeAnnotation(field))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param topLevelClass The class to find the fields of.
+     * @return The fields annotated with EqualityExclude.
+     */
+    public static List<PsiField> findEqualityExcludedFields(final PsiClass topLevelClass) {
+        return Arrays.stream(topLevelClass.getFields())
+                .filter(AnnotationUtility::hasEqualityExcludeAnnotation)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,57 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Generates the statements used to write and read fields with {@link java.io.ObjectOutput} and {@link java.io.ObjectInput},
+ * so every serialization format built on them encodes fields the same way.
+ */
+public final class SerializationUtility {
+
+    private SerializationUtility() {
+    }
+
+    /**
+     * Primitives are written with their fixed-width DataOutput methods. Everything else is written with writeObject.
+     * @param field The {@link PsiField} to write.
+     * @param outputName The name of the {@link java.io.ObjectOutput} variable.
+     * @param valueExpression The expression evaluating to the field's value.
+     * @return The statement text.
+     */
+    public static String generateWriteStatement(final PsiField field, final String outputName, final String valueExpression) {
+        final PsiType type = field.getType();
+        if (type instanceof PsiPrimitiveType) {
+            return String.format("%s.write%s(%s);", outputName, getPrimitiveMethodSuffix(type), valueExpression);
+        }
+
+        return String.format("%s.writeObject(%s);", outputName, valueExpression);
+    }
+
+    /**
+     * @param field The {@link PsiField} to read.
+     * @param inputName The name of the {@link java.io.ObjectInput} variable.
+     * @return An expression reading a value written by {@link #generateWriteStatement(PsiField, String, String)}.
+     * Fields whose type is a type parameter (or an array of one) are cast unchecked, so the caller must suppress the warning.
+     */
+    public static String generateReadExpression(final PsiField field, final String inputName) {
+        final PsiType type = field.getType();
+        if (type instanceof PsiPrimitiveType) {
+            return String.format("%s.read%s()", inputName, getPrimitiveMethodSuffix(type));
+        }
+
+        // A type parameter erases to its bound, which the setter doesn't accept, so it's cast unchecked to the declared type
+        final boolean isTypeParameter = PsiUtil.resolveClassInType(type.getDeepComponentType()) instanceof PsiTypeParameter;
+        final String castType = isTypeParameter ? type.getCanonicalText() : TypeConversionUtil.erasure(type).getCanonicalText();
+        return String.format("(%s) %s.readObject()", castType, inputName);
+    }
+
+    private static String getPrimitiveMethodSuffix(final PsiType type) {
+        return StringUtils.capitalize(type.getCanonicalText());
+    }
+}
@@ -5,9 +5,11 @@ import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.siyeh.ig.psiutils.TypeUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class TypeUtility {
     /**
@@ -64,6 +66,63 @@ public class TypeUtility {
         return type.equals(TypeUtils.getStringType(context));
     }
 
+    public static boolean isEnum(final PsiType type) {
+        final PsiType[] superTypes = type.getSuperTypes();
+        return superTypes.length > 0 && superTypes[0].getCanonicalText().startsWith("java.lang.Enum");
+    }
+
+    /**
+     * Determines if the class of the given {@link PsiType} declares a method with the given name.
+     * @param type The non-null {@link PsiType}.
+     * @param methodName The name of the method.
+     * @return True if the type resolves to a class declaring the method. Otherwise, false.
+     */
+    public static boolean declaresMethod(final PsiType type, final String methodName) {
+        if (type instanceof PsiClassType) {
+            final PsiClass psiClass = ((PsiClassType) type).resolve();
+            return psiClass != null && psiClass.findMethodsByName(methodName, false).length > 0;
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines if the given {@link PsiType} is a class with a Builderberg-generated inner builder.
+     * @param type The non-null {@link PsiType}.
+     * @return True if the type resolves to a class with an inner Builder class and a static builder(baseline) method. Otherwise, false.
+     */
+    public static boolean isBuilderbergClass(final PsiType type) {
+        if (type instanceof PsiClassType) {
+            final PsiClass psiClass = ((PsiClassType) type).resolve();
+            if (psiClass == null || psiClass.findInnerClassByName("Builder", false) == null) {
+                return false;
+            }
+
+            for (final PsiMethod method : psiClass.findMethodsByName("builder", false)) {
+                if (method.hasModifierProperty(PsiModifier.STATIC) && method.getParameterList().getParametersCount() == 1) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param type A {@link PsiType} for which {@link #isBuilderbergClass(PsiType)} is true.
+     * @return The text of the type's inner builder, including the type's generics. Example: "com.example.Foo.Builder&lt;T&gt;".
+     */
+    public static String getBuilderTypeText(final PsiClassType type) {
+        final String className = type.rawType().getCanonicalText();
+        final PsiType[] parameters = type.getParameters();
+        if (parameters.length == 0) {
+            return className + ".Builder";
+        }
+
+        final String generics = Arrays.stream(parameters).map(PsiType::getCanonicalText).collect(Collectors.joining(", "));
+        return className + ".Builder<" + generics + ">";
+    }
+
     public static boolean isPrimitiveBoolean(final PsiType type) {
         return type == PsiType.BOOLEAN;
     }
@@ -79,7 +138,30 @@ public class TypeUtility {
         return false;
     }
 
-    private static PsiType unboxIfPossible(final PsiType type) {
+    public static boolean isBoxedPrimitive(final PsiType type) {
+        return !(type instanceof PsiPrimitiveType) && unboxIfPossible(type) instanceof PsiPrimitiveType;
+    }
+
+    /**
+     * Determines the number of bytes a primitive of the given {@link PsiType} occupies in a field.
+     * @param type The non-null {@link PsiType}.
+     * @return The size in bytes, or 0 if the type is not primitive.
+     */
+    public static int getPrimitiveSize(final PsiType type) {
+        if (type == PsiType.BOOLEAN || type == PsiType.BYTE) {
+            return 1;
+        } else if (type == PsiType.SHORT || type == PsiType.CHAR) {
+            return 2;
+        } else if (type == PsiType.INT || type == PsiType.FLOAT) {
+            return 4;
+        } else if (type == PsiType.LONG || type == PsiType.DOUBLE) {
+            return 8;
+        }
+
+        return 0;
+    }
+
+    public static PsiType unboxIfPossible(final PsiType type) {
         final Map<String, PsiType> unboxedTypesByBoxedName = new HashMap<>();
         unboxedTypesByBoxedName.put(CommonClassNames.JAVA_LANG_BOOLEAN, PsiType.BOOLEAN);
         unboxedTypesByBoxedName.put(CommonClassNames.JAVA_LANG_BYTE, PsiType.BYTE);
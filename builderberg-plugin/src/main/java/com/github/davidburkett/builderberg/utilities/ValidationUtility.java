@@ -1,9 +1,11 @@
 package com.github.davidburkett.builderberg.utilities;
 
 import com.github.davidburkett.builderberg.enums.BuilderConstraintOption;
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndBooleanValue;
 import com.github.davidburkett.builderberg.model.BuilderConstraintOptionAndValue;
 import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiNameValuePair;
 
@@ -49,4 +51,28 @@ public final class ValidationUtility {
 
         return Collections.unmodifiableList(result);
     }
+
+    /**
+     * @return The parallelThreshold of the field's BuilderConstraint annotations, or 0 if the field's elements are always checked sequentially.
+     * @throws InvalidConstraintException If the threshold isn't a positive integer literal.
+     */
+    public static int getParallelThreshold(final PsiField field) throws InvalidConstraintException {
+        for (final PsiAnnotation annotation : AnnotationUtility.getBuilderConstraintAnnotations(field)) {
+            final PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(BuilderConstraintOption.PARALLEL_THRESHOLD.getValue());
+            if (value != null) {
+                try {
+                    final int threshold = Integer.parseInt(value.getText().replace("_", "").trim());
+                    if (threshold > 0) {
+                        return threshold;
+                    }
+                } catch (NumberFormatException e) {
+                    // Reported below
+                }
+
+                throw new InvalidConstraintException(field, BuilderConstraintOption.PARALLEL_THRESHOLD.getValue());
+            }
+        }
+
+        return 0;
+    }
 }
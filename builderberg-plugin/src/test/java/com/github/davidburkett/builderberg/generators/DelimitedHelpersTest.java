@@ -0,0 +1,99 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.runtime.DelimitedText;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.davidburkett.builderberg.generators.HelperCompiler.assertSameOutcome;
+import static org.junit.Assert.assertEquals;
+
+public class DelimitedHelpersTest {
+    private static final String[] VALUES = {
+            "", "\"\"", "0", "-5", "+7", "-", "12a", "\"42\"", "300", "9223372036854775807", "-9223372036854775808", "9223372036854775808",
+            "3.14159", "-0.0", ".5", "1e10", "NaN", "1234567890.123456789",
+            "true", "FALSE", "\"True\"", "yes", "tru",
+            "a", "ab", "\",\"", "a,b", "\"a,b\",c", "\"b,\"\"c\"", "SECONDS", "NOPE", "line\nbreak"
+    };
+
+    private static Class<?> helpers;
+
+    @BeforeClass
+    public static void compileHelpers() throws Exception {
+        helpers = HelperCompiler.compile("DelimitedHelpersUnderTest", String.join("", DelimitedHelpers.HELPERS));
+    }
+
+    @Test
+    public void testParseMatchesRuntime() throws Exception {
+        final Class<?>[] range = {CharSequence.class, int.class, int.class, char.class};
+        for (final String value : VALUES) {
+            for (final char quote : new char[]{'"', '\0'}) {
+                assertSameHelper("IsQuoted", range, value, 0, value.length(), quote);
+                assertSameHelper("ParseDouble", range, value, 0, value.length(), quote);
+                assertSameHelper("ParseBoolean", range, value, 0, value.length(), quote);
+                assertSameHelper("ParseChar", range, value, 0, value.length(), quote);
+                assertSameHelper("ParseString", range, value, 0, value.length(), quote);
+                assertSameHelper("FieldEnd", new Class<?>[]{CharSequence.class, int.class, int.class, char.class, char.class}, value, 0, value.length(), ',', quote);
+                assertSameHelper("ParseLong", new Class<?>[]{CharSequence.class, int.class, int.class, char.class, long.class, long.class},
+                        value, 0, value.length(), quote, Long.MIN_VALUE, Long.MAX_VALUE);
+                assertSameHelper("ParseLong", new Class<?>[]{CharSequence.class, int.class, int.class, char.class, long.class, long.class},
+                        value, 0, value.length(), quote, (long) Byte.MIN_VALUE, (long) Byte.MAX_VALUE);
+                assertSameHelper("ParseEnum", new Class<?>[]{Class.class, CharSequence.class, int.class, int.class, char.class},
+                        TimeUnit.class, value, 0, value.length(), quote);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteMatchesRuntime() throws Exception {
+        for (final long value : new long[]{0L, -5L, Long.MIN_VALUE}) {
+            assertSameWrite("Long", long.class, value);
+        }
+        for (final double value : new double[]{0.1, -0.0, Double.NaN, 1e300}) {
+            assertSameWrite("Double", double.class, value);
+        }
+        for (final float value : new float[]{0.1f, Float.NEGATIVE_INFINITY}) {
+            assertSameWrite("Float", float.class, value);
+        }
+
+        final Method expected = DelimitedText.class.getMethod("writeString", Appendable.class, CharSequence.class, char.class, char.class);
+        final Method actual = HelperCompiler.getMethod(helpers, "delimitedWriteString", Appendable.class, CharSequence.class, char.class, char.class);
+        for (final String value : new String[]{null, "", "plain", "with,delimiter", "with\"quote", "line\nbreak", "tab\tbed"}) {
+            for (final char quote : new char[]{'"', '\0'}) {
+                final StringBuilder expectedOut = new StringBuilder();
+                final StringBuilder actualOut = new StringBuilder();
+                assertEquals(
+                        value,
+                        HelperCompiler.getOutcome(expected, null, expectedOut, value, ',', quote) + expectedOut,
+                        HelperCompiler.getOutcome(actual, null, actualOut, value, ',', quote) + actualOut
+                );
+            }
+        }
+    }
+
+    private static void assertSameHelper(final String helper, final Class<?>[] parameterTypes, final Object... args) throws Exception {
+        // isQuoted is private in the runtime too
+        final Method expected = HelperCompiler.getMethod(DelimitedText.class, Character.toLowerCase(helper.charAt(0)) + helper.substring(1), parameterTypes);
+        assertSameOutcome(expected, HelperCompiler.getMethod(helpers, "delimited" + helper, parameterTypes), null, args);
+    }
+
+    private static void assertSameWrite(final String type, final Class<?> valueType, final Object value) throws Exception {
+        final Method expected = DelimitedText.class.getMethod("write" + type, Appendable.class, valueType);
+        final Method actual = HelperCompiler.getMethod(helpers, "delimitedWrite" + type, Appendable.class, valueType);
+
+        final StringBuilder expectedBuilder = new StringBuilder();
+        final StringBuilder actualBuilder = new StringBuilder();
+        expected.invoke(null, expectedBuilder, value);
+        actual.invoke(null, actualBuilder, value);
+        assertEquals(expectedBuilder.toString(), actualBuilder.toString());
+
+        final StringWriter expectedWriter = new StringWriter();
+        final StringWriter actualWriter = new StringWriter();
+        expected.invoke(null, expectedWriter, value);
+        actual.invoke(null, actualWriter, value);
+        assertEquals(expectedWriter.toString(), actualWriter.toString());
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+
+public class DiffGeneratorTest extends GeneratorTestCase {
+
+    private PsiClass generate(final String classText) {
+        final PsiClass topLevelClass = addClass(classText);
+        final PsiClass builderClass = topLevelClass.findInnerClassByName("Builder", false);
+        runWriteAction(() -> new DiffGenerator(getElementFactory()).generateDiffMethods(topLevelClass, builderClass));
+        return builderClass;
+    }
+
+    public void testReadDeltaCastsToTheErasedType() {
+        final PsiClass builderClass = generate(
+                "public class Order {" +
+                "    private final String id;" +
+                "    private final java.util.List<String> lines;" +
+                "    private final int quantity;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final PsiMethod readDelta = findMethod(builderClass, "readDelta");
+        assertTrue(readDelta.getText().contains("withId((java.lang.String) in.readObject())"));
+        assertTrue(readDelta.getText().contains("withLines((java.util.List) in.readObject())"));
+        assertTrue(readDelta.getText().contains("withQuantity(in.readInt())"));
+        assertFalse(readDelta.getText().contains("SuppressWarnings"));
+    }
+
+    public void testReadDeltaCastsTypeParametersToTheDeclaredType() {
+        final PsiClass builderClass = generate(
+                "public class Box<T> {" +
+                "    private final T value;" +
+                "    private final T[] values;" +
+                "    private final java.util.List<T> list;" +
+                "    public static final class Builder<T> {}" +
+                "}"
+        );
+
+        final PsiMethod readDelta = findMethod(builderClass, "readDelta");
+        assertTrue(readDelta.getText().contains("withValue((T) in.readObject())"));
+        assertTrue(readDelta.getText().contains("withValues((T[]) in.readObject())"));
+        assertTrue(readDelta.getText().contains("withList((java.util.List) in.readObject())"));
+        assertTrue(readDelta.getText().contains("@SuppressWarnings(\"unchecked\")"));
+    }
+
+    public void testPatchMethodsAreGenerated() {
+        final PsiClass builderClass = generate(
+                "public class Order {" +
+                "    private final String id;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(builderClass, "applyPatch")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(builderClass, "readDelta")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(builderClass.getContainingClass(), "diff")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(builderClass.getContainingClass(), "writeDelta")));
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiMethod;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs generators against classes parsed in a light project, so the generated code can be checked as text.
+ */
+public abstract class GeneratorTestCase extends LightCodeInsightFixtureTestCase {
+
+    @NotNull
+    @Override
+    protected LightProjectDescriptor getProjectDescriptor() {
+        return JAVA_8;
+    }
+
+    protected PsiElementFactory getElementFactory() {
+        return JavaPsiFacade.getElementFactory(getProject());
+    }
+
+    protected PsiClass addClass(final String text) {
+        return myFixture.addClass(text);
+    }
+
+    protected void runWriteAction(final Runnable action) {
+        WriteCommandAction.runWriteCommandAction(getProject(), action);
+    }
+
+    protected static PsiMethod findMethod(final PsiClass psiClass, final String name) {
+        final PsiMethod[] methods = psiClass.findMethodsByName(name, false);
+        assertEquals(name, 1, methods.length);
+        return methods[0];
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+
+public class GsonAdapterGeneratorTest extends GeneratorTestCase {
+
+    private PsiClass generate(final String classText) {
+        final PsiClass topLevelClass = addClass(classText);
+        runWriteAction(() -> new GsonAdapterGenerator(getProject(), getElementFactory()).generateGsonAdapter(topLevelClass));
+        return topLevelClass;
+    }
+
+    public void testAdapterAndFactoryAreGenerated() {
+        final PsiClass topLevelClass = generate(
+                "public class Person {" +
+                "    private final String name;" +
+                "    private final java.util.List<String> nicknames;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final PsiClass adapterClass = topLevelClass.findInnerClassByName("GsonTypeAdapter", false);
+        final PsiClass factoryClass = topLevelClass.findInnerClassByName("GsonTypeAdapterFactory", false);
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(adapterClass));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(factoryClass));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(adapterClass, "write")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(adapterClass, "read")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(factoryClass, "create")));
+
+        final PsiMethod[] constructors = adapterClass.getConstructors();
+        assertEquals(1, constructors.length);
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(constructors[0]));
+    }
+
+    public void testCharFieldsRequireASingleCharacter() {
+        final PsiClass topLevelClass = generate(
+                "public class Person {" +
+                "    private final char initial;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final String read = findMethod(topLevelClass.findInnerClassByName("GsonTypeAdapter", false), "read").getText();
+        assertTrue(read.contains("final String initialValue = in.nextString();"));
+        assertTrue(read.contains("if (initialValue.length() != 1) { throw new com.google.gson.JsonSyntaxException(\"initial -> Expected a single character: "));
+        assertTrue(read.contains("builder.withInitial(initialValue.charAt(0));"));
+        assertFalse(read.contains("in.nextString().charAt(0)"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.davidburkett.builderberg.generators;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compiles the text of generated helpers, so their behavior can be compared with builderberg-runtime.
+ */
+final class HelperCompiler {
+    private HelperCompiler() {
+    }
+
+    /**
+     * @param className The simple name of the class to wrap the members in.
+     * @param members The text of the generated methods or nested classes.
+     * @return The compiled class.
+     */
+    static Class<?> compile(final String className, final String members) throws IOException, ClassNotFoundException {
+        final Path directory = Files.createTempDirectory("builderberg-helpers");
+        final Path source = directory.resolve(className + ".java");
+        Files.write(source, String.format("public class %s {%s}", className, members).getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals("The generated helpers don't compile", 0, compiler.run(null, null, null, "-nowarn", "-d", directory.toString(), source.toString()));
+
+        final URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, HelperCompiler.class.getClassLoader());
+        return classLoader.loadClass(className);
+    }
+
+    /**
+     * @return The declared method, made accessible so private helpers can be called.
+     */
+    static Method getMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) throws NoSuchMethodException {
+        final Method method = type.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        return method;
+    }
+
+    /**
+     * Asserts that both methods return the same value, or throw the same type of exception with the same message, for the arguments.
+     */
+    static void assertSameOutcome(final Method expected, final Method actual, final Object target, final Object... args) {
+        assertEquals(
+                actual.getName() + Arrays.deepToString(args),
+                getOutcome(expected, null, args),
+                getOutcome(actual, target, args)
+        );
+    }
+
+    static String getOutcome(final Method method, final Object target, final Object... args) {
+        try {
+            return String.valueOf(method.invoke(target, args));
+        } catch (InvocationTargetException e) {
+            return e.getCause().getClass().getName() + ": " + e.getCause().getMessage();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+
+public class JdbcMapperGeneratorTest extends GeneratorTestCase {
+
+    private PsiClass generate(final String classText) {
+        final PsiClass topLevelClass = addClass(classText);
+        final PsiClass builderClass = topLevelClass.findInnerClassByName("Builder", false);
+        runWriteAction(() -> new JdbcMapperGenerator(getProject(), getElementFactory()).generateJdbcMapper(topLevelClass, builderClass));
+        return topLevelClass.findInnerClassByName("RowMapper", false);
+    }
+
+    public void testColumnsAreLookedUpOnceByName() {
+        final PsiClass mapperClass = generate(
+                "public class User {" +
+                "    @com.github.davidburkett.builderberg.annotations.Column(name = \"user_id\")" +
+                "    private final long id;" +
+                "    private final String name;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final PsiMethod constructor = mapperClass.getConstructors()[0];
+        assertTrue(constructor.getText().contains("this.idColumn = resultSet.findColumn(\"user_id\");"));
+        assertTrue(constructor.getText().contains("this.nameColumn = resultSet.findColumn(\"name\");"));
+
+        final String mapRow = findMapRow(mapperClass).getText();
+        assertTrue(mapRow.contains("reusable.withId(resultSet.getLong(idColumn));"));
+        assertTrue(mapRow.contains("reusable.withName(resultSet.getString(nameColumn));"));
+        assertFalse(mapRow.contains("findColumn"));
+    }
+
+    public void testBoxedPrimitivesCheckWasNull() {
+        final PsiClass mapperClass = generate(
+                "public class User {" +
+                "    private final int age;" +
+                "    private final Integer rank;" +
+                "    private final Boolean active;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final String mapRow = findMapRow(mapperClass).getText();
+        assertTrue(mapRow.contains("reusable.withAge(resultSet.getInt(ageColumn));"));
+        assertTrue(mapRow.contains("final int rankValue = resultSet.getInt(rankColumn); reusable.withRank(resultSet.wasNull() ? null : rankValue);"));
+        assertTrue(mapRow.contains("final boolean activeValue = resultSet.getBoolean(activeColumn); reusable.withActive(resultSet.wasNull() ? null : activeValue);"));
+        assertEquals(2, mapRow.split("wasNull", -1).length - 1);
+    }
+
+    public void testMapperIsGenerated() {
+        final PsiClass mapperClass = generate(
+                "public class User {" +
+                "    private final String name;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(mapperClass));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(mapperClass.getConstructors()[0]));
+        for (final PsiMethod method : mapperClass.getMethods()) {
+            assertTrue(method.getName(), AnnotationUtility.hasGeneratedAnnotation(method));
+        }
+    }
+
+    /**
+     * @return The mapRow(reusable) method, rather than the mapRow() convenience method.
+     */
+    private static PsiMethod findMapRow(final PsiClass mapperClass) {
+        for (final PsiMethod method : mapperClass.findMethodsByName("mapRow", false)) {
+            if (method.getParameterList().getParametersCount() == 1) {
+                return method;
+            }
+        }
+
+        throw new AssertionError("mapRow(reusable) wasn't generated");
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.intellij.psi.PsiClass;
+
+public class LazyJsonGeneratorTest extends GeneratorTestCase {
+
+    private PsiClass generate(final String classText) {
+        final PsiClass topLevelClass = addClass(classText);
+        runWriteAction(() -> {
+            try {
+                new LazyJsonGenerator(getProject(), getElementFactory()).generateLazyJson(topLevelClass);
+            } catch (InvalidConstraintException e) {
+                throw new AssertionError(e);
+            }
+        });
+        return topLevelClass.findInnerClassByName("LazyJson", false);
+    }
+
+    public void testReadValueIsGenerated() {
+        final PsiClass lazyClass = generate(
+                "public class Event {" +
+                "    private final String name;" +
+                "    private final java.util.List<String> tags;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(lazyClass));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(lazyClass, "readValue")));
+    }
+
+    public void testReadValueIsOnlyGeneratedForJacksonFields() {
+        final PsiClass lazyClass = generate(
+                "public class Event {" +
+                "    private final String name;" +
+                "    private final long timestamp;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        assertEquals(0, lazyClass.findMethodsByName("readValue", false).length);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.intellij.psi.PsiClass;
+
+public class ProtoMappingGeneratorTest extends GeneratorTestCase {
+
+    private static final String MESSAGE_CLASS =
+            "public final class OrderProto {" +
+            "    public static Builder newBuilder() { return new Builder(); }" +
+            "    public java.util.List<String> getTagsList() { return null; }" +
+            "    public String getTags(int index) { return null; }" +
+            "    public int getTagsCount() { return 0; }" +
+            "    public java.util.List<String> getLinesList() { return null; }" +
+            "    public String getLines(int index) { return null; }" +
+            "    public int getLinesCount() { return 0; }" +
+            "    public java.util.Map<String, Integer> getScoresMap() { return null; }" +
+            "    public int getScoresOrThrow(String key) { return 0; }" +
+            "    public static final class Builder {" +
+            "        public OrderProto build() { return null; }" +
+            "    }" +
+            "}";
+
+    private PsiClass generate(final String classText) {
+        addClass(MESSAGE_CLASS);
+        final PsiClass topLevelClass = addClass(classText);
+        runWriteAction(() -> new ProtoMappingGenerator(getProject(), getElementFactory()).generateProtoMapping(topLevelClass));
+        return topLevelClass;
+    }
+
+    public void testCollectionsAreReadIntoTheImplementationOfTheirInterface() {
+        final PsiClass topLevelClass = generate(
+                "@com.github.davidburkett.builderberg.annotations.ProtoMapping(OrderProto.class)" +
+                "public class Order {" +
+                "    private final java.util.SortedSet<String> tags;" +
+                "    private final java.util.List<String> lines;" +
+                "    private final java.util.NavigableMap<String, Integer> scores;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final String fromProto = findMethod(topLevelClass, "fromProto").getText();
+        assertTrue(fromProto.contains("tagsValues = new java.util.TreeSet<>();"));
+        assertTrue(fromProto.contains("linesValues = new java.util.ArrayList<>(linesCount);"));
+        assertTrue(fromProto.contains("scoresValues = new java.util.TreeMap<>();"));
+    }
+
+    public void testHashedCollectionsArePresized() {
+        final PsiClass topLevelClass = generate(
+                "@com.github.davidburkett.builderberg.annotations.ProtoMapping(OrderProto.class)" +
+                "public class Order {" +
+                "    private final java.util.Set<String> tags;" +
+                "    private final java.util.Map<String, Integer> scores;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final String fromProto = findMethod(topLevelClass, "fromProto").getText();
+        assertTrue(fromProto.contains("tagsValues = new java.util.HashSet<>((int) (tagsCount / 0.75f) + 1);"));
+        assertTrue(fromProto.contains("scoresValues = new java.util.HashMap<>((int) (proto.getScoresMap().size() / 0.75f) + 1);"));
+    }
+
+    public void testCollectionImplementationsAreNotMapped() {
+        final PsiClass topLevelClass = generate(
+                "@com.github.davidburkett.builderberg.annotations.ProtoMapping(OrderProto.class)" +
+                "public class Order {" +
+                "    private final java.util.LinkedList<String> tags;" +
+                "    private final java.util.LinkedHashMap<String, Integer> scores;" +
+                "    private final java.util.List<String> lines;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+
+        final String fromProto = findMethod(topLevelClass, "fromProto").getText();
+        assertFalse(fromProto.contains("withTags("));
+        assertFalse(fromProto.contains("withScores("));
+        assertTrue(fromProto.contains("withLines(linesValues);"));
+        assertFalse(findMethod(topLevelClass, "toProto").getText().contains("getTags()"));
+    }
+}
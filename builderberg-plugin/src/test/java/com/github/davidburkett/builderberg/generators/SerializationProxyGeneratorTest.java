@@ -0,0 +1,26 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.utilities.AnnotationUtility;
+import com.intellij.psi.PsiClass;
+
+public class SerializationProxyGeneratorTest extends GeneratorTestCase {
+
+    public void testProxyMethodsAreGenerated() {
+        final PsiClass topLevelClass = addClass(
+                "public class Account {" +
+                "    private final String id;" +
+                "    private final long balance;" +
+                "    public static final class Builder {}" +
+                "}"
+        );
+        runWriteAction(() -> new SerializationProxyGenerator(getProject()).generateSerializationProxy(topLevelClass));
+
+        final PsiClass proxyClass = topLevelClass.findInnerClassByName("SerializationProxy", false);
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(proxyClass));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(proxyClass, "writeExternal")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(proxyClass, "readExternal")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(proxyClass, "readResolve")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(topLevelClass, "writeReplace")));
+        assertTrue(AnnotationUtility.hasGeneratedAnnotation(findMethod(topLevelClass, "readObject")));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.intellij.psi.PsiClass;
+
+public class StableHashGeneratorTest extends GeneratorTestCase {
+
+    private InvalidConstraintException generate(final PsiClass topLevelClass) {
+        final InvalidConstraintException[] exception = new InvalidConstraintException[1];
+        runWriteAction(() -> {
+            try {
+                new StableHashGenerator(getElementFactory()).generateStableHashMethod(topLevelClass);
+            } catch (InvalidConstraintException e) {
+                exception[0] = e;
+            }
+        });
+        return exception[0];
+    }
+
+    public void testFieldsWithStableEncodingsAreHashed() {
+        final PsiClass topLevelClass = addClass(
+                "public class Order {" +
+                "    enum Status { OPEN, CLOSED }" +
+                "    private final long id;" +
+                "    private final Double price;" +
+                "    private final String name;" +
+                "    private final Status status;" +
+                "    private final int[] counts;" +
+                "    private final java.util.Set<String> tags;" +
+                "    private final java.util.Map<String, java.util.List<? extends Integer>> lines;" +
+                "}"
+        );
+
+        assertNull(generate(topLevelClass));
+        assertTrue(findMethod(topLevelClass, "stableHash64").getText().contains("stableHashObject(hash, getTags())"));
+        assertEquals(1, topLevelClass.findMethodsByName("stableHashObject", false).length);
+    }
+
+    public void testNestedClassesWithStableHashAreHashed() {
+        addClass("public class Line { public long stableHash64() { return 0L; } }");
+        final PsiClass topLevelClass = addClass(
+                "public class Order {" +
+                "    private final Line line;" +
+                "    private final java.util.List<Line> lines;" +
+                "}"
+        );
+
+        assertNull(generate(topLevelClass));
+        assertTrue(findMethod(topLevelClass, "stableHash64").getText().contains("getLine().stableHash64()"));
+    }
+
+    public void testFieldsWithoutStableEncodingAreRejected() {
+        final PsiClass topLevelClass = addClass(
+                "public class Order {" +
+                "    private final String id;" +
+                "    private final java.util.List<Object> lines;" +
+                "}"
+        );
+
+        final InvalidConstraintException exception = generate(topLevelClass);
+        assertEquals("lines", exception.getField().getName());
+        assertEquals("generateStableHash", exception.getConstraint());
+        assertEquals(0, topLevelClass.findMethodsByName("stableHash64", false).length);
+    }
+
+    public void testTypeParametersAndRawCollectionsAreRejected() {
+        assertEquals("value", generate(addClass("public class Box<T> { private final T value; }")).getField().getName());
+        assertEquals("values", generate(addClass("public class Bag { private final java.util.List values; }")).getField().getName());
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.runtime.StableHash;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.davidburkett.builderberg.generators.HelperCompiler.assertSameOutcome;
+import static org.junit.Assert.assertEquals;
+
+public class StableHashHelpersTest {
+    private static Class<?> helpers;
+
+    @BeforeClass
+    public static void compileHelpers() throws Exception {
+        helpers = HelperCompiler.compile("StableHashHelpersUnderTest", String.join("", StableHashHelpers.HELPERS));
+    }
+
+    @Test
+    public void testConstantsMatchRuntime() {
+        assertEquals(StableHash.SEED, parseHex(StableHashHelpers.SEED));
+        assertEquals(StableHash.NULL_LANE, parseHex(StableHashHelpers.NULL_LANE));
+    }
+
+    @Test
+    public void testLaneAndFinishMatchRuntime() throws Exception {
+        final Method lane = HelperCompiler.getMethod(helpers, "stableHashLane", long.class, long.class);
+        final Method finish = HelperCompiler.getMethod(helpers, "stableHashFinish", long.class, long.class);
+        for (final long value : new long[]{0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, StableHash.SEED}) {
+            assertSameOutcome(StableHash.class.getMethod("lane", long.class, long.class), lane, null, StableHash.SEED, value);
+            assertSameOutcome(StableHash.class.getMethod("finish", long.class, long.class), finish, null, value, 3L);
+        }
+    }
+
+    @Test
+    public void testStringMatchesRuntime() throws Exception {
+        final Method string = HelperCompiler.getMethod(helpers, "stableHashString", long.class, CharSequence.class);
+        for (final String value : Arrays.asList(null, "", "a", "12345678", "123456789", "caf\u00E9", "\u20AC uro", "\uD83D\uDE00 emoji", "\uD800 lone")) {
+            assertSameOutcome(StableHash.class.getMethod("string", long.class, CharSequence.class), string, null, StableHash.SEED, value);
+        }
+    }
+
+    @Test
+    public void testObjectMatchesRuntime() throws Exception {
+        final Map<String, List<Integer>> map = new HashMap<>();
+        map.put("a", Arrays.asList(1, 2));
+        map.put("b", null);
+        map.put(null, Collections.emptyList());
+
+        final List<Object> values = Arrays.asList(
+                null, "text", TimeUnit.SECONDS, true, 'c', 1.5f, -0.0, Double.NaN, (byte) 1, (short) 2, 3, 4L,
+                Arrays.asList("a", 1, null), new LinkedList<>(Arrays.asList("a", 1, null)), new ArrayDeque<>(Arrays.asList(1, 2)),
+                new LinkedHashSet<>(Arrays.asList("b", "a")), map, new TreeMap<>(Collections.singletonMap(1, "one")),
+                new Object[]{"a", null}, new boolean[]{true, false}, new byte[]{1, -1}, new short[]{2}, new char[]{'x'},
+                new int[]{3, 4}, new long[]{5L}, new float[]{Float.NaN}, new double[]{0.1},
+                new Nested(42L), Collections.singletonList(new Nested(7L)), new Object(), Collections.singleton(new Object())
+        );
+
+        final Method object = HelperCompiler.getMethod(helpers, "stableHashObject", long.class, Object.class);
+        for (final Object value : values) {
+            assertSameOutcome(StableHash.class.getMethod("object", long.class, Object.class), object, null, StableHash.SEED, value);
+        }
+    }
+
+    private static long parseHex(final String literal) {
+        return Long.parseUnsignedLong(literal.substring(2, literal.length() - 1), 16);
+    }
+
+    public static final class Nested {
+        private final long stableHash;
+
+        Nested(final long stableHash) {
+            this.stableHash = stableHash;
+        }
+
+        public long stableHash64() {
+            return stableHash;
+        }
+
+        @Override
+        public String toString() {
+            return "Nested" + stableHash;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.runtime.StringPool;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+
+public class StringPoolHelpersTest {
+    private static Class<?> poolClass;
+
+    @BeforeClass
+    public static void compilePoolClass() throws Exception {
+        poolClass = HelperCompiler.compile("StringPoolHelpersUnderTest", StringPoolHelpers.POOL_CLASS_TEXT).getDeclaredClasses()[0];
+    }
+
+    @Test
+    public void testPoolMatchesRuntime() throws Exception {
+        final Constructor<?> constructor = poolClass.getDeclaredConstructor(int.class);
+        constructor.setAccessible(true);
+        final Method dedupe = HelperCompiler.getMethod(poolClass, "dedupe", String.class);
+
+        for (final int capacity : new int[]{1, 3, 16, 1000}) {
+            final StringPool expected = new StringPool(capacity);
+            final Object actual = constructor.newInstance(capacity);
+
+            for (int i = 0; i < 500; i++) {
+                // New instances each time, so the identity of the result shows whether it was pooled
+                final String value = i % 7 == 0 ? null : new String("value" + (i * 31) % 40);
+                final boolean expectedPooled = expected.dedupe(value) != value;
+                final boolean actualPooled = dedupe.invoke(actual, value) != value;
+                assertEquals(capacity + ": " + i, expectedPooled, actualPooled);
+            }
+
+            assertEquals(expected.getCapacity(), poolClass.getMethod("getCapacity").invoke(actual));
+            assertEquals(expected.size(), poolClass.getMethod("size").invoke(actual));
+            assertEquals(expected.getHits(), poolClass.getMethod("getHits").invoke(actual));
+            assertEquals(expected.getMisses(), poolClass.getMethod("getMisses").invoke(actual));
+        }
+    }
+}
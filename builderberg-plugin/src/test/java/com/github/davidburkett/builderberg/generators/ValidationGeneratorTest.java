@@ -0,0 +1,65 @@
+package com.github.davidburkett.builderberg.generators;
+
+import com.github.davidburkett.builderberg.exceptions.InvalidConstraintException;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+
+public class ValidationGeneratorTest extends GeneratorTestCase {
+
+    private String generate(final String classText, final String fieldName) {
+        final PsiClass topLevelClass = addClass(classText);
+        final PsiMethod method = findMethod(topLevelClass.findInnerClassByName("Builder", false), "validate");
+        runWriteAction(() -> {
+            try {
+                new ValidationGenerator(getElementFactory()).generateValidationForField(topLevelClass, method, topLevelClass.findFieldByName(fieldName, false));
+            } catch (InvalidConstraintException e) {
+                throw new AssertionError(e);
+            }
+        });
+        return method.getText();
+    }
+
+    public void testNaNElementOfBoundedCollectionIsRejected() {
+        final String validate = generate(
+                "public class Reading {" +
+                "    @com.github.davidburkett.builderberg.annotations.BuilderConstraint(maxSize = 10, elementMaxValue = 100.0)" +
+                "    private final java.util.List<Double> samples;" +
+                "    public static final class Builder { private void validate() {} }" +
+                "}",
+                "samples"
+        );
+
+        assertTrue(validate.contains("samplesMax = Math.max(samplesMax, value);"));
+        assertTrue(validate.contains("if (java.lang.Double.isNaN(samplesMax))"));
+        assertTrue(validate.contains("\"samples -> Constraint not met: elementMaxValue: NaN element\""));
+        assertTrue(validate.indexOf("isNaN") < validate.indexOf("samplesMax > "));
+    }
+
+    public void testNaNElementOfFloatArrayIsRejected() {
+        final String validate = generate(
+                "public class Reading {" +
+                "    @com.github.davidburkett.builderberg.annotations.BuilderConstraint(elementMinValue = 0.0, elementMaxValue = 1.0)" +
+                "    private final float[] weights;" +
+                "    public static final class Builder { private void validate() {} }" +
+                "}",
+                "weights"
+        );
+
+        assertTrue(validate.contains("if (java.lang.Float.isNaN(weightsMin))"));
+        assertEquals(1, validate.split("isNaN", -1).length - 1);
+    }
+
+    public void testIntegralElementsHaveNoNaNCheck() {
+        final String validate = generate(
+                "public class Reading {" +
+                "    @com.github.davidburkett.builderberg.annotations.BuilderConstraint(elementsNotNegative = true)" +
+                "    private final int[] counts;" +
+                "    public static final class Builder { private void validate() {} }" +
+                "}",
+                "counts"
+        );
+
+        assertTrue(validate.contains("countsMin = Math.min(countsMin, value);"));
+        assertFalse(validate.contains("isNaN"));
+    }
+}
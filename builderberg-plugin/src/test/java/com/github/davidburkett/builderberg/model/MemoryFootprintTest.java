@@ -0,0 +1,66 @@
+package com.github.davidburkett.builderberg.model;
+
+import com.github.davidburkett.builderberg.enums.CollectionType;
+import com.github.davidburkett.builderberg.model.MemoryFootprint.OopMode;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class MemoryFootprintTest {
+
+    @Test
+    public void test_getShallowSize_fillsHeaderGap() {
+        final MemoryFootprint memoryFootprint = new MemoryFootprint(
+                Arrays.asList(primitive("count", 4), primitive("total", 8)),
+                Collections.emptyList()
+        );
+
+        assertEquals(24, memoryFootprint.getShallowSize(OopMode.COMPRESSED));
+        assertEquals(0, memoryFootprint.getPaddingWaste(OopMode.COMPRESSED));
+        assertEquals(32, memoryFootprint.getShallowSize(OopMode.UNCOMPRESSED));
+        assertEquals(4, memoryFootprint.getPaddingWaste(OopMode.UNCOMPRESSED));
+    }
+
+    @Test
+    public void test_getShallowSize_unfillableHeaderGap() {
+        final MemoryFootprint memoryFootprint = new MemoryFootprint(
+                Collections.singletonList(primitive("total", 8)),
+                Collections.emptyList()
+        );
+
+        assertEquals(24, memoryFootprint.getShallowSize(OopMode.COMPRESSED));
+        assertEquals(4, memoryFootprint.getPaddingWaste(OopMode.COMPRESSED));
+    }
+
+    @Test
+    public void test_getBoxedOverhead_skipsCachedBoxes() {
+        final MemoryFootprint memoryFootprint = new MemoryFootprint(
+                Arrays.asList(boxed("flag", 1), boxed("count", 4), boxed("total", 8)),
+                Collections.emptyList()
+        );
+
+        assertEquals(16 + 24, memoryFootprint.getBoxedOverhead(OopMode.COMPRESSED));
+        assertEquals(24 + 24, memoryFootprint.getBoxedOverhead(OopMode.UNCOMPRESSED));
+    }
+
+    @Test
+    public void test_getProjectedHeap_includesWrappers() {
+        final FieldFootprint list = new FieldFootprint("values", "List<String>", 0, 0, CollectionType.LIST);
+        final MemoryFootprint memoryFootprint = new MemoryFootprint(Collections.singletonList(list), Collections.singletonList(list));
+
+        assertEquals(24, memoryFootprint.getWrapperOverhead(OopMode.COMPRESSED));
+        assertEquals(16, memoryFootprint.getBuilderShallowSize(OopMode.COMPRESSED));
+        assertEquals(40_000, memoryFootprint.getProjectedHeap(1_000, OopMode.COMPRESSED));
+    }
+
+    private static FieldFootprint primitive(final String name, final int size) {
+        return new FieldFootprint(name, "primitive", size, 0, null);
+    }
+
+    private static FieldFootprint boxed(final String name, final int size) {
+        return new FieldFootprint(name, "boxed", 0, size, null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.davidburkett.builderberg.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PackedFieldLayoutTest {
+
+    @Test
+    public void test_getBitsFor() {
+        assertEquals(1, PackedField.getBitsFor(0));
+        assertEquals(1, PackedField.getBitsFor(1));
+        assertEquals(2, PackedField.getBitsFor(3));
+        assertEquals(3, PackedField.getBitsFor(4));
+        assertEquals(64, PackedField.getBitsFor(-1L));
+    }
+
+    @Test
+    public void test_pack_placesFieldsInFirstWordWithRoom() {
+        final List<PackedField> candidates = new ArrayList<>();
+        candidates.add(PackedField.ofInteger("wide", "int", 0, (1L << 40) - 1, 8));
+        candidates.add(PackedField.ofInteger("medium", "int", 0, (1L << 30) - 1, 4));
+        for (int i = 0; i < 24; i++) {
+            candidates.add(PackedField.ofBoolean("flag" + i));
+        }
+
+        final PackedFieldLayout layout = PackedFieldLayout.pack(candidates);
+
+        assertEquals(2, layout.getWordCount());
+        assertEquals(1, layout.find("medium").get().getWordIndex());
+        assertEquals(0, layout.find("flag0").get().getWordIndex());
+        assertEquals(40, layout.find("flag0").get().getShift());
+        assertEquals(0, layout.find("flag23").get().getWordIndex());
+        assertEquals(63, layout.find("flag23").get().getShift());
+    }
+
+    @Test
+    public void test_pack_emptyWhenNotSmaller() {
+        final List<PackedField> eightFlags = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            eightFlags.add(PackedField.ofBoolean("flag" + i));
+        }
+
+        assertTrue(PackedFieldLayout.pack(eightFlags).isEmpty());
+        assertTrue(PackedFieldLayout.pack(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void test_generateExpressions() {
+        final PackedFieldLayout layout = PackedFieldLayout.pack(Arrays.asList(
+                PackedField.ofEnum("orderStatus", "Status", 5, 4),
+                PackedField.ofInteger("level", "int", -2, 5, 4),
+                PackedField.ofBoolean("active")
+        ));
+
+        assertEquals(
+                "((orderStatus != null ? orderStatus.ordinal() : ORDER_STATUS_VALUES.length - 1) & 0x7L)"
+                        + " | ((((long) level - -2L) & 0x7L) << 3)"
+                        + " | ((active ? 1L : 0L) << 6)",
+                layout.generateWordExpression(0, name -> name)
+        );
+        assertEquals("ORDER_STATUS_VALUES[(int) (packed0 & 0x7L)]", layout.find("orderStatus").get().generateDecodeExpression("packed0"));
+        assertEquals("(int) (((packed0 >>> 3) & 0x7L) + -2L)", layout.find("level").get().generateDecodeExpression("packed0"));
+        assertEquals("((packed0 >>> 6) & 0x1L) != 0L", layout.find("active").get().generateDecodeExpression("packed0"));
+    }
+}
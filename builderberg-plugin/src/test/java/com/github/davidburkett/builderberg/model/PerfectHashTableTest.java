@@ -0,0 +1,80 @@
+package com.github.davidburkett.builderberg.model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PerfectHashTableTest {
+    @Test
+    public void testEveryKeyHasItsOwnSlot() {
+        final Random random = new Random(7);
+        for (final boolean wide : new boolean[] {false, true}) {
+            for (final int count : new int[] {1, 2, 17, 100, 1000, 20_000}) {
+                final long[] hashes = new long[count];
+                final Set<Long> distinct = new HashSet<>();
+                for (int i = 0; i < count; i++) {
+                    do {
+                        hashes[i] = wide ? random.nextLong() : random.nextInt();
+                    } while (!distinct.add(hashes[i]));
+                }
+
+                final PerfectHashTable table = PerfectHashTable.build(hashes, wide).get();
+                assertTrue(table.size() >= count);
+                assertTrue(table.size() < Math.max(4, count * 16));
+                for (int i = 0; i < count; i++) {
+                    assertEquals(i, table.getKeyIndex(table.getSlot(hashes[i])));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStringHashes() {
+        final String[] keys = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD", "SEK", "NOK", "DKK", "PLN"};
+        final long[] hashes = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = keys[i].hashCode();
+        }
+
+        final PerfectHashTable table = PerfectHashTable.build(hashes, false).get();
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], keys[table.getKeyIndex(table.getSlot(keys[i].hashCode()))]);
+        }
+
+        final int slot = table.getSlot("XXX".hashCode());
+        assertFalse(table.getKeyIndex(slot) >= 0 && keys[table.getKeyIndex(slot)].equals("XXX"));
+    }
+
+    @Test
+    public void testBuildIsDeterministic() {
+        final long[] hashes = {3, 1, 4, 15, 9, 26, 5, 35};
+        final PerfectHashTable first = PerfectHashTable.build(hashes, false).get();
+        final PerfectHashTable second = PerfectHashTable.build(hashes, false).get();
+        assertEquals(first.generateSlotExpression("hash", "D"), second.generateSlotExpression("hash", "D"));
+        assertArrayEquals(first.getDisplacements(), second.getDisplacements());
+    }
+
+    @Test
+    public void testDuplicateHashesHaveNoTable() {
+        // "Aa" and "BB" have the same String.hashCode()
+        assertFalse(PerfectHashTable.build(new long[] {"Aa".hashCode(), "BB".hashCode()}, false).isPresent());
+        assertFalse(PerfectHashTable.build(new long[0], false).isPresent());
+    }
+
+    @Test
+    public void testGenerateSlotExpression() {
+        final PerfectHashTable table = PerfectHashTable.build(new long[] {10, 20, 30}, false).get();
+        assertTrue(table.generateSlotExpression("hash", "D").matches("\\(\\(hash \\* -?\\d+\\) >>> 29\\) \\^ D\\[\\(\\(hash \\* -?\\d+\\) >>> 31\\)]"));
+        assertEquals(2, table.getDisplacements().length);
+
+        final PerfectHashTable wideTable = PerfectHashTable.build(new long[] {10, 20, 30}, true).get();
+        assertTrue(wideTable.generateSlotExpression("hash", "D").matches("\\(int\\) \\(\\(hash \\* -?\\d+L\\) >>> 61\\) \\^ D\\[\\(int\\) \\(\\(hash \\* -?\\d+L\\) >>> 63\\)]"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.davidburkett.builderberg.model;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SimplePatternTest {
+    private static final String ALPHABET = "aAbzZ09_-. \t\u00e9";
+
+    @Test
+    public void testSimplePatternsMatchLikeRegex() {
+        final String[] regexes = {
+                "[A-Z]{3}",
+                "^\\d{4}-\\d{2}-\\d{2}$",
+                "[a-z][a-z0-9_]*",
+                "\\w+",
+                "[A-Z]{2}\\d{2,4}",
+                "ab?",
+                "[-a.]{1,}",
+                "\\s\\.",
+                "[]a]{2}"
+        };
+
+        final Random random = new Random(42);
+        for (final String regex : regexes) {
+            final SimplePattern simplePattern = SimplePattern.parse(regex)
+                    .orElseThrow(() -> new AssertionError(regex + " should be simple"));
+            final Pattern pattern = Pattern.compile(regex);
+
+            for (int n = 0; n < 5_000; n++) {
+                final StringBuilder value = new StringBuilder();
+                final int length = random.nextInt(9);
+                for (int i = 0; i < length; i++) {
+                    value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+
+                assertEquals(regex + " / " + value, pattern.matcher(value).matches(), simplePattern.matches(value));
+            }
+        }
+
+        assertTrue(SimplePattern.parse("[A-Z]{3}").get().matches("USD"));
+        assertTrue(SimplePattern.parse("^\\d{4}-\\d{2}-\\d{2}$").get().matches("2024-01-31"));
+    }
+
+    @Test
+    public void testComplexPatternsAreNotSimple() {
+        final String[] regexes = {"a?b", "[^a]", "(ab)+", "a.b", "\\bfoo", "a{2}+", "a+?", "a|b", "\\p{L}", "[a-z&&[^x]]", "\\1", "a{5000}"};
+        for (final String regex : regexes) {
+            assertFalse(regex, SimplePattern.parse(regex).isPresent());
+        }
+    }
+
+    @Test
+    public void testGenerateMatchesMethod() {
+        assertEquals(
+                "static boolean matchesCode(final CharSequence value) {" +
+                        "final int length = value.length();" +
+                        "if (length != 3) { return false; }" +
+                        "for (int i = 0; i < 3; i++) { final char c = value.charAt(i); if (!((c >= 'A' && c <= 'Z'))) { return false; } }" +
+                        "return true;}",
+                SimplePattern.parse("[A-Z]{3}").get().generateMatchesMethod("matchesCode")
+        );
+
+        assertEquals(
+                "static boolean matchesName(final CharSequence value) {" +
+                        "final int length = value.length();" +
+                        "if (length < 1) { return false; }" +
+                        "{ final char c = value.charAt(0); if (!((c >= 'a' && c <= 'z'))) { return false; } }" +
+                        "for (int i = 1; i < length; i++) { final char c = value.charAt(i); if (!((c >= 'a' && c <= 'z') || c == 95)) { return false; } }" +
+                        "return true;}",
+                SimplePattern.parse("[a-z][a-z_]*").get().generateMatchesMethod("matchesName")
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.davidburkett.builderberg.utilities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkPartitionerTest {
+
+    private static List<List<Integer>> partition(final int chunkLimit, final Integer... sizes) {
+        return ChunkPartitioner.partition(Arrays.asList(sizes), Integer::intValue, chunkLimit);
+    }
+
+    @Test
+    public void test_partition_noItems() {
+        assertTrue(partition(100).isEmpty());
+    }
+
+    @Test
+    public void test_partition_itemsWithinLimitShareOneChunk() {
+        assertEquals(Collections.singletonList(Arrays.asList(10, 20, 30)), partition(100, 10, 20, 30));
+    }
+
+    @Test
+    public void test_partition_chunkMayReachLimitExactly() {
+        assertEquals(
+                Arrays.asList(Arrays.asList(40, 60), Collections.singletonList(1)),
+                partition(100, 40, 60, 1)
+        );
+    }
+
+    @Test
+    public void test_partition_splitsBeforeItemThatWouldExceedLimit() {
+        assertEquals(
+                Arrays.asList(Arrays.asList(40, 50), Arrays.asList(20, 30, 40), Collections.singletonList(70)),
+                partition(100, 40, 50, 20, 30, 40, 70)
+        );
+    }
+
+    @Test
+    public void test_partition_oversizedItemGetsItsOwnChunk() {
+        assertEquals(
+                Arrays.asList(Collections.singletonList(10), Collections.singletonList(500), Arrays.asList(10, 10)),
+                partition(100, 10, 500, 10, 10)
+        );
+        assertEquals(Collections.singletonList(Collections.singletonList(500)), partition(100, 500));
+    }
+
+    @Test
+    public void test_partition_keepsEveryItemInOrder() {
+        final List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            sizes.add(1 + (i * 37) % 150);
+        }
+
+        final List<List<Integer>> chunks = ChunkPartitioner.partition(sizes, Integer::intValue, 2000);
+
+        final List<Integer> flattened = new ArrayList<>();
+        for (final List<Integer> chunk : chunks) {
+            assertTrue(chunk.stream().mapToInt(Integer::intValue).sum() <= 2000);
+            flattened.addAll(chunk);
+        }
+        assertEquals(sizes, flattened);
+    }
+}
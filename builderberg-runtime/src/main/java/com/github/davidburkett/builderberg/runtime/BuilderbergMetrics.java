@@ -0,0 +1,88 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * The metrics SPI called by builders generated with {@code @BuilderOptions(recordMetrics = true)}.
+ * Implementations are registered through {@link ServiceLoader}, in a META-INF/services/com.github.davidburkett.builderberg.runtime.BuilderbergMetrics file,
+ * and the first one found is used. Without one, every handle is {@link #NO_OP}, whose empty methods the JIT inlines away.
+ * Each generated class resolves its handle once, in a static field, so recording never looks anything up by name.
+ */
+public abstract class BuilderbergMetrics {
+    /**
+     * The handle of a class that records nothing.
+     */
+    public static final ClassMetrics NO_OP = new ClassMetrics() {
+        @Override
+        public void recordBuild() {
+        }
+
+        @Override
+        public void recordConstraintViolation(final int constraint) {
+        }
+    };
+
+    private static final BuilderbergMetrics PROVIDER = load(ServiceLoader.load(BuilderbergMetrics.class));
+
+    /**
+     * The metrics of one generated class.
+     */
+    public interface ClassMetrics {
+        /**
+         * Called by each call of build().
+         */
+        void recordBuild();
+
+        /**
+         * Called before the exception of a violated constraint is thrown.
+         * @param constraint The index of the constraint, in the names the handle was registered with.
+         */
+        void recordConstraintViolation(int constraint);
+
+        /**
+         * @return True if validations should be timed. Checked by each validation, before reading the clock.
+         */
+        default boolean isTimingEnabled() {
+            return false;
+        }
+
+        /**
+         * Called after each successful validation when timing is enabled.
+         * @param nanos The duration of the validation, in nanoseconds.
+         */
+        default void recordValidationNanos(final long nanos) {
+        }
+    }
+
+    /**
+     * Creates the handle of a generated class. Called once per class, when the class is initialized.
+     * @param type The generated class.
+     * @param constraints The names of the class's constraints, as "field.constraint". Example: "price.minValue".
+     * @return The handle recording the class's metrics.
+     */
+    protected abstract ClassMetrics register(Class<?> type, String[] constraints);
+
+    /**
+     * @param type The generated class.
+     * @param constraints The names of the class's constraints, as "field.constraint".
+     * @return The handle of the class, from the registered implementation, or {@link #NO_OP} if there is none.
+     */
+    public static ClassMetrics forClass(final Class<?> type, final String... constraints) {
+        return PROVIDER.register(type, constraints.clone());
+    }
+
+    static BuilderbergMetrics load(final Iterable<BuilderbergMetrics> providers) {
+        final Iterator<BuilderbergMetrics> iterator = providers.iterator();
+        if (iterator.hasNext()) {
+            return iterator.next();
+        }
+
+        return new BuilderbergMetrics() {
+            @Override
+            protected ClassMetrics register(final Class<?> type, final String[] constraints) {
+                return NO_OP;
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Constraint checks shared by the validation logic of every class generated with {@code @BuilderOptions(useRuntime = true)}.
+ * Each check returns {@code true} when the constraint is violated, so generated code can throw with its own message.
+ */
+public final class Checks {
+    private Checks() {
+    }
+
+    /**
+     * Allocation-free equivalent of {@code value.trim().isEmpty()}.
+     * @param value The non-null string to check.
+     * @return {@code true} if the value only contains characters that {@link String#trim()} removes.
+     */
+    public static boolean isBlank(final CharSequence value) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Unlike {@link Collection#contains(Object)}, never throws for collections that don't support null elements.
+     * @param values The non-null collection to scan.
+     * @return {@code true} if the collection contains a null element.
+     */
+    public static boolean containsNull(final Collection<?> values) {
+        if (values instanceof List && values instanceof RandomAccess) {
+            final List<?> list = (List<?>) values;
+            final int size = list.size();
+            for (int i = 0; i < size; i++) {
+                if (list.get(i) == null) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        for (final Object value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Scans collections with at least parallelThreshold elements with a parallel stream in the given pool, which stops at the first null found.
+     * Smaller collections are scanned sequentially, like {@link #containsNull(Collection)}.
+     * @param values The non-null collection to scan.
+     * @param parallelThreshold The minimum size scanned in parallel.
+     * @param pool The pool to scan in.
+     * @return {@code true} if the collection contains a null element.
+     */
+    public static boolean containsNull(final Collection<?> values, final int parallelThreshold, final ForkJoinPool pool) {
+        if (values.size() < parallelThreshold) {
+            return containsNull(values);
+        }
+
+        // Parallel streams run in the pool of the task that starts them
+        return pool.submit(() -> values.parallelStream().anyMatch(Objects::isNull)).join();
+    }
+
+    /**
+     * @param values The non-null array to scan.
+     * @return {@code true} if the array contains a null element.
+     */
+    public static boolean containsNull(final Object[] values) {
+        for (final Object value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Scans arrays with at least parallelThreshold elements with a parallel stream in the given pool, which stops at the first null found.
+     * @param values The non-null array to scan.
+     * @param parallelThreshold The minimum length scanned in parallel.
+     * @param pool The pool to scan in.
+     * @return {@code true} if the array contains a null element.
+     */
+    public static boolean containsNull(final Object[] values, final int parallelThreshold, final ForkJoinPool pool) {
+        if (values.length < parallelThreshold) {
+            return containsNull(values);
+        }
+
+        return pool.submit(() -> Arrays.stream(values).parallel().anyMatch(Objects::isNull)).join();
+    }
+
+    /**
+     * Unlike {@link Map#containsKey(Object)}, never throws for maps that don't support null keys.
+     * @param map The non-null map to scan.
+     * @return {@code true} if the map contains a null key.
+     */
+    public static boolean containsNullKey(final Map<?, ?> map) {
+        for (final Object key : map.keySet()) {
+            if (key == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Unlike {@link Map#containsValue(Object)}, never throws for maps that don't support null values.
+     * @param map The non-null map to scan.
+     * @return {@code true} if the map contains a null value.
+     */
+    public static boolean containsNullValue(final Map<?, ?> map) {
+        for (final Object value : map.values()) {
+            if (value == null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Scans maps with at least parallelThreshold entries with a parallel stream in the given pool, which stops at the first null key found.
+     * @param map The non-null map to scan.
+     * @param parallelThreshold The minimum size scanned in parallel.
+     * @param pool The pool to scan in.
+     * @return {@code true} if the map contains a null key.
+     */
+    public static boolean containsNullKey(final Map<?, ?> map, final int parallelThreshold, final ForkJoinPool pool) {
+        if (map.size() < parallelThreshold) {
+            return containsNullKey(map);
+        }
+
+        return pool.submit(() -> map.keySet().parallelStream().anyMatch(Objects::isNull)).join();
+    }
+
+    /**
+     * Scans maps with at least parallelThreshold entries with a parallel stream in the given pool, which stops at the first null value found.
+     * @param map The non-null map to scan.
+     * @param parallelThreshold The minimum size scanned in parallel.
+     * @param pool The pool to scan in.
+     * @return {@code true} if the map contains a null value.
+     */
+    public static boolean containsNullValue(final Map<?, ?> map, final int parallelThreshold, final ForkJoinPool pool) {
+        if (map.size() < parallelThreshold) {
+            return containsNullValue(map);
+        }
+
+        return pool.submit(() -> map.values().parallelStream().anyMatch(Objects::isNull)).join();
+    }
+}
@@ -0,0 +1,269 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.io.IOException;
+
+/**
+ * Parsing and writing helpers for the delimited-text (CSV/TSV) methods generated for {@code DeserializationType.delimited}.
+ * Values are parsed straight from a character range of the line, so primitives never allocate a substring.
+ * A quote of {@code '\0'} disables quoting.
+ */
+public final class DelimitedText {
+    // Decimals with up to 15 digits are exact as a long and as a double, so one division rounds them correctly
+    private static final int MAX_FAST_DOUBLE_DIGITS = 15;
+
+    private DelimitedText() {
+    }
+
+    /**
+     * @return The index of the delimiter ending the field that starts at start, or end if it's the last field.
+     * Delimiters inside quotes are skipped.
+     */
+    public static int fieldEnd(final CharSequence line, final int start, final int end, final char delimiter, final char quote) {
+        boolean quoted = false;
+        for (int i = start; i < end; i++) {
+            final char c = line.charAt(i);
+            if (quote != 0 && c == quote) {
+                quoted = !quoted;
+            } else if (c == delimiter && !quoted) {
+                return i;
+            }
+        }
+
+        return start > end ? start : end;
+    }
+
+    /**
+     * @return The integer in the range, which must be between min and max (inclusive).
+     * @throws NumberFormatException If the range isn't an integer between min and max.
+     */
+    public static long parseLong(final CharSequence line, int start, int end, final char quote, final long min, final long max) {
+        if (isQuoted(line, start, end, quote)) {
+            start++;
+            end--;
+        }
+
+        final boolean negative = start < end && line.charAt(start) == '-';
+        int i = start < end && (negative || line.charAt(start) == '+') ? start + 1 : start;
+        if (i == end) {
+            throw invalidNumber(line, start, end);
+        }
+
+        // Accumulate negatively, like Long.parseLong, so Long.MIN_VALUE doesn't overflow
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+        for (; i < end; i++) {
+            final int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+                throw invalidNumber(line, start, end);
+            }
+
+            result = result * 10 - digit;
+        }
+
+        final long value = negative ? result : -result;
+        if (value < min || value > max) {
+            throw invalidNumber(line, start, end);
+        }
+
+        return value;
+    }
+
+    /**
+     * Plain decimals with up to 15 digits (and no exponent) are parsed without allocating. Anything else falls back to {@link Double#parseDouble(String)}.
+     * @throws NumberFormatException If the range isn't a number.
+     */
+    public static double parseDouble(final CharSequence line, int start, int end, final char quote) {
+        if (isQuoted(line, start, end, quote)) {
+            start++;
+            end--;
+        }
+
+        final boolean negative = start < end && line.charAt(start) == '-';
+        int i = start < end && (negative || line.charAt(start) == '+') ? start + 1 : start;
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            final char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+
+        if (i == end && digits > 0 && digits <= MAX_FAST_DOUBLE_DIGITS) {
+            double scale = 1.0;
+            for (int k = 0; k < fractionDigits; k++) {
+                scale *= 10.0;
+            }
+
+            final double value = mantissa / scale;
+            return negative ? -value : value;
+        }
+
+        return Double.parseDouble(line.subSequence(start, end).toString());
+    }
+
+    /**
+     * @return {@code true} if the range is "true", or {@code false} if it's "false", ignoring case.
+     * @throws IllegalArgumentException If the range is neither "true" nor "false".
+     */
+    public static boolean parseBoolean(final CharSequence line, int start, int end, final char quote) {
+        if (isQuoted(line, start, end, quote)) {
+            start++;
+            end--;
+        }
+
+        final String expected = end - start == 4 ? "true" : "false";
+        boolean matches = end - start == expected.length();
+        for (int i = 0; matches && i < expected.length(); i++) {
+            matches = Character.toLowerCase(line.charAt(start + i)) == expected.charAt(i);
+        }
+
+        if (!matches) {
+            throw new IllegalArgumentException("Expected true or false: \"" + line.subSequence(start, end) + "\"");
+        }
+
+        return expected.length() == 4;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the range isn't a single character.
+     */
+    public static char parseChar(final CharSequence line, int start, int end, final char quote) {
+        if (isQuoted(line, start, end, quote)) {
+            start++;
+            end--;
+        }
+
+        if (end - start != 1) {
+            throw new IllegalArgumentException("Expected a single character: \"" + line.subSequence(start, end) + "\"");
+        }
+
+        return line.charAt(start);
+    }
+
+    /**
+     * @return The unquoted value, with doubled quotes unescaped. An empty unquoted field is null, and an empty quoted field is "".
+     */
+    public static String parseString(final CharSequence line, int start, int end, final char quote) {
+        if (!isQuoted(line, start, end, quote)) {
+            return start >= end ? null : line.subSequence(start, end).toString();
+        }
+
+        start++;
+        end--;
+        StringBuilder unescaped = null;
+        int copied = start;
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == quote && i + 1 < end && line.charAt(i + 1) == quote) {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder(end - start);
+                }
+
+                unescaped.append(line, copied, i + 1);
+                copied = ++i + 1;
+            }
+        }
+
+        if (unescaped == null) {
+            return line.subSequence(start, end).toString();
+        }
+
+        return unescaped.append(line, copied, end).toString();
+    }
+
+    /**
+     * @return The constant named by the range, or null if the field is empty.
+     * @throws IllegalArgumentException If the enum has no constant with that name.
+     */
+    public static <E extends Enum<E>> E parseEnum(final Class<E> type, final CharSequence line, final int start, final int end, final char quote) {
+        final String name = parseString(line, start, end, quote);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    /**
+     * Appends the value, without allocating when the output is a StringBuilder.
+     */
+    public static void writeLong(final Appendable out, final long value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Long.toString(value));
+        }
+    }
+
+    /**
+     * Appends the value, without allocating when the output is a StringBuilder.
+     */
+    public static void writeDouble(final Appendable out, final double value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Double.toString(value));
+        }
+    }
+
+    /**
+     * Appends the value, without allocating when the output is a StringBuilder.
+     */
+    public static void writeFloat(final Appendable out, final float value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Float.toString(value));
+        }
+    }
+
+    /**
+     * Appends the value, quoted if it's empty or contains the delimiter, the quote, or a line break. Null values are written as an empty field.
+     * @throws IllegalArgumentException If the value needs quoting, but quoting is disabled.
+     */
+    public static void writeString(final Appendable out, final CharSequence value, final char delimiter, final char quote) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        boolean needsQuotes = value.length() == 0;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            final char c = value.charAt(i);
+            needsQuotes = c == delimiter || c == '\n' || c == '\r' || (quote != 0 && c == quote);
+        }
+
+        if (!needsQuotes) {
+            out.append(value);
+            return;
+        } else if (quote == 0) {
+            if (value.length() == 0) {
+                return;
+            }
+
+            throw new IllegalArgumentException("Value can't be written without quotes: \"" + value + "\"");
+        }
+
+        out.append(quote);
+        int copied = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == quote) {
+                out.append(value, copied, i + 1).append(quote);
+                copied = i + 1;
+            }
+        }
+        out.append(value, copied, value.length()).append(quote);
+    }
+
+    private static boolean isQuoted(final CharSequence line, final int start, final int end, final char quote) {
+        return quote != 0 && end - start >= 2 && line.charAt(start) == quote && line.charAt(end - 1) == quote;
+    }
+
+    private static NumberFormatException invalidNumber(final CharSequence line, final int start, final int end) {
+        return new NumberFormatException("For input string: \"" + line.subSequence(start, end) + "\"");
+    }
+}
@@ -0,0 +1,502 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An index of the top-level fields of a UTF-8 JSON object, built in one pass that skips over the values without parsing them.
+ * Values are parsed on demand, so reading a few fields of a large object costs little more than the scan.
+ * Used by the lazy views generated for {@code DeserializationType.lazyJson}.
+ */
+public final class JsonIndex {
+    // Decimals with up to 15 digits are exact as a long and as a double, so one division rounds them correctly
+    private static final int MAX_FAST_DOUBLE_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    // The start and end of each field's raw value, or -1 if the object doesn't have the field
+    private final int[] spans;
+
+    private JsonIndex(final byte[] bytes, final int offset, final int length, final int[] spans) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.spans = spans;
+    }
+
+    /**
+     * @param names The names of the fields to index. A field's position in names is its index in the {@link JsonIndex}.
+     * @return A reusable schema, which should be created once and kept in a static field.
+     */
+    public static Schema schema(final String... names) {
+        return new Schema(names);
+    }
+
+    /**
+     * The names of the indexed fields, encoded once.
+     */
+    public static final class Schema {
+        private final String[] names;
+        private final byte[][] encodedNames;
+
+        private Schema(final String[] names) {
+            this.names = names.clone();
+            this.encodedNames = new byte[names.length][];
+            for (int i = 0; i < names.length; i++) {
+                encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        public JsonIndex index(final byte[] bytes) {
+            return index(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Indexes the JSON object in the range. The bytes are retained, not copied, so they must not be modified afterwards.
+         * @throws IllegalArgumentException If the range isn't a JSON object.
+         */
+        public JsonIndex index(final byte[] bytes, final int offset, final int length) {
+            if (offset < 0 || length < 0 || offset + length > bytes.length) {
+                throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+            }
+
+            return new JsonIndex(bytes, offset, length, scan(bytes, offset, offset + length));
+        }
+
+        /**
+         * Indexes the remaining bytes of the buffer, without changing its position.
+         * Heap buffers are retained, and direct buffers are copied once.
+         */
+        public JsonIndex index(final ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                return index(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return index(bytes);
+        }
+
+        private int[] scan(final byte[] bytes, final int start, final int end) {
+            final int[] spans = new int[names.length * 2];
+            Arrays.fill(spans, -1);
+
+            int i = skipWhitespace(bytes, start, end);
+            expect(bytes, i, end, '{');
+            i = skipWhitespace(bytes, i + 1, end);
+            if (byteAt(bytes, i, end) == '}') {
+                expectEnd(bytes, i + 1, end);
+                return spans;
+            }
+
+            // Objects are usually written in declaration order, so the next field is tried first
+            int expectedField = 0;
+            while (true) {
+                expect(bytes, i, end, '"');
+                final int keyEnd = skipString(bytes, i, end);
+                final int field = findField(bytes, i + 1, keyEnd - 1, expectedField);
+
+                i = skipWhitespace(bytes, keyEnd, end);
+                expect(bytes, i, end, ':');
+                final int valueStart = skipWhitespace(bytes, i + 1, end);
+                final int valueEnd = skipValue(bytes, valueStart, end);
+                if (field >= 0) {
+                    spans[field * 2] = valueStart;
+                    spans[field * 2 + 1] = valueEnd;
+                    expectedField = field + 1;
+                }
+
+                i = skipWhitespace(bytes, valueEnd, end);
+                final byte separator = byteAt(bytes, i, end);
+                if (separator == '}') {
+                    expectEnd(bytes, i + 1, end);
+                    return spans;
+                } else if (separator != ',') {
+                    throw malformed(i);
+                }
+
+                i = skipWhitespace(bytes, i + 1, end);
+            }
+        }
+
+        private int findField(final byte[] bytes, final int start, final int end, final int expectedField) {
+            if (expectedField < encodedNames.length && matches(bytes, start, end, encodedNames[expectedField])) {
+                return expectedField;
+            }
+
+            for (int field = 0; field < encodedNames.length; field++) {
+                if (matches(bytes, start, end, encodedNames[field])) {
+                    return field;
+                }
+            }
+
+            // Keys with escapes can't be compared byte by byte
+            if (indexOf(bytes, start, end, (byte) '\\') >= 0) {
+                final String key = decodeString(bytes, start, end);
+                for (int field = 0; field < names.length; field++) {
+                    if (names[field].equals(key)) {
+                        return field;
+                    }
+                }
+            }
+
+            return -1;
+        }
+    }
+
+    /**
+     * @return The original bytes. The retained array itself is returned when the object spans all of it, so nothing is copied.
+     */
+    public byte[] toBytes() {
+        if (offset == 0 && length == bytes.length) {
+            return bytes;
+        }
+
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    /**
+     * @return The retained array, which holds the object between {@link #getOffset()} and {@link #getOffset()} + {@link #getLength()}.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return True if the object has the field, with a value other than null.
+     */
+    public boolean isPresent(final int field) {
+        final int start = spans[field * 2];
+        return start >= 0 && bytes[start] != 'n';
+    }
+
+    /**
+     * @return The start of the field's raw value, or -1 if the object doesn't have the field.
+     */
+    public int getStart(final int field) {
+        return spans[field * 2];
+    }
+
+    /**
+     * @return The end (exclusive) of the field's raw value, or -1 if the object doesn't have the field.
+     */
+    public int getEnd(final int field) {
+        return spans[field * 2 + 1];
+    }
+
+    /**
+     * @return The field's string, or null if it's absent or null.
+     * @throws IllegalArgumentException If the value isn't a string.
+     */
+    public String getString(final int field) {
+        if (!isPresent(field)) {
+            return null;
+        }
+
+        final int start = getStart(field);
+        final int end = getEnd(field);
+        if (bytes[start] != '"') {
+            throw invalidValue(field, "a string");
+        }
+
+        return decodeString(bytes, start + 1, end - 1);
+    }
+
+    /**
+     * @return The field's character, or '\0' if it's absent or null.
+     * @throws IllegalArgumentException If the value isn't a string with a single character.
+     */
+    public char getChar(final int field) {
+        final String value = getString(field);
+        if (value == null) {
+            return '\0';
+        } else if (value.length() != 1) {
+            throw invalidValue(field, "a single character");
+        }
+
+        return value.charAt(0);
+    }
+
+    /**
+     * @return The field's boolean, or false if it's absent or null.
+     * @throws IllegalArgumentException If the value isn't true or false.
+     */
+    public boolean getBoolean(final int field) {
+        if (!isPresent(field)) {
+            return false;
+        } else if (equals(field, "true")) {
+            return true;
+        } else if (equals(field, "false")) {
+            return false;
+        }
+
+        throw invalidValue(field, "a boolean");
+    }
+
+    /**
+     * @return The field's integer, which must be between min and max (inclusive), or 0 if it's absent or null.
+     * @throws IllegalArgumentException If the value isn't an integer between min and max.
+     */
+    public long getLong(final int field, final long min, final long max) {
+        if (!isPresent(field)) {
+            return 0;
+        }
+
+        final int start = getStart(field);
+        final int end = getEnd(field);
+        final boolean negative = bytes[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw invalidValue(field, "an integer");
+        }
+
+        // Accumulate negatively, like Long.parseLong, so Long.MIN_VALUE doesn't overflow
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+        for (; i < end; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+                throw invalidValue(field, "an integer");
+            }
+
+            result = result * 10 - digit;
+        }
+
+        final long value = negative ? result : -result;
+        if (value < min || value > max) {
+            throw invalidValue(field, "an integer between " + min + " and " + max);
+        }
+
+        return value;
+    }
+
+    /**
+     * Plain decimals with up to 15 digits (and no exponent) are parsed without allocating. Anything else falls back to {@link Double#parseDouble(String)}.
+     * @return The field's number, or 0 if it's absent or null.
+     * @throws IllegalArgumentException If the value isn't a number.
+     */
+    public double getDouble(final int field) {
+        if (!isPresent(field)) {
+            return 0;
+        }
+
+        final int start = getStart(field);
+        final int end = getEnd(field);
+        final boolean negative = bytes[start] == '-';
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            final byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                digits = Integer.MAX_VALUE;
+                break;
+            }
+        }
+
+        if (digits > 0 && digits <= MAX_FAST_DOUBLE_DIGITS && fractionDigits != 0) {
+            final double value = mantissa / POWERS_OF_TEN[Math.max(fractionDigits, 0)];
+            return negative ? -value : value;
+        }
+
+        try {
+            return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            throw invalidValue(field, "a number");
+        }
+    }
+
+    private boolean equals(final int field, final String literal) {
+        final int start = getStart(field);
+        if (getEnd(field) - start != literal.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < literal.length(); i++) {
+            if (bytes[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private IllegalArgumentException invalidValue(final int field, final String expected) {
+        final String value = new String(bytes, getStart(field), getEnd(field) - getStart(field), StandardCharsets.UTF_8);
+        return new IllegalArgumentException("Expected " + expected + ", but found: " + value);
+    }
+
+    private static boolean matches(final byte[] bytes, final int start, final int end, final byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length; i++) {
+            if (bytes[start + i] != name[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String decodeString(final byte[] bytes, final int start, final int end) {
+        int escape = indexOf(bytes, start, end, (byte) '\\');
+        if (escape < 0) {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        final StringBuilder builder = new StringBuilder(end - start);
+        int segmentStart = start;
+        while (escape >= 0) {
+            builder.append(new String(bytes, segmentStart, escape - segmentStart, StandardCharsets.UTF_8));
+            final byte escaped = bytes[escape + 1];
+            switch (escaped) {
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if (escape + 6 > end) {
+                        throw malformed(escape);
+                    }
+
+                    builder.append((char) Integer.parseInt(new String(bytes, escape + 2, 4, StandardCharsets.US_ASCII), 16));
+                    escape += 4;
+                    break;
+                default: builder.append((char) escaped);
+            }
+
+            segmentStart = escape + 2;
+            escape = indexOf(bytes, segmentStart, end, (byte) '\\');
+        }
+
+        builder.append(new String(bytes, segmentStart, end - segmentStart, StandardCharsets.UTF_8));
+        return builder.toString();
+    }
+
+    private static int indexOf(final byte[] bytes, final int start, final int end, final byte b) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The index after the value starting at start.
+     */
+    private static int skipValue(final byte[] bytes, final int start, final int end) {
+        final byte first = byteAt(bytes, start, end);
+        if (first == '"') {
+            return skipString(bytes, start, end);
+        } else if (first == '{' || first == '[') {
+            int depth = 0;
+            int i = start;
+            while (true) {
+                final byte b = byteAt(bytes, i, end);
+                if (b == '"') {
+                    i = skipString(bytes, i, end);
+                    continue;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return i + 1;
+                }
+
+                i++;
+            }
+        }
+
+        int i = start;
+        while (i < end && bytes[i] != ',' && bytes[i] != '}' && bytes[i] != ']' && !isWhitespace(bytes[i])) {
+            i++;
+        }
+
+        if (i == start) {
+            throw malformed(start);
+        }
+
+        return i;
+    }
+
+    /**
+     * @return The index after the closing quote of the string starting at start.
+     */
+    private static int skipString(final byte[] bytes, final int start, final int end) {
+        int i = start + 1;
+        while (true) {
+            final byte b = byteAt(bytes, i, end);
+            if (b == '"') {
+                return i + 1;
+            }
+
+            i += b == '\\' ? 2 : 1;
+        }
+    }
+
+    private static int skipWhitespace(final byte[] bytes, int i, final int end) {
+        while (i < end && isWhitespace(bytes[i])) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static byte byteAt(final byte[] bytes, final int i, final int end) {
+        if (i >= end) {
+            throw new IllegalArgumentException("Unexpected end of JSON at " + i);
+        }
+
+        return bytes[i];
+    }
+
+    private static void expect(final byte[] bytes, final int i, final int end, final char expected) {
+        if (byteAt(bytes, i, end) != expected) {
+            throw malformed(i);
+        }
+    }
+
+    private static void expectEnd(final byte[] bytes, final int i, final int end) {
+        if (skipWhitespace(bytes, i, end) != end) {
+            throw malformed(i);
+        }
+    }
+
+    private static IllegalArgumentException malformed(final int i) {
+        return new IllegalArgumentException("Malformed JSON at " + i);
+    }
+}
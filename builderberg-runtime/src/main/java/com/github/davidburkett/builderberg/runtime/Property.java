@@ -0,0 +1,94 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Metadata of a single field of a class generated with {@code @BuilderOptions(generateMetadata = true)}.
+ * The generated PROPERTIES table holds one per field, so generic code (mapping, export, validation reporting)
+ * can read objects and populate builders without java.lang.reflect.
+ * @param <T> The type of the object.
+ * @param <B> The type of the object's builder.
+ */
+public final class Property<T, B> {
+    private final String name;
+    private final Class<?> type;
+    private final Map<String, String> constraints;
+    private final Function<? super T, ?> getter;
+    private final BiConsumer<? super B, Object> setter;
+
+    /**
+     * @param name The name of the field.
+     * @param type The erased type of the field.
+     * @param constraints The field's builder constraints, by option name. Example: "minValue" to "0.0".
+     * @param getter Reads the field from an object.
+     * @param setter Sets the field on a builder, casting the value to the field's type.
+     */
+    public Property(
+            final String name,
+            final Class<?> type,
+            final Map<String, String> constraints,
+            final Function<? super T, ?> getter,
+            final BiConsumer<? super B, Object> setter
+    ) {
+        this.name = name;
+        this.type = type;
+        this.constraints = constraints;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * @param namesAndValues Alternating constraint option names and values.
+     * @return An unmodifiable map of the constraints, in the given order.
+     */
+    public static Map<String, String> constraints(final String... namesAndValues) {
+        if (namesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected alternating names and values, but got " + namesAndValues.length + " strings");
+        }
+
+        final Map<String, String> constraints = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            constraints.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+
+        return Collections.unmodifiableMap(constraints);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Map<String, String> getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * @param object The object to read the field of.
+     * @return The value of the field, boxed if it's primitive.
+     */
+    public Object get(final T object) {
+        return getter.apply(object);
+    }
+
+    /**
+     * @param builder The builder to set the field on.
+     * @param value The value of the field, boxed if it's primitive.
+     * @throws ClassCastException If the value isn't of the field's type.
+     */
+    public void set(final B builder, final Object value) {
+        setter.accept(builder, value);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + type.getName() + (constraints.isEmpty() ? "" : " " + constraints);
+    }
+}
@@ -0,0 +1,232 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * The functions used by generated stableHash64 methods, combining 64-bit lanes with the xxHash64 round and avalanche functions.
+ * The encoding of each type is part of the contract of stableHash64, and must never change.
+ */
+public final class StableHash {
+    /**
+     * The initial hash value of every stableHash64 method.
+     */
+    public static final long SEED = 0x27D4EB2F165667C5L;
+
+    /**
+     * The lane hashed in place of a null value.
+     */
+    public static final long NULL_LANE = 0x9E3779B97F4A7C15L;
+
+    private static final ClassValue<Method> STABLE_HASH_METHODS = new ClassValue<Method>() {
+        @Override
+        protected Method computeValue(final Class<?> type) {
+            try {
+                final Method method = type.getMethod("stableHash64");
+                if (method.getReturnType() != long.class) {
+                    return null;
+                }
+
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private StableHash() {
+    }
+
+    public static long lane(long hash, final long lane) {
+        hash ^= Long.rotateLeft(lane * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B185EBCA87L;
+        return Long.rotateLeft(hash, 27) * 0x9E3779B185EBCA87L + 0x85EBCA77C2B2AE63L;
+    }
+
+    public static long finish(long hash, final long fieldCount) {
+        hash = lane(hash, fieldCount);
+        hash ^= hash >>> 33;
+        hash *= 0xC2B2AE3D27D4EB4FL;
+        hash ^= hash >>> 29;
+        hash *= 0x165667B19E3779F9L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Hashes the UTF-8 encoding of the value, packed 8 bytes per lane, followed by its byte count.
+     * The encoding is computed on the fly, without allocating the byte array.
+     */
+    public static long string(long hash, final CharSequence value) {
+        if (value == null) {
+            return lane(hash, NULL_LANE);
+        }
+
+        long lane = 0L;
+        int shift = 0;
+        long byteCount = 0L;
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            int codePoint = value.charAt(i);
+            if (Character.isHighSurrogate((char) codePoint) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                codePoint = Character.toCodePoint((char) codePoint, value.charAt(++i));
+            }
+
+            final int encoded;
+            final int encodedLength;
+            if (codePoint < 0x80) {
+                encoded = codePoint;
+                encodedLength = 1;
+            } else if (codePoint < 0x800) {
+                encoded = (0xC0 | (codePoint >>> 6)) | ((0x80 | (codePoint & 0x3F)) << 8);
+                encodedLength = 2;
+            } else if (codePoint < 0x10000) {
+                encoded = (0xE0 | (codePoint >>> 12)) | ((0x80 | ((codePoint >>> 6) & 0x3F)) << 8) | ((0x80 | (codePoint & 0x3F)) << 16);
+                encodedLength = 3;
+            } else {
+                encoded = (0xF0 | (codePoint >>> 18)) | ((0x80 | ((codePoint >>> 12) & 0x3F)) << 8) | ((0x80 | ((codePoint >>> 6) & 0x3F)) << 16) | ((0x80 | (codePoint & 0x3F)) << 24);
+                encodedLength = 4;
+            }
+
+            for (int b = 0; b < encodedLength; b++) {
+                lane |= ((encoded >>> (b * 8)) & 0xFFL) << shift;
+                shift += 8;
+                if (shift == 64) {
+                    hash = lane(hash, lane);
+                    lane = 0L;
+                    shift = 0;
+                }
+            }
+            byteCount += encodedLength;
+        }
+
+        if (shift != 0) {
+            hash = lane(hash, lane);
+        }
+
+        return lane(hash, byteCount);
+    }
+
+    /**
+     * Hashes strings, enums, boxed primitives, maps, iterables and arrays by their contents, and other objects by their stableHash64.
+     * Sets and maps are hashed independently of their iteration order, as a sum of the hashes of their elements or entries.
+     * @throws IllegalArgumentException If the value has no stable encoding.
+     */
+    public static long object(long hash, final Object value) {
+        if (value == null) {
+            return lane(hash, NULL_LANE);
+        } else if (value instanceof CharSequence) {
+            return string(hash, (CharSequence) value);
+        } else if (value instanceof Enum) {
+            return string(hash, ((Enum<?>) value).name());
+        } else if (value instanceof Boolean) {
+            return lane(hash, ((Boolean) value) ? 1L : 0L);
+        } else if (value instanceof Character) {
+            return lane(hash, (Character) value);
+        } else if (value instanceof Float) {
+            return lane(hash, Float.floatToIntBits((Float) value));
+        } else if (value instanceof Double) {
+            return lane(hash, Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+            return lane(hash, ((Number) value).longValue());
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            long entries = 0L;
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                entries += finish(object(object(SEED, entry.getKey()), entry.getValue()), 2);
+            }
+            return lane(lane(hash, entries), map.size());
+        } else if (value instanceof Set) {
+            final Set<?> set = (Set<?>) value;
+            long elements = 0L;
+            for (final Object element : set) {
+                elements += finish(object(SEED, element), 1);
+            }
+            return lane(lane(hash, elements), set.size());
+        } else if (value instanceof List && value instanceof RandomAccess) {
+            final List<?> list = (List<?>) value;
+            final int size = list.size();
+            for (int i = 0; i < size; i++) {
+                hash = object(hash, list.get(i));
+            }
+            return lane(hash, size);
+        } else if (value instanceof Iterable) {
+            long size = 0L;
+            for (final Object element : (Iterable<?>) value) {
+                hash = object(hash, element);
+                size++;
+            }
+            return lane(hash, size);
+        } else if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            for (final Object element : array) {
+                hash = object(hash, element);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof boolean[]) {
+            final boolean[] array = (boolean[]) value;
+            for (final boolean element : array) {
+                hash = lane(hash, element ? 1L : 0L);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof byte[]) {
+            final byte[] array = (byte[]) value;
+            for (final byte element : array) {
+                hash = lane(hash, element);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof short[]) {
+            final short[] array = (short[]) value;
+            for (final short element : array) {
+                hash = lane(hash, element);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof char[]) {
+            final char[] array = (char[]) value;
+            for (final char element : array) {
+                hash = lane(hash, element);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof int[]) {
+            final int[] array = (int[]) value;
+            for (final int element : array) {
+                hash = lane(hash, element);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof long[]) {
+            final long[] array = (long[]) value;
+            for (final long element : array) {
+                hash = lane(hash, element);
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof float[]) {
+            final float[] array = (float[]) value;
+            for (final float element : array) {
+                hash = lane(hash, Float.floatToIntBits(element));
+            }
+            return lane(hash, array.length);
+        } else if (value instanceof double[]) {
+            final double[] array = (double[]) value;
+            for (final double element : array) {
+                hash = lane(hash, Double.doubleToLongBits(element));
+            }
+            return lane(hash, array.length);
+        }
+
+        final Method stableHash64 = STABLE_HASH_METHODS.get(value.getClass());
+        if (stableHash64 == null) {
+            throw new IllegalArgumentException("No stable hash encoding for " + value.getClass().getName());
+        }
+
+        try {
+            return lane(hash, (Long) stableHash64.invoke(value));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
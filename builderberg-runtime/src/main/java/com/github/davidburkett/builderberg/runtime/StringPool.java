@@ -0,0 +1,94 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, lock-free pool of canonical strings, used by the fields annotated with {@code @Dedupe}.
+ * Each string maps to a single slot, and a miss replaces whatever the slot held, so the pool never grows past its capacity
+ * and never blocks. Unlike {@link String#intern()}, it doesn't contend on the JVM's global string table.
+ * Losing a slot to a race or a collision only costs a duplicate string, never a wrong one.
+ */
+public final class StringPool {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity The maximum number of strings to pool. Rounded up to a power of two.
+     */
+    public StringPool(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        final int size = capacity >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit((capacity << 1) - 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param value The string to canonicalize. May be null.
+     * @return The pooled string equal to the value, or the value itself (which is then pooled) if there is none.
+     */
+    public String dedupe(final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        final int hash = value.hashCode();
+        final int index = (hash ^ (hash >>> 16)) & mask;
+        final String pooled = slots.get(index);
+        if (pooled != null && pooled.equals(value)) {
+            hits.increment();
+            return pooled;
+        }
+
+        slots.lazySet(index, value);
+        misses.increment();
+        return value;
+    }
+
+    /**
+     * @return The number of calls to {@link #dedupe(String)} that returned a pooled string.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of calls to {@link #dedupe(String)} with a non-null string that wasn't pooled.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The maximum number of strings in the pool.
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return The number of strings currently in the pool. Scans every slot.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StringPool{size=%d, capacity=%d, hits=%d, misses=%d}", size(), getCapacity(), getHits(), getMisses());
+    }
+}
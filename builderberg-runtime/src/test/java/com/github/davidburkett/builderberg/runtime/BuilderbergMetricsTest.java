@@ -0,0 +1,51 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class BuilderbergMetricsTest {
+    @Test
+    public void testNoProviderUsesNoOp() {
+        assertSame(BuilderbergMetrics.NO_OP, BuilderbergMetrics.forClass(String.class, "name.notNull"));
+        assertSame(BuilderbergMetrics.NO_OP, BuilderbergMetrics.load(Collections.emptyList()).register(String.class, new String[0]));
+        assertFalse(BuilderbergMetrics.NO_OP.isTimingEnabled());
+    }
+
+    @Test
+    public void testFirstProviderRegistersClasses() {
+        final List<String> events = new ArrayList<>();
+        final BuilderbergMetrics provider = new BuilderbergMetrics() {
+            @Override
+            protected ClassMetrics register(final Class<?> type, final String[] constraints) {
+                assertArrayEquals(new String[] {"name.notNull", "price.minValue"}, constraints);
+                return new ClassMetrics() {
+                    @Override
+                    public void recordBuild() {
+                        events.add(type.getSimpleName() + " built");
+                    }
+
+                    @Override
+                    public void recordConstraintViolation(final int constraint) {
+                        events.add(constraints[constraint] + " violated");
+                    }
+                };
+            }
+        };
+
+        final BuilderbergMetrics.ClassMetrics metrics = BuilderbergMetrics.load(Collections.singletonList(provider))
+                .register(Integer.class, new String[] {"name.notNull", "price.minValue"});
+        metrics.recordBuild();
+        metrics.recordConstraintViolation(1);
+
+        assertEquals("[Integer built, price.minValue violated]", events.toString());
+        assertFalse(metrics.isTimingEnabled());
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChecksTest {
+    @Test
+    public void testIsBlankMatchesTrim() {
+        for (final String value : Arrays.asList("", " ", "\t\n\u0000", " a ", "\u00A0", "abc")) {
+            assertEquals(value, value.trim().isEmpty(), Checks.isBlank(value));
+        }
+    }
+
+    @Test
+    public void testContainsNull() {
+        assertTrue(Checks.containsNull(Arrays.asList("a", null)));
+        assertFalse(Checks.containsNull(Collections.singleton("a")));
+        assertTrue(Checks.containsNull(new Object[]{null}));
+
+        // TreeSet.contains(null) throws
+        assertFalse(Checks.containsNull(new TreeSet<>(Arrays.asList("a", "b"))));
+    }
+
+    @Test
+    public void testContainsNullKeyAndValue() {
+        final Map<String, String> map = new HashMap<>();
+        map.put(null, "a");
+        assertTrue(Checks.containsNullKey(map));
+        assertFalse(Checks.containsNullValue(map));
+
+        // TreeMap.containsKey(null) throws
+        final Map<String, String> treeMap = new TreeMap<>(Collections.singletonMap("a", null));
+        assertFalse(Checks.containsNullKey(treeMap));
+        assertTrue(Checks.containsNullValue(treeMap));
+    }
+
+    @Test
+    public void testParallelScans() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final List<String> values = new ArrayList<>(Collections.nCopies(10_000, "a"));
+            assertFalse(Checks.containsNull(values, 1_000, pool));
+            values.set(7_500, null);
+            assertTrue(Checks.containsNull(values, 1_000, pool));
+            assertTrue(Checks.containsNull(values, Integer.MAX_VALUE, pool));
+            assertTrue(Checks.containsNull(values.toArray(), 1_000, pool));
+
+            final Map<String, String> map = new HashMap<>();
+            for (int i = 0; i < 10_000; i++) {
+                map.put(Integer.toString(i), "a");
+            }
+
+            assertFalse(Checks.containsNullKey(map, 1_000, pool));
+            assertFalse(Checks.containsNullValue(map, 1_000, pool));
+            map.put("5000", null);
+            map.put(null, "a");
+            assertTrue(Checks.containsNullKey(map, 1_000, pool));
+            assertTrue(Checks.containsNullValue(map, 1_000, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
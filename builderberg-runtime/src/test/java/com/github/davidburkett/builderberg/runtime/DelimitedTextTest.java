@@ -0,0 +1,108 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DelimitedTextTest {
+    @Test
+    public void testFieldEndSkipsQuotedDelimiters() {
+        final String line = "a,\"b,\"\"c\",d";
+        assertEquals(1, DelimitedText.fieldEnd(line, 0, line.length(), ',', '"'));
+        assertEquals(9, DelimitedText.fieldEnd(line, 2, line.length(), ',', '"'));
+        assertEquals(11, DelimitedText.fieldEnd(line, 10, line.length(), ',', '"'));
+        assertEquals(4, DelimitedText.fieldEnd(line, 2, line.length(), ',', '\0'));
+    }
+
+    @Test
+    public void testParseLong() {
+        final String line = "x,-42,\"7\",9223372036854775807,-9223372036854775808";
+        assertEquals(-42, DelimitedText.parseLong(line, 2, 5, '"', Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(7, DelimitedText.parseLong(line, 6, 9, '"', Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, DelimitedText.parseLong(line, 10, 29, '"', Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(Long.MIN_VALUE, DelimitedText.parseLong(line, 30, line.length(), '"', Long.MIN_VALUE, Long.MAX_VALUE));
+
+        for (final String invalid : new String[]{"", "-", "1a", "9223372036854775808", "128"}) {
+            try {
+                DelimitedText.parseLong(invalid, 0, invalid.length(), '"', Byte.MIN_VALUE, Byte.MAX_VALUE);
+                fail(invalid);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testParseDoubleMatchesDoubleParseDouble() {
+        for (final String value : new String[]{"0", "-0.0", "3.14159", "0.1", "123456789012345", ".5", "1e10", "1234567890.123456789", "NaN"}) {
+            assertEquals(value, Double.parseDouble(value), DelimitedText.parseDouble(value, 0, value.length(), '"'), 0.0);
+        }
+    }
+
+    @Test
+    public void testParseBooleanAndChar() {
+        assertTrue(DelimitedText.parseBoolean("TRUE", 0, 4, '"'));
+        assertTrue(DelimitedText.parseBoolean("\"true\"", 0, 6, '"'));
+        assertFalse(DelimitedText.parseBoolean("False", 0, 5, '"'));
+        assertEquals(',', DelimitedText.parseChar("\",\"", 0, 3, '"'));
+    }
+
+    @Test
+    public void testParseBooleanRejectsOtherValues() {
+        for (final String value : new String[]{"", "yes", "1", "tru", "truth", "falsy", "\"\""}) {
+            try {
+                DelimitedText.parseBoolean(value, 0, value.length(), '"');
+                fail(value);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+
+        final String row = "1,maybe,true";
+        try {
+            DelimitedText.parseBoolean(row, 2, DelimitedText.fieldEnd(row, 2, row.length(), ',', '"'), '"');
+            fail(row);
+        } catch (IllegalArgumentException e) {
+            assertEquals("Expected true or false: \"maybe\"", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testParseString() {
+        assertNull(DelimitedText.parseString("a,,b", 2, 2, '"'));
+        assertEquals("", DelimitedText.parseString("\"\"", 0, 2, '"'));
+        assertEquals("b,\"c", DelimitedText.parseString("\"b,\"\"c\"", 0, 7, '"'));
+        assertEquals(TimeUnit.SECONDS, DelimitedText.parseEnum(TimeUnit.class, "SECONDS", 0, 7, '"'));
+        assertNull(DelimitedText.parseEnum(TimeUnit.class, "", 0, 0, '"'));
+    }
+
+    @Test
+    public void testWriteRoundTrips() throws IOException {
+        for (final String value : new String[]{"plain", "", "with,delimiter", "with\"quote", "line\nbreak"}) {
+            final StringWriter out = new StringWriter();
+            DelimitedText.writeString(out, value, ',', '"');
+            final String written = out.toString();
+            assertEquals(written.length(), DelimitedText.fieldEnd(written, 0, written.length(), ',', '"'));
+            assertEquals(value, DelimitedText.parseString(written, 0, written.length(), '"'));
+        }
+
+        final StringBuilder numbers = new StringBuilder();
+        DelimitedText.writeLong(numbers, -5);
+        DelimitedText.writeFloat(numbers, 0.1f);
+        DelimitedText.writeDouble(numbers, 2.5);
+        assertEquals("-50.12.5", numbers.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteWithoutQuotingRejectsDelimiter() throws IOException {
+        DelimitedText.writeString(new StringBuilder(), "a\tb", '\t', '\0');
+    }
+}
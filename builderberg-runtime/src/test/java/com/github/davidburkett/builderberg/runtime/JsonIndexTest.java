@@ -0,0 +1,127 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonIndexTest {
+    private static final JsonIndex.Schema SCHEMA = JsonIndex.schema("id", "name", "price", "active", "tags", "grade");
+
+    @Test
+    public void testIndexSkipsUnknownAndNestedValues() {
+        final JsonIndex index = SCHEMA.index(bytes(
+                "{ \"other\": {\"id\": 7, \"s\": \"}]\"}, \"tags\": [1, [2], {\"a\": \"b\"}],\n\"id\": 42, \"name\": \"Widget\" }"
+        ));
+
+        assertEquals(42, index.getLong(0, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals("Widget", index.getString(1));
+        assertEquals("[1, [2], {\"a\": \"b\"}]", raw(index, 4));
+        assertFalse(index.isPresent(2));
+        assertEquals(-1, index.getStart(2));
+        assertEquals(0, index.getDouble(2), 0);
+        assertFalse(index.getBoolean(3));
+    }
+
+    @Test
+    public void testNullValuesAreAbsent() {
+        final JsonIndex index = SCHEMA.index(bytes("{\"id\":null,\"name\":null}"));
+        assertFalse(index.isPresent(0));
+        assertEquals(0, index.getLong(0, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertNull(index.getString(1));
+    }
+
+    @Test
+    public void testGetString() {
+        final JsonIndex index = SCHEMA.index(bytes("{\"name\": \"a\\\"b\\\\c\\n\\u00e9\u00fc\", \"grade\": \"B\"}"));
+        assertEquals("a\"b\\c\n\u00e9\u00fc", index.getString(1));
+        assertEquals('B', index.getChar(5));
+    }
+
+    @Test
+    public void testEscapedKeysAreMatched() {
+        final JsonIndex index = SCHEMA.index(bytes("{\"n\\u0061me\": \"x\"}"));
+        assertEquals("x", index.getString(1));
+    }
+
+    @Test
+    public void testGetNumbers() {
+        final JsonIndex index = SCHEMA.index(bytes("{\"id\": -9223372036854775808, \"price\": 19.99, \"active\": true}"));
+        assertEquals(Long.MIN_VALUE, index.getLong(0, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(19.99, index.getDouble(2), 0);
+        assertTrue(index.getBoolean(3));
+
+        assertEquals(1.5e10, SCHEMA.index(bytes("{\"price\": 1.5e10}")).getDouble(2), 0);
+        assertEquals(-0.125, SCHEMA.index(bytes("{\"price\": -0.125}")).getDouble(2), 0);
+
+        try {
+            index.getLong(0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        try {
+            index.getLong(2, Long.MIN_VALUE, Long.MAX_VALUE);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testToBytesReturnsOriginalBytes() {
+        final byte[] bytes = bytes("{\"id\": 1}");
+        assertSame(bytes, SCHEMA.index(bytes).toBytes());
+
+        final byte[] padded = bytes("xx{\"id\": 1}yy");
+        final JsonIndex slice = SCHEMA.index(padded, 2, padded.length - 4);
+        assertArrayEquals(bytes, slice.toBytes());
+        assertEquals(1, slice.getLong(0, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testIndexByteBuffer() {
+        final ByteBuffer heap = ByteBuffer.wrap(bytes("  {\"id\": 3}"));
+        heap.position(2);
+        assertEquals(3, SCHEMA.index(heap).getLong(0, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(2, heap.position());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.put(bytes("{\"id\":4}")).flip();
+        assertEquals(4, SCHEMA.index(direct).getLong(0, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testEmptyObject() {
+        assertFalse(SCHEMA.index(bytes(" {} ")).isPresent(0));
+    }
+
+    @Test
+    public void testMalformedJsonIsRejected() {
+        for (final String json : new String[]{"", "[]", "{", "{\"id\"}", "{\"id\": 1,}", "{\"id\": 1} x", "{\"id\": \"unterminated}"}) {
+            try {
+                SCHEMA.index(bytes(json));
+                fail(json);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    private static byte[] bytes(final String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String raw(final JsonIndex index, final int field) {
+        return new String(index.getBytes(), index.getStart(field), index.getEnd(field) - index.getStart(field), StandardCharsets.UTF_8);
+    }
+}
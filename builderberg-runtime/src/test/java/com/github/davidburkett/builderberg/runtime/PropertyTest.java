@@ -0,0 +1,39 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertyTest {
+    @Test
+    public void testGetAndSet() {
+        final Property<StringBuilder, StringBuilder> length = new Property<>(
+                "length",
+                int.class,
+                Property.constraints("notNegative", "true"),
+                StringBuilder::length,
+                (builder, value) -> builder.setLength((Integer) value)
+        );
+
+        final StringBuilder value = new StringBuilder("abc");
+        assertEquals(3, length.get(value));
+
+        length.set(value, 1);
+        assertEquals("a", value.toString());
+        assertEquals("length: int {notNegative=true}", length.toString());
+    }
+
+    @Test
+    public void testConstraintsKeepOrder() {
+        final Map<String, String> constraints = Property.constraints("minValue", "1.0", "maxValue", "5.0", "notNull", "true");
+        assertEquals(Arrays.asList("minValue", "maxValue", "notNull"), Arrays.asList(constraints.keySet().toArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstraintsRejectsOddArguments() {
+        Property.constraints("notNull");
+    }
+}
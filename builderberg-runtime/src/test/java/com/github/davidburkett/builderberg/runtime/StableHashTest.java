@@ -0,0 +1,110 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class StableHashTest {
+    @Test
+    public void testStringMatchesUtf8Encoding() {
+        for (final String value : Arrays.asList("", "a", "12345678", "123456789", "caf\u00E9", "\u20AC uro", "\uD83D\uDE00 emoji")) {
+            assertEquals(value, hashUtf8Bytes(value), StableHash.string(StableHash.SEED, value));
+        }
+    }
+
+    @Test
+    public void testNullIsDistinctFromEmpty() {
+        assertNotEquals(StableHash.string(StableHash.SEED, ""), StableHash.string(StableHash.SEED, null));
+    }
+
+    @Test
+    public void testListsHashIndependentlyOfImplementation() {
+        final long arrayListHash = StableHash.object(StableHash.SEED, Arrays.asList("a", 1, null));
+        final long linkedListHash = StableHash.object(StableHash.SEED, new LinkedList<>(Arrays.asList("a", 1, null)));
+        final long arrayHash = StableHash.object(StableHash.SEED, new Object[]{"a", 1, null});
+
+        assertEquals(arrayListHash, linkedListHash);
+        assertEquals(arrayListHash, arrayHash);
+    }
+
+    @Test
+    public void testSetsHashIndependentlyOfIterationOrder() {
+        final long insertionOrderHash = StableHash.object(StableHash.SEED, new LinkedHashSet<>(Arrays.asList("b", "a", "c")));
+        final long sortedHash = StableHash.object(StableHash.SEED, new TreeSet<>(Arrays.asList("a", "b", "c")));
+
+        assertEquals(sortedHash, insertionOrderHash);
+        assertNotEquals(sortedHash, StableHash.object(StableHash.SEED, new TreeSet<>(Arrays.asList("a", "b", "d"))));
+        assertNotEquals(sortedHash, StableHash.object(StableHash.SEED, Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void testMapsHashIndependentlyOfIterationOrder() {
+        final Map<String, Integer> forward = new LinkedHashMap<>();
+        forward.put("a", 1);
+        forward.put("b", 2);
+        final Map<String, Integer> backward = new LinkedHashMap<>();
+        backward.put("b", 2);
+        backward.put("a", 1);
+        final Map<String, Integer> swapped = new HashMap<>();
+        swapped.put("a", 2);
+        swapped.put("b", 1);
+
+        assertEquals(StableHash.object(StableHash.SEED, forward), StableHash.object(StableHash.SEED, backward));
+        assertNotEquals(StableHash.object(StableHash.SEED, forward), StableHash.object(StableHash.SEED, swapped));
+    }
+
+    @Test
+    public void testNestedObjectsHashByTheirStableHash() {
+        final long hash = StableHash.object(StableHash.SEED, Collections.singletonList(new Hashed(42L)));
+
+        assertEquals(StableHash.lane(StableHash.lane(StableHash.SEED, 42L), 1), hash);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testObjectsWithoutStableEncodingAreRejected() {
+        StableHash.object(StableHash.SEED, Collections.singletonList(new Object()));
+    }
+
+    public static final class Hashed {
+        private final long stableHash;
+
+        Hashed(final long stableHash) {
+            this.stableHash = stableHash;
+        }
+
+        public long stableHash64() {
+            return stableHash;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+
+    private static long hashUtf8Bytes(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        long hash = StableHash.SEED;
+        for (int i = 0; i < bytes.length; i += 8) {
+            long lane = 0L;
+            for (int b = 0; b < 8 && i + b < bytes.length; b++) {
+                lane |= (bytes[i + b] & 0xFFL) << (b * 8);
+            }
+            hash = StableHash.lane(hash, lane);
+        }
+
+        return StableHash.lane(hash, bytes.length);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.davidburkett.builderberg.runtime;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StringPoolTest {
+    @Test
+    public void testDedupeReturnsPooledInstance() {
+        final StringPool pool = new StringPool(16);
+        final String first = new String("US");
+        final String second = new String("US");
+        assertNotSame(first, second);
+
+        assertSame(first, pool.dedupe(first));
+        assertSame(first, pool.dedupe(second));
+        assertNull(pool.dedupe(null));
+
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testCapacityIsBounded() {
+        final StringPool pool = new StringPool(5);
+        assertEquals(8, pool.getCapacity());
+        assertEquals(1, new StringPool(1).getCapacity());
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + i, pool.dedupe("value" + i));
+        }
+
+        assertEquals(8, pool.getCapacity());
+        assertTrue(pool.size() <= pool.getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositiveCapacity() {
+        new StringPool(0);
+    }
+}